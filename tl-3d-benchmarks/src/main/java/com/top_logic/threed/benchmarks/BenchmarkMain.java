@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * 
+ * <p>
+ * Accepts the regular JMH command line options and always adds the {@link GCProfiler}, so that
+ * each result reports the allocation rate (<code>gc.alloc.rate.norm</code> in bytes per
+ * operation) next to the throughput.
+ * </p>
+ */
+public class BenchmarkMain {
+
+	/**
+	 * Runs the benchmarks selected by the given JMH command line.
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+		if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()) {
+			org.openjdk.jmh.Main.main(args);
+			return;
+		}
+
+		Options options = new OptionsBuilder()
+			.parent(commandLine)
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+
+}
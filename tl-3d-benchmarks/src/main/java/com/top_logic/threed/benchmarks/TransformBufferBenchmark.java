@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.benchmarks;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.top_logic.threed.core.math.TransformBuffer;
+
+/**
+ * Benchmarks for the bulk operations of {@link TransformBuffer}.
+ * 
+ * <p>
+ * To measure the vectorized implementation, build <code>tl-3d-core</code> with the profile
+ * <code>vector</code> and pass <code>-jvmArgs --add-modules=jdk.incubator.vector</code>.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformBufferBenchmark {
+
+	/**
+	 * The number of nodes in the benchmarked hierarchy.
+	 */
+	@Param({ "1000", "100000" })
+	public int size;
+
+	private TransformBuffer _local;
+
+	private TransformBuffer _buffer;
+
+	private int[] _parents;
+
+	private double[] _points;
+
+	/**
+	 * Creates a hierarchy in breadth-first order with 4 children per node.
+	 */
+	@Setup
+	public void setUp() {
+		_local = new TransformBuffer(size);
+		_buffer = new TransformBuffer(size);
+		_parents = new int[size];
+		_points = new double[3 * size];
+		for (int n = 0; n < size; n++) {
+			_parents[n] = n == 0 ? TransformBuffer.NO_PARENT : (n - 1) / 4;
+			_local.set(n, translate(n % 7, n % 11, n % 13).after(rotateZ(0.01 * n)));
+		}
+	}
+
+	@Benchmark
+	public TransformBuffer composeWithParents() {
+		_buffer.copyFrom(_local);
+		_buffer.composeWithParents(_parents);
+		return _buffer;
+	}
+
+	@Benchmark
+	public TransformBuffer after() {
+		_buffer.copyFrom(_local);
+		_buffer.after(_local);
+		return _buffer;
+	}
+
+	@Benchmark
+	public double[] applyEach() {
+		_local.applyEach(_points);
+		return _points;
+	}
+
+}
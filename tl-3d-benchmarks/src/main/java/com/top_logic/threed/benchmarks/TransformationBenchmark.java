@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.benchmarks;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.Vec3d;
+
+/**
+ * Benchmarks for the arithmetic of {@link Transformation}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationBenchmark {
+
+	private Transformation _translation;
+
+	private Transformation _rigid;
+
+	private Transformation _affine;
+
+	private Vec3d _point;
+
+	/**
+	 * Creates the operands.
+	 */
+	@Setup
+	public void setUp() {
+		_translation = translate(1000, 500, 600);
+		_rigid = translate(1000, 500, 600).after(rotateZ(0.3)).after(rotateX(1.2));
+		_affine = new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, 4, 5, 6);
+		_point = Vec3d.vec(7, -3, 11);
+	}
+
+	@Benchmark
+	public Transformation afterRigid() {
+		return _rigid.after(_rigid);
+	}
+
+	@Benchmark
+	public Transformation afterTranslation() {
+		return _rigid.after(_translation);
+	}
+
+	@Benchmark
+	public Transformation afterAffine() {
+		return _affine.after(_rigid);
+	}
+
+	@Benchmark
+	public Transformation inverseRigid() {
+		return _rigid.inverse();
+	}
+
+	@Benchmark
+	public Transformation inverseAffine() {
+		return _affine.inverse();
+	}
+
+	@Benchmark
+	public Vec3d applyRigid() {
+		return _rigid.apply(_point);
+	}
+
+	@Benchmark
+	public Vec3d applyAffine() {
+		return _affine.apply(_point);
+	}
+
+	/**
+	 * Computes the Euler angles of a new instance.
+	 *
+	 * <p>
+	 * The decomposition is cached in the instance, so a new copy of the operand is created in each
+	 * invocation. The measured time includes this copy.
+	 * </p>
+	 */
+	@Benchmark
+	public void rotationAngles(Blackhole blackhole) {
+		Transformation tx = new Transformation(
+			_rigid.a(), _rigid.b(), _rigid.c(),
+			_rigid.d(), _rigid.e(), _rigid.f(),
+			_rigid.g(), _rigid.h(), _rigid.i(),
+			_rigid.x(), _rigid.y(), _rigid.z());
+		blackhole.consume(tx.getRotationX());
+		blackhole.consume(tx.getRotationY());
+		blackhole.consume(tx.getRotationZ());
+	}
+
+	/**
+	 * Reads the Euler angles from the decomposition cached in the operand.
+	 */
+	@Benchmark
+	public void rotationAnglesCached(Blackhole blackhole) {
+		blackhole.consume(_rigid.getRotationX());
+		blackhole.consume(_rigid.getRotationY());
+		blackhole.consume(_rigid.getRotationZ());
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.benchmarks;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.TransformationUtil;
+
+/**
+ * Benchmarks for the list representation of {@link Transformation}s used in scene nodes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationUtilBenchmark {
+
+	private Transformation _value;
+
+	private List<Double> _list;
+
+	/**
+	 * Creates the transformation and its list representation.
+	 */
+	@Setup
+	public void setUp() {
+		_value = translate(1000, 500, 600).after(rotateZ(0.3)).after(rotateX(1.2));
+		_list = TransformationUtil.toList(_value);
+	}
+
+	@Benchmark
+	public List<Double> toList() {
+		return TransformationUtil.toList(_value);
+	}
+
+	@Benchmark
+	public Transformation fromList() {
+		return TransformationUtil.fromList(_list);
+	}
+
+}
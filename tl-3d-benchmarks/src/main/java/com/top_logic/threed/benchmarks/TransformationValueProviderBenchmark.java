@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.benchmarks;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.format.TransformationStorage;
+import com.top_logic.threed.core.math.format.TransformationValueProvider;
+
+/**
+ * Benchmarks for the storage mapping of {@link Transformation} attributes in
+ * {@link TransformationValueProvider}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationValueProviderBenchmark {
+
+	/**
+	 * Number of different storage values decoded by {@link #getBusinessObject()}.
+	 *
+	 * <p>
+	 * A multiple of the size of the parse cache, so that each value has been replaced in the cache
+	 * before it is read again.
+	 * </p>
+	 */
+	private static final int VALUES = 4 * TransformationValueProvider.PARSE_CACHE_SIZE;
+
+	private Transformation _value;
+
+	private Object _storage;
+
+	private Object[] _storageValues;
+
+	private int _next;
+
+	/**
+	 * Creates the business and storage values.
+	 */
+	@Setup
+	public void setUp() {
+		_value = translate(1000, 500, 600).after(rotateZ(0.3)).after(rotateX(1.2));
+		_storage = TransformationValueProvider.INSTANCE.getStorageObject(_value);
+
+		_storageValues = new Object[VALUES];
+		for (int n = 0; n < VALUES; n++) {
+			Transformation value = translate(n, 500, 600).after(rotateZ(0.3)).after(rotateX(1.2));
+			_storageValues[n] = TransformationValueProvider.INSTANCE.getStorageObject(value);
+		}
+	}
+
+	/**
+	 * Decodes a storage value that is not in the parse cache.
+	 */
+	@Benchmark
+	public Transformation getBusinessObject() {
+		Object storage = _storageValues[_next];
+		_next = (_next + 1) % VALUES;
+		return TransformationValueProvider.INSTANCE.getBusinessObject(storage);
+	}
+
+	/**
+	 * Looks up the same storage value in each invocation, which is answered by the parse cache.
+	 */
+	@Benchmark
+	public Transformation getBusinessObjectCached() {
+		return TransformationValueProvider.INSTANCE.getBusinessObject(_storage);
+	}
+
+	/**
+	 * Decodes the storage value without cache and interning.
+	 */
+	@Benchmark
+	public Transformation decode() {
+		return TransformationStorage.decode((String) _storage);
+	}
+
+	@Benchmark
+	public Object getStorageObject() {
+		return TransformationValueProvider.INSTANCE.getStorageObject(_value);
+	}
+
+}
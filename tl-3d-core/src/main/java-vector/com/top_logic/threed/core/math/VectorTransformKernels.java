@@ -0,0 +1,222 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link TransformKernels} using the JDK vector API.
+ *
+ * <p>
+ * Each vector lane processes a different entry of a {@link TransformBuffer}. Remaining entries that
+ * do not fill a whole vector are processed by the scalar implementation.
+ * </p>
+ *
+ * <p>
+ * Note: This class is only compiled with the Maven profile <code>vector</code> and is instantiated
+ * reflectively by {@link TransformKernels}.
+ * </p>
+ */
+class VectorTransformKernels extends TransformKernels {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	private static final int LANES = SPECIES.length();
+
+	/**
+	 * Index map selecting every third coordinate of an interleaved point array.
+	 */
+	private static final int[] POINT_STRIDE = new int[LANES];
+
+	static {
+		for (int n = 0; n < LANES; n++) {
+			POINT_STRIDE[n] = 3 * n;
+		}
+	}
+
+	/**
+	 * Creates a {@link VectorTransformKernels}.
+	 */
+	public VectorTransformKernels() {
+		super();
+	}
+
+	@Override
+	boolean isVectorized() {
+		return true;
+	}
+
+	@Override
+	void composeWithParents(TransformBuffer buffer, int[] parents) {
+		double[] A = buffer._a, B = buffer._b, C = buffer._c;
+		double[] D = buffer._d, E = buffer._e, F = buffer._f;
+		double[] G = buffer._g, H = buffer._h, I = buffer._i;
+		double[] X = buffer._x, Y = buffer._y, Z = buffer._z;
+
+		int size = buffer._size;
+		int n = 0;
+		for (int bound = SPECIES.loopBound(size); n < bound; n += LANES) {
+			if (!parentsBefore(parents, n)) {
+				// Roots or parents within the same chunk, must be processed in order.
+				composeWithParents(buffer, parents, n, n + LANES);
+				continue;
+			}
+
+			DoubleVector pa = DoubleVector.fromArray(SPECIES, A, 0, parents, n);
+			DoubleVector pb = DoubleVector.fromArray(SPECIES, B, 0, parents, n);
+			DoubleVector pc = DoubleVector.fromArray(SPECIES, C, 0, parents, n);
+			DoubleVector pd = DoubleVector.fromArray(SPECIES, D, 0, parents, n);
+			DoubleVector pe = DoubleVector.fromArray(SPECIES, E, 0, parents, n);
+			DoubleVector pf = DoubleVector.fromArray(SPECIES, F, 0, parents, n);
+			DoubleVector pg = DoubleVector.fromArray(SPECIES, G, 0, parents, n);
+			DoubleVector ph = DoubleVector.fromArray(SPECIES, H, 0, parents, n);
+			DoubleVector pi = DoubleVector.fromArray(SPECIES, I, 0, parents, n);
+			DoubleVector px = DoubleVector.fromArray(SPECIES, X, 0, parents, n);
+			DoubleVector py = DoubleVector.fromArray(SPECIES, Y, 0, parents, n);
+			DoubleVector pz = DoubleVector.fromArray(SPECIES, Z, 0, parents, n);
+
+			compose(n, A, B, C, D, E, F, G, H, I, X, Y, Z,
+				pa, pb, pc, pd, pe, pf, pg, ph, pi, px, py, pz,
+				A, B, C, D, E, F, G, H, I, X, Y, Z);
+		}
+		composeWithParents(buffer, parents, n, size);
+	}
+
+	/**
+	 * Whether all parents of the chunk starting at the given index are stored before that chunk.
+	 */
+	private static boolean parentsBefore(int[] parents, int start) {
+		for (int n = start, stop = start + LANES; n < stop; n++) {
+			int p = parents[n];
+			if (p < 0 || p >= start) {
+				if (p != TransformBuffer.NO_PARENT) {
+					checkParent(n, p);
+				}
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	void after(TransformBuffer buffer, TransformBuffer other) {
+		double[] A = buffer._a, B = buffer._b, C = buffer._c;
+		double[] D = buffer._d, E = buffer._e, F = buffer._f;
+		double[] G = buffer._g, H = buffer._h, I = buffer._i;
+		double[] X = buffer._x, Y = buffer._y, Z = buffer._z;
+
+		int size = buffer._size;
+		int n = 0;
+		for (int bound = SPECIES.loopBound(size); n < bound; n += LANES) {
+			DoubleVector a = DoubleVector.fromArray(SPECIES, A, n);
+			DoubleVector b = DoubleVector.fromArray(SPECIES, B, n);
+			DoubleVector c = DoubleVector.fromArray(SPECIES, C, n);
+			DoubleVector d = DoubleVector.fromArray(SPECIES, D, n);
+			DoubleVector e = DoubleVector.fromArray(SPECIES, E, n);
+			DoubleVector f = DoubleVector.fromArray(SPECIES, F, n);
+			DoubleVector g = DoubleVector.fromArray(SPECIES, G, n);
+			DoubleVector h = DoubleVector.fromArray(SPECIES, H, n);
+			DoubleVector i = DoubleVector.fromArray(SPECIES, I, n);
+			DoubleVector x = DoubleVector.fromArray(SPECIES, X, n);
+			DoubleVector y = DoubleVector.fromArray(SPECIES, Y, n);
+			DoubleVector z = DoubleVector.fromArray(SPECIES, Z, n);
+
+			compose(n, A, B, C, D, E, F, G, H, I, X, Y, Z,
+				a, b, c, d, e, f, g, h, i, x, y, z,
+				other._a, other._b, other._c, other._d, other._e, other._f,
+				other._g, other._h, other._i, other._x, other._y, other._z);
+		}
+		after(buffer, other, n, size);
+	}
+
+	/**
+	 * Computes <code>left.after(right)</code> for the chunk starting at index <code>n</code>.
+	 *
+	 * <p>
+	 * The left operand is given as vectors, the right operand is read from the arrays
+	 * <code>RA</code> to <code>RZ</code>, and the result is written to the arrays <code>A</code>
+	 * to <code>Z</code>. Both sets of arrays may be the same.
+	 * </p>
+	 */
+	private static void compose(int n,
+			double[] A, double[] B, double[] C,
+			double[] D, double[] E, double[] F,
+			double[] G, double[] H, double[] I,
+			double[] X, double[] Y, double[] Z,
+			DoubleVector la, DoubleVector lb, DoubleVector lc,
+			DoubleVector ld, DoubleVector le, DoubleVector lf,
+			DoubleVector lg, DoubleVector lh, DoubleVector li,
+			DoubleVector lx, DoubleVector ly, DoubleVector lz,
+			double[] RA, double[] RB, double[] RC,
+			double[] RD, double[] RE, double[] RF,
+			double[] RG, double[] RH, double[] RI,
+			double[] RX, double[] RY, double[] RZ) {
+		DoubleVector a = DoubleVector.fromArray(SPECIES, RA, n);
+		DoubleVector b = DoubleVector.fromArray(SPECIES, RB, n);
+		DoubleVector c = DoubleVector.fromArray(SPECIES, RC, n);
+		DoubleVector d = DoubleVector.fromArray(SPECIES, RD, n);
+		DoubleVector e = DoubleVector.fromArray(SPECIES, RE, n);
+		DoubleVector f = DoubleVector.fromArray(SPECIES, RF, n);
+		DoubleVector g = DoubleVector.fromArray(SPECIES, RG, n);
+		DoubleVector h = DoubleVector.fromArray(SPECIES, RH, n);
+		DoubleVector i = DoubleVector.fromArray(SPECIES, RI, n);
+		DoubleVector x = DoubleVector.fromArray(SPECIES, RX, n);
+		DoubleVector y = DoubleVector.fromArray(SPECIES, RY, n);
+		DoubleVector z = DoubleVector.fromArray(SPECIES, RZ, n);
+
+		la.mul(a).add(lb.mul(d)).add(lc.mul(g)).intoArray(A, n);
+		la.mul(b).add(lb.mul(e)).add(lc.mul(h)).intoArray(B, n);
+		la.mul(c).add(lb.mul(f)).add(lc.mul(i)).intoArray(C, n);
+
+		ld.mul(a).add(le.mul(d)).add(lf.mul(g)).intoArray(D, n);
+		ld.mul(b).add(le.mul(e)).add(lf.mul(h)).intoArray(E, n);
+		ld.mul(c).add(le.mul(f)).add(lf.mul(i)).intoArray(F, n);
+
+		lg.mul(a).add(lh.mul(d)).add(li.mul(g)).intoArray(G, n);
+		lg.mul(b).add(lh.mul(e)).add(li.mul(h)).intoArray(H, n);
+		lg.mul(c).add(lh.mul(f)).add(li.mul(i)).intoArray(I, n);
+
+		la.mul(x).add(lb.mul(y)).add(lc.mul(z)).add(lx).intoArray(X, n);
+		ld.mul(x).add(le.mul(y)).add(lf.mul(z)).add(ly).intoArray(Y, n);
+		lg.mul(x).add(lh.mul(y)).add(li.mul(z)).add(lz).intoArray(Z, n);
+	}
+
+	@Override
+	void applyEach(TransformBuffer buffer, double[] points) {
+		double[] A = buffer._a, B = buffer._b, C = buffer._c;
+		double[] D = buffer._d, E = buffer._e, F = buffer._f;
+		double[] G = buffer._g, H = buffer._h, I = buffer._i;
+		double[] X = buffer._x, Y = buffer._y, Z = buffer._z;
+
+		int size = buffer._size;
+		int n = 0;
+		for (int bound = SPECIES.loopBound(size); n < bound; n += LANES) {
+			int k = 3 * n;
+			DoubleVector px = DoubleVector.fromArray(SPECIES, points, k, POINT_STRIDE, 0);
+			DoubleVector py = DoubleVector.fromArray(SPECIES, points, k + 1, POINT_STRIDE, 0);
+			DoubleVector pz = DoubleVector.fromArray(SPECIES, points, k + 2, POINT_STRIDE, 0);
+
+			DoubleVector.fromArray(SPECIES, A, n).mul(px)
+				.add(DoubleVector.fromArray(SPECIES, B, n).mul(py))
+				.add(DoubleVector.fromArray(SPECIES, C, n).mul(pz))
+				.add(DoubleVector.fromArray(SPECIES, X, n))
+				.intoArray(points, k, POINT_STRIDE, 0);
+			DoubleVector.fromArray(SPECIES, D, n).mul(px)
+				.add(DoubleVector.fromArray(SPECIES, E, n).mul(py))
+				.add(DoubleVector.fromArray(SPECIES, F, n).mul(pz))
+				.add(DoubleVector.fromArray(SPECIES, Y, n))
+				.intoArray(points, k + 1, POINT_STRIDE, 0);
+			DoubleVector.fromArray(SPECIES, G, n).mul(px)
+				.add(DoubleVector.fromArray(SPECIES, H, n).mul(py))
+				.add(DoubleVector.fromArray(SPECIES, I, n).mul(pz))
+				.add(DoubleVector.fromArray(SPECIES, Z, n))
+				.intoArray(points, k + 2, POINT_STRIDE, 0);
+		}
+		applyEach(buffer, points, n, size);
+	}
+
+}
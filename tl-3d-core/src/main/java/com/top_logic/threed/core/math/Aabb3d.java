@@ -0,0 +1,556 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import static java.lang.Math.*;
+
+/**
+ * An axis-aligned bounding box in 3D Euclidean space.
+ *
+ * <p>
+ * The box is given by its minimum and maximum corner. A box with a minimum greater than its
+ * maximum in any dimension is {@link #isEmpty() empty}.
+ * </p>
+ *
+ * <h2>Array format</h2>
+ *
+ * <p>
+ * The static bulk operations work on boxes stored in <code>double</code> arrays, {@value #SIZE}
+ * values per box in the order <code>minX, minY, minZ, maxX, maxY, maxZ</code>.
+ * </p>
+ *
+ * <h2>Frustum format</h2>
+ *
+ * <p>
+ * A frustum (or any other convex region) is given as a <code>double</code> array of planes, four
+ * values <code>(a, b, c, d)</code> per plane. A point <code>(x, y, z)</code> is inside the region,
+ * if <code>a*x + b*y + c*z + d &gt;= 0</code> for all planes. The plane normals need not be
+ * normalized.
+ * </p>
+ *
+ * @see Obb3d
+ */
+public final class Aabb3d {
+
+	/**
+	 * Number of values per box in the array format.
+	 */
+	public static final int SIZE = 6;
+
+	private static final Aabb3d EMPTY = new Aabb3d(
+		Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+		Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+	private final double _minX, _minY, _minZ;
+
+	private final double _maxX, _maxY, _maxZ;
+
+	private Aabb3d(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		_minX = minX;
+		_minY = minY;
+		_minZ = minZ;
+		_maxX = maxX;
+		_maxY = maxY;
+		_maxZ = maxZ;
+	}
+
+	/**
+	 * Creates an {@link Aabb3d} from its corners.
+	 */
+	public static Aabb3d box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+		if (minX > maxX || minY > maxY || minZ > maxZ) {
+			return EMPTY;
+		}
+		return new Aabb3d(minX, minY, minZ, maxX, maxY, maxZ);
+	}
+
+	/**
+	 * Creates an {@link Aabb3d} from its corners.
+	 */
+	public static Aabb3d box(Vec3d min, Vec3d max) {
+		return box(min.x(), min.y(), min.z(), max.x(), max.y(), max.z());
+	}
+
+	/**
+	 * The empty box containing no points.
+	 */
+	public static Aabb3d empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Reads the box at the given offset in array format.
+	 */
+	public static Aabb3d fromArray(double[] boxes, int offset) {
+		return box(boxes[offset], boxes[offset + 1], boxes[offset + 2],
+			boxes[offset + 3], boxes[offset + 4], boxes[offset + 5]);
+	}
+
+	/**
+	 * Writes this box in array format to the given offset.
+	 */
+	public void toArray(double[] boxes, int offset) {
+		boxes[offset] = _minX;
+		boxes[offset + 1] = _minY;
+		boxes[offset + 2] = _minZ;
+		boxes[offset + 3] = _maxX;
+		boxes[offset + 4] = _maxY;
+		boxes[offset + 5] = _maxZ;
+	}
+
+	/**
+	 * Whether this box contains no points.
+	 */
+	public boolean isEmpty() {
+		return this == EMPTY;
+	}
+
+	/**
+	 * The minimum corner.
+	 */
+	public Vec3d min() {
+		return Vec3d.vec(_minX, _minY, _minZ);
+	}
+
+	/**
+	 * The maximum corner.
+	 */
+	public Vec3d max() {
+		return Vec3d.vec(_maxX, _maxY, _maxZ);
+	}
+
+	/**
+	 * Minimum X coordinate.
+	 */
+	public double minX() {
+		return _minX;
+	}
+
+	/**
+	 * Minimum Y coordinate.
+	 */
+	public double minY() {
+		return _minY;
+	}
+
+	/**
+	 * Minimum Z coordinate.
+	 */
+	public double minZ() {
+		return _minZ;
+	}
+
+	/**
+	 * Maximum X coordinate.
+	 */
+	public double maxX() {
+		return _maxX;
+	}
+
+	/**
+	 * Maximum Y coordinate.
+	 */
+	public double maxY() {
+		return _maxY;
+	}
+
+	/**
+	 * Maximum Z coordinate.
+	 */
+	public double maxZ() {
+		return _maxZ;
+	}
+
+	/**
+	 * The center of this box.
+	 */
+	public Vec3d center() {
+		return Vec3d.vec((_minX + _maxX) / 2, (_minY + _maxY) / 2, (_minZ + _maxZ) / 2);
+	}
+
+	/**
+	 * Half the extent of this box in each dimension.
+	 */
+	public Vec3d halfSize() {
+		return Vec3d.vec((_maxX - _minX) / 2, (_maxY - _minY) / 2, (_maxZ - _minZ) / 2);
+	}
+
+	/**
+	 * Whether the given point is inside this box.
+	 */
+	public boolean contains(Vec3d p) {
+		return contains(p.x(), p.y(), p.z());
+	}
+
+	/**
+	 * Whether the given point is inside this box.
+	 */
+	public boolean contains(double x, double y, double z) {
+		return x >= _minX && x <= _maxX && y >= _minY && y <= _maxY && z >= _minZ && z <= _maxZ;
+	}
+
+	/**
+	 * The smallest box containing this box and the given point.
+	 */
+	public Aabb3d include(double x, double y, double z) {
+		if (isEmpty()) {
+			return new Aabb3d(x, y, z, x, y, z);
+		}
+		if (contains(x, y, z)) {
+			return this;
+		}
+		return new Aabb3d(
+			Math.min(_minX, x), Math.min(_minY, y), Math.min(_minZ, z),
+			Math.max(_maxX, x), Math.max(_maxY, y), Math.max(_maxZ, z));
+	}
+
+	/**
+	 * The smallest box containing this and the given box.
+	 */
+	public Aabb3d union(Aabb3d other) {
+		if (other.isEmpty()) {
+			return this;
+		}
+		if (isEmpty()) {
+			return other;
+		}
+		return new Aabb3d(
+			Math.min(_minX, other._minX), Math.min(_minY, other._minY), Math.min(_minZ, other._minZ),
+			Math.max(_maxX, other._maxX), Math.max(_maxY, other._maxY), Math.max(_maxZ, other._maxZ));
+	}
+
+	/**
+	 * The box containing all points of both, this and the given box.
+	 */
+	public Aabb3d intersection(Aabb3d other) {
+		return box(
+			Math.max(_minX, other._minX), Math.max(_minY, other._minY), Math.max(_minZ, other._minZ),
+			Math.min(_maxX, other._maxX), Math.min(_maxY, other._maxY), Math.min(_maxZ, other._maxZ));
+	}
+
+	/**
+	 * Whether this box and the given box have at least one point in common.
+	 */
+	public boolean intersects(Aabb3d other) {
+		return _minX <= other._maxX && other._minX <= _maxX
+			&& _minY <= other._maxY && other._minY <= _maxY
+			&& _minZ <= other._maxZ && other._minZ <= _maxZ;
+	}
+
+	/**
+	 * The smallest axis-aligned box containing the image of this box under the given
+	 * {@link Transformation}.
+	 */
+	public Aabb3d transform(Transformation tx) {
+		if (isEmpty() || tx.isIdentity()) {
+			return this;
+		}
+		double a = tx.a(), b = tx.b(), c = tx.c();
+		double d = tx.d(), e = tx.e(), f = tx.f();
+		double g = tx.g(), h = tx.h(), i = tx.i();
+
+		// Transform the center and project the extents onto the coordinate axes.
+		double cx = (_minX + _maxX) / 2, cy = (_minY + _maxY) / 2, cz = (_minZ + _maxZ) / 2;
+		double hx = (_maxX - _minX) / 2, hy = (_maxY - _minY) / 2, hz = (_maxZ - _minZ) / 2;
+
+		double ncx = a * cx + b * cy + c * cz + tx.x();
+		double ncy = d * cx + e * cy + f * cz + tx.y();
+		double ncz = g * cx + h * cy + i * cz + tx.z();
+
+		double nhx = abs(a) * hx + abs(b) * hy + abs(c) * hz;
+		double nhy = abs(d) * hx + abs(e) * hy + abs(f) * hz;
+		double nhz = abs(g) * hx + abs(h) * hy + abs(i) * hz;
+
+		return new Aabb3d(ncx - nhx, ncy - nhy, ncz - nhz, ncx + nhx, ncy + nhy, ncz + nhz);
+	}
+
+	/**
+	 * This box as {@link Obb3d}, e.g. for transforming it without enlarging it.
+	 *
+	 * @see Obb3d#transform(Transformation)
+	 */
+	public Obb3d toObb() {
+		return Obb3d.fromAabb(this);
+	}
+
+	/**
+	 * The distance along the given ray to the first point inside this box.
+	 *
+	 * @param origin
+	 *        The start of the ray.
+	 * @param direction
+	 *        The direction of the ray, the distance is measured in multiples of its length.
+	 * @return The distance, <code>0</code> if the origin is inside this box,
+	 *         {@link Double#POSITIVE_INFINITY} if the ray misses this box.
+	 */
+	public double rayDistance(Vec3d origin, Vec3d direction) {
+		return rayDistance(_minX, _minY, _minZ, _maxX, _maxY, _maxZ,
+			origin.x(), origin.y(), origin.z(), direction.x(), direction.y(), direction.z());
+	}
+
+	/**
+	 * Whether this box is at least partially inside the given region.
+	 *
+	 * <p>
+	 * The test is conservative, it may report an intersection for a box close to the corner of the
+	 * region, but never misses a box inside the region.
+	 * </p>
+	 *
+	 * @param planes
+	 *        The region in frustum format, see {@link Aabb3d}.
+	 */
+	public boolean intersectsFrustum(double[] planes) {
+		return !isEmpty() && intersectsFrustum(_minX, _minY, _minZ, _maxX, _maxY, _maxZ, planes);
+	}
+
+	/**
+	 * Transforms the given number of boxes in array format.
+	 *
+	 * <p>
+	 * Input and output may be the same array.
+	 * </p>
+	 *
+	 * @param tx
+	 *        The transformation to apply to all boxes.
+	 * @param boxes
+	 *        The boxes to transform.
+	 * @param offset
+	 *        Index of the first box value in the input array.
+	 * @param count
+	 *        The number of boxes to transform.
+	 * @param out
+	 *        The array to write the transformed boxes to.
+	 * @param outOffset
+	 *        Index of the first box value in the output array.
+	 */
+	public static void transformAll(Transformation tx, double[] boxes, int offset, int count, double[] out,
+			int outOffset) {
+		double a = tx.a(), b = tx.b(), c = tx.c();
+		double d = tx.d(), e = tx.e(), f = tx.f();
+		double g = tx.g(), h = tx.h(), i = tx.i();
+		double x = tx.x(), y = tx.y(), z = tx.z();
+		for (int n = 0; n < count; n++) {
+			transform(a, b, c, d, e, f, g, h, i, x, y, z, boxes, offset + n * SIZE, out, outOffset + n * SIZE);
+		}
+	}
+
+	/**
+	 * Transforms a single box in array format.
+	 */
+	static void transform(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z,
+			double[] boxes, int offset, double[] out, int outOffset) {
+		double minX = boxes[offset], minY = boxes[offset + 1], minZ = boxes[offset + 2];
+		double maxX = boxes[offset + 3], maxY = boxes[offset + 4], maxZ = boxes[offset + 5];
+		if (minX > maxX || minY > maxY || minZ > maxZ) {
+			// Empty box stays empty.
+			if (out != boxes || outOffset != offset) {
+				System.arraycopy(boxes, offset, out, outOffset, SIZE);
+			}
+			return;
+		}
+
+		// Transform the center and project the extents onto the coordinate axes.
+		double cx = (minX + maxX) / 2, cy = (minY + maxY) / 2, cz = (minZ + maxZ) / 2;
+		double hx = (maxX - minX) / 2, hy = (maxY - minY) / 2, hz = (maxZ - minZ) / 2;
+
+		double ncx = a * cx + b * cy + c * cz + x;
+		double ncy = d * cx + e * cy + f * cz + y;
+		double ncz = g * cx + h * cy + i * cz + z;
+
+		double nhx = abs(a) * hx + abs(b) * hy + abs(c) * hz;
+		double nhy = abs(d) * hx + abs(e) * hy + abs(f) * hz;
+		double nhz = abs(g) * hx + abs(h) * hy + abs(i) * hz;
+
+		out[outOffset] = ncx - nhx;
+		out[outOffset + 1] = ncy - nhy;
+		out[outOffset + 2] = ncz - nhz;
+		out[outOffset + 3] = ncx + nhx;
+		out[outOffset + 4] = ncy + nhy;
+		out[outOffset + 5] = ncz + nhz;
+	}
+
+	/**
+	 * Computes the union of the given number of boxes in array format.
+	 *
+	 * @return The smallest box containing all given boxes.
+	 */
+	public static Aabb3d unionAll(double[] boxes, int offset, int count) {
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+		for (int n = 0, k = offset; n < count; n++, k += SIZE) {
+			if (boxes[k] > boxes[k + 3] || boxes[k + 1] > boxes[k + 4] || boxes[k + 2] > boxes[k + 5]) {
+				continue;
+			}
+			minX = Math.min(minX, boxes[k]);
+			minY = Math.min(minY, boxes[k + 1]);
+			minZ = Math.min(minZ, boxes[k + 2]);
+			maxX = Math.max(maxX, boxes[k + 3]);
+			maxY = Math.max(maxY, boxes[k + 4]);
+			maxZ = Math.max(maxZ, boxes[k + 5]);
+		}
+		return box(minX, minY, minZ, maxX, maxY, maxZ);
+	}
+
+	/**
+	 * Tests the given number of boxes in array format against a region.
+	 *
+	 * @param boxes
+	 *        The boxes to test.
+	 * @param offset
+	 *        Index of the first box value.
+	 * @param count
+	 *        The number of boxes to test.
+	 * @param planes
+	 *        The region in frustum format, see {@link Aabb3d}.
+	 * @param visible
+	 *        Output array receiving for each box whether it is at least partially inside the
+	 *        region, see {@link #intersectsFrustum(double[])}.
+	 * @return The number of boxes inside the region.
+	 */
+	public static int cullAll(double[] boxes, int offset, int count, double[] planes, boolean[] visible) {
+		int result = 0;
+		for (int n = 0, k = offset; n < count; n++, k += SIZE) {
+			boolean inside = boxes[k] <= boxes[k + 3] && boxes[k + 1] <= boxes[k + 4] && boxes[k + 2] <= boxes[k + 5]
+				&& intersectsFrustum(boxes[k], boxes[k + 1], boxes[k + 2], boxes[k + 3], boxes[k + 4], boxes[k + 5],
+					planes);
+			visible[n] = inside;
+			if (inside) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the {@link #rayDistance(Vec3d, Vec3d) ray distance} for the given number of boxes in
+	 * array format.
+	 *
+	 * @param distances
+	 *        Output array receiving the distance for each box.
+	 * @return The index of the box hit first, <code>-1</code> if the ray misses all boxes.
+	 */
+	public static int rayDistanceAll(double[] boxes, int offset, int count, Vec3d origin, Vec3d direction,
+			double[] distances) {
+		double ox = origin.x(), oy = origin.y(), oz = origin.z();
+		double dx = direction.x(), dy = direction.y(), dz = direction.z();
+		int result = -1;
+		double nearest = Double.POSITIVE_INFINITY;
+		for (int n = 0, k = offset; n < count; n++, k += SIZE) {
+			double distance = rayDistance(boxes[k], boxes[k + 1], boxes[k + 2], boxes[k + 3], boxes[k + 4],
+				boxes[k + 5], ox, oy, oz, dx, dy, dz);
+			distances[n] = distance;
+			if (distance < nearest) {
+				nearest = distance;
+				result = n;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Slab test of a ray against a box.
+	 */
+	static double rayDistance(
+			double minX, double minY, double minZ,
+			double maxX, double maxY, double maxZ,
+			double ox, double oy, double oz,
+			double dx, double dy, double dz) {
+		double near = 0;
+		double far = Double.POSITIVE_INFINITY;
+
+		if (dx == 0) {
+			if (ox < minX || ox > maxX) {
+				return Double.POSITIVE_INFINITY;
+			}
+		} else {
+			double t1 = (minX - ox) / dx, t2 = (maxX - ox) / dx;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+		}
+
+		if (dy == 0) {
+			if (oy < minY || oy > maxY) {
+				return Double.POSITIVE_INFINITY;
+			}
+		} else {
+			double t1 = (minY - oy) / dy, t2 = (maxY - oy) / dy;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+		}
+
+		if (dz == 0) {
+			if (oz < minZ || oz > maxZ) {
+				return Double.POSITIVE_INFINITY;
+			}
+		} else {
+			double t1 = (minZ - oz) / dz, t2 = (maxZ - oz) / dz;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+		}
+
+		return near <= far ? near : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Tests a box against the planes of a region.
+	 */
+	static boolean intersectsFrustum(
+			double minX, double minY, double minZ,
+			double maxX, double maxY, double maxZ,
+			double[] planes) {
+		for (int k = 0, cnt = planes.length; k < cnt; k += 4) {
+			double a = planes[k], b = planes[k + 1], c = planes[k + 2], d = planes[k + 3];
+
+			// The corner furthest in direction of the plane normal.
+			double px = a >= 0 ? maxX : minX;
+			double py = b >= 0 ? maxY : minY;
+			double pz = c >= 0 ? maxZ : minZ;
+			if (a * px + b * py + c * pz + d < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 31 + Double.hashCode(_minX);
+		result = 31 * result + Double.hashCode(_minY);
+		result = 31 * result + Double.hashCode(_minZ);
+		result = 31 * result + Double.hashCode(_maxX);
+		result = 31 * result + Double.hashCode(_maxY);
+		result = 31 * result + Double.hashCode(_maxZ);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof Aabb3d))
+			return false;
+		Aabb3d other = (Aabb3d) obj;
+		return Double.doubleToLongBits(_minX) == Double.doubleToLongBits(other._minX)
+			&& Double.doubleToLongBits(_minY) == Double.doubleToLongBits(other._minY)
+			&& Double.doubleToLongBits(_minZ) == Double.doubleToLongBits(other._minZ)
+			&& Double.doubleToLongBits(_maxX) == Double.doubleToLongBits(other._maxX)
+			&& Double.doubleToLongBits(_maxY) == Double.doubleToLongBits(other._maxY)
+			&& Double.doubleToLongBits(_maxZ) == Double.doubleToLongBits(other._maxZ);
+	}
+
+	@Override
+	public String toString() {
+		if (isEmpty()) {
+			return "Aabb()";
+		}
+		return "Aabb(" + min() + ", " + max() + ")";
+	}
+
+}
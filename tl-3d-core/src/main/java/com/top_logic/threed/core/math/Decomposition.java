@@ -0,0 +1,274 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import static java.lang.Math.*;
+
+/**
+ * Rotation and translation of a {@link Transformation} in several representations.
+ *
+ * <p>
+ * The rotation is available as Euler angles (rotation first around the x-axis, then around the
+ * y-axis and finally around the z-axis), as unit quaternion, and as rotation axis and angle. All
+ * representations are computed together in a single pass.
+ * </p>
+ *
+ * <p>
+ * The quaternion and axis-angle representations are only meaningful for
+ * {@link Transformation.Kind#isRigid() rigid} transformations. The Euler angles are the same as
+ * reported by {@link Transformation#getRotationX()}, {@link Transformation#getRotationY()}, and
+ * {@link Transformation#getRotationZ()}.
+ * </p>
+ *
+ * @see Transformation#decompose()
+ * @see Transformation#decompose(double[], int)
+ */
+public final class Decomposition {
+
+	/**
+	 * Offset of the Euler angles (rotation around x, y, and z) in the array format.
+	 */
+	public static final int EULER = 0;
+
+	/**
+	 * Offset of the quaternion (x, y, z, w) in the array format.
+	 */
+	public static final int QUATERNION = 3;
+
+	/**
+	 * Offset of the rotation axis (x, y, z) and angle in the array format.
+	 */
+	public static final int AXIS_ANGLE = 7;
+
+	/**
+	 * Offset of the translation (x, y, z) in the array format.
+	 */
+	public static final int TRANSLATION = 11;
+
+	/**
+	 * Number of values in the array format.
+	 */
+	public static final int SIZE = 14;
+
+	private final double[] _values;
+
+	private Decomposition(double[] values) {
+		_values = values;
+	}
+
+	/**
+	 * Decomposes the given {@link Transformation}.
+	 *
+	 * <p>
+	 * Use {@link Transformation#decompose()} to benefit from the decomposition cached in the
+	 * transformation.
+	 * </p>
+	 */
+	static Decomposition create(Transformation tx) {
+		double[] values = new double[SIZE];
+		decompose(
+			tx.a(), tx.b(), tx.c(),
+			tx.d(), tx.e(), tx.f(),
+			tx.g(), tx.h(), tx.i(),
+			tx.x(), tx.y(), tx.z(),
+			values, 0);
+		return new Decomposition(values);
+	}
+
+	/**
+	 * Rotation around the x-axis.
+	 *
+	 * @see Transformation#getRotationX()
+	 */
+	public double rotationX() {
+		return _values[EULER];
+	}
+
+	/**
+	 * Rotation around the y-axis.
+	 *
+	 * @see Transformation#getRotationY()
+	 */
+	public double rotationY() {
+		return _values[EULER + 1];
+	}
+
+	/**
+	 * Rotation around the z-axis.
+	 *
+	 * @see Transformation#getRotationZ()
+	 */
+	public double rotationZ() {
+		return _values[EULER + 2];
+	}
+
+	/**
+	 * X component of the rotation quaternion.
+	 */
+	public double qx() {
+		return _values[QUATERNION];
+	}
+
+	/**
+	 * Y component of the rotation quaternion.
+	 */
+	public double qy() {
+		return _values[QUATERNION + 1];
+	}
+
+	/**
+	 * Z component of the rotation quaternion.
+	 */
+	public double qz() {
+		return _values[QUATERNION + 2];
+	}
+
+	/**
+	 * Scalar component of the rotation quaternion, never negative.
+	 */
+	public double qw() {
+		return _values[QUATERNION + 3];
+	}
+
+	/**
+	 * The unit vector around which is rotated, the x-axis for no rotation.
+	 */
+	public Vec3d axis() {
+		return Vec3d.vec(_values[AXIS_ANGLE], _values[AXIS_ANGLE + 1], _values[AXIS_ANGLE + 2]);
+	}
+
+	/**
+	 * The rotation angle around the {@link #axis()} in the range <code>[0, PI]</code>.
+	 */
+	public double angle() {
+		return _values[AXIS_ANGLE + 3];
+	}
+
+	/**
+	 * The translation.
+	 */
+	public Vec3d translation() {
+		return Vec3d.vec(_values[TRANSLATION], _values[TRANSLATION + 1], _values[TRANSLATION + 2]);
+	}
+
+	/**
+	 * Copies the values in array format to the given buffer.
+	 *
+	 * @see Transformation#decompose(double[], int)
+	 */
+	public void copyTo(double[] out, int offset) {
+		System.arraycopy(_values, 0, out, offset, SIZE);
+	}
+
+	@Override
+	public String toString() {
+		return "Euler(" + rotationX() + ", " + rotationY() + ", " + rotationZ() + ") Q(" + qx() + ", " + qy() + ", "
+			+ qz() + ", " + qw() + ") T" + translation();
+	}
+
+	/**
+	 * Decomposes the transformation with the given matrix entries into {@value #SIZE} values
+	 * starting at the given offset.
+	 *
+	 * @see #EULER
+	 * @see #QUATERNION
+	 * @see #AXIS_ANGLE
+	 * @see #TRANSLATION
+	 */
+	static void decompose(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z,
+			double[] out, int offset) {
+		// Euler angles, see https://eecs.qmul.ac.uk/~gslabaugh/publications/euler.pdf
+		double rotX, rotY, rotZ;
+		if (g == -1) {
+			rotX = atan2(b, c);
+			rotY = PI / 2;
+			rotZ = 0;
+		} else if (g == 1) {
+			rotX = atan2(-b, -c);
+			rotY = -PI / 2;
+			rotZ = 0;
+		} else {
+			double asin = asin(g);
+			// Avoid display of -0.0
+			double theta = asin == 0.0 ? 0.0 : -asin;
+			rotY = theta;
+			if (cos(theta) < 0) {
+				rotX = atan2(-h, -i);
+				rotZ = atan2(-d, -a);
+			} else {
+				rotX = atan2(h, i);
+				rotZ = atan2(d, a);
+			}
+		}
+		out[offset + EULER] = rotX;
+		out[offset + EULER + 1] = rotY;
+		out[offset + EULER + 2] = rotZ;
+
+		// Quaternion, choosing the largest diagonal term for numerical stability.
+		double qx, qy, qz, qw;
+		double trace = a + e + i;
+		if (trace > 0) {
+			double s = 2 * sqrt(trace + 1);
+			qw = 0.25 * s;
+			qx = (h - f) / s;
+			qy = (c - g) / s;
+			qz = (d - b) / s;
+		} else if (a > e && a > i) {
+			double s = 2 * sqrt(1 + a - e - i);
+			qw = (h - f) / s;
+			qx = 0.25 * s;
+			qy = (b + d) / s;
+			qz = (c + g) / s;
+		} else if (e > i) {
+			double s = 2 * sqrt(1 + e - a - i);
+			qw = (c - g) / s;
+			qx = (b + d) / s;
+			qy = 0.25 * s;
+			qz = (f + h) / s;
+		} else {
+			double s = 2 * sqrt(1 + i - a - e);
+			qw = (d - b) / s;
+			qx = (c + g) / s;
+			qy = (f + h) / s;
+			qz = 0.25 * s;
+		}
+		double norm = sqrt(qx * qx + qy * qy + qz * qz + qw * qw);
+		if (qw < 0) {
+			norm = -norm;
+		}
+		qx /= norm;
+		qy /= norm;
+		qz /= norm;
+		qw /= norm;
+		out[offset + QUATERNION] = qx;
+		out[offset + QUATERNION + 1] = qy;
+		out[offset + QUATERNION + 2] = qz;
+		out[offset + QUATERNION + 3] = qw;
+
+		// Axis and angle.
+		double sin = sqrt(qx * qx + qy * qy + qz * qz);
+		if (sin == 0) {
+			out[offset + AXIS_ANGLE] = 1;
+			out[offset + AXIS_ANGLE + 1] = 0;
+			out[offset + AXIS_ANGLE + 2] = 0;
+			out[offset + AXIS_ANGLE + 3] = 0;
+		} else {
+			out[offset + AXIS_ANGLE] = qx / sin;
+			out[offset + AXIS_ANGLE + 1] = qy / sin;
+			out[offset + AXIS_ANGLE + 2] = qz / sin;
+			out[offset + AXIS_ANGLE + 3] = 2 * atan2(sin, qw);
+		}
+
+		out[offset + TRANSLATION] = x;
+		out[offset + TRANSLATION + 1] = y;
+		out[offset + TRANSLATION + 2] = z;
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import java.util.List;
+
+/**
+ * Reusable accumulator for composing {@link Transformation}s in place.
+ * 
+ * <p>
+ * In contrast to {@link Transformation#after(Transformation)}, composing with a
+ * {@link MutableTransformation} does not allocate intermediate objects. An immutable
+ * {@link Transformation} is only created on request through {@link #toTransformation()}.
+ * </p>
+ * 
+ * <p>
+ * Methods accepting arrays or lists expect the 12 entries in the order defined by
+ * {@link TransformationUtil#toList(Transformation)}.
+ * </p>
+ */
+public class MutableTransformation {
+
+	// First row of the rotation matrix.
+	private double _a, _b, _c;
+
+	// Second row of the rotation matrix.
+	private double _d, _e, _f;
+
+	// Third row of the rotation matrix.
+	private double _g, _h, _i;
+
+	// The translation vector.
+	private double _x, _y, _z;
+
+	/**
+	 * Creates a {@link MutableTransformation} initialized to the identity.
+	 */
+	public MutableTransformation() {
+		setIdentity();
+	}
+
+	/**
+	 * Resets this accumulator to the identity transformation.
+	 */
+	public MutableTransformation setIdentity() {
+		return set(
+			1, 0, 0,
+			0, 1, 0,
+			0, 0, 1,
+			0, 0, 0);
+	}
+
+	/**
+	 * Replaces the value of this accumulator with the given {@link Transformation}.
+	 */
+	public MutableTransformation set(Transformation tx) {
+		return set(
+			tx.a(), tx.b(), tx.c(),
+			tx.d(), tx.e(), tx.f(),
+			tx.g(), tx.h(), tx.i(),
+			tx.x(), tx.y(), tx.z());
+	}
+
+	/**
+	 * Replaces the value of this accumulator with the 12 entries starting at the given offset.
+	 */
+	public MutableTransformation set(double[] values, int offset) {
+		return set(
+			values[offset], values[offset + 1], values[offset + 2],
+			values[offset + 3], values[offset + 4], values[offset + 5],
+			values[offset + 6], values[offset + 7], values[offset + 8],
+			values[offset + 9], values[offset + 10], values[offset + 11]);
+	}
+
+	/**
+	 * Replaces the value of this accumulator with the given matrix entries.
+	 *
+	 * @see Transformation#Transformation(double, double, double, double, double, double, double,
+	 *      double, double, double, double, double)
+	 */
+	public MutableTransformation set(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z) {
+		_a = a;
+		_b = b;
+		_c = c;
+
+		_d = d;
+		_e = e;
+		_f = f;
+
+		_g = g;
+		_h = h;
+		_i = i;
+
+		_x = x;
+		_y = y;
+		_z = z;
+		return this;
+	}
+
+	/**
+	 * Updates this accumulator to first apply the given transformation and then the current value.
+	 *
+	 * @see Transformation#after(Transformation)
+	 */
+	public MutableTransformation after(Transformation other) {
+		if (other.kind() == Transformation.Kind.IDENTITY) {
+			return this;
+		}
+		return after(
+			other.a(), other.b(), other.c(),
+			other.d(), other.e(), other.f(),
+			other.g(), other.h(), other.i(),
+			other.x(), other.y(), other.z());
+	}
+
+	/**
+	 * Updates this accumulator to first apply the transformation given as 12 entries starting at
+	 * the given offset and then the current value.
+	 */
+	public MutableTransformation after(double[] values, int offset) {
+		return after(
+			values[offset], values[offset + 1], values[offset + 2],
+			values[offset + 3], values[offset + 4], values[offset + 5],
+			values[offset + 6], values[offset + 7], values[offset + 8],
+			values[offset + 9], values[offset + 10], values[offset + 11]);
+	}
+
+	/**
+	 * Updates this accumulator to first apply the given matrix and then the current value.
+	 */
+	public MutableTransformation after(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z) {
+		return set(
+			_a * a + _b * d + _c * g,
+			_a * b + _b * e + _c * h,
+			_a * c + _b * f + _c * i,
+
+			_d * a + _e * d + _f * g,
+			_d * b + _e * e + _f * h,
+			_d * c + _e * f + _f * i,
+
+			_g * a + _h * d + _i * g,
+			_g * b + _h * e + _i * h,
+			_g * c + _h * f + _i * i,
+
+			_a * x + _b * y + _c * z + _x,
+			_d * x + _e * y + _f * z + _y,
+			_g * x + _h * y + _i * z + _z);
+	}
+
+	/**
+	 * Updates this accumulator to first apply the current value and then the given transformation.
+	 *
+	 * <p>
+	 * This is the operation required when walking a node hierarchy from a leaf to the root.
+	 * </p>
+	 */
+	public MutableTransformation before(Transformation other) {
+		if (other.kind() == Transformation.Kind.IDENTITY) {
+			return this;
+		}
+		return before(
+			other.a(), other.b(), other.c(),
+			other.d(), other.e(), other.f(),
+			other.g(), other.h(), other.i(),
+			other.x(), other.y(), other.z());
+	}
+
+	/**
+	 * Updates this accumulator to first apply the current value and then the transformation given
+	 * as 12 entries starting at the given offset.
+	 */
+	public MutableTransformation before(double[] values, int offset) {
+		return before(
+			values[offset], values[offset + 1], values[offset + 2],
+			values[offset + 3], values[offset + 4], values[offset + 5],
+			values[offset + 6], values[offset + 7], values[offset + 8],
+			values[offset + 9], values[offset + 10], values[offset + 11]);
+	}
+
+	/**
+	 * Updates this accumulator to first apply the current value and then the transformation given
+	 * as list of 12 entries.
+	 *
+	 * <p>
+	 * The values are read directly from the list without creating an intermediate
+	 * {@link Transformation}.
+	 * </p>
+	 *
+	 * @see TransformationUtil#fromList(List)
+	 */
+	public MutableTransformation before(List<? extends Number> values) {
+		if (values.size() != 12) {
+			throw new IllegalArgumentException("TX must contain exactly 12 entries.");
+		}
+		return before(
+			values.get(0).doubleValue(), values.get(1).doubleValue(), values.get(2).doubleValue(),
+			values.get(3).doubleValue(), values.get(4).doubleValue(), values.get(5).doubleValue(),
+			values.get(6).doubleValue(), values.get(7).doubleValue(), values.get(8).doubleValue(),
+			values.get(9).doubleValue(), values.get(10).doubleValue(), values.get(11).doubleValue());
+	}
+
+	/**
+	 * Updates this accumulator to first apply the current value and then the given matrix.
+	 */
+	public MutableTransformation before(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z) {
+		return set(
+			a * _a + b * _d + c * _g,
+			a * _b + b * _e + c * _h,
+			a * _c + b * _f + c * _i,
+
+			d * _a + e * _d + f * _g,
+			d * _b + e * _e + f * _h,
+			d * _c + e * _f + f * _i,
+
+			g * _a + h * _d + i * _g,
+			g * _b + h * _e + i * _h,
+			g * _c + h * _f + i * _i,
+
+			a * _x + b * _y + c * _z + x,
+			d * _x + e * _y + f * _z + y,
+			g * _x + h * _y + i * _z + z);
+	}
+
+	/**
+	 * Writes the current value as 12 entries to the given array starting at the given offset.
+	 */
+	public void toArray(double[] out, int offset) {
+		out[offset] = _a;
+		out[offset + 1] = _b;
+		out[offset + 2] = _c;
+		out[offset + 3] = _d;
+		out[offset + 4] = _e;
+		out[offset + 5] = _f;
+		out[offset + 6] = _g;
+		out[offset + 7] = _h;
+		out[offset + 8] = _i;
+		out[offset + 9] = _x;
+		out[offset + 10] = _y;
+		out[offset + 11] = _z;
+	}
+
+	/**
+	 * Creates an immutable {@link Transformation} with the current value of this accumulator.
+	 */
+	public Transformation toTransformation() {
+		return new Transformation(
+			_a, _b, _c,
+			_d, _e, _f,
+			_g, _h, _i,
+			_x, _y, _z);
+	}
+
+	@Override
+	public String toString() {
+		return toTransformation().toString();
+	}
+
+}
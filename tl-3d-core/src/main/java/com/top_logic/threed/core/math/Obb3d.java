@@ -0,0 +1,503 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import static java.lang.Math.*;
+
+import java.util.Arrays;
+
+/**
+ * An oriented bounding box in 3D Euclidean space.
+ *
+ * <p>
+ * The box is given by its center, three orthonormal axes and its half extent along each axis. In
+ * contrast to an {@link Aabb3d}, an oriented box does not grow when it is rotated.
+ * </p>
+ *
+ * <h2>Array format</h2>
+ *
+ * <p>
+ * The static bulk operations work on boxes stored in <code>double</code> arrays, {@value #SIZE}
+ * values per box: the center <code>(x, y, z)</code>, the three axes <code>(x, y, z)</code> each,
+ * and the three half extents.
+ * </p>
+ */
+public final class Obb3d {
+
+	/**
+	 * Number of values per box in the array format.
+	 */
+	public static final int SIZE = 15;
+
+	/**
+	 * Tolerance for parallel and degenerate axes.
+	 */
+	private static final double PARALLEL_EPSILON = 1e-12;
+
+	private final double[] _values;
+
+	private Obb3d(double[] values) {
+		_values = values;
+	}
+
+	/**
+	 * Creates an {@link Obb3d}.
+	 *
+	 * @param center
+	 *        The center of the box.
+	 * @param rotation
+	 *        The rotation that maps the coordinate axes to the axes of the box. Only the rotation
+	 *        part is used.
+	 * @param halfSize
+	 *        The half extents along the box axes.
+	 * @throws IllegalArgumentException
+	 *         If the given rotation is not {@link Transformation.Kind#isRigid() rigid}.
+	 */
+	public static Obb3d box(Vec3d center, Transformation rotation, Vec3d halfSize) {
+		if (!rotation.kind().isRigid()) {
+			throw new IllegalArgumentException("Not a rotation: " + rotation);
+		}
+		return new Obb3d(new double[] {
+			center.x(), center.y(), center.z(),
+			rotation.a(), rotation.d(), rotation.g(),
+			rotation.b(), rotation.e(), rotation.h(),
+			rotation.c(), rotation.f(), rotation.i(),
+			abs(halfSize.x()), abs(halfSize.y()), abs(halfSize.z()),
+		});
+	}
+
+	/**
+	 * The given {@link Aabb3d} as oriented box.
+	 *
+	 * @throws IllegalArgumentException
+	 *         If the given box is {@link Aabb3d#isEmpty() empty}.
+	 */
+	public static Obb3d fromAabb(Aabb3d box) {
+		if (box.isEmpty()) {
+			throw new IllegalArgumentException("An empty box has no orientation.");
+		}
+		return new Obb3d(new double[] {
+			(box.minX() + box.maxX()) / 2, (box.minY() + box.maxY()) / 2, (box.minZ() + box.maxZ()) / 2,
+			1, 0, 0,
+			0, 1, 0,
+			0, 0, 1,
+			(box.maxX() - box.minX()) / 2, (box.maxY() - box.minY()) / 2, (box.maxZ() - box.minZ()) / 2,
+		});
+	}
+
+	/**
+	 * Reads the box at the given offset in array format.
+	 */
+	public static Obb3d fromArray(double[] boxes, int offset) {
+		double[] values = new double[SIZE];
+		System.arraycopy(boxes, offset, values, 0, SIZE);
+		return new Obb3d(values);
+	}
+
+	/**
+	 * Writes this box in array format to the given offset.
+	 */
+	public void toArray(double[] boxes, int offset) {
+		System.arraycopy(_values, 0, boxes, offset, SIZE);
+	}
+
+	/**
+	 * The center of this box.
+	 */
+	public Vec3d center() {
+		return Vec3d.vec(_values[0], _values[1], _values[2]);
+	}
+
+	/**
+	 * The unit vector of the box axis with the given index.
+	 *
+	 * @param index
+	 *        <code>0</code>, <code>1</code>, or <code>2</code>.
+	 */
+	public Vec3d axis(int index) {
+		int k = 3 + 3 * index;
+		return Vec3d.vec(_values[k], _values[k + 1], _values[k + 2]);
+	}
+
+	/**
+	 * Half the extent of this box along each of its axes.
+	 */
+	public Vec3d halfSize() {
+		return Vec3d.vec(_values[12], _values[13], _values[14]);
+	}
+
+	/**
+	 * An oriented box containing the image of this box under the given {@link Transformation}.
+	 *
+	 * <p>
+	 * For transformations that keep the box axes perpendicular (all rigid transformations and
+	 * scalings along the box axes), the result is the exact image. Otherwise, the axes of the result
+	 * are the orthonormalized images of the box axes and the box is enlarged to contain the image,
+	 * which is not necessarily the smallest box containing it.
+	 * </p>
+	 */
+	public Obb3d transform(Transformation tx) {
+		if (tx.isIdentity()) {
+			return this;
+		}
+		double[] values = new double[SIZE];
+		transform(tx, _values, 0, values, 0);
+		return new Obb3d(values);
+	}
+
+	/**
+	 * The smallest {@link Aabb3d} containing this box.
+	 */
+	public Aabb3d toAabb() {
+		double[] v = _values;
+		double hx = 0, hy = 0, hz = 0;
+		for (int n = 0; n < 3; n++) {
+			int k = 3 + 3 * n;
+			double extent = v[12 + n];
+			hx += abs(v[k]) * extent;
+			hy += abs(v[k + 1]) * extent;
+			hz += abs(v[k + 2]) * extent;
+		}
+		return Aabb3d.box(v[0] - hx, v[1] - hy, v[2] - hz, v[0] + hx, v[1] + hy, v[2] + hz);
+	}
+
+	/**
+	 * Whether the given point is inside this box.
+	 */
+	public boolean contains(Vec3d p) {
+		double[] v = _values;
+		double dx = p.x() - v[0], dy = p.y() - v[1], dz = p.z() - v[2];
+		for (int n = 0; n < 3; n++) {
+			int k = 3 + 3 * n;
+			if (abs(dx * v[k] + dy * v[k + 1] + dz * v[k + 2]) > v[12 + n]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Whether this box and the given box have at least one point in common.
+	 *
+	 * @implNote Separating axis test with the 15 candidate axes.
+	 */
+	public boolean intersects(Obb3d other) {
+		double[] a = _values;
+		double[] b = other._values;
+
+		// Rotation of the other box expressed in the axes of this box.
+		double r00 = a[3] * b[3] + a[4] * b[4] + a[5] * b[5];
+		double r01 = a[3] * b[6] + a[4] * b[7] + a[5] * b[8];
+		double r02 = a[3] * b[9] + a[4] * b[10] + a[5] * b[11];
+		double r10 = a[6] * b[3] + a[7] * b[4] + a[8] * b[5];
+		double r11 = a[6] * b[6] + a[7] * b[7] + a[8] * b[8];
+		double r12 = a[6] * b[9] + a[7] * b[10] + a[8] * b[11];
+		double r20 = a[9] * b[3] + a[10] * b[4] + a[11] * b[5];
+		double r21 = a[9] * b[6] + a[10] * b[7] + a[11] * b[8];
+		double r22 = a[9] * b[9] + a[10] * b[10] + a[11] * b[11];
+
+		return separatingAxisTest(a, b[0], b[1], b[2], b[12], b[13], b[14],
+			r00, r01, r02, r10, r11, r12, r20, r21, r22);
+	}
+
+	/**
+	 * Whether this box and the given box have at least one point in common.
+	 */
+	public boolean intersects(Aabb3d other) {
+		if (other.isEmpty()) {
+			return false;
+		}
+
+		// The axes of the other box are the coordinate axes, its rotation expressed in the axes of
+		// this box consists of the axes of this box.
+		double[] a = _values;
+		return separatingAxisTest(a,
+			(other.minX() + other.maxX()) / 2, (other.minY() + other.maxY()) / 2, (other.minZ() + other.maxZ()) / 2,
+			(other.maxX() - other.minX()) / 2, (other.maxY() - other.minY()) / 2, (other.maxZ() - other.minZ()) / 2,
+			a[3], a[4], a[5], a[6], a[7], a[8], a[9], a[10], a[11]);
+	}
+
+	/**
+	 * Separating axis test of the box in array format with another box given by its center, half
+	 * extents and its rotation expressed in the axes of the first box.
+	 */
+	private static boolean separatingAxisTest(double[] a, double cx, double cy, double cz,
+			double b0, double b1, double b2,
+			double r00, double r01, double r02,
+			double r10, double r11, double r12,
+			double r20, double r21, double r22) {
+		double q00 = abs(r00) + PARALLEL_EPSILON, q01 = abs(r01) + PARALLEL_EPSILON, q02 = abs(r02) + PARALLEL_EPSILON;
+		double q10 = abs(r10) + PARALLEL_EPSILON, q11 = abs(r11) + PARALLEL_EPSILON, q12 = abs(r12) + PARALLEL_EPSILON;
+		double q20 = abs(r20) + PARALLEL_EPSILON, q21 = abs(r21) + PARALLEL_EPSILON, q22 = abs(r22) + PARALLEL_EPSILON;
+
+		// Translation expressed in the axes of this box.
+		double dx = cx - a[0], dy = cy - a[1], dz = cz - a[2];
+		double t0 = dx * a[3] + dy * a[4] + dz * a[5];
+		double t1 = dx * a[6] + dy * a[7] + dz * a[8];
+		double t2 = dx * a[9] + dy * a[10] + dz * a[11];
+
+		double a0 = a[12], a1 = a[13], a2 = a[14];
+
+		// Axes of this box.
+		if (abs(t0) > a0 + b0 * q00 + b1 * q01 + b2 * q02
+			|| abs(t1) > a1 + b0 * q10 + b1 * q11 + b2 * q12
+			|| abs(t2) > a2 + b0 * q20 + b1 * q21 + b2 * q22) {
+			return false;
+		}
+
+		// Axes of the other box.
+		if (abs(t0 * r00 + t1 * r10 + t2 * r20) > a0 * q00 + a1 * q10 + a2 * q20 + b0
+			|| abs(t0 * r01 + t1 * r11 + t2 * r21) > a0 * q01 + a1 * q11 + a2 * q21 + b1
+			|| abs(t0 * r02 + t1 * r12 + t2 * r22) > a0 * q02 + a1 * q12 + a2 * q22 + b2) {
+			return false;
+		}
+
+		// Cross products of the axes.
+		return abs(t2 * r10 - t1 * r20) <= a1 * q20 + a2 * q10 + b1 * q02 + b2 * q01
+			&& abs(t2 * r11 - t1 * r21) <= a1 * q21 + a2 * q11 + b0 * q02 + b2 * q00
+			&& abs(t2 * r12 - t1 * r22) <= a1 * q22 + a2 * q12 + b0 * q01 + b1 * q00
+			&& abs(t0 * r20 - t2 * r00) <= a0 * q20 + a2 * q00 + b1 * q12 + b2 * q11
+			&& abs(t0 * r21 - t2 * r01) <= a0 * q21 + a2 * q01 + b0 * q12 + b2 * q10
+			&& abs(t0 * r22 - t2 * r02) <= a0 * q22 + a2 * q02 + b0 * q11 + b1 * q10
+			&& abs(t1 * r00 - t0 * r10) <= a0 * q10 + a1 * q00 + b1 * q22 + b2 * q21
+			&& abs(t1 * r01 - t0 * r11) <= a0 * q11 + a1 * q01 + b0 * q22 + b2 * q20
+			&& abs(t1 * r02 - t0 * r12) <= a0 * q12 + a1 * q02 + b0 * q21 + b1 * q20;
+	}
+
+	/**
+	 * The distance along the given ray to the first point inside this box.
+	 *
+	 * @see Aabb3d#rayDistance(Vec3d, Vec3d)
+	 */
+	public double rayDistance(Vec3d origin, Vec3d direction) {
+		double[] v = _values;
+		double ox = origin.x() - v[0], oy = origin.y() - v[1], oz = origin.z() - v[2];
+		double dx = direction.x(), dy = direction.y(), dz = direction.z();
+
+		// Solve in the coordinate system of the box.
+		return Aabb3d.rayDistance(-v[12], -v[13], -v[14], v[12], v[13], v[14],
+			ox * v[3] + oy * v[4] + oz * v[5],
+			ox * v[6] + oy * v[7] + oz * v[8],
+			ox * v[9] + oy * v[10] + oz * v[11],
+			dx * v[3] + dy * v[4] + dz * v[5],
+			dx * v[6] + dy * v[7] + dz * v[8],
+			dx * v[9] + dy * v[10] + dz * v[11]);
+	}
+
+	/**
+	 * Whether this box is at least partially inside the given region.
+	 *
+	 * @param planes
+	 *        The region in the frustum format of {@link Aabb3d}.
+	 *
+	 * @see Aabb3d#intersectsFrustum(double[])
+	 */
+	public boolean intersectsFrustum(double[] planes) {
+		return intersectsFrustum(_values, 0, planes);
+	}
+
+	/**
+	 * Transforms the given number of boxes in array format.
+	 *
+	 * <p>
+	 * Input and output may be the same array.
+	 * </p>
+	 *
+	 * @see #transform(Transformation)
+	 */
+	public static void transformAll(Transformation tx, double[] boxes, int offset, int count, double[] out,
+			int outOffset) {
+		for (int n = 0; n < count; n++) {
+			transform(tx, boxes, offset + n * SIZE, out, outOffset + n * SIZE);
+		}
+	}
+
+	/**
+	 * Computes the {@link Aabb3d} in array format for the given number of boxes in array format.
+	 */
+	public static void toAabbAll(double[] boxes, int offset, int count, double[] out, int outOffset) {
+		for (int n = 0; n < count; n++) {
+			toAabb(boxes, offset + n * SIZE, out, outOffset + n * Aabb3d.SIZE);
+		}
+	}
+
+	/**
+	 * Tests the given number of boxes in array format against a region.
+	 *
+	 * @return The number of boxes inside the region.
+	 *
+	 * @see Aabb3d#cullAll(double[], int, int, double[], boolean[])
+	 */
+	public static int cullAll(double[] boxes, int offset, int count, double[] planes, boolean[] visible) {
+		int result = 0;
+		for (int n = 0; n < count; n++) {
+			boolean inside = intersectsFrustum(boxes, offset + n * SIZE, planes);
+			visible[n] = inside;
+			if (inside) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	private static void transform(Transformation tx, double[] boxes, int offset, double[] out, int outOffset) {
+		double a = tx.a(), b = tx.b(), c = tx.c();
+		double d = tx.d(), e = tx.e(), f = tx.f();
+		double g = tx.g(), h = tx.h(), i = tx.i();
+
+		double cx = boxes[offset], cy = boxes[offset + 1], cz = boxes[offset + 2];
+
+		// Images of the half axes.
+		double e0 = boxes[offset + 12], e1 = boxes[offset + 13], e2 = boxes[offset + 14];
+		double u0x = boxes[offset + 3] * e0, u0y = boxes[offset + 4] * e0, u0z = boxes[offset + 5] * e0;
+		double u1x = boxes[offset + 6] * e1, u1y = boxes[offset + 7] * e1, u1z = boxes[offset + 8] * e1;
+		double u2x = boxes[offset + 9] * e2, u2y = boxes[offset + 10] * e2, u2z = boxes[offset + 11] * e2;
+
+		double h0x = a * u0x + b * u0y + c * u0z;
+		double h0y = d * u0x + e * u0y + f * u0z;
+		double h0z = g * u0x + h * u0y + i * u0z;
+		double h1x = a * u1x + b * u1y + c * u1z;
+		double h1y = d * u1x + e * u1y + f * u1z;
+		double h1z = g * u1x + h * u1y + i * u1z;
+		double h2x = a * u2x + b * u2y + c * u2z;
+		double h2y = d * u2x + e * u2y + f * u2z;
+		double h2z = g * u2x + h * u2y + i * u2z;
+
+		out[outOffset] = a * cx + b * cy + c * cz + tx.x();
+		out[outOffset + 1] = d * cx + e * cy + f * cz + tx.y();
+		out[outOffset + 2] = g * cx + h * cy + i * cz + tx.z();
+
+		// Orthonormalize the images of the axes (Gram-Schmidt). A degenerate image, e.g. of a flat
+		// box, is replaced by any perpendicular direction.
+		double x0 = h0x, y0 = h0y, z0 = h0z;
+		double length = sqrt(x0 * x0 + y0 * y0 + z0 * z0);
+		if (length < PARALLEL_EPSILON) {
+			x0 = 1;
+			y0 = 0;
+			z0 = 0;
+			length = 1;
+		}
+		x0 /= length;
+		y0 /= length;
+		z0 /= length;
+
+		double dot = h1x * x0 + h1y * y0 + h1z * z0;
+		double x1 = h1x - dot * x0, y1 = h1y - dot * y0, z1 = h1z - dot * z0;
+		length = sqrt(x1 * x1 + y1 * y1 + z1 * z1);
+		if (length < PARALLEL_EPSILON) {
+			if (abs(x0) < 0.9) {
+				x1 = 0;
+				y1 = z0;
+				z1 = -y0;
+			} else {
+				x1 = -z0;
+				y1 = 0;
+				z1 = x0;
+			}
+			length = sqrt(x1 * x1 + y1 * y1 + z1 * z1);
+		}
+		x1 /= length;
+		y1 /= length;
+		z1 /= length;
+
+		dot = h2x * x0 + h2y * y0 + h2z * z0;
+		double x2 = h2x - dot * x0, y2 = h2y - dot * y0, z2 = h2z - dot * z0;
+		dot = x2 * x1 + y2 * y1 + z2 * z1;
+		x2 -= dot * x1;
+		y2 -= dot * y1;
+		z2 -= dot * z1;
+		length = sqrt(x2 * x2 + y2 * y2 + z2 * z2);
+		if (length < PARALLEL_EPSILON) {
+			x2 = y0 * z1 - z0 * y1;
+			y2 = z0 * x1 - x0 * z1;
+			z2 = x0 * y1 - y0 * x1;
+			length = sqrt(x2 * x2 + y2 * y2 + z2 * z2);
+		}
+		x2 /= length;
+		y2 /= length;
+		z2 /= length;
+
+		// Extents as projections of the transformed half axes onto the new axes.
+		out[outOffset + 3] = x0;
+		out[outOffset + 4] = y0;
+		out[outOffset + 5] = z0;
+		out[outOffset + 6] = x1;
+		out[outOffset + 7] = y1;
+		out[outOffset + 8] = z1;
+		out[outOffset + 9] = x2;
+		out[outOffset + 10] = y2;
+		out[outOffset + 11] = z2;
+		out[outOffset + 12] = extent(x0, y0, z0, h0x, h0y, h0z, h1x, h1y, h1z, h2x, h2y, h2z);
+		out[outOffset + 13] = extent(x1, y1, z1, h0x, h0y, h0z, h1x, h1y, h1z, h2x, h2y, h2z);
+		out[outOffset + 14] = extent(x2, y2, z2, h0x, h0y, h0z, h1x, h1y, h1z, h2x, h2y, h2z);
+	}
+
+	private static double extent(double ax, double ay, double az,
+			double h0x, double h0y, double h0z,
+			double h1x, double h1y, double h1z,
+			double h2x, double h2y, double h2z) {
+		return abs(ax * h0x + ay * h0y + az * h0z)
+			+ abs(ax * h1x + ay * h1y + az * h1z)
+			+ abs(ax * h2x + ay * h2y + az * h2z);
+	}
+
+	private static void toAabb(double[] boxes, int offset, double[] out, int outOffset) {
+		double cx = boxes[offset], cy = boxes[offset + 1], cz = boxes[offset + 2];
+		double hx = 0, hy = 0, hz = 0;
+		for (int n = 0; n < 3; n++) {
+			int k = offset + 3 + 3 * n;
+			double extent = boxes[offset + 12 + n];
+			hx += abs(boxes[k]) * extent;
+			hy += abs(boxes[k + 1]) * extent;
+			hz += abs(boxes[k + 2]) * extent;
+		}
+		out[outOffset] = cx - hx;
+		out[outOffset + 1] = cy - hy;
+		out[outOffset + 2] = cz - hz;
+		out[outOffset + 3] = cx + hx;
+		out[outOffset + 4] = cy + hy;
+		out[outOffset + 5] = cz + hz;
+	}
+
+	private static boolean intersectsFrustum(double[] boxes, int offset, double[] planes) {
+		double cx = boxes[offset], cy = boxes[offset + 1], cz = boxes[offset + 2];
+		for (int k = 0, cnt = planes.length; k < cnt; k += 4) {
+			double a = planes[k], b = planes[k + 1], c = planes[k + 2], d = planes[k + 3];
+
+			// Projected radius of the box onto the plane normal.
+			double radius = 0;
+			for (int n = 0; n < 3; n++) {
+				int axis = offset + 3 + 3 * n;
+				radius += boxes[offset + 12 + n] * abs(a * boxes[axis] + b * boxes[axis + 1] + c * boxes[axis + 2]);
+			}
+			if (a * cx + b * cy + c * cz + d < -radius) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(_values);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof Obb3d))
+			return false;
+		Obb3d other = (Obb3d) obj;
+		return Arrays.equals(_values, other._values);
+	}
+
+	@Override
+	public String toString() {
+		return "Obb(" + center() + ", " + axis(0) + ", " + axis(1) + ", " + axis(2) + ", " + halfSize() + ")";
+	}
+
+}
@@ -0,0 +1,375 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import static java.lang.Math.*;
+
+/**
+ * A rigid transformation of Euclidean space R3 given as rotation quaternion and translation.
+ *
+ * <p>
+ * A {@link Pose} describes the same transformations as a {@link Transformation} of a
+ * {@link Transformation.Kind#isRigid() rigid} kind, but with 7 instead of 12 values. Applying a
+ * pose first rotates and then translates.
+ * </p>
+ *
+ * <p>
+ * The rotation quaternion is always normalized and has a non-negative scalar component.
+ * </p>
+ */
+public final class Pose {
+
+	/**
+	 * Number of values of the {@link #toFloats(float[], int) packed format}.
+	 */
+	public static final int SIZE = 7;
+
+	/**
+	 * Dot product of two quaternions above which {@link #slerp(Pose, double)} interpolates
+	 * linearly.
+	 */
+	private static final double SLERP_LINEAR_THRESHOLD = 0.9995;
+
+	private static final Pose IDENTITY = new Pose(0, 0, 0, 1, 0, 0, 0);
+
+	// The rotation quaternion.
+	private final double _qx, _qy, _qz, _qw;
+
+	// The translation vector.
+	private final double _x, _y, _z;
+
+	private Pose(double qx, double qy, double qz, double qw, double x, double y, double z) {
+		_qx = qx;
+		_qy = qy;
+		_qz = qz;
+		_qw = qw;
+		_x = x;
+		_y = y;
+		_z = z;
+	}
+
+	/**
+	 * Creates a {@link Pose}.
+	 *
+	 * @param qx
+	 *        X component of the rotation quaternion.
+	 * @param qy
+	 *        Y component of the rotation quaternion.
+	 * @param qz
+	 *        Z component of the rotation quaternion.
+	 * @param qw
+	 *        Scalar component of the rotation quaternion.
+	 * @param x
+	 *        Translation in X.
+	 * @param y
+	 *        Translation in Y.
+	 * @param z
+	 *        Translation in Z.
+	 * @throws IllegalArgumentException
+	 *         If the quaternion is zero.
+	 */
+	public static Pose pose(double qx, double qy, double qz, double qw, double x, double y, double z) {
+		double norm = sqrt(qx * qx + qy * qy + qz * qz + qw * qw);
+		if (norm == 0 || Double.isNaN(norm)) {
+			throw new IllegalArgumentException(
+				"Not a rotation quaternion: (" + qx + ", " + qy + ", " + qz + ", " + qw + ")");
+		}
+		if (qw < 0) {
+			norm = -norm;
+		}
+		return new Pose(qx / norm, qy / norm, qz / norm, qw / norm, x, y, z);
+	}
+
+	/**
+	 * The identity pose.
+	 */
+	public static Pose identity() {
+		return IDENTITY;
+	}
+
+	/**
+	 * A pure translation.
+	 */
+	public static Pose translate(double x, double y, double z) {
+		return new Pose(0, 0, 0, 1, x, y, z);
+	}
+
+	/**
+	 * A rotation around the given axis.
+	 *
+	 * @param axis
+	 *        The rotation axis, must not be the zero vector.
+	 * @param angle
+	 *        The rotation angle in radians.
+	 */
+	public static Pose rotate(Vec3d axis, double angle) {
+		double length = axis.length();
+		double sin = sin(angle / 2) / length;
+		return pose(axis.x() * sin, axis.y() * sin, axis.z() * sin, cos(angle / 2), 0, 0, 0);
+	}
+
+	/**
+	 * Converts a rigid {@link Transformation} to a {@link Pose}.
+	 *
+	 * @throws IllegalArgumentException
+	 *         If the given transformation is not {@link Transformation.Kind#isRigid() rigid}.
+	 */
+	public static Pose fromTransformation(Transformation tx) {
+		if (!tx.kind().isRigid()) {
+			throw new IllegalArgumentException("Not a rigid transformation: " + tx);
+		}
+		if (tx.isIdentity()) {
+			return IDENTITY;
+		}
+		Decomposition decomposition = tx.decompose();
+		return new Pose(decomposition.qx(), decomposition.qy(), decomposition.qz(), decomposition.qw(),
+			tx.x(), tx.y(), tx.z());
+	}
+
+	/**
+	 * X component of the rotation quaternion.
+	 */
+	public double qx() {
+		return _qx;
+	}
+
+	/**
+	 * Y component of the rotation quaternion.
+	 */
+	public double qy() {
+		return _qy;
+	}
+
+	/**
+	 * Z component of the rotation quaternion.
+	 */
+	public double qz() {
+		return _qz;
+	}
+
+	/**
+	 * Scalar component of the rotation quaternion.
+	 */
+	public double qw() {
+		return _qw;
+	}
+
+	/**
+	 * Translation in X.
+	 */
+	public double x() {
+		return _x;
+	}
+
+	/**
+	 * Translation in Y.
+	 */
+	public double y() {
+		return _y;
+	}
+
+	/**
+	 * Translation in Z.
+	 */
+	public double z() {
+		return _z;
+	}
+
+	/**
+	 * The translation vector.
+	 */
+	public Vec3d translation() {
+		return Vec3d.vec(_x, _y, _z);
+	}
+
+	/**
+	 * Converts this {@link Pose} to a {@link Transformation}.
+	 */
+	public Transformation toTransformation() {
+		if (this == IDENTITY) {
+			return Transformation.identity();
+		}
+		double xx = _qx * _qx, yy = _qy * _qy, zz = _qz * _qz;
+		double xy = _qx * _qy, xz = _qx * _qz, yz = _qy * _qz;
+		double wx = _qw * _qx, wy = _qw * _qy, wz = _qw * _qz;
+		return new Transformation(
+			1 - 2 * (yy + zz), 2 * (xy - wz), 2 * (xz + wy),
+			2 * (xy + wz), 1 - 2 * (xx + zz), 2 * (yz - wx),
+			2 * (xz - wy), 2 * (yz + wx), 1 - 2 * (xx + yy),
+			_x, _y, _z);
+	}
+
+	/**
+	 * Transforms the given vector.
+	 */
+	public Vec3d apply(Vec3d v) {
+		return apply(v.x(), v.y(), v.z());
+	}
+
+	/**
+	 * Transforms the given vector.
+	 */
+	public Vec3d apply(double x, double y, double z) {
+		// v + 2w (q x v) + 2 q x (q x v)
+		double tx = 2 * (_qy * z - _qz * y);
+		double ty = 2 * (_qz * x - _qx * z);
+		double tz = 2 * (_qx * y - _qy * x);
+		return Vec3d.vec(
+			x + _qw * tx + (_qy * tz - _qz * ty) + _x,
+			y + _qw * ty + (_qz * tx - _qx * tz) + _y,
+			z + _qw * tz + (_qx * ty - _qy * tx) + _z);
+	}
+
+	/**
+	 * Creates a pose by first applying the given pose and then applying this pose.
+	 *
+	 * @see Transformation#after(Transformation)
+	 */
+	public Pose after(Pose other) {
+		if (other == IDENTITY) {
+			return this;
+		}
+		if (this == IDENTITY) {
+			return other;
+		}
+		Vec3d translation = apply(other._x, other._y, other._z);
+		return pose(
+			_qw * other._qx + _qx * other._qw + _qy * other._qz - _qz * other._qy,
+			_qw * other._qy - _qx * other._qz + _qy * other._qw + _qz * other._qx,
+			_qw * other._qz + _qx * other._qy - _qy * other._qx + _qz * other._qw,
+			_qw * other._qw - _qx * other._qx - _qy * other._qy - _qz * other._qz,
+			translation.x(), translation.y(), translation.z());
+	}
+
+	/**
+	 * The inverse pose.
+	 */
+	public Pose inverse() {
+		if (this == IDENTITY) {
+			return this;
+		}
+		Pose rotation = new Pose(-_qx, -_qy, -_qz, _qw, 0, 0, 0);
+		Vec3d translation = rotation.apply(-_x, -_y, -_z);
+		return new Pose(-_qx, -_qy, -_qz, _qw, translation.x(), translation.y(), translation.z());
+	}
+
+	/**
+	 * Interpolates between this and the given pose.
+	 *
+	 * <p>
+	 * The rotation is interpolated spherically along the shortest arc, the translation linearly.
+	 * </p>
+	 *
+	 * @param other
+	 *        The pose at <code>t = 1</code>.
+	 * @param t
+	 *        The interpolation parameter, <code>0</code> for this pose, <code>1</code> for the given
+	 *        one.
+	 */
+	public Pose slerp(Pose other, double t) {
+		double ox = other._qx, oy = other._qy, oz = other._qz, ow = other._qw;
+		double dot = _qx * ox + _qy * oy + _qz * oz + _qw * ow;
+		if (dot < 0) {
+			dot = -dot;
+			ox = -ox;
+			oy = -oy;
+			oz = -oz;
+			ow = -ow;
+		}
+
+		double s0, s1;
+		if (dot > SLERP_LINEAR_THRESHOLD) {
+			s0 = 1 - t;
+			s1 = t;
+		} else {
+			double theta = acos(dot);
+			double sin = sin(theta);
+			s0 = sin((1 - t) * theta) / sin;
+			s1 = sin(t * theta) / sin;
+		}
+
+		return pose(
+			s0 * _qx + s1 * ox,
+			s0 * _qy + s1 * oy,
+			s0 * _qz + s1 * oz,
+			s0 * _qw + s1 * ow,
+			_x + t * (other._x - _x),
+			_y + t * (other._y - _y),
+			_z + t * (other._z - _z));
+	}
+
+	/**
+	 * This pose as {@value #SIZE} <code>float</code> values.
+	 *
+	 * @see #toFloats(float[], int)
+	 */
+	public float[] toFloats() {
+		float[] result = new float[SIZE];
+		toFloats(result, 0);
+		return result;
+	}
+
+	/**
+	 * Writes this pose as {@value #SIZE} <code>float</code> values in the order <code>qx, qy, qz,
+	 * qw, x, y, z</code> to the given buffer.
+	 *
+	 * <p>
+	 * This is the order expected by the <code>THREE.Quaternion</code> and
+	 * <code>THREE.Vector3</code> constructors.
+	 * </p>
+	 */
+	public void toFloats(float[] out, int offset) {
+		out[offset] = (float) _qx;
+		out[offset + 1] = (float) _qy;
+		out[offset + 2] = (float) _qz;
+		out[offset + 3] = (float) _qw;
+		out[offset + 4] = (float) _x;
+		out[offset + 5] = (float) _y;
+		out[offset + 6] = (float) _z;
+	}
+
+	/**
+	 * Reads a pose written by {@link #toFloats(float[], int)}.
+	 */
+	public static Pose fromFloats(float[] in, int offset) {
+		return pose(in[offset], in[offset + 1], in[offset + 2], in[offset + 3],
+			in[offset + 4], in[offset + 5], in[offset + 6]);
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 31 + Double.hashCode(_qx);
+		result = 31 * result + Double.hashCode(_qy);
+		result = 31 * result + Double.hashCode(_qz);
+		result = 31 * result + Double.hashCode(_qw);
+		result = 31 * result + Double.hashCode(_x);
+		result = 31 * result + Double.hashCode(_y);
+		result = 31 * result + Double.hashCode(_z);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof Pose))
+			return false;
+		Pose other = (Pose) obj;
+		return Double.doubleToLongBits(_qx) == Double.doubleToLongBits(other._qx)
+			&& Double.doubleToLongBits(_qy) == Double.doubleToLongBits(other._qy)
+			&& Double.doubleToLongBits(_qz) == Double.doubleToLongBits(other._qz)
+			&& Double.doubleToLongBits(_qw) == Double.doubleToLongBits(other._qw)
+			&& Double.doubleToLongBits(_x) == Double.doubleToLongBits(other._x)
+			&& Double.doubleToLongBits(_y) == Double.doubleToLongBits(other._y)
+			&& Double.doubleToLongBits(_z) == Double.doubleToLongBits(other._z);
+	}
+
+	@Override
+	public String toString() {
+		return "Q(" + _qx + ", " + _qy + ", " + _qz + ", " + _qw + ") T(" + _x + ", " + _y + ", " + _z + ")";
+	}
+
+}
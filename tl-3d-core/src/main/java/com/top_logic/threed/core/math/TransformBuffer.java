@@ -0,0 +1,489 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Buffer of many transformations stored in primitive arrays.
+ *
+ * <p>
+ * Each of the 12 matrix entries (see {@link Transformation}) is stored in its own array, indexed by
+ * the position of the transformation in the buffer (struct-of-arrays layout). Bulk operations
+ * process all entries in linear passes over these arrays without creating objects per entry. This
+ * allows e.g. computing the absolute transformations of all nodes of a large scene graph with
+ * {@link #composeWithParents(int[])}.
+ * </p>
+ *
+ * <p>
+ * Point arrays passed to the bulk operations store the coordinates of each point consecutively
+ * (<code>x0, y0, z0, x1, y1, z1, ...</code>).
+ * </p>
+ */
+public class TransformBuffer {
+
+	/**
+	 * Index in a parent array marking an entry without parent.
+	 *
+	 * @see #composeWithParents(int[])
+	 */
+	public static final int NO_PARENT = -1;
+
+	// Columns are accessed directly by the TransformKernels implementations.
+
+	double[] _a, _b, _c;
+
+	double[] _d, _e, _f;
+
+	double[] _g, _h, _i;
+
+	double[] _x, _y, _z;
+
+	int _size;
+
+	/**
+	 * Creates a {@link TransformBuffer} with the given number of identity transformations.
+	 */
+	public TransformBuffer(int size) {
+		allocate(size);
+		_size = size;
+		fillIdentity(0, size);
+	}
+
+	/**
+	 * The number of transformations in this buffer.
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Changes the number of transformations in this buffer.
+	 *
+	 * <p>
+	 * Existing entries are kept, new entries are initialized to the identity.
+	 * </p>
+	 */
+	public void resize(int newSize) {
+		if (newSize < 0) {
+			throw new IllegalArgumentException("Negative size: " + newSize);
+		}
+		if (newSize > _a.length) {
+			grow(Math.max(newSize, 2 * _a.length));
+		}
+		if (newSize > _size) {
+			fillIdentity(_size, newSize);
+		}
+		_size = newSize;
+	}
+
+	/**
+	 * Replaces the contents of this buffer with a copy of the given buffer.
+	 *
+	 * <p>
+	 * This allows keeping local transformations while computing absolute transformations in a
+	 * second buffer without allocating new arrays for each computation.
+	 * </p>
+	 */
+	public void copyFrom(TransformBuffer source) {
+		resize(source._size);
+		int size = source._size;
+		System.arraycopy(source._a, 0, _a, 0, size);
+		System.arraycopy(source._b, 0, _b, 0, size);
+		System.arraycopy(source._c, 0, _c, 0, size);
+		System.arraycopy(source._d, 0, _d, 0, size);
+		System.arraycopy(source._e, 0, _e, 0, size);
+		System.arraycopy(source._f, 0, _f, 0, size);
+		System.arraycopy(source._g, 0, _g, 0, size);
+		System.arraycopy(source._h, 0, _h, 0, size);
+		System.arraycopy(source._i, 0, _i, 0, size);
+		System.arraycopy(source._x, 0, _x, 0, size);
+		System.arraycopy(source._y, 0, _y, 0, size);
+		System.arraycopy(source._z, 0, _z, 0, size);
+	}
+
+	/**
+	 * Resets the entry at the given index to the identity.
+	 */
+	public void setIdentity(int index) {
+		set(index,
+			1, 0, 0,
+			0, 1, 0,
+			0, 0, 1,
+			0, 0, 0);
+	}
+
+	/**
+	 * Sets the entry at the given index.
+	 *
+	 * @param tx
+	 *        The new value. <code>null</code> is interpreted as identity.
+	 */
+	public void set(int index, Transformation tx) {
+		if (tx == null) {
+			setIdentity(index);
+		} else {
+			set(index,
+				tx.a(), tx.b(), tx.c(),
+				tx.d(), tx.e(), tx.f(),
+				tx.g(), tx.h(), tx.i(),
+				tx.x(), tx.y(), tx.z());
+		}
+	}
+
+	/**
+	 * Sets the entry at the given index from its list representation.
+	 *
+	 * @param tx
+	 *        The new value in the format of {@link TransformationUtil#toList(Transformation)}. An
+	 *        empty list is interpreted as identity.
+	 */
+	public void set(int index, List<? extends Number> tx) {
+		switch (tx.size()) {
+			case 0:
+				setIdentity(index);
+				break;
+			case 12:
+				set(index,
+					tx.get(0).doubleValue(), tx.get(1).doubleValue(), tx.get(2).doubleValue(),
+					tx.get(3).doubleValue(), tx.get(4).doubleValue(), tx.get(5).doubleValue(),
+					tx.get(6).doubleValue(), tx.get(7).doubleValue(), tx.get(8).doubleValue(),
+					tx.get(9).doubleValue(), tx.get(10).doubleValue(), tx.get(11).doubleValue());
+				break;
+			default:
+				throw new IllegalArgumentException("TX must contain exactly 12 entries.");
+		}
+	}
+
+	/**
+	 * Sets the entry at the given index to the given matrix entries.
+	 *
+	 * @see Transformation#Transformation(double, double, double, double, double, double, double,
+	 *      double, double, double, double, double)
+	 */
+	public void set(int index,
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z) {
+		checkIndex(index);
+		_a[index] = a;
+		_b[index] = b;
+		_c[index] = c;
+		_d[index] = d;
+		_e[index] = e;
+		_f[index] = f;
+		_g[index] = g;
+		_h[index] = h;
+		_i[index] = i;
+		_x[index] = x;
+		_y[index] = y;
+		_z[index] = z;
+	}
+
+	/**
+	 * Creates a {@link Transformation} from the entry at the given index.
+	 */
+	public Transformation get(int index) {
+		checkIndex(index);
+		return new Transformation(
+			_a[index], _b[index], _c[index],
+			_d[index], _e[index], _f[index],
+			_g[index], _h[index], _i[index],
+			_x[index], _y[index], _z[index]);
+	}
+
+	/**
+	 * Copies the entry at the given index into the given accumulator.
+	 */
+	public MutableTransformation get(int index, MutableTransformation out) {
+		checkIndex(index);
+		return out.set(
+			_a[index], _b[index], _c[index],
+			_d[index], _e[index], _f[index],
+			_g[index], _h[index], _i[index],
+			_x[index], _y[index], _z[index]);
+	}
+
+	/**
+	 * Creates the list representation of the entry at the given index.
+	 *
+	 * @see TransformationUtil#toList(Transformation)
+	 */
+	public List<Double> toList(int index) {
+		checkIndex(index);
+		return Arrays.asList(
+			_a[index], _b[index], _c[index],
+			_d[index], _e[index], _f[index],
+			_g[index], _h[index], _i[index],
+			_x[index], _y[index], _z[index]);
+	}
+
+	/**
+	 * Writes the {@link Transformation#decompose() decomposition} of the entry with the given index
+	 * to the given buffer.
+	 *
+	 * @see Transformation#decompose(double[], int)
+	 */
+	public void decompose(int index, double[] out, int offset) {
+		checkIndex(index);
+		Decomposition.decompose(
+			_a[index], _b[index], _c[index],
+			_d[index], _e[index], _f[index],
+			_g[index], _h[index], _i[index],
+			_x[index], _y[index], _z[index],
+			out, offset);
+	}
+
+	/**
+	 * Replaces each entry with its composition with the entry of its parent, turning local
+	 * transformations into absolute ones.
+	 *
+	 * <p>
+	 * After this operation, the entry at index <code>n</code> is
+	 * <code>abs(parents[n]).after(local(n))</code>. Since entries are processed in index order,
+	 * a parent must be stored before all of its children, i.e. <code>parents[n] &lt; n</code>,
+	 * which is the case for any breadth-first or depth-first numbering of a tree. Entries with
+	 * parent {@link #NO_PARENT} are kept unchanged.
+	 * </p>
+	 *
+	 * @param parents
+	 *        For each entry in this buffer the index of its parent entry, or {@link #NO_PARENT}.
+	 */
+	public void composeWithParents(int[] parents) {
+		if (parents.length < _size) {
+			throw new IllegalArgumentException(
+				"Parent array too short, expected " + _size + " entries: " + parents.length);
+		}
+		TransformKernels.INSTANCE.composeWithParents(this, parents);
+	}
+
+	/**
+	 * Composes each entry with the entry at the same index of the given buffer.
+	 *
+	 * <p>
+	 * After this operation, the entry at index <code>n</code> is
+	 * <code>this(n).after(other(n))</code>.
+	 * </p>
+	 *
+	 * @param other
+	 *        Buffer with at least {@link #size()} entries.
+	 *
+	 * @see Transformation#after(Transformation)
+	 */
+	public void after(TransformBuffer other) {
+		if (other._size < _size) {
+			throw new IllegalArgumentException(
+				"Buffer too short, expected " + _size + " entries: " + other._size);
+		}
+		TransformKernels.INSTANCE.after(this, other);
+	}
+
+	/**
+	 * Replaces each entry with its inverse.
+	 *
+	 * @throws IllegalArgumentException
+	 *         If an entry is not invertible. The buffer is not modified in this case.
+	 *
+	 * @see Transformation#inverse()
+	 */
+	public void invertAll() {
+		double[] A = _a, B = _b, C = _c;
+		double[] D = _d, E = _e, F = _f;
+		double[] G = _g, H = _h, I = _i;
+		double[] X = _x, Y = _y, Z = _z;
+
+		// Check all entries before the first one is replaced.
+		for (int n = 0, size = _size; n < size; n++) {
+			double det =
+				A[n] * (E[n] * I[n] - F[n] * H[n])
+					+ B[n] * (F[n] * G[n] - D[n] * I[n])
+					+ C[n] * (D[n] * H[n] - E[n] * G[n]);
+			if (det == 0 || !Double.isFinite(det)) {
+				throw new IllegalArgumentException("Transformation at index " + n + " is not invertible.");
+			}
+		}
+
+		for (int n = 0, size = _size; n < size; n++) {
+			double a = A[n], b = B[n], c = C[n];
+			double d = D[n], e = E[n], f = F[n];
+			double g = G[n], h = H[n], i = I[n];
+			double x = X[n], y = Y[n], z = Z[n];
+
+			// Cofactors of the first row.
+			double ca = e * i - f * h;
+			double cb = f * g - d * i;
+			double cc = d * h - e * g;
+
+			double s = 1 / (a * ca + b * cb + c * cc);
+
+			// Inverse of the linear part is the transposed cofactor matrix divided by the determinant.
+			double ia = ca * s;
+			double ib = (c * h - b * i) * s;
+			double ic = (b * f - c * e) * s;
+			double id = cb * s;
+			double ie = (a * i - c * g) * s;
+			double iF = (c * d - a * f) * s;
+			double ig = cc * s;
+			double ih = (b * g - a * h) * s;
+			double ii = (a * e - b * d) * s;
+
+			A[n] = ia;
+			B[n] = ib;
+			C[n] = ic;
+			D[n] = id;
+			E[n] = ie;
+			F[n] = iF;
+			G[n] = ig;
+			H[n] = ih;
+			I[n] = ii;
+
+			// Subtract from zero to avoid negative zero entries.
+			X[n] = 0 - (ia * x + ib * y + ic * z);
+			Y[n] = 0 - (id * x + ie * y + iF * z);
+			Z[n] = 0 - (ig * x + ih * y + ii * z);
+		}
+	}
+
+	/**
+	 * Transforms the given points in place with a single entry of this buffer.
+	 *
+	 * @param index
+	 *        The index of the transformation to apply.
+	 * @param points
+	 *        The point coordinates.
+	 * @param offset
+	 *        The index of the first coordinate in the given array.
+	 * @param count
+	 *        The number of points to transform.
+	 */
+	public void apply(int index, double[] points, int offset, int count) {
+		checkIndex(index);
+		double a = _a[index], b = _b[index], c = _c[index];
+		double d = _d[index], e = _e[index], f = _f[index];
+		double g = _g[index], h = _h[index], i = _i[index];
+		double x = _x[index], y = _y[index], z = _z[index];
+
+		for (int n = offset, end = offset + 3 * count; n < end; n += 3) {
+			double px = points[n], py = points[n + 1], pz = points[n + 2];
+			points[n] = a * px + b * py + c * pz + x;
+			points[n + 1] = d * px + e * py + f * pz + y;
+			points[n + 2] = g * px + h * py + i * pz + z;
+		}
+	}
+
+	/**
+	 * Transforms the given points in place, each with the entry of this buffer at the same index.
+	 *
+	 * @param points
+	 *        Coordinates of {@link #size()} points.
+	 */
+	public void applyEach(double[] points) {
+		if (points.length < 3 * _size) {
+			throw new IllegalArgumentException(
+				"Point array too short, expected " + (3 * _size) + " coordinates: " + points.length);
+		}
+		TransformKernels.INSTANCE.applyEach(this, points);
+	}
+
+	/**
+	 * Transforms the {@link Aabb3d} in array format with the same index by each entry.
+	 *
+	 * <p>
+	 * Combined with {@link #composeWithParents(int[])}, this computes the world bounds of all nodes
+	 * of a scene from their local bounds.
+	 * </p>
+	 *
+	 * @param boxes
+	 *        The boxes in the array format of {@link Aabb3d}, at least {@link #size()} many.
+	 * @param out
+	 *        The array to write the transformed boxes to, may be the input array.
+	 */
+	public void transformBoxes(double[] boxes, double[] out) {
+		int length = Aabb3d.SIZE * _size;
+		if (boxes.length < length || out.length < length) {
+			throw new IllegalArgumentException(
+				"Box array too short, expected " + length + " values: " + Math.min(boxes.length, out.length));
+		}
+		for (int n = 0, k = 0; n < _size; n++, k += Aabb3d.SIZE) {
+			Aabb3d.transform(
+				_a[n], _b[n], _c[n],
+				_d[n], _e[n], _f[n],
+				_g[n], _h[n], _i[n],
+				_x[n], _y[n], _z[n],
+				boxes, k, out, k);
+		}
+	}
+
+	/**
+	 * Whether the bulk operations of this class use the vectorized implementation.
+	 *
+	 * <p>
+	 * The vectorized implementation is only available, if this module has been built with the
+	 * <code>vector</code> profile and the JVM has been started with
+	 * <code>--add-modules jdk.incubator.vector</code>.
+	 * </p>
+	 */
+	public static boolean isVectorized() {
+		return TransformKernels.INSTANCE.isVectorized();
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= _size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + _size);
+		}
+	}
+
+	private void fillIdentity(int from, int to) {
+		Arrays.fill(_a, from, to, 1);
+		Arrays.fill(_b, from, to, 0);
+		Arrays.fill(_c, from, to, 0);
+		Arrays.fill(_d, from, to, 0);
+		Arrays.fill(_e, from, to, 1);
+		Arrays.fill(_f, from, to, 0);
+		Arrays.fill(_g, from, to, 0);
+		Arrays.fill(_h, from, to, 0);
+		Arrays.fill(_i, from, to, 1);
+		Arrays.fill(_x, from, to, 0);
+		Arrays.fill(_y, from, to, 0);
+		Arrays.fill(_z, from, to, 0);
+	}
+
+	private void allocate(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Negative size: " + capacity);
+		}
+		_a = new double[capacity];
+		_b = new double[capacity];
+		_c = new double[capacity];
+		_d = new double[capacity];
+		_e = new double[capacity];
+		_f = new double[capacity];
+		_g = new double[capacity];
+		_h = new double[capacity];
+		_i = new double[capacity];
+		_x = new double[capacity];
+		_y = new double[capacity];
+		_z = new double[capacity];
+	}
+
+	private void grow(int capacity) {
+		_a = Arrays.copyOf(_a, capacity);
+		_b = Arrays.copyOf(_b, capacity);
+		_c = Arrays.copyOf(_c, capacity);
+		_d = Arrays.copyOf(_d, capacity);
+		_e = Arrays.copyOf(_e, capacity);
+		_f = Arrays.copyOf(_f, capacity);
+		_g = Arrays.copyOf(_g, capacity);
+		_h = Arrays.copyOf(_h, capacity);
+		_i = Arrays.copyOf(_i, capacity);
+		_x = Arrays.copyOf(_x, capacity);
+		_y = Arrays.copyOf(_y, capacity);
+		_z = Arrays.copyOf(_z, capacity);
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+/**
+ * Implementation of the bulk operations of {@link TransformBuffer}.
+ *
+ * <p>
+ * This class provides the scalar implementation. If available, {@link #INSTANCE} is a subclass
+ * using the JDK vector API instead. The vectorized implementation is located in a separate source
+ * folder <code>src/main/java-vector</code> that is only compiled with the Maven profile
+ * <code>vector</code>, because it requires the incubator module <code>jdk.incubator.vector</code>.
+ * At runtime it is only used if the JVM has been started with
+ * <code>--add-modules jdk.incubator.vector</code>. Otherwise, the scalar implementation is used.
+ * </p>
+ *
+ * <p>
+ * Arguments are checked by the callers in {@link TransformBuffer}.
+ * </p>
+ */
+class TransformKernels {
+
+	private static final String VECTOR_IMPLEMENTATION = "com.top_logic.threed.core.math.VectorTransformKernels";
+
+	/**
+	 * The implementation to use.
+	 */
+	static final TransformKernels INSTANCE = load();
+
+	private static TransformKernels load() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return new TransformKernels();
+		}
+		try {
+			return (TransformKernels) Class.forName(VECTOR_IMPLEMENTATION).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError ex) {
+			// Not compiled with the vector profile, or the vector API is not usable.
+			return new TransformKernels();
+		}
+	}
+
+	/**
+	 * Whether this is a vectorized implementation.
+	 */
+	boolean isVectorized() {
+		return false;
+	}
+
+	/**
+	 * Implementation of {@link TransformBuffer#composeWithParents(int[])}.
+	 */
+	void composeWithParents(TransformBuffer buffer, int[] parents) {
+		composeWithParents(buffer, parents, 0, buffer._size);
+	}
+
+	/**
+	 * Scalar implementation of {@link TransformBuffer#composeWithParents(int[])} for the entries in
+	 * the given index range.
+	 */
+	static void composeWithParents(TransformBuffer buffer, int[] parents, int start, int stop) {
+		double[] A = buffer._a, B = buffer._b, C = buffer._c;
+		double[] D = buffer._d, E = buffer._e, F = buffer._f;
+		double[] G = buffer._g, H = buffer._h, I = buffer._i;
+		double[] X = buffer._x, Y = buffer._y, Z = buffer._z;
+
+		for (int n = start; n < stop; n++) {
+			int p = parents[n];
+			if (p == TransformBuffer.NO_PARENT) {
+				continue;
+			}
+			checkParent(n, p);
+
+			double pa = A[p], pb = B[p], pc = C[p];
+			double pd = D[p], pe = E[p], pf = F[p];
+			double pg = G[p], ph = H[p], pi = I[p];
+
+			double a = A[n], b = B[n], c = C[n];
+			double d = D[n], e = E[n], f = F[n];
+			double g = G[n], h = H[n], i = I[n];
+			double x = X[n], y = Y[n], z = Z[n];
+
+			A[n] = pa * a + pb * d + pc * g;
+			B[n] = pa * b + pb * e + pc * h;
+			C[n] = pa * c + pb * f + pc * i;
+
+			D[n] = pd * a + pe * d + pf * g;
+			E[n] = pd * b + pe * e + pf * h;
+			F[n] = pd * c + pe * f + pf * i;
+
+			G[n] = pg * a + ph * d + pi * g;
+			H[n] = pg * b + ph * e + pi * h;
+			I[n] = pg * c + ph * f + pi * i;
+
+			X[n] = pa * x + pb * y + pc * z + X[p];
+			Y[n] = pd * x + pe * y + pf * z + Y[p];
+			Z[n] = pg * x + ph * y + pi * z + Z[p];
+		}
+	}
+
+	/**
+	 * Checks that the parent of entry <code>n</code> is stored before it.
+	 */
+	static void checkParent(int n, int p) {
+		if (p < 0 || p >= n) {
+			throw new IllegalArgumentException(
+				"Parent of entry " + n + " must be stored before its child: " + p);
+		}
+	}
+
+	/**
+	 * Implementation of {@link TransformBuffer#after(TransformBuffer)}.
+	 */
+	void after(TransformBuffer buffer, TransformBuffer other) {
+		after(buffer, other, 0, buffer._size);
+	}
+
+	/**
+	 * Scalar implementation of {@link TransformBuffer#after(TransformBuffer)} for the entries in
+	 * the given index range.
+	 */
+	static void after(TransformBuffer buffer, TransformBuffer other, int start, int stop) {
+		double[] A = buffer._a, B = buffer._b, C = buffer._c;
+		double[] D = buffer._d, E = buffer._e, F = buffer._f;
+		double[] G = buffer._g, H = buffer._h, I = buffer._i;
+		double[] X = buffer._x, Y = buffer._y, Z = buffer._z;
+
+		double[] OA = other._a, OB = other._b, OC = other._c;
+		double[] OD = other._d, OE = other._e, OF = other._f;
+		double[] OG = other._g, OH = other._h, OI = other._i;
+		double[] OX = other._x, OY = other._y, OZ = other._z;
+
+		for (int n = start; n < stop; n++) {
+			double a = A[n], b = B[n], c = C[n];
+			double d = D[n], e = E[n], f = F[n];
+			double g = G[n], h = H[n], i = I[n];
+
+			double oa = OA[n], ob = OB[n], oc = OC[n];
+			double od = OD[n], oe = OE[n], of = OF[n];
+			double og = OG[n], oh = OH[n], oi = OI[n];
+			double ox = OX[n], oy = OY[n], oz = OZ[n];
+
+			A[n] = a * oa + b * od + c * og;
+			B[n] = a * ob + b * oe + c * oh;
+			C[n] = a * oc + b * of + c * oi;
+
+			D[n] = d * oa + e * od + f * og;
+			E[n] = d * ob + e * oe + f * oh;
+			F[n] = d * oc + e * of + f * oi;
+
+			G[n] = g * oa + h * od + i * og;
+			H[n] = g * ob + h * oe + i * oh;
+			I[n] = g * oc + h * of + i * oi;
+
+			X[n] = a * ox + b * oy + c * oz + X[n];
+			Y[n] = d * ox + e * oy + f * oz + Y[n];
+			Z[n] = g * ox + h * oy + i * oz + Z[n];
+		}
+	}
+
+	/**
+	 * Implementation of {@link TransformBuffer#applyEach(double[])}.
+	 */
+	void applyEach(TransformBuffer buffer, double[] points) {
+		applyEach(buffer, points, 0, buffer._size);
+	}
+
+	/**
+	 * Scalar implementation of {@link TransformBuffer#applyEach(double[])} for the entries in the
+	 * given index range.
+	 */
+	static void applyEach(TransformBuffer buffer, double[] points, int start, int stop) {
+		double[] A = buffer._a, B = buffer._b, C = buffer._c;
+		double[] D = buffer._d, E = buffer._e, F = buffer._f;
+		double[] G = buffer._g, H = buffer._h, I = buffer._i;
+		double[] X = buffer._x, Y = buffer._y, Z = buffer._z;
+
+		for (int n = start, k = 3 * start; n < stop; n++, k += 3) {
+			double px = points[k], py = points[k + 1], pz = points[k + 2];
+			points[k] = A[n] * px + B[n] * py + C[n] * pz + X[n];
+			points[k + 1] = D[n] * px + E[n] * py + F[n] * pz + Y[n];
+			points[k + 2] = G[n] * px + H[n] * py + I[n] * pz + Z[n];
+		}
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stack of absolute transformations for depth-first walks through a node hierarchy.
+ *
+ * <p>
+ * Each {@link #push(Transformation) push} composes the top of the stack with the local
+ * transformation of the entered node, each {@link #pop()} returns to the parent's absolute
+ * transformation. All values are held in a single primitive array that is reused across walks, so
+ * a walk does not allocate garbage once the stack has grown to the maximum depth of the hierarchy.
+ * </p>
+ *
+ * <p>
+ * The bottom of the stack is the identity transformation, which can not be popped.
+ * </p>
+ */
+public class TransformStack {
+
+	private static final int STRIDE = 12;
+
+	private double[] _values;
+
+	private int _depth;
+
+	/**
+	 * Creates a {@link TransformStack}.
+	 */
+	public TransformStack() {
+		this(16);
+	}
+
+	/**
+	 * Creates a {@link TransformStack} with an initial capacity for the given hierarchy depth.
+	 */
+	public TransformStack(int initialDepth) {
+		_values = new double[STRIDE * (Math.max(1, initialDepth) + 1)];
+		clear();
+	}
+
+	/**
+	 * Removes all entries, only the identity transformation remains.
+	 */
+	public void clear() {
+		_depth = 0;
+		_values[0] = 1;
+		_values[1] = 0;
+		_values[2] = 0;
+		_values[3] = 0;
+		_values[4] = 1;
+		_values[5] = 0;
+		_values[6] = 0;
+		_values[7] = 0;
+		_values[8] = 1;
+		_values[9] = 0;
+		_values[10] = 0;
+		_values[11] = 0;
+	}
+
+	/**
+	 * The number of pushed entries.
+	 */
+	public int depth() {
+		return _depth;
+	}
+
+	/**
+	 * Enters a node with the given local transformation.
+	 *
+	 * @param local
+	 *        The transformation of the entered node relative to its parent. <code>null</code> is
+	 *        interpreted as identity.
+	 */
+	public void push(Transformation local) {
+		if (local == null) {
+			pushIdentity();
+		} else {
+			push(
+				local.a(), local.b(), local.c(),
+				local.d(), local.e(), local.f(),
+				local.g(), local.h(), local.i(),
+				local.x(), local.y(), local.z());
+		}
+	}
+
+	/**
+	 * Enters a node with the given local transformation in the list format of
+	 * {@link TransformationUtil#toList(Transformation)}.
+	 *
+	 * @param local
+	 *        The transformation of the entered node relative to its parent. An empty list is
+	 *        interpreted as identity.
+	 */
+	public void push(List<? extends Number> local) {
+		switch (local.size()) {
+			case 0:
+				pushIdentity();
+				break;
+			case STRIDE:
+				push(
+					local.get(0).doubleValue(), local.get(1).doubleValue(), local.get(2).doubleValue(),
+					local.get(3).doubleValue(), local.get(4).doubleValue(), local.get(5).doubleValue(),
+					local.get(6).doubleValue(), local.get(7).doubleValue(), local.get(8).doubleValue(),
+					local.get(9).doubleValue(), local.get(10).doubleValue(), local.get(11).doubleValue());
+				break;
+			default:
+				throw new IllegalArgumentException("TX must contain exactly 12 entries.");
+		}
+	}
+
+	/**
+	 * Enters a node without local transformation.
+	 */
+	public void pushIdentity() {
+		int top = grow();
+		System.arraycopy(_values, top - STRIDE, _values, top, STRIDE);
+	}
+
+	/**
+	 * Enters a node with the given local transformation matrix.
+	 */
+	public void push(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z) {
+		int top = grow();
+		int p = top - STRIDE;
+		double[] v = _values;
+
+		double pa = v[p], pb = v[p + 1], pc = v[p + 2];
+		double pd = v[p + 3], pe = v[p + 4], pf = v[p + 5];
+		double pg = v[p + 6], ph = v[p + 7], pi = v[p + 8];
+
+		v[top] = pa * a + pb * d + pc * g;
+		v[top + 1] = pa * b + pb * e + pc * h;
+		v[top + 2] = pa * c + pb * f + pc * i;
+
+		v[top + 3] = pd * a + pe * d + pf * g;
+		v[top + 4] = pd * b + pe * e + pf * h;
+		v[top + 5] = pd * c + pe * f + pf * i;
+
+		v[top + 6] = pg * a + ph * d + pi * g;
+		v[top + 7] = pg * b + ph * e + pi * h;
+		v[top + 8] = pg * c + ph * f + pi * i;
+
+		v[top + 9] = pa * x + pb * y + pc * z + v[p + 9];
+		v[top + 10] = pd * x + pe * y + pf * z + v[p + 10];
+		v[top + 11] = pg * x + ph * y + pi * z + v[p + 11];
+	}
+
+	/**
+	 * Leaves the node entered last.
+	 */
+	public void pop() {
+		if (_depth == 0) {
+			throw new IllegalStateException("Transform stack is empty.");
+		}
+		_depth--;
+	}
+
+	/**
+	 * Copies the current absolute transformation to the given accumulator.
+	 */
+	public MutableTransformation top(MutableTransformation out) {
+		return out.set(_values, _depth * STRIDE);
+	}
+
+	/**
+	 * Writes the current absolute transformation as 12 entries to the given array.
+	 */
+	public void top(double[] out, int offset) {
+		System.arraycopy(_values, _depth * STRIDE, out, offset, STRIDE);
+	}
+
+	/**
+	 * Creates an immutable {@link Transformation} with the current absolute transformation.
+	 */
+	public Transformation toTransformation() {
+		int p = _depth * STRIDE;
+		double[] v = _values;
+		return new Transformation(
+			v[p], v[p + 1], v[p + 2],
+			v[p + 3], v[p + 4], v[p + 5],
+			v[p + 6], v[p + 7], v[p + 8],
+			v[p + 9], v[p + 10], v[p + 11]);
+	}
+
+	private int grow() {
+		_depth++;
+		int top = _depth * STRIDE;
+		if (top + STRIDE > _values.length) {
+			_values = Arrays.copyOf(_values, 2 * _values.length);
+		}
+		return top;
+	}
+
+}
@@ -7,7 +7,7 @@ package com.top_logic.threed.core.math;
 
 import static java.lang.Math.*;
 
-import java.util.Arrays;
+import java.nio.DoubleBuffer;
 import java.util.Collection;
 import java.util.List;
 
@@ -17,18 +17,124 @@ import org.apache.commons.math3.linear.RealMatrix;
 
 import com.top_logic.threed.core.math.format.I18NConstants;
 import com.top_logic.threed.core.util.MapLike;
+import com.top_logic.threed.core.util.PropertyTable;
 import com.top_logic.util.error.TopLogicException;
 
 /**
  * A linear transformation of Euclidean space R3.
+ *
+ * <p>
+ * Transformations are compared by their twelve values: Two {@link Transformation}s are
+ * {@link #equals(Object) equal} if all values are equal in the sense of
+ * {@link Double#equals(Object)}, which is the same result the {@link java.util.Map} view gave for
+ * two transformations, also in TL-Script comparisons. This deliberately breaks the
+ * {@link java.util.Map#equals(Object)} contract of {@link MapLike}: A transformation is never equal
+ * to a plain map, even though such a map may be equal to the transformation. Accordingly,
+ * {@link #hashCode()} is not computed from the map entries.
+ * </p>
  */
 public class Transformation extends MapLike {
 
+	/**
+	 * Classification of a {@link Transformation} that allows choosing specialized algorithms for
+	 * composition, inversion and application.
+	 * 
+	 * @see Transformation#kind()
+	 */
+	public enum Kind {
+
+		/**
+		 * The identity transformation.
+		 */
+		IDENTITY,
+
+		/**
+		 * A pure translation, the rotation part is the identity matrix.
+		 */
+		TRANSLATION,
+
+		/**
+		 * A pure rotation, the rotation part is orthonormal with determinant one and there is no
+		 * translation.
+		 */
+		ROTATION,
+
+		/**
+		 * A rotation followed by a translation.
+		 */
+		RIGID,
+
+		/**
+		 * A general affine transformation, e.g. with scaling, shearing or mirroring.
+		 */
+		AFFINE;
+
+		/**
+		 * The {@link Kind} of the 3x3 part of a transformation of this kind, either
+		 * {@link #IDENTITY}, {@link #ROTATION}, or {@link #AFFINE}.
+		 */
+		Kind linear() {
+			switch (this) {
+				case IDENTITY:
+				case TRANSLATION:
+					return IDENTITY;
+				case ROTATION:
+				case RIGID:
+					return ROTATION;
+				default:
+					return AFFINE;
+			}
+		}
+
+		/**
+		 * The {@link #linear()} kind of the product of two 3x3 matrices with the given
+		 * {@link #linear()} kinds.
+		 */
+		Kind times(Kind other) {
+			if (this == IDENTITY) {
+				return other;
+			}
+			if (other == IDENTITY) {
+				return this;
+			}
+			if (this == ROTATION && other == ROTATION) {
+				return ROTATION;
+			}
+			return AFFINE;
+		}
+
+		/**
+		 * Whether a transformation of this kind preserves distances and angles.
+		 */
+		public boolean isRigid() {
+			return this != AFFINE;
+		}
+
+	}
+
+	/**
+	 * Maximum deviation of a matrix from an orthonormal matrix that is still classified as
+	 * {@link Kind#ROTATION}.
+	 */
+	private static final double ORTHONORMAL_EPSILON = 1e-10;
+
+	private static final PropertyTable<Transformation> PROPERTIES = PropertyTable.builder(Transformation.class)
+		.add("a", Transformation::a).add("b", Transformation::b).add("c", Transformation::c)
+		.add("d", Transformation::d).add("e", Transformation::e).add("f", Transformation::f)
+		.add("g", Transformation::g).add("h", Transformation::h).add("i", Transformation::i)
+		.add("x", Transformation::x).add("y", Transformation::y).add("z", Transformation::z)
+		.build();
+
 	private static final Transformation IDENTITY = new Transformation(
 		1, 0, 0,
 		0, 1, 0,
 		0, 0, 1,
-		0, 0, 0);
+		0, 0, 0,
+		Kind.IDENTITY).canonicalCopy();
+
+	static {
+		TransformationPool.INSTANCE.intern(IDENTITY);
+	}
 
 	// First row of the rotation matrix.
 	private final double _a, _b, _c;
@@ -42,6 +148,23 @@ public class Transformation extends MapLike {
 	// The translation vector.
 	private final double _x, _y, _z;
 
+	private final Kind _kind;
+
+	/**
+	 * Lazily computed {@link #hashCode()}, <code>0</code> if not yet computed.
+	 */
+	private int _hash;
+
+	/**
+	 * Whether this is the {@link #canonical(Transformation) canonical} instance of its value.
+	 */
+	private final boolean _canonical;
+
+	/**
+	 * Lazily computed {@link #decompose()}.
+	 */
+	private Decomposition _decomposition;
+
 	/**
 	 * Creates a {@link Transformation} matrix.
 	 * 
@@ -74,6 +197,18 @@ public class Transformation extends MapLike {
 			double d, double e, double f,
 			double g, double h, double i,
 			double x, double y, double z) {
+		this(a, b, c, d, e, f, g, h, i, x, y, z, classify(a, b, c, d, e, f, g, h, i, x, y, z));
+	}
+
+	/**
+	 * Creates a {@link Transformation} matrix with an already known {@link Kind}.
+	 */
+	private Transformation(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z,
+			Kind kind) {
 		this._a = a;
 		this._b = b;
 		this._c = c;
@@ -89,6 +224,125 @@ public class Transformation extends MapLike {
 		this._x = x;
 		this._y = y;
 		this._z = z;
+
+		this._kind = kind;
+		this._canonical = false;
+	}
+
+	/**
+	 * Creates a canonical copy of the given {@link Transformation}.
+	 *
+	 * <p>
+	 * The canonical flag is assigned in the constructor, so that a canonical instance is safely
+	 * published to all threads that obtain it from the pool.
+	 * </p>
+	 */
+	private Transformation(Transformation tx) {
+		this._a = tx._a;
+		this._b = tx._b;
+		this._c = tx._c;
+
+		this._d = tx._d;
+		this._e = tx._e;
+		this._f = tx._f;
+
+		this._g = tx._g;
+		this._h = tx._h;
+		this._i = tx._i;
+
+		this._x = tx._x;
+		this._y = tx._y;
+		this._z = tx._z;
+
+		this._kind = tx._kind;
+		this._canonical = true;
+	}
+
+	private static Kind classify(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z) {
+		return kind(linear(Kind.AFFINE, a, b, c, d, e, f, g, h, i), x, y, z);
+	}
+
+	/**
+	 * The {@link Kind#linear()} kind of the given 3x3 matrix.
+	 *
+	 * @param known
+	 *        The most specific kind known for the matrix without inspecting its values, either
+	 *        {@link Kind#ROTATION} or {@link Kind#AFFINE}.
+	 */
+	private static Kind linear(Kind known,
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i) {
+		if (a == 1 && b == 0 && c == 0 && d == 0 && e == 1 && f == 0 && g == 0 && h == 0 && i == 1) {
+			return Kind.IDENTITY;
+		} else if (known == Kind.ROTATION || isRotation(a, b, c, d, e, f, g, h, i)) {
+			return Kind.ROTATION;
+		} else {
+			return Kind.AFFINE;
+		}
+	}
+
+	private static boolean isRotation(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i) {
+		// The columns must be orthonormal vectors.
+		if (abs(a * a + d * d + g * g - 1) > ORTHONORMAL_EPSILON) {
+			return false;
+		}
+		if (abs(b * b + e * e + h * h - 1) > ORTHONORMAL_EPSILON) {
+			return false;
+		}
+		if (abs(c * c + f * f + i * i - 1) > ORTHONORMAL_EPSILON) {
+			return false;
+		}
+		if (abs(a * b + d * e + g * h) > ORTHONORMAL_EPSILON) {
+			return false;
+		}
+		if (abs(a * c + d * f + g * i) > ORTHONORMAL_EPSILON) {
+			return false;
+		}
+		if (abs(b * c + e * f + h * i) > ORTHONORMAL_EPSILON) {
+			return false;
+		}
+
+		// Exclude mirroring.
+		double det = a * (e * i - f * h) - b * (d * i - f * g) + c * (d * h - e * g);
+		return det > 0;
+	}
+
+	/**
+	 * The {@link Kind} of a transformation with a 3x3 part of the given {@link Kind#linear()} kind
+	 * and the given translation.
+	 */
+	private static Kind kind(Kind linear, double x, double y, double z) {
+		boolean translates = x != 0 || y != 0 || z != 0;
+		switch (linear) {
+			case IDENTITY:
+				return translates ? Kind.TRANSLATION : Kind.IDENTITY;
+			case ROTATION:
+				return translates ? Kind.RIGID : Kind.ROTATION;
+			default:
+				return Kind.AFFINE;
+		}
+	}
+
+	/**
+	 * The {@link Kind} of this transformation.
+	 */
+	public Kind kind() {
+		return _kind;
+	}
+
+	/**
+	 * Whether this is the identity transformation.
+	 */
+	public boolean isIdentity() {
+		return _kind == Kind.IDENTITY;
 	}
 
 	/**
@@ -183,18 +437,7 @@ public class Transformation extends MapLike {
 	 * @implSpec See https://eecs.qmul.ac.uk/~gslabaugh/publications/euler.pdf
 	 */
 	public double getRotationX() {
-		if (g() == -1) {
-			return atan2(b(), c());
-		}
-		if (g() == 1) {
-			return atan2(-b(), -c());
-		}
-		double cos = cos(theta());
-		if (cos < 0) {
-			return atan2(-h(), -i());
-		} else {
-			return atan2(h(), i());
-		}
+		return decompose().rotationX();
 	}
 
 	/**
@@ -205,13 +448,7 @@ public class Transformation extends MapLike {
 	 * @implSpec See https://eecs.qmul.ac.uk/~gslabaugh/publications/euler.pdf
 	 */
 	public double getRotationY() {
-		if (g() == -1) {
-			return PI / 2;
-		}
-		if (g() == 1) {
-			return -PI / 2;
-		}
-		return theta();
+		return decompose().rotationY();
 	}
 
 	/**
@@ -222,27 +459,52 @@ public class Transformation extends MapLike {
 	 * @implSpec See https://eecs.qmul.ac.uk/~gslabaugh/publications/euler.pdf
 	 */
 	public double getRotationZ() {
-		if (g() == -1) {
-			return 0;
-		}
-		if (g() == 1) {
-			return 0;
-		}
-		double cos = cos(theta());
-		if (cos < 0) {
-			return atan2(-d(), -a());
-		} else {
-			return atan2(d(), a());
+		return decompose().rotationZ();
+	}
+
+	/**
+	 * The rotation and translation of this {@link Transformation} as Euler angles, quaternion,
+	 * axis-angle, and translation vector.
+	 * 
+	 * <p>
+	 * The result is computed once and cached in this instance.
+	 * </p>
+	 */
+	public Decomposition decompose() {
+		Decomposition result = _decomposition;
+		if (result == null) {
+			result = Decomposition.create(this);
+			_decomposition = result;
 		}
+		return result;
 	}
 
-	private double theta() {
-		double asin = asin(g());
-		if (asin == 0.0) {
-			// Avoid display of -0.0
-			return 0.0;
+	/**
+	 * Writes the {@link #decompose() decomposition} of this {@link Transformation} in array format
+	 * to the given buffer without allocating a {@link Decomposition}.
+	 * 
+	 * @param out
+	 *        The buffer to write {@link Decomposition#SIZE} values to.
+	 * @param offset
+	 *        The index of the first value in the given buffer.
+	 * 
+	 * @see Decomposition#EULER
+	 * @see Decomposition#QUATERNION
+	 * @see Decomposition#AXIS_ANGLE
+	 * @see Decomposition#TRANSLATION
+	 */
+	public void decompose(double[] out, int offset) {
+		Decomposition cached = _decomposition;
+		if (cached != null) {
+			cached.copyTo(out, offset);
+		} else {
+			Decomposition.decompose(
+				_a, _b, _c,
+				_d, _e, _f,
+				_g, _h, _i,
+				_x, _y, _z,
+				out, offset);
 		}
-		return -asin;
 	}
 
 	/**
@@ -260,7 +522,8 @@ public class Transformation extends MapLike {
 			1, 0, 0,
 			0, 1, 0,
 			0, 0, 1,
-			x, y, z);
+			x, y, z,
+			kind(Kind.IDENTITY, x, y, z));
 	}
 
 	/**
@@ -288,7 +551,8 @@ public class Transformation extends MapLike {
 			1,    0,     0,
 			0, cosa, -sina,
 			0, sina,  cosa,
-			0,    0,     0);
+			0,    0,     0,
+			Kind.ROTATION);
 	}
 
 	/**
@@ -304,7 +568,8 @@ public class Transformation extends MapLike {
 			 cosa, 0, sina,
 			    0, 1,    0,
 			-sina, 0, cosa,
-			    0, 0,    0);
+			    0, 0,    0,
+			Kind.ROTATION);
 	}
 
 	/**
@@ -320,7 +585,8 @@ public class Transformation extends MapLike {
 			cosa, -sina, 0,
 			sina,  cosa, 0,
 			   0,     0, 1,
-			   0,     0, 0);
+			   0,     0, 0,
+			Kind.ROTATION);
 	}
 
 	//
@@ -334,6 +600,9 @@ public class Transformation extends MapLike {
 	 * Transforms the given vector.
 	 */
 	public Vec3d apply(Vec3d v) {
+		if (_kind == Kind.IDENTITY) {
+			return v;
+		}
 		return apply(v.x(), v.y(), v.z());
 	}
 
@@ -341,7 +610,134 @@ public class Transformation extends MapLike {
 	 * Transforms the given vector.
 	 */
 	public Vec3d apply(double x, double y, double z) {
-		return Vec3d.vec(_a * x + _b * y + _c * z + _x, _d * x + _e * y + _f * z + _y, _g * x + _h * y + _i * z + _z);
+		switch (_kind) {
+			case IDENTITY:
+				return Vec3d.vec(x, y, z);
+			case TRANSLATION:
+				return Vec3d.vec(x + _x, y + _y, z + _z);
+			case ROTATION:
+				return Vec3d.vec(_a * x + _b * y + _c * z, _d * x + _e * y + _f * z, _g * x + _h * y + _i * z);
+			default:
+				return Vec3d.vec(_a * x + _b * y + _c * z + _x, _d * x + _e * y + _f * z + _y,
+					_g * x + _h * y + _i * z + _z);
+		}
+	}
+
+	/**
+	 * Transforms all points in the given array in place.
+	 *
+	 * @param points
+	 *        Consecutive <code>x, y, z</code> coordinates.
+	 *
+	 * @see #applyAll(double[], int, int, double[], int)
+	 */
+	public void applyAll(double[] points) {
+		applyAll(points, 0, points.length / 3, points, 0);
+	}
+
+	/**
+	 * Transforms the given number of points.
+	 *
+	 * @param points
+	 *        Consecutive <code>x, y, z</code> coordinates.
+	 * @param offset
+	 *        Index of the first coordinate to transform.
+	 * @param count
+	 *        The number of points to transform.
+	 * @param out
+	 *        The array to write the transformed coordinates to. May be the input array, if the
+	 *        output offset is not after the input offset.
+	 * @param outOffset
+	 *        Index of the first coordinate to write.
+	 */
+	public void applyAll(double[] points, int offset, int count, double[] out, int outOffset) {
+		applyAll(points, offset, count, out, outOffset, true);
+	}
+
+	/**
+	 * Transforms the given number of direction vectors.
+	 *
+	 * <p>
+	 * In contrast to {@link #applyAll(double[], int, int, double[], int)}, the translation of this
+	 * transformation is not applied.
+	 * </p>
+	 */
+	public void applyAllDirections(double[] vectors, int offset, int count, double[] out, int outOffset) {
+		applyAll(vectors, offset, count, out, outOffset, false);
+	}
+
+	private void applyAll(double[] points, int offset, int count, double[] out, int outOffset, boolean translate) {
+		if (_kind == Kind.IDENTITY || (!translate && _kind == Kind.TRANSLATION)) {
+			if (out != points || outOffset != offset) {
+				System.arraycopy(points, offset, out, outOffset, 3 * count);
+			}
+			return;
+		}
+
+		double a = _a, b = _b, c = _c;
+		double d = _d, e = _e, f = _f;
+		double g = _g, h = _h, i = _i;
+		double x = translate ? _x : 0, y = translate ? _y : 0, z = translate ? _z : 0;
+		for (int n = offset, k = outOffset, end = offset + 3 * count; n < end; n += 3, k += 3) {
+			double px = points[n], py = points[n + 1], pz = points[n + 2];
+			out[k] = a * px + b * py + c * pz + x;
+			out[k + 1] = d * px + e * py + f * pz + y;
+			out[k + 2] = g * px + h * py + i * pz + z;
+		}
+	}
+
+	/**
+	 * Transforms points in the given buffer in place.
+	 *
+	 * <p>
+	 * The buffer is accessed with absolute indices, its position is not changed. This allows
+	 * transforming e.g. the positions in an interleaved vertex buffer.
+	 * </p>
+	 *
+	 * @param points
+	 *        The buffer containing the points.
+	 * @param index
+	 *        Index of the <code>x</code> coordinate of the first point.
+	 * @param stride
+	 *        Distance between the <code>x</code> coordinates of two consecutive points, at least
+	 *        <code>3</code>.
+	 * @param count
+	 *        The number of points to transform.
+	 */
+	public void applyAll(DoubleBuffer points, int index, int stride, int count) {
+		applyAll(points, index, stride, count, true);
+	}
+
+	/**
+	 * Transforms direction vectors in the given buffer in place.
+	 *
+	 * <p>
+	 * In contrast to {@link #applyAll(DoubleBuffer, int, int, int)}, the translation of this
+	 * transformation is not applied.
+	 * </p>
+	 */
+	public void applyAllDirections(DoubleBuffer vectors, int index, int stride, int count) {
+		applyAll(vectors, index, stride, count, false);
+	}
+
+	private void applyAll(DoubleBuffer points, int index, int stride, int count, boolean translate) {
+		if (stride < 3) {
+			throw new IllegalArgumentException("Stride must be at least 3: " + stride);
+		}
+		if (_kind == Kind.IDENTITY || (!translate && _kind == Kind.TRANSLATION)) {
+			return;
+		}
+
+		double a = _a, b = _b, c = _c;
+		double d = _d, e = _e, f = _f;
+		double g = _g, h = _h, i = _i;
+		double x = translate ? _x : 0, y = translate ? _y : 0, z = translate ? _z : 0;
+		for (int n = index, end = index + stride * count; n < end; n += stride) {
+			double px = points.get(n), py = points.get(n + 1), pz = points.get(n + 2);
+			points.put(n, a * px + b * py + c * pz + x);
+			points.put(n + 1, d * px + e * py + f * pz + y);
+			points.put(n + 2, g * px + h * py + i * pz + z);
+		}
 	}
 
 	//   this          other
@@ -356,39 +752,109 @@ public class Transformation extends MapLike {
 	 * transformation.
 	 */
 	public Transformation after(Transformation other) {
-		if (IDENTITY.equals(other)) {
+		Kind otherKind = other._kind;
+		if (otherKind == Kind.IDENTITY) {
 			return this;
-		} else if (IDENTITY.equals(this)) {
+		}
+		if (_kind == Kind.IDENTITY) {
 			return other;
-		} else {
-			return new Transformation(
-				_a * other._a + _b * other._d + _c * other._g,
-				_a * other._b + _b * other._e + _c * other._h,
-				_a * other._c + _b * other._f + _c * other._i,
+		}
 
-				_d * other._a + _e * other._d + _f * other._g,
-				_d * other._b + _e * other._e + _f * other._h,
-				_d * other._c + _e * other._f + _f * other._i,
+		if (_kind == Kind.TRANSLATION) {
+			// Only the translation of the other transformation is shifted.
+			double x = other._x + _x;
+			double y = other._y + _y;
+			double z = other._z + _z;
+			return new Transformation(
+				other._a, other._b, other._c,
+				other._d, other._e, other._f,
+				other._g, other._h, other._i,
+				x, y, z,
+				kind(otherKind.linear(), x, y, z));
+		}
 
-				_g * other._a + _h * other._d + _i * other._g,
-				_g * other._b + _h * other._e + _i * other._h,
-				_g * other._c + _h * other._f + _i * other._i,
+		if (otherKind == Kind.TRANSLATION) {
+			// Only the translation of the other transformation must be rotated.
+			double x = _a * other._x + _b * other._y + _c * other._z + _x;
+			double y = _d * other._x + _e * other._y + _f * other._z + _y;
+			double z = _g * other._x + _h * other._y + _i * other._z + _z;
+			return new Transformation(
+				_a, _b, _c,
+				_d, _e, _f,
+				_g, _h, _i,
+				x, y, z,
+				kind(_kind.linear(), x, y, z));
+		}
 
-				_a * other._x + _b * other._y + _c * other._z + _x,
-				_d * other._x + _e * other._y + _f * other._z + _y,
-				_g * other._x + _h * other._y + _i * other._z + _z);
+		double x, y, z;
+		if (otherKind == Kind.ROTATION) {
+			x = _x;
+			y = _y;
+			z = _z;
+		} else {
+			x = _a * other._x + _b * other._y + _c * other._z + _x;
+			y = _d * other._x + _e * other._y + _f * other._z + _y;
+			z = _g * other._x + _h * other._y + _i * other._z + _z;
 		}
+		double a = _a * other._a + _b * other._d + _c * other._g;
+		double b = _a * other._b + _b * other._e + _c * other._h;
+		double c = _a * other._c + _b * other._f + _c * other._i;
+
+		double d = _d * other._a + _e * other._d + _f * other._g;
+		double e = _d * other._b + _e * other._e + _f * other._h;
+		double f = _d * other._c + _e * other._f + _f * other._i;
+
+		double g = _g * other._a + _h * other._d + _i * other._g;
+		double h = _g * other._b + _h * other._e + _i * other._h;
+		double i = _g * other._c + _h * other._f + _i * other._i;
+
+		// The product may be more specific than its factors, e.g. a mirroring applied twice is the
+		// identity, and a scaling followed by its inverse scaling is a rotation.
+		Kind linear = linear(_kind.linear().times(otherKind.linear()), a, b, c, d, e, f, g, h, i);
+		return new Transformation(
+			a, b, c,
+			d, e, f,
+			g, h, i,
+			x, y, z,
+			kind(linear, x, y, z));
 	}
 	
 	/**
 	 * The inverse of this transformation.
 	 */
 	public Transformation inverse() {
-		if (IDENTITY.equals(this)) {
-			return IDENTITY;
+		switch (_kind) {
+			case IDENTITY:
+				return this;
+			case TRANSLATION:
+				// Note: Subtracting from zero avoids -0.0 values.
+				return new Transformation(
+					1, 0, 0,
+					0, 1, 0,
+					0, 0, 1,
+					0 - _x, 0 - _y, 0 - _z,
+					Kind.TRANSLATION);
+			case ROTATION:
+				// The inverse of an orthonormal matrix is its transpose.
+				return new Transformation(
+					_a, _d, _g,
+					_b, _e, _h,
+					_c, _f, _i,
+					0, 0, 0,
+					Kind.ROTATION);
+			case RIGID:
+				// [R t]^-1 = [R^T -R^T t]
+				return new Transformation(
+					_a, _d, _g,
+					_b, _e, _h,
+					_c, _f, _i,
+					0 - (_a * _x + _d * _y + _g * _z),
+					0 - (_b * _x + _e * _y + _h * _z),
+					0 - (_c * _x + _f * _y + _i * _z),
+					Kind.RIGID);
+			default:
+				return toTransformation(new LUDecomposition(toRealMatrix(this)).getSolver().getInverse());
 		}
-
-		return toTransformation(new LUDecomposition(toRealMatrix(this)).getSolver().getInverse());
 	}
 
 	private RealMatrix toRealMatrix(Transformation matrix) {
@@ -423,34 +889,17 @@ public class Transformation extends MapLike {
 
 	@Override
 	public Collection<String> properties() {
-		return Arrays.asList(
-			"a", "a", "a",
-			"b", "c", "d",
-			"e", "f", "g",
-			"x", "y", "z"
-		);
+		return PROPERTIES.names();
 	}
 
 	@Override
 	public Object get(String name) {
-		switch (name) {
-			case "a": return a();
-			case "b": return b();
-			case "c": return c();
+		return PROPERTIES.get(this, name);
+	}
 
-			case "d": return d();
-			case "e": return e();
-			case "f": return f();
-			
-			case "g": return g();
-			case "h": return h();
-			case "i": return i();
-			
-			case "x": return x();
-			case "y": return y();
-			case "z": return z();
-		}
-		return null;
+	@Override
+	protected PropertyTable<Transformation> propertyTable() {
+		return PROPERTIES;
 	}
 
 	/**
@@ -481,8 +930,79 @@ public class Transformation extends MapLike {
 		);
 	}
 
+	/**
+	 * The shared instance equal to the given {@link Transformation}.
+	 *
+	 * <p>
+	 * Canonical instances are kept in a weak intern pool. Equal canonical instances are identical.
+	 * Using canonical instances is worthwhile for values that are held for a long time and repeat
+	 * often, e.g. the transformations in a large scene. Short-lived intermediate results should not
+	 * be interned.
+	 * </p>
+	 *
+	 * <p>
+	 * The pool is split into parts with separate locks, so that it can be used by many threads at a
+	 * time.
+	 * </p>
+	 *
+	 * @param tx
+	 *        The value to canonicalize, may be <code>null</code>.
+	 * @return The canonical instance equal to the given value, <code>null</code> for a
+	 *         <code>null</code> argument.
+	 */
+	public static Transformation canonical(Transformation tx) {
+		if (tx == null || tx.isCanonical()) {
+			return tx;
+		}
+		return TransformationPool.INSTANCE.intern(tx);
+	}
+
+	/**
+	 * The canonical {@link Transformation} with the given values.
+	 *
+	 * @see #canonical(Transformation)
+	 * @see #Transformation(double, double, double, double, double, double, double, double, double,
+	 *      double, double, double)
+	 */
+	public static Transformation canonical(
+			double a, double b, double c,
+			double d, double e, double f,
+			double g, double h, double i,
+			double x, double y, double z) {
+		return canonical(new Transformation(a, b, c, d, e, f, g, h, i, x, y, z));
+	}
+
+	/**
+	 * Whether this instance is the canonical instance of its value.
+	 *
+	 * @see #canonical(Transformation)
+	 */
+	public boolean isCanonical() {
+		return _canonical;
+	}
+
+	/**
+	 * Called by {@link TransformationPool} to create the canonical instance of this value.
+	 *
+	 * <p>
+	 * The given instance is not modified, since it may already be shared with other threads.
+	 * </p>
+	 */
+	Transformation canonicalCopy() {
+		return new Transformation(this);
+	}
+
 	@Override
 	public int hashCode() {
+		int result = _hash;
+		if (result == 0) {
+			result = computeHash();
+			_hash = result;
+		}
+		return result;
+	}
+
+	private int computeHash() {
 		final int prime = 31;
 		int result = prime;
 		result = prime * result + Double.hashCode(_a);
@@ -500,15 +1020,35 @@ public class Transformation extends MapLike {
 		return result;
 	}
 
+	/**
+	 * Compares the values of this and the given {@link Transformation}.
+	 *
+	 * <p>
+	 * In contrast to the {@link java.util.Map} view of {@link MapLike}, this is a plain value
+	 * comparison without creating entry views or boxing values.
+	 * </p>
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
 			return true;
-		if (!super.equals(obj))
+		if (obj == null || getClass() != obj.getClass())
 			return false;
-		if (getClass() != obj.getClass())
+		return equalsTx((Transformation) obj);
+	}
+
+	private boolean equalsTx(Transformation other) {
+		// Note: The kind is not compared. It is derived from the values, but may be less specific
+		// for some instances, e.g. when rounding prevents recognizing a rotation.
+		if (isCanonical() && other.isCanonical()) {
+			// There is only one canonical instance per value.
 			return false;
-		Transformation other = (Transformation) obj;
+		}
+		int hash = _hash;
+		int otherHash = other._hash;
+		if (hash != 0 && otherHash != 0 && hash != otherHash) {
+			return false;
+		}
 		return Double.doubleToLongBits(_a) == Double.doubleToLongBits(other._a)
 			&& Double.doubleToLongBits(_b) == Double.doubleToLongBits(other._b)
 			&& Double.doubleToLongBits(_c) == Double.doubleToLongBits(other._c)
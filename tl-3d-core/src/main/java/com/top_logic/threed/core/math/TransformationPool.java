@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Intern pool for {@link Transformation}s.
+ *
+ * <p>
+ * The pool only holds weak references to its values. A canonical instance is dropped from the pool
+ * as soon as it is no longer used elsewhere.
+ * </p>
+ *
+ * <p>
+ * The pool is split into {@link #STRIPES} independent parts selected by the hash code of the value.
+ * Each part has its own lock, so that threads interning different values rarely wait for each
+ * other.
+ * </p>
+ *
+ * @see Transformation#canonical(Transformation)
+ */
+final class TransformationPool {
+
+	/**
+	 * The pool used by {@link Transformation#canonical(Transformation)}.
+	 */
+	static final TransformationPool INSTANCE = new TransformationPool();
+
+	/**
+	 * Number of parts of the pool, a power of two.
+	 */
+	private static final int STRIPES = 64;
+
+	/**
+	 * Canonical instances by value, one map per part.
+	 *
+	 * <p>
+	 * The value must be a weak reference to its own key, otherwise entries would never be removed.
+	 * Each map is guarded by itself.
+	 * </p>
+	 */
+	private final Map<Transformation, WeakReference<Transformation>>[] _stripes;
+
+	@SuppressWarnings("unchecked")
+	private TransformationPool() {
+		_stripes = new Map[STRIPES];
+		for (int n = 0; n < STRIPES; n++) {
+			_stripes[n] = new WeakHashMap<>();
+		}
+	}
+
+	/**
+	 * Returns the canonical instance equal to the given {@link Transformation}.
+	 *
+	 * <p>
+	 * If there is no canonical instance yet, a canonical copy of the given {@link Transformation} is
+	 * added to the pool.
+	 * </p>
+	 */
+	Transformation intern(Transformation tx) {
+		Map<Transformation, WeakReference<Transformation>> pool = stripe(tx);
+		synchronized (pool) {
+			WeakReference<Transformation> ref = pool.get(tx);
+			if (ref != null) {
+				Transformation existing = ref.get();
+				if (existing != null) {
+					return existing;
+				}
+			}
+
+			Transformation canonical = tx.isCanonical() ? tx : tx.canonicalCopy();
+			pool.put(canonical, new WeakReference<>(canonical));
+			return canonical;
+		}
+	}
+
+	/**
+	 * The number of canonical instances currently in the pool.
+	 */
+	int size() {
+		int result = 0;
+		for (Map<Transformation, WeakReference<Transformation>> pool : _stripes) {
+			synchronized (pool) {
+				result += pool.size();
+			}
+		}
+		return result;
+	}
+
+	private Map<Transformation, WeakReference<Transformation>> stripe(Transformation tx) {
+		int hash = tx.hashCode();
+		return _stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+	}
+
+}
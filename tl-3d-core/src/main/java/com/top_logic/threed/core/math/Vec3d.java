@@ -7,13 +7,22 @@ package com.top_logic.threed.core.math;
 
 import static java.lang.Math.*;
 
-import java.util.Arrays;
 import java.util.Collection;
 
 import com.top_logic.threed.core.util.MapLike;
+import com.top_logic.threed.core.util.PropertyTable;
 
 /**
  * A vector in 3D Euclidean space.
+ *
+ * <p>
+ * Vectors are compared by their coordinates: Two {@link Vec3d}s are {@link #equals(Object) equal}
+ * if their coordinates are equal in the sense of {@link Double#equals(Object)}, which is the same
+ * result the {@link java.util.Map} view gave for two vectors, also in TL-Script comparisons. This
+ * deliberately breaks the {@link java.util.Map#equals(Object)} contract of {@link MapLike}: A vector
+ * is never equal to a plain map, even though such a map may be equal to the vector. Accordingly,
+ * {@link #hashCode()} is not computed from the map entries.
+ * </p>
  */
 public class Vec3d extends MapLike {
 
@@ -31,6 +40,12 @@ public class Vec3d extends MapLike {
 		return new Vec3d(x, y, z);
 	}
 
+	private static final PropertyTable<Vec3d> PROPERTIES = PropertyTable.builder(Vec3d.class)
+		.add("x", Vec3d::x)
+		.add("y", Vec3d::y)
+		.add("z", Vec3d::z)
+		.build();
+
 	private final double _x, _y, _z;
 
 	private Vec3d(double x, double y, double z) {
@@ -109,6 +124,29 @@ public class Vec3d extends MapLike {
 		return sqrt(_x * _x + _y * _y + _z * _z);
 	}
 
+	@Override
+	public int hashCode() {
+		int result = 31 + Double.hashCode(_x);
+		result = 31 * result + Double.hashCode(_y);
+		result = 31 * result + Double.hashCode(_z);
+		return result;
+	}
+
+	/**
+	 * Compares the coordinates of this and the given {@link Vec3d}.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		Vec3d other = (Vec3d) obj;
+		return Double.doubleToLongBits(_x) == Double.doubleToLongBits(other._x)
+			&& Double.doubleToLongBits(_y) == Double.doubleToLongBits(other._y)
+			&& Double.doubleToLongBits(_z) == Double.doubleToLongBits(other._z);
+	}
+
 	@Override
 	public String toString() {
 		return "(" + _x + ", " + _y + ", " + _z + ")";
@@ -116,16 +154,16 @@ public class Vec3d extends MapLike {
 
 	@Override
 	public Collection<String> properties() {
-		return Arrays.asList("x", "y", "z");
+		return PROPERTIES.names();
 	}
 
 	@Override
 	public Object get(String name) {
-		switch (name) {
-			case "x": return x();
-			case "y": return y();
-			case "z": return z();
-		}
-		return null;
+		return PROPERTIES.get(this, name);
+	}
+
+	@Override
+	protected PropertyTable<Vec3d> propertyTable() {
+		return PROPERTIES;
 	}
 }
@@ -0,0 +1,39 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import com.top_logic.threed.core.math.Transformation;
+
+/**
+ * {@link TransformationValueProvider} writing the compact Base64 encoding of
+ * {@link TransformationStorage}.
+ * 
+ * <p>
+ * Reading a Base64 value only decodes 128 characters instead of parsing 16 decimal numbers. Values
+ * still stored in the legacy CSV encoding are read as well, so an attribute can be switched to
+ * this storage mapping before its data has been converted.
+ * </p>
+ * 
+ * @see ConvertTransformationStorageProcessor
+ */
+public class BinaryTransformationValueProvider extends TransformationValueProvider {
+
+	/**
+	 * Singleton {@link BinaryTransformationValueProvider} instance.
+	 */
+	@SuppressWarnings("hiding")
+	public static final BinaryTransformationValueProvider INSTANCE = new BinaryTransformationValueProvider();
+
+	private BinaryTransformationValueProvider() {
+		super();
+	}
+
+	@Override
+	protected String format(Transformation transformation) {
+		return TransformationStorage.encodeBase64(transformation);
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.w3c.dom.Document;
+
+import com.top_logic.basic.Log;
+import com.top_logic.basic.config.AbstractConfiguredInstance;
+import com.top_logic.basic.config.InstantiationContext;
+import com.top_logic.basic.config.PolymorphicConfiguration;
+import com.top_logic.basic.config.annotation.Mandatory;
+import com.top_logic.basic.config.annotation.Name;
+import com.top_logic.basic.config.annotation.Nullable;
+import com.top_logic.basic.sql.DBHelper;
+import com.top_logic.basic.sql.PooledConnection;
+import com.top_logic.knowledge.service.migration.MigrationContext;
+import com.top_logic.knowledge.service.migration.MigrationProcessor;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.util.error.TopLogicException;
+
+/**
+ * {@link MigrationProcessor} converting stored {@link Transformation} values between the encodings
+ * of {@link TransformationStorage}.
+ *
+ * <p>
+ * Used after switching an attribute from <code>tl.threed.core:Transformation</code> to
+ * <code>tl.threed.core:BinaryTransformation</code> (or back). Since both storage mappings read both
+ * encodings, the conversion is not required for correctness but avoids parsing legacy values.
+ * </p>
+ *
+ * <p>
+ * The values are read as a stream and updated in batches of {@value #BATCH_SIZE}. Values that can
+ * not be decoded are logged and left unchanged.
+ * </p>
+ *
+ * <p>
+ * Example for an attribute stored in the generic flex attribute table:
+ * </p>
+ *
+ * <pre>
+ * &lt;processor class="com.top_logic.threed.core.math.format.ConvertTransformationStorageProcessor"
+ *     table="FLEX_DATA"
+ *     column="VARCHAR_DATA"
+ *     filter-column="ATTR"
+ *     filter-value="tx"
+ * /&gt;
+ * </pre>
+ */
+public class ConvertTransformationStorageProcessor
+		extends AbstractConfiguredInstance<ConvertTransformationStorageProcessor.Config<?>>
+		implements MigrationProcessor {
+
+	/**
+	 * Number of updates sent to the database at once.
+	 */
+	private static final int BATCH_SIZE = 1000;
+
+	/**
+	 * Target encoding of a {@link ConvertTransformationStorageProcessor}.
+	 */
+	public enum Encoding {
+		/**
+		 * Encoding written by {@link BinaryTransformationValueProvider}.
+		 */
+		BASE64,
+
+		/**
+		 * Encoding written by {@link TransformationValueProvider}.
+		 */
+		CSV;
+	}
+
+	/**
+	 * Configuration options for {@link ConvertTransformationStorageProcessor}.
+	 */
+	public interface Config<I extends ConvertTransformationStorageProcessor> extends PolymorphicConfiguration<I> {
+
+		/**
+		 * Database table containing the values to convert.
+		 */
+		@Mandatory
+		String getTable();
+
+		/**
+		 * Column of {@link #getTable()} containing the values to convert.
+		 */
+		@Mandatory
+		String getColumn();
+
+		/**
+		 * Optional column restricting the converted rows, e.g. to a certain attribute.
+		 */
+		@Name("filter-column")
+		@Nullable
+		String getFilterColumn();
+
+		/**
+		 * Value of {@link #getFilterColumn()} in the rows to convert.
+		 */
+		@Name("filter-value")
+		@Nullable
+		String getFilterValue();
+
+		/**
+		 * The encoding to convert to, {@link Encoding#BASE64} by default.
+		 */
+		Encoding getEncoding();
+
+	}
+
+	/**
+	 * Creates a {@link ConvertTransformationStorageProcessor} from configuration.
+	 *
+	 * @param context
+	 *        The context for instantiating sub configurations.
+	 * @param config
+	 *        The configuration.
+	 */
+	public ConvertTransformationStorageProcessor(InstantiationContext context, Config<?> config) {
+		super(context, config);
+	}
+
+	@Override
+	public void doMigration(MigrationContext context, Log log, PooledConnection connection, Document tlModel) {
+		Config<?> config = getConfig();
+		String table = config.getTable();
+		String column = config.getColumn();
+		String filterColumn = config.getFilterColumn();
+		boolean filtered = filterColumn != null;
+		boolean toBase64 = config.getEncoding() == Encoding.BASE64;
+
+		DBHelper sql = connection.getSQLDialect();
+		String tableRef = sql.tableRef(table);
+		String columnRef = sql.columnRef(column);
+		String filterRef = filtered ? sql.columnRef(filterColumn) : null;
+
+		String select = "SELECT DISTINCT " + columnRef + " FROM " + tableRef
+			+ (filtered ? " WHERE " + filterRef + " = ?" : "");
+		String update = "UPDATE " + tableRef + " SET " + columnRef + " = ? WHERE " + columnRef + " = ?"
+			+ (filtered ? " AND " + filterRef + " = ?" : "");
+
+		try (PreparedStatement query = connection.prepareStatement(select);
+				PreparedStatement statement = connection.prepareStatement(update)) {
+			if (filtered) {
+				query.setString(1, config.getFilterValue());
+			}
+			int converted = 0;
+			int skipped = 0;
+			int pending = 0;
+			try (ResultSet result = query.executeQuery()) {
+				while (result.next()) {
+					String value = result.getString(1);
+					if (value == null || value.isEmpty() || TransformationStorage.isBase64(value) == toBase64) {
+						continue;
+					}
+
+					Transformation tx;
+					try {
+						tx = TransformationStorage.decode(value);
+					} catch (IllegalArgumentException ex) {
+						log.info("Skipped invalid transformation value in '" + table + "." + column + "': "
+							+ ex.getMessage(), Log.WARN);
+						skipped++;
+						continue;
+					}
+
+					statement.setString(1,
+						toBase64 ? TransformationStorage.encodeBase64(tx) : TransformationStorage.encodeCsv(tx));
+					statement.setString(2, value);
+					if (filtered) {
+						statement.setString(3, config.getFilterValue());
+					}
+					statement.addBatch();
+					converted++;
+					if (++pending == BATCH_SIZE) {
+						statement.executeBatch();
+						pending = 0;
+					}
+				}
+			}
+			if (pending > 0) {
+				statement.executeBatch();
+			}
+
+			log.info("Converted " + converted + " distinct transformation values in '" + table + "." + column
+				+ "' to " + config.getEncoding() + (skipped > 0 ? ", skipped " + skipped + " invalid values." : "."));
+		} catch (SQLException ex) {
+			throw new TopLogicException(I18NConstants.ERROR_CONVERSION_FAILED__TABLE_COLUMN.fill(table, column), ex);
+		}
+	}
+
+}
@@ -0,0 +1,295 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import java.math.BigInteger;
+
+/**
+ * Conversion of decimal numbers to <code>double</code> values without creating intermediate
+ * strings.
+ *
+ * <p>
+ * The result is always identical to {@link Double#parseDouble(String)}. Plain decimal numbers with
+ * at most 19 significant digits are converted directly, using Clinger's fast path for short
+ * mantissas and the Eisel-Lemire algorithm otherwise. All other inputs (e.g.
+ * <code>NaN</code>, hexadecimal notation, excessively long mantissas and the rare cases that
+ * Eisel-Lemire can not decide) are delegated to {@link Double#parseDouble(String)}.
+ * </p>
+ */
+final class DoubleScanner {
+
+	/**
+	 * Powers of ten that are exactly representable as <code>double</code>.
+	 */
+	private static final double[] EXACT_POWERS = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+		1e21, 1e22,
+	};
+
+	private static final int MIN_EXP10 = -348;
+
+	private static final int MAX_EXP10 = 347;
+
+	/**
+	 * 128 bit approximations of the powers of ten from {@link #MIN_EXP10} to {@link #MAX_EXP10}
+	 * normalized to a set most significant bit, stored as pairs of high and low 64 bits.
+	 */
+	private static final long[] POWERS = computePowers();
+
+	private DoubleScanner() {
+		// Static utility.
+	}
+
+	/**
+	 * Converts the given range of characters to a <code>double</code>.
+	 *
+	 * @throws NumberFormatException
+	 *         If the given range is not a valid number according to
+	 *         {@link Double#parseDouble(String)}.
+	 */
+	static double parseDouble(CharSequence str, int start, int end) throws NumberFormatException {
+		double result = scan(str, null, start, end);
+		if (Double.isNaN(result)) {
+			return Double.parseDouble(str.subSequence(start, end).toString());
+		}
+		return result;
+	}
+
+	/**
+	 * Converts the given range of characters to a <code>double</code>.
+	 *
+	 * @throws NumberFormatException
+	 *         If the given range is not a valid number according to
+	 *         {@link Double#parseDouble(String)}.
+	 */
+	static double parseDouble(char[] chars, int start, int end) throws NumberFormatException {
+		double result = scan(null, chars, start, end);
+		if (Double.isNaN(result)) {
+			return Double.parseDouble(new String(chars, start, end - start));
+		}
+		return result;
+	}
+
+	/**
+	 * Converts plain decimal numbers.
+	 *
+	 * @return The parsed value, or {@link Double#NaN}, if the input can not be converted by this
+	 *         method.
+	 */
+	private static double scan(CharSequence str, char[] chars, int start, int end) {
+		int idx = start;
+
+		boolean negative = false;
+		if (idx < end) {
+			char sign = charAt(str, chars, idx);
+			if (sign == '-') {
+				negative = true;
+				idx++;
+			} else if (sign == '+') {
+				idx++;
+			}
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int significant = 0;
+		int exp10 = 0;
+
+		// Integer part.
+		while (idx < end) {
+			char ch = charAt(str, chars, idx);
+			if (ch < '0' || ch > '9') {
+				break;
+			}
+			idx++;
+			digits++;
+			if (significant > 0 || ch != '0') {
+				if (++significant > 19) {
+					return Double.NaN;
+				}
+				mantissa = 10 * mantissa + (ch - '0');
+			}
+		}
+
+		// Fraction part.
+		if (idx < end && charAt(str, chars, idx) == '.') {
+			idx++;
+			while (idx < end) {
+				char ch = charAt(str, chars, idx);
+				if (ch < '0' || ch > '9') {
+					break;
+				}
+				idx++;
+				digits++;
+				exp10--;
+				if (significant > 0 || ch != '0') {
+					if (++significant > 19) {
+						return Double.NaN;
+					}
+					mantissa = 10 * mantissa + (ch - '0');
+				}
+			}
+		}
+		if (digits == 0) {
+			return Double.NaN;
+		}
+
+		// Exponent.
+		if (idx < end) {
+			char ch = charAt(str, chars, idx);
+			if (ch == 'e' || ch == 'E') {
+				idx++;
+				boolean negativeExp = false;
+				if (idx < end) {
+					char sign = charAt(str, chars, idx);
+					if (sign == '-') {
+						negativeExp = true;
+						idx++;
+					} else if (sign == '+') {
+						idx++;
+					}
+				}
+				int exp = 0;
+				int expDigits = 0;
+				while (idx < end) {
+					char digit = charAt(str, chars, idx);
+					if (digit < '0' || digit > '9') {
+						break;
+					}
+					idx++;
+					expDigits++;
+					if (exp < 100000) {
+						exp = 10 * exp + (digit - '0');
+					}
+				}
+				if (expDigits == 0) {
+					return Double.NaN;
+				}
+				exp10 += negativeExp ? -exp : exp;
+			}
+		}
+
+		// Trailing white space is accepted by Double.parseDouble().
+		while (idx < end) {
+			if (charAt(str, chars, idx) > ' ') {
+				return Double.NaN;
+			}
+			idx++;
+		}
+
+		if (mantissa == 0) {
+			return negative ? -0.0 : 0.0;
+		}
+
+		double result;
+		if (mantissa >= 0 && mantissa < (1L << 53) && exp10 >= -22 && exp10 <= 22) {
+			// Clinger's fast path: Both operands are exact, the single operation rounds correctly.
+			if (exp10 < 0) {
+				result = mantissa / EXACT_POWERS[-exp10];
+			} else {
+				result = mantissa * EXACT_POWERS[exp10];
+			}
+		} else {
+			result = eiselLemire(mantissa, exp10);
+			if (Double.isNaN(result)) {
+				return Double.NaN;
+			}
+		}
+		return negative ? -result : result;
+	}
+
+	private static char charAt(CharSequence str, char[] chars, int idx) {
+		return chars != null ? chars[idx] : str.charAt(idx);
+	}
+
+	/**
+	 * Eisel-Lemire conversion of <code>mantissa * 10^exp10</code> for a non-zero (unsigned)
+	 * mantissa.
+	 *
+	 * @return The correctly rounded value, or {@link Double#NaN}, if the result can not be
+	 *         determined by this algorithm.
+	 */
+	private static double eiselLemire(long mantissa, int exp10) {
+		if (exp10 < MIN_EXP10 || exp10 > MAX_EXP10) {
+			return Double.NaN;
+		}
+
+		int clz = Long.numberOfLeadingZeros(mantissa);
+		long man = mantissa << clz;
+		long retExp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz;
+
+		int entry = 2 * (exp10 - MIN_EXP10);
+		long powHi = POWERS[entry];
+		long powLo = POWERS[entry + 1];
+
+		long xHi = unsignedMultiplyHigh(man, powHi);
+		long xLo = man * powHi;
+
+		if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + man, man) < 0) {
+			long yHi = unsignedMultiplyHigh(man, powLo);
+			long yLo = man * powLo;
+			long mergedHi = xHi;
+			long mergedLo = xLo + yHi;
+			if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+				mergedHi++;
+			}
+			if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + man, man) < 0) {
+				return Double.NaN;
+			}
+			xHi = mergedHi;
+			xLo = mergedLo;
+		}
+
+		long msb = xHi >>> 63;
+		long retMantissa = xHi >>> (msb + 9);
+		retExp2 -= 1 ^ msb;
+
+		if (xLo == 0 && (xHi & 0x1FF) == 0 && (retMantissa & 3) == 1) {
+			// Half-way between two doubles.
+			return Double.NaN;
+		}
+
+		retMantissa += retMantissa & 1;
+		retMantissa >>>= 1;
+		if ((retMantissa >>> 53) > 0) {
+			retMantissa >>>= 1;
+			retExp2 += 1;
+		}
+		if (retExp2 <= 0 || retExp2 >= 0x7FF) {
+			// Sub-normal or infinite.
+			return Double.NaN;
+		}
+		return Double.longBitsToDouble((retExp2 << 52) | (retMantissa & 0x000FFFFFFFFFFFFFL));
+	}
+
+	private static long unsignedMultiplyHigh(long x, long y) {
+		return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+	}
+
+	private static long[] computePowers() {
+		long[] result = new long[2 * (MAX_EXP10 - MIN_EXP10 + 1)];
+		BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+		for (int exp10 = MIN_EXP10; exp10 <= MAX_EXP10; exp10++) {
+			BigInteger value;
+			if (exp10 >= 0) {
+				// Truncated to the most significant 128 bits.
+				BigInteger power = BigInteger.TEN.pow(exp10);
+				int shift = power.bitLength() - 128;
+				value = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+			} else {
+				// Reciprocal scaled to 128 bits, rounded up.
+				BigInteger power = BigInteger.TEN.pow(-exp10);
+				value = BigInteger.ONE.shiftLeft(power.bitLength() + 127).divide(power).add(BigInteger.ONE);
+			}
+			int entry = 2 * (exp10 - MIN_EXP10);
+			result[entry] = value.shiftRight(64).longValue();
+			result[entry + 1] = value.and(mask).longValue();
+		}
+		return result;
+	}
+
+}
@@ -6,6 +6,7 @@
 package com.top_logic.threed.core.math.format;
 
 import com.top_logic.basic.util.ResKey1;
+import com.top_logic.basic.util.ResKey2;
 import com.top_logic.layout.I18NConstantsBase;
 
 /**
@@ -20,6 +21,11 @@ public class I18NConstants extends I18NConstantsBase {
 	 */
 	public static ResKey1 ERROR_IS_NOT_A_TRANSFORMATION__VALUE;
 
+	/**
+	 * @en Failed to convert the transformation values in column ''{1}'' of table ''{0}''.
+	 */
+	public static ResKey2 ERROR_CONVERSION_FAILED__TABLE_COLUMN;
+
 	static {
 		initConstants(I18NConstants.class);
 	}
@@ -0,0 +1,157 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.top_logic.threed.core.math.Transformation;
+
+/**
+ * Bounded cache of {@link Transformation}s decoded from their storage representation.
+ *
+ * <p>
+ * The cache is a direct-mapped table: Each storage string is assigned to a single slot based on its
+ * hash code, a new entry replaces the entry previously stored in that slot. This keeps lookups free
+ * of locks and the memory bounded, while values repeating many times (like the offsets of the same
+ * stations in many assemblies) stay in the cache.
+ * </p>
+ *
+ * <p>
+ * Since {@link Transformation}s are immutable, cached instances can be shared between all callers.
+ * </p>
+ */
+public class TransformationCache {
+
+	private final AtomicReferenceArray<Entry> _slots;
+
+	private final int _mask;
+
+	private final LongAdder _hits = new LongAdder();
+
+	private final LongAdder _misses = new LongAdder();
+
+	/**
+	 * Creates a {@link TransformationCache}.
+	 *
+	 * @param capacity
+	 *        The maximum number of cached values, rounded up to a power of two.
+	 */
+	public TransformationCache(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		_slots = new AtomicReferenceArray<>(size);
+		_mask = size - 1;
+	}
+
+	/**
+	 * Looks up the value for the given storage string, decoding and caching it on a miss.
+	 *
+	 * @param storageValue
+	 *        The storage representation.
+	 * @param decoder
+	 *        Function creating the value for a storage string that is not in the cache.
+	 * @return The decoded value.
+	 */
+	public Transformation get(String storageValue, Function<String, Transformation> decoder) {
+		int hash = storageValue.hashCode();
+		int index = (hash ^ (hash >>> 16)) & _mask;
+
+		Entry entry = _slots.get(index);
+		if (entry != null && entry._hash == hash && entry._key.equals(storageValue)) {
+			_hits.increment();
+			return entry._value;
+		}
+
+		_misses.increment();
+		Transformation value = decoder.apply(storageValue);
+		_slots.set(index, new Entry(hash, storageValue, value));
+		return value;
+	}
+
+	/**
+	 * The maximum number of values in this cache.
+	 */
+	public int capacity() {
+		return _slots.length();
+	}
+
+	/**
+	 * The number of values currently in this cache.
+	 */
+	public int size() {
+		int result = 0;
+		for (int n = 0, cnt = _slots.length(); n < cnt; n++) {
+			if (_slots.get(n) != null) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The number of lookups answered from the cache.
+	 */
+	public long hits() {
+		return _hits.sum();
+	}
+
+	/**
+	 * The number of lookups that required decoding.
+	 */
+	public long misses() {
+		return _misses.sum();
+	}
+
+	/**
+	 * The fraction of lookups answered from the cache, <code>0</code> if there were no lookups.
+	 */
+	public double hitRate() {
+		long hits = hits();
+		long total = hits + misses();
+		return total == 0 ? 0.0 : (double) hits / total;
+	}
+
+	/**
+	 * Removes all values and resets the statistics.
+	 */
+	public void clear() {
+		for (int n = 0, cnt = _slots.length(); n < cnt; n++) {
+			_slots.set(n, null);
+		}
+		_hits.reset();
+		_misses.reset();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(size=" + size() + ", capacity=" + capacity() + ", hits=" + hits()
+			+ ", misses=" + misses() + ")";
+	}
+
+	private static final class Entry {
+
+		final int _hash;
+
+		final String _key;
+
+		final Transformation _value;
+
+		Entry(int hash, String key, Transformation value) {
+			_hash = hash;
+			_key = key;
+			_value = value;
+		}
+
+	}
+
+}
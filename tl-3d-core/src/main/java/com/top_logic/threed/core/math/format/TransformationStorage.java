@@ -0,0 +1,220 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Base64;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.TransformationUtil;
+
+/**
+ * Encodings of {@link Transformation}s for database storage.
+ *
+ * <p>
+ * Two encodings are supported:
+ * </p>
+ *
+ * <dl>
+ * <dt>CSV</dt>
+ * <dd>The 16 entries of the homogeneous 4x4 matrix in column-major order as comma-separated
+ * decimal numbers. This is the original storage format.</dd>
+ *
+ * <dt>Base64</dt>
+ * <dd>The 12 entries in the order of {@link TransformationUtil#toList(Transformation)} as
+ * {@value #BINARY_SIZE} bytes of little-endian IEEE 754 doubles, encoded with the standard
+ * Base64 alphabet without line breaks. The result always has {@value #BASE64_SIZE}
+ * characters.</dd>
+ * </dl>
+ *
+ * <p>
+ * {@link #decode(String)} detects the encoding of a stored value, so that both encodings can be
+ * mixed in the same column.
+ * </p>
+ */
+public final class TransformationStorage {
+
+	/**
+	 * Number of bytes of the binary encoding.
+	 */
+	public static final int BINARY_SIZE = 12 * Double.BYTES;
+
+	/**
+	 * Number of characters of the Base64 encoding.
+	 */
+	public static final int BASE64_SIZE = BINARY_SIZE / 3 * 4;
+
+	private TransformationStorage() {
+		// Static utility.
+	}
+
+	/**
+	 * Decodes a stored value in any of the supported encodings.
+	 *
+	 * @return The decoded value, {@link Transformation#identity()} for an empty value.
+	 */
+	public static Transformation decode(String storageValue) {
+		if (storageValue == null || storageValue.isEmpty()) {
+			return Transformation.identity();
+		}
+		if (isBase64(storageValue)) {
+			return decodeBase64(storageValue);
+		}
+		return decodeCsv(storageValue);
+	}
+
+	/**
+	 * Whether the given stored value uses the Base64 encoding.
+	 */
+	public static boolean isBase64(String storageValue) {
+		// A CSV value contains at least 15 separators and is never confused with Base64.
+		return storageValue.length() == BASE64_SIZE && storageValue.indexOf(',') < 0;
+	}
+
+	/**
+	 * Creates the CSV encoding of the given {@link Transformation}.
+	 */
+	public static String encodeCsv(Transformation transformation) {
+		StringBuilder builder = new StringBuilder(256);
+
+		builder.append(transformation.a());
+		builder.append(",");
+		builder.append(transformation.d());
+		builder.append(",");
+		builder.append(transformation.g());
+		builder.append(",");
+		builder.append(0);
+		builder.append(",");
+		builder.append(transformation.b());
+		builder.append(",");
+		builder.append(transformation.e());
+		builder.append(",");
+		builder.append(transformation.h());
+		builder.append(",");
+		builder.append(0);
+		builder.append(",");
+		builder.append(transformation.c());
+		builder.append(",");
+		builder.append(transformation.f());
+		builder.append(",");
+		builder.append(transformation.i());
+		builder.append(",");
+		builder.append(0);
+		builder.append(",");
+		builder.append(transformation.x());
+		builder.append(",");
+		builder.append(transformation.y());
+		builder.append(",");
+		builder.append(transformation.z());
+		builder.append(",");
+		builder.append(1);
+
+		return builder.toString();
+	}
+
+	/**
+	 * Decodes the CSV encoding.
+	 *
+	 * @see #encodeCsv(Transformation)
+	 */
+	public static Transformation decodeCsv(String storageValue) {
+		double[] values = new double[16];
+		int count = 0;
+		int start = 0;
+		int length = storageValue.length();
+		while (true) {
+			if (count == 16) {
+				throw notCsv(storageValue);
+			}
+			int end = storageValue.indexOf(',', start);
+			if (end < 0) {
+				end = length;
+			}
+			values[count++] = DoubleScanner.parseDouble(storageValue, start, end);
+			if (end == length) {
+				break;
+			}
+			start = end + 1;
+		}
+		if (count != 16) {
+			throw notCsv(storageValue);
+		}
+
+		return new Transformation(
+			values[0], values[4], values[8],
+			values[1], values[5], values[9],
+			values[2], values[6], values[10],
+			values[12], values[13], values[14]);
+	}
+
+	private static IllegalArgumentException notCsv(String storageValue) {
+		return new IllegalArgumentException(
+			"Not a transformation specification, not 16 values (rotation and translation): " + storageValue);
+	}
+
+	/**
+	 * Creates the Base64 encoding of the given {@link Transformation}.
+	 */
+	public static String encodeBase64(Transformation transformation) {
+		byte[] bytes = new byte[BINARY_SIZE];
+		toBinary(transformation, bytes, 0);
+		return Base64.getEncoder().encodeToString(bytes);
+	}
+
+	/**
+	 * Decodes the Base64 encoding.
+	 *
+	 * @see #encodeBase64(Transformation)
+	 */
+	public static Transformation decodeBase64(String storageValue) {
+		if (storageValue.length() != BASE64_SIZE) {
+			throw new IllegalArgumentException(
+				"Not a binary transformation, expected " + BASE64_SIZE + " characters: " + storageValue);
+		}
+
+		byte[] bytes;
+		try {
+			bytes = Base64.getDecoder().decode(storageValue);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid binary transformation: " + storageValue, ex);
+		}
+		return fromBinary(bytes, 0);
+	}
+
+	/**
+	 * Writes the {@value #BINARY_SIZE} byte binary encoding of the given {@link Transformation} to
+	 * the given buffer.
+	 */
+	public static void toBinary(Transformation transformation, byte[] out, int offset) {
+		doubles(out, offset)
+			.put(transformation.a()).put(transformation.b()).put(transformation.c())
+			.put(transformation.d()).put(transformation.e()).put(transformation.f())
+			.put(transformation.g()).put(transformation.h()).put(transformation.i())
+			.put(transformation.x()).put(transformation.y()).put(transformation.z());
+	}
+
+	/**
+	 * Reads a {@link Transformation} from its {@value #BINARY_SIZE} byte binary encoding.
+	 */
+	public static Transformation fromBinary(byte[] in, int offset) {
+		DoubleBuffer values = doubles(in, offset);
+		return new Transformation(
+			values.get(), values.get(), values.get(),
+			values.get(), values.get(), values.get(),
+			values.get(), values.get(), values.get(),
+			values.get(), values.get(), values.get());
+	}
+
+	/**
+	 * View of the binary encoding in the given buffer as little-endian doubles.
+	 */
+	private static DoubleBuffer doubles(byte[] buffer, int offset) {
+		return ByteBuffer.wrap(buffer, offset, BINARY_SIZE).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+	}
+
+}
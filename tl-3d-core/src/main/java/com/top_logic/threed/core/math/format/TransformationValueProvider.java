@@ -13,6 +13,17 @@ import com.top_logic.threed.core.math.Transformation;
 /**
  * {@link ConfigurationValueProvider} allowing to store {@link Transformation} values in
  * configurations.
+ * 
+ * <p>
+ * Values are written in the CSV encoding of {@link TransformationStorage}. Values in the Base64
+ * encoding written by {@link BinaryTransformationValueProvider} are read as well.
+ * </p>
+ * 
+ * <p>
+ * Decoded values are {@link Transformation#canonical(Transformation) canonical} and shared through
+ * a {@link #parseCache() cache}, since the same storage strings are read many times when building
+ * scenes.
+ * </p>
  */
 public class TransformationValueProvider implements ComplexValueProvider<Transformation> {
 
@@ -21,7 +32,21 @@ public class TransformationValueProvider implements ComplexValueProvider<Transfo
 	 */
 	public static final TransformationValueProvider INSTANCE = new TransformationValueProvider();
 
-	private TransformationValueProvider() {
+	/**
+	 * Maximum number of decoded values kept in the {@link #parseCache()}.
+	 */
+	public static final int PARSE_CACHE_SIZE = 4096;
+
+	private static final TransformationCache PARSE_CACHE = new TransformationCache(PARSE_CACHE_SIZE);
+
+	/**
+	 * Creates a {@link TransformationValueProvider}.
+	 * 
+	 * <p>
+	 * Use {@link #INSTANCE}.
+	 * </p>
+	 */
+	protected TransformationValueProvider() {
 		super();
 	}
 
@@ -30,29 +55,29 @@ public class TransformationValueProvider implements ComplexValueProvider<Transfo
 		return Transformation.class;
 	}
 
+	/**
+	 * The cache of decoded storage values shared by all {@link TransformationValueProvider}s.
+	 * 
+	 * <p>
+	 * The cache provides statistics about its usage.
+	 * </p>
+	 */
+	public static TransformationCache parseCache() {
+		return PARSE_CACHE;
+	}
+
 	@Override
 	public Transformation getBusinessObject(Object storageObject) {
-		String sourceValue = (String) storageObject;
-		if (storageObject == null || sourceValue.isEmpty()) {
+		String storageValue = (String) storageObject;
+		if (storageValue == null || storageValue.isEmpty()) {
 			return Transformation.identity();
 		}
 
-		return parse(sourceValue);
+		return PARSE_CACHE.get(storageValue, TransformationValueProvider::decodeCanonical);
 	}
 
-	private Transformation parse(String storageObject) {
-		String[] values = storageObject.split(",");
-
-		if (values.length == 16) {
-			return new Transformation(
-				Double.parseDouble(values[0]), Double.parseDouble(values[4]), Double.parseDouble(values[8]),
-				Double.parseDouble(values[1]), Double.parseDouble(values[5]), Double.parseDouble(values[9]),
-				Double.parseDouble(values[2]), Double.parseDouble(values[6]), Double.parseDouble(values[10]),
-				Double.parseDouble(values[12]), Double.parseDouble(values[13]), Double.parseDouble(values[14]));
-		} else {
-			throw new IllegalArgumentException(
-				"Not a transformation specification, not 16 values (rotation and translation): " + storageObject);
-		}
+	private static Transformation decodeCanonical(String storageValue) {
+		return Transformation.canonical(TransformationStorage.decode(storageValue));
 	}
 
 	@Override
@@ -64,42 +89,11 @@ public class TransformationValueProvider implements ComplexValueProvider<Transfo
 		return format((Transformation) businessObject);
 	}
 
-	private Object format(Transformation transformation) {
-		StringBuilder builder = new StringBuilder();
-
-		builder.append(transformation.a());
-		builder.append(",");
-		builder.append(transformation.d());
-		builder.append(",");
-		builder.append(transformation.g());
-		builder.append(",");
-		builder.append(0);
-		builder.append(",");
-		builder.append(transformation.b());
-		builder.append(",");
-		builder.append(transformation.e());
-		builder.append(",");
-		builder.append(transformation.h());
-		builder.append(",");
-		builder.append(0);
-		builder.append(",");
-		builder.append(transformation.c());
-		builder.append(",");
-		builder.append(transformation.f());
-		builder.append(",");
-		builder.append(transformation.i());
-		builder.append(",");
-		builder.append(0);
-		builder.append(",");
-		builder.append(transformation.x());
-		builder.append(",");
-		builder.append(transformation.y());
-		builder.append(",");
-		builder.append(transformation.z());
-		builder.append(",");
-		builder.append(1);
-
-		return builder.toString();
+	/**
+	 * Creates the storage representation of the given {@link Transformation}.
+	 */
+	protected String format(Transformation transformation) {
+		return TransformationStorage.encodeCsv(transformation);
 	}
 
 	@Override
@@ -5,12 +5,21 @@
  */
 package com.top_logic.threed.core.math.format;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.text.ParseException;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 import com.top_logic.threed.core.math.Transformation;
 
 /**
  * Parser for {@link Transformation}s.
+ * 
+ * <p>
+ * The parser works directly on the given characters. Apart from the resulting
+ * {@link Transformation}, no objects are created while parsing valid input.
+ * </p>
  */
 public class TxParser {
 
@@ -25,23 +34,175 @@ public class TxParser {
 	 * Parses a {@link Transformation} in scene file format.
 	 */
 	public static Transformation parseTx(int start, String tx) throws ParseException {
-		return new TxParser(start, tx).parse();
+		return new TxParser(tx, null, 0, tx.length(), start).parse();
+	}
+
+	/**
+	 * Parses a {@link Transformation} in scene file format from a range of the given characters.
+	 * 
+	 * <p>
+	 * Positions reported in a {@link ParseException} are relative to the given start index.
+	 * </p>
+	 * 
+	 * @param tx
+	 *        The characters to parse.
+	 * @param start
+	 *        The index of the first character to parse.
+	 * @param end
+	 *        The index after the last character to parse.
+	 */
+	public static Transformation parseTx(CharSequence tx, int start, int end) throws ParseException {
+		return new TxParser(tx, null, start, end, start).parse();
+	}
+
+	/**
+	 * Parses a {@link Transformation} in scene file format from a range of the given characters.
+	 * 
+	 * <p>
+	 * Positions reported in a {@link ParseException} are relative to the given start index.
+	 * </p>
+	 * 
+	 * @param tx
+	 *        The characters to parse.
+	 * @param start
+	 *        The index of the first character to parse.
+	 * @param end
+	 *        The index after the last character to parse.
+	 */
+	public static Transformation parseTx(char[] tx, int start, int end) throws ParseException {
+		return new TxParser(null, tx, start, end, start).parse();
+	}
+
+	/**
+	 * Parses {@link Transformation}s in scene file format from the given {@link Reader}, one
+	 * transformation per line.
+	 * 
+	 * <p>
+	 * The input is read in a single streaming pass. Empty lines are skipped. Positions reported in
+	 * a {@link ParseException} are relative to the start of the line containing the error, the
+	 * message contains the line number.
+	 * </p>
+	 * 
+	 * @param in
+	 *        The input to read.
+	 * @param out
+	 *        Callback receiving the parsed transformations in input order.
+	 * @return The number of parsed transformations.
+	 */
+	public static int parseAll(Reader in, Consumer<? super Transformation> out) throws IOException, ParseException {
+		char[] buffer = new char[8192];
+		int length = 0;
+		int lineStart = 0;
+		int line = 1;
+		int count = 0;
+		boolean afterCR = false;
+		TxParser parser = new TxParser(null, buffer, 0, 0, 0);
+		while (true) {
+			int scanStart = length;
+			int read = in.read(buffer, length, buffer.length - length);
+			boolean eof = read < 0;
+			if (!eof) {
+				length += read;
+			}
+
+			// Parse all complete lines in the buffer.
+			for (int idx = scanStart; idx < length; idx++) {
+				char ch = buffer[idx];
+				if (ch == '\n' && afterCR) {
+					// Second character of a CR LF line separator.
+					lineStart = idx + 1;
+					afterCR = false;
+				} else if (ch == '\n' || ch == '\r') {
+					count += parseLine(parser, buffer, lineStart, idx, line, out);
+					line++;
+					lineStart = idx + 1;
+					afterCR = ch == '\r';
+				} else {
+					afterCR = false;
+				}
+			}
+
+			if (eof) {
+				count += parseLine(parser, buffer, lineStart, length, line, out);
+				return count;
+			}
+
+			// Move the incomplete last line to the buffer start, grow if the line fills the buffer.
+			int rest = length - lineStart;
+			if (rest == buffer.length) {
+				buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+				parser._chars = buffer;
+			} else if (lineStart > 0) {
+				System.arraycopy(buffer, lineStart, buffer, 0, rest);
+			}
+			length = rest;
+			lineStart = 0;
+		}
 	}
 
-	private String _str;
+	private static int parseLine(TxParser parser, char[] buffer, int start, int end, int line,
+			Consumer<? super Transformation> out) throws ParseException {
+		int idx = start;
+		while (idx < end && Character.isWhitespace(buffer[idx])) {
+			idx++;
+		}
+		if (idx == end) {
+			return 0;
+		}
+
+		parser.reset(start, end);
+		Transformation tx;
+		try {
+			tx = parser.parse();
+		} catch (ParseException ex) {
+			ParseException lineError = new ParseException("Line " + line + ": " + ex.getMessage(), ex.getErrorOffset());
+			lineError.initCause(ex);
+			throw lineError;
+		}
+		out.accept(tx);
+		return 1;
+	}
+
+	private final CharSequence _str;
+
+	private char[] _chars;
+
+	private int _start;
+
+	private int _idx;
 
-	private int _idx = 0;
-	private final int _len;
+	private int _len;
 
 	private int _offset;
 
 	/** 
 	 * Creates a {@link TxParser}.
+	 * 
+	 * @param str
+	 *        The input, if not given as character array.
+	 * @param chars
+	 *        The input, if not given as {@link CharSequence}.
+	 * @param start
+	 *        The index of the first character to parse.
+	 * @param end
+	 *        The index after the last character to parse.
+	 * @param offset
+	 *        The index to subtract from input indices to build error positions.
 	 */
-	TxParser(int offset, String str) {
-		_offset = offset;
+	TxParser(CharSequence str, char[] chars, int start, int end, int offset) {
 		_str = str;
-		_len = str.length();
+		_chars = chars;
+		_start = start;
+		_idx = start;
+		_len = end;
+		_offset = offset;
+	}
+
+	private void reset(int start, int end) {
+		_start = start;
+		_idx = start;
+		_len = end;
+		_offset = start;
 	}
 
 	Transformation parse() throws ParseException {
@@ -79,9 +240,9 @@ public class TxParser {
 				}
 				default: {
 					throw new ParseException(
-						"Unexpected token '" + next + "' at position " + _offset + " while parsing transformation: "
-							+ _str,
-						_offset);
+						"Unexpected token '" + next + "' at position " + (_offset - _start)
+							+ " while parsing transformation: " + input(),
+						_offset - _start);
 				}
 			}
 		}
@@ -114,17 +275,33 @@ public class TxParser {
 			skip();
 		}
 
-		String num = _str.substring(start, _idx);
 		try {
-			return Double.parseDouble(num);
+			if (_chars != null) {
+				return DoubleScanner.parseDouble(_chars, start, _idx);
+			} else {
+				return DoubleScanner.parseDouble(_str, start, _idx);
+			}
 		} catch (NumberFormatException ex) {
 			int position = _idx - _offset;
 			throw new ParseException(
-				"Invalid number format in '" + num + "' at position " + position + ": " + ex.getMessage(),
+				"Invalid number format in '" + text(start, _idx) + "' at position " + position + ": "
+					+ ex.getMessage(),
 				position);
 		}
 	}
 
+	private String input() {
+		return text(_start, _len);
+	}
+
+	private String text(int start, int end) {
+		if (_chars != null) {
+			return new String(_chars, start, end - start);
+		} else {
+			return _str.subSequence(start, end).toString();
+		}
+	}
+
 	private void expect(char ch) throws ParseException {
 		expectLookingAt(ch);
 		skip();
@@ -153,7 +330,7 @@ public class TxParser {
 	}
 
 	private char lookingAt() {
-		return _str.charAt(_idx);
+		return _chars != null ? _chars[_idx] : _str.charAt(_idx);
 	}
 
 	private boolean hasNext() {
@@ -0,0 +1,212 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.script;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.top_logic.basic.config.ConfigurationException;
+import com.top_logic.basic.config.InstantiationContext;
+import com.top_logic.model.TLType;
+import com.top_logic.model.search.expr.Args;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.config.dom.Expr;
+import com.top_logic.model.search.expr.config.operations.AbstractSimpleMethodBuilder;
+import com.top_logic.model.search.expr.config.operations.ArgumentDescriptor;
+import com.top_logic.model.search.expr.config.operations.MethodBuilder;
+import com.top_logic.threed.core.math.MutableTransformation;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.model.TlThreedCoreFactory;
+import com.top_logic.util.error.TopLogicException;
+
+/**
+ * {@link SearchExpression} computing the absolute transformation of a node in a hierarchy.
+ * 
+ * <p>
+ * The absolute transformation of a node is the composition of the local transformations of all its
+ * ancestors and the node itself, the transformation of the root node is executed last. Both, the
+ * parent and the local transformation of a node are computed by functions given as arguments.
+ * </p>
+ * 
+ * <p>
+ * If a list of nodes is given, the result is the list of their absolute transformations. The
+ * absolute transformations of common ancestors are computed only once per evaluation.
+ * </p>
+ */
+public class Absolute extends GenericMethod {
+
+	/**
+	 * Creates an {@link Absolute}.
+	 */
+	protected Absolute(String name, SearchExpression[] arguments) {
+		super(name, arguments);
+	}
+
+	@Override
+	public GenericMethod copy(SearchExpression[] arguments) {
+		return new Absolute(getName(), arguments);
+	}
+
+	/**
+	 * The type of the result, also for a list of nodes.
+	 *
+	 * <p>
+	 * As for other TL-Script functions, the type describes the elements of the result. Whether the
+	 * result is a single value or a list depends on the node argument.
+	 * </p>
+	 */
+	@Override
+	public TLType getType(List<TLType> argumentTypes) {
+		return TlThreedCoreFactory.getTransformationType();
+	}
+
+	/**
+	 * The result depends on the functions given as arguments, which are evaluated at runtime.
+	 */
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return false;
+	}
+
+	@Override
+	protected Object eval(Object[] arguments, EvalContext definitions) {
+		SearchExpression parentFunction = asSearchExpression(arguments[1]);
+		SearchExpression txFunction = asSearchExpression(arguments[2]);
+		return absolute(arguments[0],
+			node -> parentFunction.evalWith(definitions, Args.some(node)),
+			node -> txFunction.evalWith(definitions, Args.some(node)));
+	}
+
+	/**
+	 * Computes the absolute transformation of a single node or the list of absolute transformations
+	 * of a list of nodes.
+	 *
+	 * @param nodes
+	 *        The node or list of nodes.
+	 * @param parentFunction
+	 *        Function computing the parent of a node.
+	 * @param txFunction
+	 *        Function computing the local transformation of a node.
+	 */
+	Object absolute(Object nodes, Function<Object, ?> parentFunction, Function<Object, ?> txFunction) {
+		Walk walk = new Walk(parentFunction, txFunction);
+		if (nodes instanceof Collection<?> list) {
+			List<Transformation> result = new ArrayList<>(list.size());
+			for (Object node : list) {
+				result.add(walk.absolute(node));
+			}
+			return result;
+		}
+		return walk.absolute(nodes);
+	}
+
+	/**
+	 * State of a single evaluation.
+	 */
+	private final class Walk {
+
+		private final Function<Object, ?> _parentFunction;
+
+		private final Function<Object, ?> _txFunction;
+
+		/**
+		 * Absolute transformations of all nodes visited so far, identity-based, since the nodes are
+		 * persistent objects.
+		 */
+		private final Map<Object, Transformation> _absolute = new IdentityHashMap<>();
+
+		/**
+		 * Accumulator for composing the local transformations.
+		 */
+		private final MutableTransformation _buffer = new MutableTransformation();
+
+		/**
+		 * Nodes on the current path from the node to the closest ancestor with known absolute
+		 * transformation.
+		 */
+		private final List<Object> _path = new ArrayList<>();
+
+		private final Set<Object> _onPath = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		Walk(Function<Object, ?> parentFunction, Function<Object, ?> txFunction) {
+			_parentFunction = parentFunction;
+			_txFunction = txFunction;
+		}
+
+		Transformation absolute(Object node) {
+			if (node == null) {
+				return null;
+			}
+
+			Transformation base = Transformation.identity();
+			Object current = node;
+			while (current != null) {
+				Transformation known = _absolute.get(current);
+				if (known != null) {
+					base = known;
+					break;
+				}
+				if (!_onPath.add(current)) {
+					throw new TopLogicException(
+						I18NConstants.ERROR_CYCLIC_HIERARCHY__NODE_EXPR.fill(current, Absolute.this));
+				}
+				_path.add(current);
+				current = asSingleElement(Absolute.this, _parentFunction.apply(current));
+			}
+
+			_buffer.set(base);
+			for (int n = _path.size() - 1; n >= 0; n--) {
+				Object element = _path.get(n);
+				Transformation local = Compose.asTransformation(Absolute.this, _txFunction.apply(element));
+				if (local != null) {
+					_buffer.after(local);
+				}
+				_absolute.put(element, _buffer.toTransformation());
+			}
+			_path.clear();
+			_onPath.clear();
+
+			return _absolute.get(node);
+		}
+	}
+
+	/**
+	 * {@link MethodBuilder} creating {@link Absolute}.
+	 */
+	public static final class Builder extends AbstractSimpleMethodBuilder<Absolute> {
+
+		private static final ArgumentDescriptor DESCRIPTOR = ArgumentDescriptor.builder()
+			.mandatory("node")
+			.mandatory("parent")
+			.mandatory("tx")
+			.build();
+
+		/** Creates a {@link Builder}. */
+		public Builder(InstantiationContext context, Config<?> config) {
+			super(context, config);
+		}
+
+		@Override
+		public ArgumentDescriptor descriptor() {
+			return DESCRIPTOR;
+		}
+
+		@Override
+		public Absolute build(Expr expr, SearchExpression[] args) throws ConfigurationException {
+			return new Absolute(getConfig().getName(), args);
+		}
+
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.script;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.top_logic.basic.config.ConfigurationException;
+import com.top_logic.basic.config.InstantiationContext;
+import com.top_logic.model.TLType;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.config.dom.Expr;
+import com.top_logic.model.search.expr.config.operations.AbstractSimpleMethodBuilder;
+import com.top_logic.model.search.expr.config.operations.ArgumentDescriptor;
+import com.top_logic.model.search.expr.config.operations.MethodBuilder;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.Vec3d;
+import com.top_logic.util.error.TopLogicException;
+
+/**
+ * {@link SearchExpression} applying a transformation to a list of points.
+ * 
+ * <p>
+ * A point is either a {@link Vec3d} or a list of three numbers. Each result has the same form as
+ * the corresponding input point. All coordinates are transformed in a single pass using
+ * {@link Transformation#applyAll(double[])}.
+ * </p>
+ */
+public class ApplyAll extends GenericMethod {
+
+	/**
+	 * Creates an {@link ApplyAll}.
+	 */
+	protected ApplyAll(String name, SearchExpression[] arguments) {
+		super(name, arguments);
+	}
+
+	@Override
+	public GenericMethod copy(SearchExpression[] arguments) {
+		return new ApplyAll(getName(), arguments);
+	}
+
+	/**
+	 * The type of the given points, since each result has the form of its input point.
+	 */
+	@Override
+	public TLType getType(List<TLType> argumentTypes) {
+		return argumentTypes.get(1);
+	}
+
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return Compose.isConstant(arguments);
+	}
+
+	@Override
+	protected Object eval(Object[] arguments, EvalContext definitions) {
+		Transformation tx = Compose.asTransformation(this, arguments[0]);
+		Collection<?> points = asCollection(arguments[1]);
+		if (tx == null) {
+			tx = Transformation.identity();
+		}
+
+		double[] coordinates = new double[3 * points.size()];
+		int index = 0;
+		for (Object point : points) {
+			if (point instanceof Vec3d vec) {
+				coordinates[index++] = vec.x();
+				coordinates[index++] = vec.y();
+				coordinates[index++] = vec.z();
+			} else if (point instanceof Collection<?> list && list.size() == 3) {
+				for (Object coordinate : list) {
+					coordinates[index++] = asDouble(coordinate);
+				}
+			} else {
+				throw new TopLogicException(I18NConstants.ERROR_POINT_EXPECTED__ACTUAL_EXPR.fill(point, this));
+			}
+		}
+
+		tx.applyAll(coordinates);
+
+		List<Object> result = new ArrayList<>(points.size());
+		index = 0;
+		for (Object point : points) {
+			double x = coordinates[index++];
+			double y = coordinates[index++];
+			double z = coordinates[index++];
+			if (point instanceof Vec3d) {
+				result.add(Vec3d.vec(x, y, z));
+			} else {
+				result.add(List.of(x, y, z));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * {@link MethodBuilder} creating {@link ApplyAll}.
+	 */
+	public static final class Builder extends AbstractSimpleMethodBuilder<ApplyAll> {
+
+		private static final ArgumentDescriptor DESCRIPTOR = ArgumentDescriptor.builder()
+			.mandatory("tx")
+			.mandatory("points")
+			.build();
+
+		/** Creates a {@link Builder}. */
+		public Builder(InstantiationContext context, Config<?> config) {
+			super(context, config);
+		}
+
+		@Override
+		public ArgumentDescriptor descriptor() {
+			return DESCRIPTOR;
+		}
+
+		@Override
+		public ApplyAll build(Expr expr, SearchExpression[] args) throws ConfigurationException {
+			return new ApplyAll(getConfig().getName(), args);
+		}
+
+	}
+
+}
@@ -46,6 +46,11 @@ public class Compose extends GenericMethod {
 		return TlThreedCoreFactory.getTransformationType();
 	}
 
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return isConstant(arguments);
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
 		Transformation self = asTransformation(arguments[0]);
@@ -64,6 +69,22 @@ public class Compose extends GenericMethod {
 		return asTransformation(this, value);
 	}
 
+	/**
+	 * Whether a function with the given arguments can be evaluated at compile time.
+	 *
+	 * <p>
+	 * All values are immutable, but a function given as argument is evaluated only at runtime.
+	 * </p>
+	 */
+	static boolean isConstant(Object[] arguments) {
+		for (Object argument : arguments) {
+			if (argument instanceof SearchExpression) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Converts the given value to an {@link Transformation} value.
 	 */
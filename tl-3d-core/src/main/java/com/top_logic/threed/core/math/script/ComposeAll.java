@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.script;
+
+import java.util.List;
+
+import com.top_logic.basic.config.ConfigurationException;
+import com.top_logic.basic.config.InstantiationContext;
+import com.top_logic.model.TLType;
+import com.top_logic.model.search.expr.EvalContext;
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.model.search.expr.config.dom.Expr;
+import com.top_logic.model.search.expr.config.operations.AbstractSimpleMethodBuilder;
+import com.top_logic.model.search.expr.config.operations.ArgumentDescriptor;
+import com.top_logic.model.search.expr.config.operations.MethodBuilder;
+import com.top_logic.threed.core.math.MutableTransformation;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.model.TlThreedCoreFactory;
+
+/**
+ * {@link SearchExpression} composing a list of transformations.
+ * 
+ * <p>
+ * The result is the same as combining the list with {@link Compose} from left to right: The last
+ * transformation in the list is executed first. In contrast to a <code>reduce()</code> over
+ * {@link Compose}, no intermediate transformations are created.
+ * </p>
+ */
+public class ComposeAll extends GenericMethod {
+
+	/**
+	 * Creates a {@link ComposeAll}.
+	 */
+	protected ComposeAll(String name, SearchExpression[] arguments) {
+		super(name, arguments);
+	}
+
+	@Override
+	public GenericMethod copy(SearchExpression[] arguments) {
+		return new ComposeAll(getName(), arguments);
+	}
+
+	@Override
+	public TLType getType(List<TLType> argumentTypes) {
+		return TlThreedCoreFactory.getTransformationType();
+	}
+
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return Compose.isConstant(arguments);
+	}
+
+	@Override
+	protected Object eval(Object[] arguments, EvalContext definitions) {
+		MutableTransformation result = null;
+		for (Object element : asCollection(arguments[0])) {
+			Transformation tx = Compose.asTransformation(this, element);
+			if (tx == null) {
+				continue;
+			}
+			if (result == null) {
+				result = new MutableTransformation().set(tx);
+			} else {
+				result.after(tx);
+			}
+		}
+		if (result == null) {
+			return Transformation.identity();
+		}
+		return result.toTransformation();
+	}
+
+	/**
+	 * {@link MethodBuilder} creating {@link ComposeAll}.
+	 */
+	public static final class Builder extends AbstractSimpleMethodBuilder<ComposeAll> {
+
+		private static final ArgumentDescriptor DESCRIPTOR = ArgumentDescriptor.builder()
+			.mandatory("list")
+			.build();
+
+		/** Creates a {@link Builder}. */
+		public Builder(InstantiationContext context, Config<?> config) {
+			super(context, config);
+		}
+
+		@Override
+		public ArgumentDescriptor descriptor() {
+			return DESCRIPTOR;
+		}
+
+		@Override
+		public ComposeAll build(Expr expr, SearchExpression[] args) throws ConfigurationException {
+			return new ComposeAll(getConfig().getName(), args);
+		}
+
+	}
+
+}
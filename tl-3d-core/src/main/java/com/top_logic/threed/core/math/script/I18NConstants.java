@@ -29,6 +29,16 @@ public class I18NConstants extends I18NConstantsBase {
 	 */
 	public static ResKey1 ERROR_INVALID_NUMBER_OF_TRANSFORMATION_ARGUMENTS__ACTUAL;
 
+	/**
+	 * @en The node {0} is its own ancestor in expression: {1}
+	 */
+	public static ResKey2 ERROR_CYCLIC_HIERARCHY__NODE_EXPR;
+
+	/**
+	 * @en Expected a point given as list of three numbers, received {0} in expression: {1}
+	 */
+	public static ResKey2 ERROR_POINT_EXPECTED__ACTUAL_EXPR;
+
 	static {
 		initConstants(I18NConstants.class);
 	}
@@ -43,6 +43,11 @@ public class Identity extends GenericMethod {
 		return TlThreedCoreFactory.getTransformationType();
 	}
 
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return true;
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
 		return Transformation.identity();
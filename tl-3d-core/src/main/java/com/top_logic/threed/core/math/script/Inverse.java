@@ -44,6 +44,11 @@ public class Inverse extends GenericMethod {
 		return TlThreedCoreFactory.getTransformationType();
 	}
 
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return Compose.isConstant(arguments);
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
 		Transformation tx = Compose.asTransformation(this, arguments[0]);
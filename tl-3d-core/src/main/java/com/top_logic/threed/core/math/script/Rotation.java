@@ -45,6 +45,11 @@ public class Rotation extends GenericMethod {
 		return TlThreedCoreFactory.getTransformationType();
 	}
 
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return Compose.isConstant(arguments);
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
 		double xAngle = asDouble(arguments[0]);
@@ -29,6 +29,8 @@ import com.top_logic.util.error.TopLogicException;
  */
 public class TransformationConstructor extends GenericMethod {
 
+	private final TransformationLiteralCache _literals = new TransformationLiteralCache();
+
 	/**
 	 * Creates a {@link TransformationConstructor}.
 	 */
@@ -46,39 +48,65 @@ public class TransformationConstructor extends GenericMethod {
 		return TlThreedCoreFactory.getTransformationType();
 	}
 
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return Compose.isConstant(arguments);
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
-		return asTx(this, Arrays.asList(arguments));
+		return asTx(this, Arrays.asList(arguments), _literals);
 	}
 
 	/**
 	 * Converts the given object to a {@link Transformation}.
 	 */
 	public static Transformation asTx(SearchExpression self, Object object) {
+		return asTx(self, object, null);
+	}
+
+	/**
+	 * Converts the given object to a {@link Transformation}.
+	 *
+	 * @param literals
+	 *        Cache for parsing string values, <code>null</code> to parse each string.
+	 */
+	public static Transformation asTx(SearchExpression self, Object object, TransformationLiteralCache literals) {
 		if (object == null) {
 			return null;
 		} else if (object instanceof Transformation) {
 			return (Transformation) object;
 		} else if (object instanceof Collection<?>) {
-			return asTx(self, (Collection<?>) object);
+			return asTx(self, (Collection<?>) object, literals);
 		} else if (object instanceof CharSequence) {
 			String str = object.toString().trim();
 			if (str.isEmpty()) {
 				return null;
 			}
-			try {
-				return TxParser.parseTx(str);
-			} catch (ParseException ex) {
-				throw new TopLogicException(I18NConstants.ERROR_INVALID_TRANSFORMATION_STRING__ACTUAL_EXPR
-					.fill(str, self), ex);
+			if (literals != null) {
+				return literals.parse(self, str);
 			}
+			return parseTx(self, str);
 		} else {
 			throw new TopLogicException(I18NConstants.ERROR_TRANSFORMATION_EXPECTED__ACTUAL_EXPR
 				.fill(object.getClass().getName(), self));
 		}
 	}
 
-	private static Transformation asTx(SearchExpression self, Collection<?> coll) {
+	/**
+	 * Parses the given string in {@link TxParser} format.
+	 */
+	static Transformation parseTx(SearchExpression self, String str) {
+		try {
+			return TxParser.parseTx(str);
+		} catch (ParseException ex) {
+			throw new TopLogicException(I18NConstants.ERROR_INVALID_TRANSFORMATION_STRING__ACTUAL_EXPR
+				.fill(str, self), ex);
+		}
+	}
+
+	private static Transformation asTx(SearchExpression self, Collection<?> coll,
+			TransformationLiteralCache literals) {
 		if (coll.isEmpty()) {
 			throw new TopLogicException(
 				I18NConstants.ERROR_INVALID_NUMBER_OF_TRANSFORMATION_ARGUMENTS__ACTUAL.fill(coll.size()));
@@ -87,7 +115,11 @@ public class TransformationConstructor extends GenericMethod {
 		Object first = it.next();
 		if (first instanceof Collection) {
 			// Eventually shortcut. See below.
-			return asTx(self, first);
+			return asTx(self, first, literals);
+		}
+		if (coll.size() == 1 && (first instanceof CharSequence || first instanceof Transformation)) {
+			// A single string or transformation argument.
+			return asTx(self, first, literals);
 		}
 
 		switch (coll.size()) {
@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.script;
+
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.threed.core.math.Transformation;
+
+/**
+ * Remembers the last string parsed to a {@link Transformation} within a compiled expression.
+ *
+ * <p>
+ * Arguments that are literals are already folded when the expression is compiled. A string
+ * computed at runtime (e.g. read from a configuration attribute) typically has the same value in
+ * each evaluation of the expression. Keeping the last result avoids parsing it again.
+ * </p>
+ *
+ * @see TransformationConstructor#asTx(SearchExpression, Object, TransformationLiteralCache)
+ */
+public final class TransformationLiteralCache {
+
+	private volatile Entry _last;
+
+	/**
+	 * Parses the given string, or returns the result of the last call for an equal string.
+	 *
+	 * @param context
+	 *        The expression to report errors for.
+	 * @param str
+	 *        The non-empty string to parse.
+	 * @return The canonical {@link Transformation} described by the given string.
+	 */
+	public Transformation parse(SearchExpression context, String str) {
+		Entry last = _last;
+		if (last != null && last._source.equals(str)) {
+			return last._tx;
+		}
+		Transformation tx = Transformation.canonical(TransformationConstructor.parseTx(context, str));
+		_last = new Entry(str, tx);
+		return tx;
+	}
+
+	private static final class Entry {
+
+		final String _source;
+
+		final Transformation _tx;
+
+		Entry(String source, Transformation tx) {
+			_source = source;
+			_tx = tx;
+		}
+
+	}
+
+}
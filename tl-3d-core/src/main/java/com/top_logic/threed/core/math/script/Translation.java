@@ -44,6 +44,11 @@ public class Translation extends GenericMethod {
 		return TlThreedCoreFactory.getTransformationType();
 	}
 
+	@Override
+	public boolean canEvaluateAtCompileTime(Object[] arguments) {
+		return Compose.isConstant(arguments);
+	}
+
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
 		double x = asDouble(arguments[0]);
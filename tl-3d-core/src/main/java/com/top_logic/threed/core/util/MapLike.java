@@ -11,7 +11,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
 
 import com.top_logic.model.search.expr.SearchExpression;
 
@@ -22,6 +26,10 @@ import com.top_logic.model.search.expr.SearchExpression;
  * A map-like object can be seen as a JSON object with properties that are either primitives, lists,
  * or other map-like objects.
  * </p>
+ * 
+ * <p>
+ * Subclasses with a fixed set of properties should provide a {@link #propertyTable()}.
+ * </p>
  */
 public abstract class MapLike extends AbstractMap<String, Object> {
 
@@ -56,8 +64,75 @@ public abstract class MapLike extends AbstractMap<String, Object> {
 		}
 	}
 
+	/**
+	 * Accesses the property with the given index in {@link #properties()}.
+	 */
+	public Object get(int index) {
+		PropertyTable<MapLike> table = table();
+		if (table != null) {
+			return table.get(this, index);
+		}
+		Iterator<String> names = properties().iterator();
+		for (int n = 0; n < index; n++) {
+			names.next();
+		}
+		return get(names.next());
+	}
+
+	/**
+	 * The {@link PropertyTable} describing the properties of this object, <code>null</code> if
+	 * properties are only accessible by name.
+	 * 
+	 * <p>
+	 * With a table, the {@link java.util.Map} view of this object is traversed by index without
+	 * allocating entries.
+	 * </p>
+	 */
+	protected PropertyTable<?> propertyTable() {
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private PropertyTable<MapLike> table() {
+		return (PropertyTable<MapLike>) propertyTable();
+	}
+
+	@Override
+	public int size() {
+		PropertyTable<MapLike> table = table();
+		if (table != null) {
+			return table.size();
+		}
+		return properties().size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		PropertyTable<MapLike> table = table();
+		if (table != null) {
+			return key instanceof String && table.indexOf((String) key) >= 0;
+		}
+		return super.containsKey(key);
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super Object> action) {
+		PropertyTable<MapLike> table = table();
+		if (table != null) {
+			for (int n = 0, cnt = table.size(); n < cnt; n++) {
+				action.accept(table.name(n), table.get(this, n));
+			}
+		} else {
+			super.forEach(action);
+		}
+	}
+
 	@Override
 	public Set<Entry<String, Object>> entrySet() {
+		PropertyTable<MapLike> table = table();
+		if (table != null) {
+			return new TableEntrySet(table);
+		}
 		return new AbstractSet<>() {
 			@Override
 			public int size() {
@@ -99,17 +174,121 @@ public abstract class MapLike extends AbstractMap<String, Object> {
 					}
 				};
 			}
+		};
+	}
 
-			@Override
-			public boolean add(Entry<String, Object> e) {
-				throw new UnsupportedOperationException();
+	/**
+	 * Entry set of a {@link MapLike} with a {@link PropertyTable}.
+	 * 
+	 * <p>
+	 * The iterator is its own {@link Entry}, it is only valid until the next call to
+	 * {@link Iterator#next()}. Operations that may keep entries, like {@link #toArray()} and streams
+	 * created from the {@link #spliterator()}, receive copies.
+	 * </p>
+	 */
+	private final class TableEntrySet extends AbstractSet<Entry<String, Object>> {
+
+		private final PropertyTable<MapLike> _table;
+
+		TableEntrySet(PropertyTable<MapLike> table) {
+			_table = table;
+		}
+
+		@Override
+		public int size() {
+			return _table.size();
+		}
+
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			return new TableEntryIterator(_table);
+		}
+
+		@Override
+		public Object[] toArray() {
+			return snapshot().toArray();
+		}
+
+		@Override
+		public <T> T[] toArray(T[] a) {
+			return snapshot().toArray(a);
+		}
+
+		@Override
+		public Spliterator<Entry<String, Object>> spliterator() {
+			return snapshot().spliterator();
+		}
+
+		private List<Entry<String, Object>> snapshot() {
+			List<Entry<String, Object>> result = new ArrayList<>(_table.size());
+			for (int n = 0, cnt = _table.size(); n < cnt; n++) {
+				result.add(new SimpleImmutableEntry<>(_table.name(n), _table.get(MapLike.this, n)));
 			}
+			return result;
+		}
 
-			@Override
-			public boolean addAll(Collection<? extends Entry<String, Object>> c) {
-				throw new UnsupportedOperationException();
+	}
+
+	private final class TableEntryIterator implements Iterator<Entry<String, Object>>, Entry<String, Object> {
+
+		private final PropertyTable<MapLike> _table;
+
+		private int _index = -1;
+
+		TableEntryIterator(PropertyTable<MapLike> table) {
+			_table = table;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return _index + 1 < _table.size();
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
 			}
-		};
+			_index++;
+			return this;
+		}
+
+		@Override
+		public String getKey() {
+			return _table.name(_index);
+		}
+
+		@Override
+		public Object getValue() {
+			return _table.get(MapLike.this, _index);
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			Object old = getValue();
+			set(getKey(), value);
+			return old;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Entry)) {
+				return false;
+			}
+			Entry<?, ?> other = (Entry<?, ?>) obj;
+			return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+
 	}
 
 	/**
@@ -0,0 +1,186 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Index-based accessors for the properties of a {@link MapLike} class.
+ *
+ * <p>
+ * A table is created once per class and shared by all its instances. It assigns each property an
+ * index, so that the {@link java.util.Map} view of {@link MapLike} can be traversed without looking
+ * up properties by name.
+ * </p>
+ *
+ * <pre>
+ * private static final PropertyTable&lt;Vec3d&gt; TABLE = PropertyTable.builder(Vec3d.class)
+ *     .add("x", Vec3d::x)
+ *     .add("y", Vec3d::y)
+ *     .add("z", Vec3d::z)
+ *     .build();
+ * </pre>
+ *
+ * @see MapLike#propertyTable()
+ */
+public final class PropertyTable<T extends MapLike> {
+
+	private final Class<T> _type;
+
+	private final List<String> _names;
+
+	private final Function<? super T, ?>[] _getters;
+
+	/**
+	 * Open addressing hash table of the property indices plus one, <code>0</code> for empty slots.
+	 */
+	private final int[] _slots;
+
+	private final int _mask;
+
+	private PropertyTable(Class<T> type, List<String> names, Function<? super T, ?>[] getters) {
+		_type = type;
+		_names = names;
+		_getters = getters;
+
+		int size = Integer.highestOneBit(Math.max(1, names.size() * 2 - 1)) << 1;
+		_slots = new int[size];
+		_mask = size - 1;
+		for (int n = 0, cnt = names.size(); n < cnt; n++) {
+			int slot = slot(names.get(n));
+			while (_slots[slot] != 0) {
+				slot = (slot + 1) & _mask;
+			}
+			_slots[slot] = n + 1;
+		}
+	}
+
+	private int slot(String name) {
+		int hash = name.hashCode();
+		return (hash ^ (hash >>> 16)) & _mask;
+	}
+
+	/**
+	 * Creates a {@link Builder} for a table of the given type.
+	 */
+	public static <T extends MapLike> Builder<T> builder(Class<T> type) {
+		return new Builder<>(type);
+	}
+
+	/**
+	 * The type whose properties are described.
+	 */
+	public Class<T> getType() {
+		return _type;
+	}
+
+	/**
+	 * The number of properties.
+	 */
+	public int size() {
+		return _getters.length;
+	}
+
+	/**
+	 * The property names in index order.
+	 */
+	public List<String> names() {
+		return _names;
+	}
+
+	/**
+	 * The name of the property with the given index.
+	 */
+	public String name(int index) {
+		return _names.get(index);
+	}
+
+	/**
+	 * The index of the property with the given name, <code>-1</code> if there is no such property.
+	 */
+	public int indexOf(String name) {
+		int slot = slot(name);
+		while (true) {
+			int entry = _slots[slot];
+			if (entry == 0) {
+				return -1;
+			}
+			String candidate = _names.get(entry - 1);
+			if (candidate == name || candidate.equals(name)) {
+				return entry - 1;
+			}
+			slot = (slot + 1) & _mask;
+		}
+	}
+
+	/**
+	 * The value of the property with the given index.
+	 */
+	public Object get(T self, int index) {
+		return _getters[index].apply(self);
+	}
+
+	/**
+	 * The value of the property with the given name, <code>null</code> if there is no such
+	 * property.
+	 */
+	public Object get(T self, String name) {
+		int index = indexOf(name);
+		return index < 0 ? null : _getters[index].apply(self);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "(" + _type.getSimpleName() + ": " + _names + ")";
+	}
+
+	/**
+	 * Builder for a {@link PropertyTable}.
+	 */
+	public static final class Builder<T extends MapLike> {
+
+		private final Class<T> _type;
+
+		private final List<String> _names = new ArrayList<>();
+
+		private final List<Function<? super T, ?>> _getters = new ArrayList<>();
+
+		Builder(Class<T> type) {
+			_type = type;
+		}
+
+		/**
+		 * Adds a property.
+		 *
+		 * @param name
+		 *        The property name.
+		 * @param getter
+		 *        Function retrieving the property value.
+		 * @return This builder for call chaining.
+		 */
+		public Builder<T> add(String name, Function<? super T, ?> getter) {
+			if (_names.contains(name)) {
+				throw new IllegalArgumentException("Duplicate property '" + name + "' in " + _type.getName() + ".");
+			}
+			_names.add(name);
+			_getters.add(getter);
+			return this;
+		}
+
+		/**
+		 * Creates the {@link PropertyTable}.
+		 */
+		@SuppressWarnings("unchecked")
+		public PropertyTable<T> build() {
+			return new PropertyTable<>(_type, List.copyOf(_names),
+				_getters.toArray((Function<? super T, ?>[]) new Function<?, ?>[_getters.size()]));
+		}
+
+	}
+
+}
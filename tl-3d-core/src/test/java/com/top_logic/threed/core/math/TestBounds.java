@@ -0,0 +1,244 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import static com.top_logic.threed.core.math.Aabb3d.*;
+import static com.top_logic.threed.core.math.Transformation.*;
+import static com.top_logic.threed.core.math.Vec3d.*;
+import static java.lang.Math.*;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link Aabb3d} and {@link Obb3d}.
+ */
+@SuppressWarnings("javadoc")
+public class TestBounds extends TestCase {
+
+	private static final double EPSILON = 0.00000001;
+
+	/**
+	 * Region x &gt;= 0, x &lt;= 10, y &gt;= 0, y &lt;= 10, z &gt;= 0, z &lt;= 10.
+	 */
+	private static final double[] CUBE = {
+		1, 0, 0, 0,
+		-1, 0, 0, 10,
+		0, 1, 0, 0,
+		0, -1, 0, 10,
+		0, 0, 1, 0,
+		0, 0, -1, 10,
+	};
+
+	public void testUnionIntersection() {
+		Aabb3d a = box(0, 0, 0, 2, 2, 2);
+		Aabb3d b = box(1, 1, 1, 3, 4, 5);
+		Aabb3d c = box(5, 5, 5, 6, 6, 6);
+
+		assertEquals(box(0, 0, 0, 3, 4, 5), a.union(b));
+		assertEquals(box(1, 1, 1, 2, 2, 2), a.intersection(b));
+		assertTrue(a.intersects(b));
+		assertFalse(a.intersects(c));
+		assertTrue(a.intersection(c).isEmpty());
+		assertSame(a, a.union(empty()));
+		assertSame(a, empty().union(a));
+		assertFalse(empty().intersects(a));
+		assertEquals(box(0, 0, 0, 2, 3, 2), a.include(1, 3, 1));
+		assertTrue(box(1, 0, 0, 0, 1, 1).isEmpty());
+
+		double[] boxes = new double[3 * SIZE];
+		a.toArray(boxes, 0);
+		empty().toArray(boxes, SIZE);
+		c.toArray(boxes, 2 * SIZE);
+		assertEquals(a.union(c), unionAll(boxes, 0, 3));
+		assertTrue(unionAll(boxes, SIZE, 1).isEmpty());
+	}
+
+	public void testTransform() {
+		Aabb3d box = box(-1, -2, -3, 1, 2, 3);
+		assertEquals(box(9, 18, 27, 11, 22, 33), box.transform(translate(10, 20, 30)));
+
+		Aabb3d rotated = box.transform(rotateZ(PI / 2));
+		assertBox(-2, -1, -3, 2, 1, 3, rotated);
+
+		Transformation tx = translate(5, 0, 0).after(rotateZ(PI / 4));
+		Aabb3d transformed = box.transform(tx);
+		double r = 3 / sqrt(2);
+		assertBox(5 - r, -r, -3, 5 + r, r, 3, transformed);
+
+		double[] boxes = new double[2 * SIZE];
+		box.toArray(boxes, 0);
+		empty().toArray(boxes, SIZE);
+		transformAll(tx, boxes, 0, 2, boxes, 0);
+		assertBox(5 - r, -r, -3, 5 + r, r, 3, fromArray(boxes, 0));
+		assertTrue(fromArray(boxes, SIZE).isEmpty());
+
+		TransformBuffer buffer = new TransformBuffer(2);
+		buffer.set(0, tx);
+		buffer.set(1, rotateZ(PI / 2));
+		double[] local = new double[2 * SIZE];
+		box.toArray(local, 0);
+		box.toArray(local, SIZE);
+		double[] world = new double[2 * SIZE];
+		buffer.transformBoxes(local, world);
+		assertBox(5 - r, -r, -3, 5 + r, r, 3, fromArray(world, 0));
+		assertBox(-2, -1, -3, 2, 1, 3, fromArray(world, SIZE));
+	}
+
+	public void testRay() {
+		Aabb3d box = box(1, 1, 1, 2, 2, 2);
+		assertEquals(1.0, box.rayDistance(vec(0, 1.5, 1.5), vec(1, 0, 0)), EPSILON);
+		assertEquals(0.5, box.rayDistance(vec(0, 1.5, 1.5), vec(2, 0, 0)), EPSILON);
+		assertEquals(0.0, box.rayDistance(vec(1.5, 1.5, 1.5), vec(1, 0, 0)), EPSILON);
+		assertEquals(Double.POSITIVE_INFINITY, box.rayDistance(vec(0, 1.5, 1.5), vec(-1, 0, 0)));
+		assertEquals(Double.POSITIVE_INFINITY, box.rayDistance(vec(0, 3, 1.5), vec(1, 0, 0)));
+		assertEquals(1.0, box.rayDistance(vec(0, 0, 0), vec(1, 1, 1)), EPSILON);
+
+		double[] boxes = new double[2 * SIZE];
+		box.toArray(boxes, 0);
+		box(5, 1, 1, 6, 2, 2).toArray(boxes, SIZE);
+		double[] distances = new double[2];
+		assertEquals(1, rayDistanceAll(boxes, 0, 2, vec(10, 1.5, 1.5), vec(-1, 0, 0), distances));
+		assertEquals(8.0, distances[0], EPSILON);
+		assertEquals(4.0, distances[1], EPSILON);
+
+		Obb3d obb = box.toObb().transform(rotateZ(PI / 2));
+		assertEquals(1.0, obb.rayDistance(vec(-1.5, 0, 1.5), vec(0, 1, 0)), EPSILON);
+		assertEquals(Double.POSITIVE_INFINITY, obb.rayDistance(vec(1.5, 0, 1.5), vec(0, 1, 0)));
+	}
+
+	public void testFrustum() {
+		assertTrue(box(1, 1, 1, 2, 2, 2).intersectsFrustum(CUBE));
+		assertTrue(box(-1, -1, -1, 1, 1, 1).intersectsFrustum(CUBE));
+		assertFalse(box(11, 1, 1, 12, 2, 2).intersectsFrustum(CUBE));
+		assertFalse(empty().intersectsFrustum(CUBE));
+
+		double[] boxes = new double[3 * SIZE];
+		box(1, 1, 1, 2, 2, 2).toArray(boxes, 0);
+		box(11, 1, 1, 12, 2, 2).toArray(boxes, SIZE);
+		empty().toArray(boxes, 2 * SIZE);
+		boolean[] visible = new boolean[3];
+		assertEquals(1, cullAll(boxes, 0, 3, CUBE, visible));
+		assertTrue(visible[0]);
+		assertFalse(visible[1]);
+		assertFalse(visible[2]);
+
+		// Rotated box touching the region only with its corner.
+		Obb3d diamond = box(-1, -1, -1, 1, 1, 1).toObb().transform(translate(-1.2, 5, 5).after(rotateZ(PI / 4)));
+		assertTrue(diamond.intersectsFrustum(CUBE));
+		Obb3d outside = box(-1, -1, -1, 1, 1, 1).toObb().transform(translate(-1.5, 5, 5).after(rotateZ(PI / 4)));
+		assertFalse(outside.intersectsFrustum(CUBE));
+
+		double[] obbs = new double[2 * Obb3d.SIZE];
+		diamond.toArray(obbs, 0);
+		outside.toArray(obbs, Obb3d.SIZE);
+		assertEquals(1, Obb3d.cullAll(obbs, 0, 2, CUBE, visible));
+		assertTrue(visible[0]);
+		assertFalse(visible[1]);
+	}
+
+	public void testObb() {
+		Aabb3d box = box(-1, -2, -3, 1, 2, 3);
+		Transformation tx = translate(10, 0, 0).after(rotateZ(0.3)).after(rotateX(1.1));
+		Obb3d obb = box.toObb().transform(tx);
+
+		assertTrue(obb.contains(tx.apply(vec(0.9, 1.9, 2.9))));
+		assertTrue(obb.contains(tx.apply(vec(-0.9, -1.9, 2.9))));
+		assertFalse(obb.contains(tx.apply(vec(1.1, 0, 0))));
+		assertBox(box.transform(tx), obb.toAabb());
+		assertBox(box, obb.transform(tx.inverse()).toAabb());
+
+		// Scaling along the box axes is exact.
+		Obb3d scaled = box.toObb().transform(new Transformation(2, 0, 0, 0, 3, 0, 0, 0, 4, 0, 0, 0));
+		assertBox(box(-2, -6, -12, 2, 6, 12), scaled.toAabb());
+
+		// Shearing encloses the image.
+		Transformation shear = new Transformation(1, 1, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0);
+		Obb3d sheared = box.toObb().transform(shear);
+		for (double x : new double[] { -1, 1 }) {
+			for (double y : new double[] { -2, 2 }) {
+				for (double z : new double[] { -3, 3 }) {
+					Vec3d corner = shear.apply(vec(x, y, z));
+					Vec3d inside = sheared.center().add(corner.sub(sheared.center()).x() * (1 - 1e-9),
+						corner.sub(sheared.center()).y() * (1 - 1e-9), corner.sub(sheared.center()).z() * (1 - 1e-9));
+					assertTrue(sheared.contains(inside));
+				}
+			}
+		}
+
+		// Flat box.
+		Obb3d flat = box(0, 0, 0, 1, 1, 0).toObb().transform(rotateX(0.5));
+		assertEquals(0.0, flat.halfSize().z(), EPSILON);
+
+		double[] obbs = new double[Obb3d.SIZE];
+		box.toObb().toArray(obbs, 0);
+		Obb3d.transformAll(tx, obbs, 0, 1, obbs, 0);
+		double[] aabbs = new double[SIZE];
+		Obb3d.toAabbAll(obbs, 0, 1, aabbs, 0);
+		assertBox(box.transform(tx), fromArray(aabbs, 0));
+
+		assertEquals(obb, Obb3d.fromArray(obbs, 0));
+		assertEquals(obb.hashCode(), Obb3d.fromArray(obbs, 0).hashCode());
+		assertFalse(obb.equals(scaled));
+		assertEquals(box.toObb(), Obb3d.fromAabb(box));
+	}
+
+	public void testObbIntersects() {
+		Obb3d unit = box(-1, -1, -1, 1, 1, 1).toObb();
+		assertTrue(unit.intersects(unit.transform(translate(1.9, 0, 0))));
+		assertFalse(unit.intersects(unit.transform(translate(2.1, 0, 0))));
+
+		// Diagonal separation only found by rotated axes.
+		Obb3d rotated = unit.transform(translate(2.2, 2.2, 0).after(rotateZ(PI / 4)));
+		assertFalse(unit.intersects(rotated));
+		assertTrue(unit.toAabb().intersects(rotated.toAabb()));
+		assertTrue(unit.intersects(unit.transform(translate(2.3, 0, 0).after(rotateZ(PI / 4)))));
+
+		// Edge-edge separation.
+		Obb3d edge = unit.transform(translate(2.2, 2.2, 0).after(rotateX(PI / 4)).after(rotateY(PI / 4)));
+		assertEquals(!separatedBySampling(unit, edge), unit.intersects(edge));
+
+		assertTrue(unit.intersects(box(0.5, 0.5, 0.5, 3, 3, 3)));
+		assertFalse(unit.intersects(empty()));
+	}
+
+	private static boolean separatedBySampling(Obb3d a, Obb3d b) {
+		int steps = 40;
+		for (int i = 0; i <= steps; i++) {
+			for (int j = 0; j <= steps; j++) {
+				for (int k = 0; k <= steps; k++) {
+					Vec3d p = b.center()
+						.add(scale(b.axis(0), b.halfSize().x() * (2.0 * i / steps - 1)))
+						.add(scale(b.axis(1), b.halfSize().y() * (2.0 * j / steps - 1)))
+						.add(scale(b.axis(2), b.halfSize().z() * (2.0 * k / steps - 1)));
+					if (a.contains(p)) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private static Vec3d scale(Vec3d v, double factor) {
+		return vec(factor * v.x(), factor * v.y(), factor * v.z());
+	}
+
+	private static void assertBox(Aabb3d expected, Aabb3d actual) {
+		assertBox(expected.minX(), expected.minY(), expected.minZ(), expected.maxX(), expected.maxY(),
+			expected.maxZ(), actual);
+	}
+
+	private static void assertBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+			Aabb3d actual) {
+		assertEquals(minX, actual.minX(), EPSILON);
+		assertEquals(minY, actual.minY(), EPSILON);
+		assertEquals(minZ, actual.minZ(), EPSILON);
+		assertEquals(maxX, actual.maxX(), EPSILON);
+		assertEquals(maxY, actual.maxY(), EPSILON);
+		assertEquals(maxZ, actual.maxZ(), EPSILON);
+	}
+
+}
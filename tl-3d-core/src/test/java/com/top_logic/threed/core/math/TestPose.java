@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+import static com.top_logic.threed.core.math.Vec3d.*;
+import static java.lang.Math.*;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link Pose}.
+ */
+@SuppressWarnings("javadoc")
+public class TestPose extends TestCase {
+
+	private static final double EPSILON = 0.00000001;
+
+	private static final Vec3d[] POINTS = { vec(0, 0, 0), vec(1, 0, 0), vec(0, 1, 0), vec(0, 0, 1), vec(7, -3, 11) };
+
+	public void testConversion() {
+		Transformation[] txs = {
+			identity(),
+			translate(1, 2, 3),
+			rotateX(PI),
+			rotateY(-PI / 2),
+			translate(1000, 500, 600).after(rotateZ(0.3)).after(rotateX(1.2)),
+			rotateZ(PI).after(rotateX(PI / 2)),
+		};
+		for (Transformation tx : txs) {
+			Pose pose = Pose.fromTransformation(tx);
+			assertTrue(pose.qw() >= 0);
+			assertSame(tx.kind(), pose.toTransformation().kind());
+			assertSameTx(tx, pose.toTransformation());
+			for (Vec3d v : POINTS) {
+				assertTrue(tx.apply(v).sub(pose.apply(v)).length() < EPSILON);
+			}
+		}
+		assertSame(Pose.identity(), Pose.fromTransformation(identity()));
+		assertSame(identity(), Pose.identity().toTransformation());
+
+		try {
+			Pose.fromTransformation(new Transformation(2, 0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0));
+			fail("Scaling is not a pose.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	public void testCompose() {
+		Transformation parent = translate(1000, 500, 600).after(rotateZ(0.3));
+		Transformation child = rotateX(1.2).after(translate(1, 2, 3));
+		Pose composed = Pose.fromTransformation(parent).after(Pose.fromTransformation(child));
+		assertSameTx(parent.after(child), composed.toTransformation());
+
+		assertSameTx(identity(), composed.after(composed.inverse()).toTransformation());
+		assertSameTx(identity(), composed.inverse().after(composed).toTransformation());
+		assertSameTx(parent.after(child).inverse(), composed.inverse().toTransformation());
+
+		assertSameTx(rotateZ(0.7), Pose.rotate(vec(0, 0, 2), 0.7).toTransformation());
+	}
+
+	public void testSlerp() {
+		Pose from = Pose.fromTransformation(translate(0, 0, 0).after(rotateZ(0.2)));
+		Pose to = Pose.fromTransformation(translate(10, 20, 30).after(rotateZ(1.4)));
+
+		assertSameTx(from.toTransformation(), from.slerp(to, 0).toTransformation());
+		assertSameTx(to.toTransformation(), from.slerp(to, 1).toTransformation());
+		assertSameTx(translate(5, 10, 15).after(rotateZ(0.8)), from.slerp(to, 0.5).toTransformation());
+
+		// Shortest arc across the sign flip of the quaternion.
+		Pose left = Pose.rotate(vec(0, 0, 1), PI - 0.1);
+		Pose right = Pose.rotate(vec(0, 0, 1), -PI + 0.1);
+		assertSameTx(rotateZ(PI), left.slerp(right, 0.5).toTransformation());
+
+		// Nearly identical rotations.
+		Pose near = Pose.rotate(vec(0, 0, 1), 0.2 + 1e-6);
+		assertSameTx(rotateZ(0.2 + 5e-7), Pose.rotate(vec(0, 0, 1), 0.2).slerp(near, 0.5).toTransformation());
+	}
+
+	public void testFloats() {
+		Pose pose = Pose.fromTransformation(translate(1.5, -2, 3).after(rotateY(0.25)));
+		float[] buffer = new float[Pose.SIZE + 2];
+		pose.toFloats(buffer, 2);
+		Pose copy = Pose.fromFloats(buffer, 2);
+		assertEquals(pose.x(), copy.x(), 0.0);
+		assertEquals(pose.qy(), copy.qy(), 1e-7);
+		assertEquals(pose.qw(), copy.qw(), 1e-7);
+		assertEquals(Pose.SIZE, pose.toFloats().length);
+	}
+
+	private static void assertSameTx(Transformation expected, Transformation actual) {
+		for (Vec3d v : POINTS) {
+			assertTrue(expected + " vs. " + actual, expected.apply(v).sub(actual.apply(v)).length() < 1e-6);
+		}
+	}
+
+}
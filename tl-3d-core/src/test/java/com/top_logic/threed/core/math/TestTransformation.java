@@ -9,6 +9,15 @@ import static com.top_logic.threed.core.math.Transformation.*;
 import static com.top_logic.threed.core.math.Vec3d.*;
 import static java.lang.Math.*;
 
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.top_logic.threed.core.math.Transformation.Kind;
+
 import junit.framework.TestCase;
 
 /**
@@ -64,6 +73,427 @@ public class TestTransformation extends TestCase {
 			new Transformation(0, -1 / sqrt(2), 1 / sqrt(2), 0, -1 / sqrt(2), -1 / sqrt(2), 1, 0, 0, 0, 0, 0));
 	}
 
+	public void testKind() {
+		assertEquals(Kind.IDENTITY, identity().kind());
+		assertEquals(Kind.IDENTITY, translate(0, 0, 0).kind());
+		assertEquals(Kind.TRANSLATION, translate(1, 2, 3).kind());
+		assertEquals(Kind.ROTATION, rotateX(0.3).kind());
+		assertEquals(Kind.ROTATION, rotateZ(0.5).after(rotateY(0.4)).kind());
+		assertEquals(Kind.RIGID, translate(1, 2, 3).after(rotateZ(0.5)).kind());
+		assertEquals(Kind.RIGID, rotateZ(0.5).after(translate(1, 2, 3)).kind());
+		assertEquals(Kind.IDENTITY, translate(1, 2, 3).after(translate(-1, -2, -3)).kind());
+
+		assertEquals(Kind.ROTATION, new Transformation(0, -1, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0).kind());
+		assertEquals(Kind.RIGID, new Transformation(0, -1, 0, 1, 0, 0, 0, 0, 1, 4, 5, 6).kind());
+		assertEquals(Kind.AFFINE, new Transformation(2, 0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0).kind());
+		assertEquals(Kind.AFFINE, new Transformation(-1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0).kind());
+		assertEquals(Kind.AFFINE, rotateX(0.3).after(new Transformation(1, 0.5, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0)).kind());
+
+		Transformation mirror = new Transformation(-1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0);
+		Transformation scale = new Transformation(2, 0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0);
+		Transformation shrink = new Transformation(0.5, 0, 0, 0, 0.5, 0, 0, 0, 0.5, 0, 0, 0);
+		assertEquals(Kind.IDENTITY, mirror.after(mirror).kind());
+		assertEquals(Kind.RIGID, mirror.after(rotateZ(0.5)).after(mirror).after(translate(1, 2, 3)).kind());
+		assertEquals(Kind.TRANSLATION, scale.after(translate(1, 2, 3)).after(shrink).kind());
+		assertEquals(Kind.ROTATION, scale.after(rotateZ(PI / 2)).after(shrink).kind());
+	}
+
+	public void testInverse() {
+		assertInverse(identity());
+		assertInverse(translate(1, 2, 3));
+		assertInverse(rotateY(0.7));
+		assertInverse(rotateZ(PI / 2).after(rotateY(-PI / 2)).after(rotateX(PI / 4)));
+		assertInverse(translate(1000, 500, 600).after(rotateZ(0.3)).after(rotateX(1.2)));
+		assertInverse(new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, 4, 5, 6));
+
+		assertSame(identity(), identity().inverse());
+		assertEquals(translate(-1, -2, -3), translate(1, 2, 3).inverse());
+	}
+
+	public void testMutableTransformation() {
+		Transformation parent = translate(1000, 500, 600).after(rotateZ(0.3));
+		Transformation child = rotateX(1.2).after(translate(1, 2, 3));
+		Transformation expected = parent.after(child);
+
+		assertSameTx(expected, new MutableTransformation().set(parent).after(child).toTransformation());
+		assertSameTx(expected, new MutableTransformation().set(child).before(parent).toTransformation());
+		assertSameTx(expected, new MutableTransformation().set(child)
+			.before(TransformationUtil.toList(parent)).toTransformation());
+	}
+
+	public void testTransformStack() {
+		Transformation root = translate(1, 2, 3);
+		Transformation child = rotateY(0.5);
+		Transformation sibling = rotateZ(-0.25).after(translate(4, 0, 0));
+
+		TransformStack stack = new TransformStack(1);
+		stack.push(root);
+		stack.push(child);
+		stack.pushIdentity();
+		assertEquals(3, stack.depth());
+		assertSameTx(root.after(child), stack.toTransformation());
+		stack.pop();
+		stack.pop();
+		stack.push(sibling);
+		assertSameTx(root.after(sibling), stack.top(new MutableTransformation()).toTransformation());
+		stack.pop();
+		stack.pop();
+		assertSameTx(identity(), stack.toTransformation());
+		try {
+			stack.pop();
+			fail("Popping the empty stack must fail.");
+		} catch (IllegalStateException ex) {
+			// Expected.
+		}
+	}
+
+	public void testTransformBuffer() {
+		Transformation root = translate(1000, 500, 600).after(rotateZ(0.3));
+		Transformation child = rotateX(1.2).after(translate(1, 2, 3));
+		Transformation scaled = new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, 4, 5, 6);
+
+		TransformBuffer buffer = new TransformBuffer(3);
+		buffer.set(0, root);
+		buffer.set(1, TransformationUtil.toList(child));
+		buffer.set(2, scaled);
+		buffer.resize(4);
+		buffer.composeWithParents(new int[] { TransformBuffer.NO_PARENT, 0, 1, 0 });
+
+		assertSameTx(root, buffer.get(0));
+		assertSameTx(root.after(child), buffer.get(1));
+		assertSameTx(root.after(child).after(scaled), TransformationUtil.fromList(buffer.toList(2)));
+		assertSameTx(root, buffer.get(3));
+
+		double[] points = { 1, 2, 3, 1, 2, 3, 1, 2, 3, 1, 2, 3 };
+		buffer.applyEach(points);
+		buffer.invertAll();
+		assertSameTx(root.after(child).after(scaled).inverse(), buffer.get(2));
+		buffer.applyEach(points);
+		for (int n = 0; n < 4; n++) {
+			assertEqualsEps(1, points[3 * n]);
+			assertEqualsEps(2, points[3 * n + 1]);
+			assertEqualsEps(3, points[3 * n + 2]);
+		}
+
+		try {
+			buffer.composeWithParents(new int[] { TransformBuffer.NO_PARENT, 2, 1, 0 });
+			fail("Parent stored after child must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+
+		// A singular entry leaves the buffer unchanged.
+		List<Transformation> before = new ArrayList<>();
+		buffer.set(3, new Transformation(1, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0));
+		for (int n = 0; n < 4; n++) {
+			before.add(buffer.get(n));
+		}
+		try {
+			buffer.invertAll();
+			fail("Singular entry must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+		for (int n = 0; n < 4; n++) {
+			assertEquals(before.get(n), buffer.get(n));
+		}
+	}
+
+	public void testTransformBufferBulk() {
+		int size = 103;
+		int[] parents = new int[size];
+		Transformation[] local = new Transformation[size];
+		Transformation[] absolute = new Transformation[size];
+		for (int n = 0; n < size; n++) {
+			// Mix roots, parents in the same chunk and parents in previous chunks.
+			parents[n] = n % 17 == 0 ? TransformBuffer.NO_PARENT : (n % 5 == 0 ? n - 1 : n / 3);
+			local[n] = translate(n, -n, 2 * n).after(rotateX(0.1 * n)).after(rotateY(0.05 * n));
+			absolute[n] = parents[n] == TransformBuffer.NO_PARENT ? local[n] : absolute[parents[n]].after(local[n]);
+		}
+
+		TransformBuffer buffer = new TransformBuffer(size);
+		TransformBuffer scale = new TransformBuffer(size);
+		double[] points = new double[3 * size];
+		for (int n = 0; n < size; n++) {
+			buffer.set(n, local[n]);
+			scale.set(n, new Transformation(n, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 1));
+			points[3 * n] = 1;
+		}
+		buffer.composeWithParents(parents);
+		buffer.after(scale);
+		buffer.applyEach(points);
+
+		for (int n = 0; n < size; n++) {
+			Transformation expected = absolute[n].after(scale.get(n));
+			assertSameTx(expected, buffer.get(n));
+			Vec3d point = expected.apply(vec(1, 0, 0));
+			assertEqualsEps(point.x(), points[3 * n]);
+			assertEqualsEps(point.y(), points[3 * n + 1]);
+			assertEqualsEps(point.z(), points[3 * n + 2]);
+		}
+	}
+
+	public void testCanonical() {
+		Transformation tx = translate(1, 2, 3).after(rotateZ(PI / 2));
+		Transformation copy = TransformationUtil.fromList(TransformationUtil.toList(tx));
+		assertNotSame(tx, copy);
+		assertFalse(tx.isCanonical());
+
+		Transformation canonical = Transformation.canonical(tx);
+		assertEquals(tx, canonical);
+		assertTrue(canonical.isCanonical());
+		// The argument is not modified, since it may be shared with other threads.
+		assertFalse(tx.isCanonical());
+		assertSame(canonical, Transformation.canonical(tx));
+		assertSame(canonical, Transformation.canonical(copy));
+		assertFalse(copy.isCanonical());
+		assertEquals(tx.hashCode(), copy.hashCode());
+
+		assertEquals(TransformationUtil.toList(copy), TransformationUtil.toList(canonical));
+
+		assertSame(identity(), Transformation.canonical(translate(0, 0, 0)));
+		assertNull(Transformation.canonical(null));
+
+		Transformation mirror = new Transformation(-1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0);
+		assertSame(identity(), Transformation.canonical(mirror.after(mirror)));
+
+		Transformation scale = new Transformation(2, 0, 0, 0, 2, 0, 0, 0, 2, 0, 0, 0);
+		Transformation shrink = new Transformation(0.5, 0, 0, 0, 0.5, 0, 0, 0, 0.5, 0, 0, 0);
+		Transformation shifted = Transformation.canonical(shrink.after(translate(2, 4, 6)).after(scale));
+		assertSame(shifted, Transformation.canonical(translate(1, 2, 3)));
+	}
+
+	public void testCanonicalConcurrent() throws Exception {
+		int threads = 8;
+		int values = 1000;
+		List<List<Transformation>> results = new ArrayList<>();
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			List<Transformation> result = new ArrayList<>();
+			results.add(result);
+			workers.add(new Thread(() -> {
+				for (int n = 0; n < values; n++) {
+					result.add(Transformation.canonical(translate(n, 0.5, 0).after(rotateZ(n))));
+				}
+			}));
+		}
+		workers.forEach(Thread::start);
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		// All threads share a single canonical instance per value.
+		for (int n = 0; n < values; n++) {
+			Transformation expected = results.get(0).get(n);
+			assertTrue(expected.isCanonical());
+			for (List<Transformation> result : results) {
+				assertSame(expected, result.get(n));
+			}
+		}
+	}
+
+	public void testEquals() {
+		Transformation tx = translate(1, 2, 3).after(rotateZ(0.5));
+		assertEquals(tx, translate(1, 2, 3).after(rotateZ(0.5)));
+		assertFalse(tx.equals(translate(1, 2, 3).after(rotateZ(0.6))));
+		assertFalse(tx.equals(translate(1, 2, 4).after(rotateZ(0.5))));
+		assertFalse(translate(0, 0, 0).equals(translate(-0.0, 0, 0)));
+		assertFalse(Transformation.canonical(translate(5, 0, 0)).equals(Transformation.canonical(translate(6, 0, 0))));
+		assertTrue(identity().isIdentity());
+		assertTrue(translate(1, 2, 3).after(translate(-1, -2, -3)).isIdentity());
+		Transformation mirror = new Transformation(-1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0);
+		assertEquals(identity(), mirror.after(mirror));
+		assertTrue(mirror.after(mirror).isIdentity());
+		Transformation general = new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, 4, 5, 6);
+		assertEquals(general, new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, 4, 5, 6));
+		assertFalse(tx.isIdentity());
+
+		assertEquals(vec(1, 2, 3), vec(1, 2, 3));
+		assertEquals(vec(1, 2, 3).hashCode(), vec(1, 2, 3).hashCode());
+		assertFalse(vec(1, 2, 3).equals(vec(1, 2, 4)));
+
+		assertEquals(List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "x", "y", "z"), tx.properties());
+		assertEquals(Double.valueOf(tx.i()), tx.get("i"));
+	}
+
+	public void testMapView() {
+		Transformation tx = translate(10, 11, 12).after(new Transformation(1, 2, 3, 4, 5, 6, 7, 8, 9, 0, 0, 0));
+		Map<String, Object> copy = new LinkedHashMap<>(tx);
+		assertEquals(12, tx.size());
+		assertEquals(copy, tx);
+		assertEquals(copy.hashCode(), tx.entrySet().hashCode());
+		// Value equality deliberately breaks the symmetry of Map.equals().
+		assertFalse(tx.equals(copy));
+		Map<String, Object> vecCopy = new LinkedHashMap<>(vec(1, 2, 3));
+		assertEquals(vecCopy, vec(1, 2, 3));
+		assertFalse(vec(1, 2, 3).equals(vecCopy));
+		// Coordinates are compared like the boxed values of the map view.
+		assertEquals(vec(Double.NaN, 0, 0), vec(Double.NaN, 0, 0));
+		assertFalse(vec(0, 0, 0).equals(vec(-0.0, 0, 0)));
+		assertEquals(new LinkedHashMap<>(vec(0, 0, 0)).equals(new LinkedHashMap<>(vec(-0.0, 0, 0))),
+			vec(0, 0, 0).equals(vec(-0.0, 0, 0)));
+		assertEquals(tx.properties(), new ArrayList<>(copy.keySet()));
+		assertEquals(Double.valueOf(9), tx.get("i"));
+		assertEquals(Double.valueOf(12), tx.get(11));
+		assertNull(tx.get("w"));
+		assertTrue(tx.containsKey("h"));
+		assertFalse(tx.containsKey("w"));
+
+		Object[] entries = tx.entrySet().toArray();
+		assertEquals("a", ((Map.Entry<?, ?>) entries[0]).getKey());
+		assertEquals("z", ((Map.Entry<?, ?>) entries[11]).getKey());
+
+		// Entries kept by collections and streams must not alias each other.
+		List<Map.Entry<String, Object>> list = new ArrayList<>(tx.entrySet());
+		assertEquals("a", list.get(0).getKey());
+		assertEquals("z", list.get(11).getKey());
+		List<String> keys = tx.entrySet().stream().collect(Collectors.toList())
+			.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+		assertEquals(tx.properties(), keys);
+
+		List<String> names = new ArrayList<>();
+		vec(1, 2, 3).forEach((name, value) -> names.add(name + "=" + value));
+		assertEquals(List.of("x=1.0", "y=2.0", "z=3.0"), names);
+		assertEquals("{x=1.0, y=2.0, z=3.0}", new LinkedHashMap<>(vec(1, 2, 3)).toString());
+	}
+
+	public void testDecompose() {
+		Transformation[] rotations = {
+			identity(),
+			rotateX(0.3),
+			rotateY(-PI / 2),
+			rotateZ(PI),
+			rotateX(PI).after(rotateY(0.2)),
+			rotateZ(0.5).after(rotateY(0.4)).after(rotateX(0.3)),
+			rotateZ(-3 * PI / 4).after(rotateY(-PI / 2)),
+		};
+		double[] values = new double[Decomposition.SIZE + 1];
+		for (Transformation rotation : rotations) {
+			Transformation tx = translate(4, 5, 6).after(rotation);
+			Decomposition decomposition = tx.decompose();
+			assertSame(decomposition, tx.decompose());
+
+			// Quaternion reproduces the rotation.
+			double x = decomposition.qx(), y = decomposition.qy(), z = decomposition.qz(), w = decomposition.qw();
+			assertEqualsEps(1, x * x + y * y + z * z + w * w);
+			assertTrue(w >= 0);
+			assertSameTx(tx, new Transformation(
+				1 - 2 * (y * y + z * z), 2 * (x * y - z * w), 2 * (x * z + y * w),
+				2 * (x * y + z * w), 1 - 2 * (x * x + z * z), 2 * (y * z - x * w),
+				2 * (x * z - y * w), 2 * (y * z + x * w), 1 - 2 * (x * x + y * y),
+				4, 5, 6));
+
+			// Euler angles reproduce the rotation.
+			assertSameTx(tx, translate(4, 5, 6)
+				.after(rotateZ(decomposition.rotationZ()))
+				.after(rotateY(decomposition.rotationY()))
+				.after(rotateX(decomposition.rotationX())));
+
+			// Axis and angle reproduce the rotation.
+			Vec3d axis = decomposition.axis();
+			double angle = decomposition.angle();
+			assertEqualsEps(1, axis.length());
+			Vec3d v = vec(7, -3, 11);
+			Vec3d rotated = scale(v, cos(angle)).add(scale(cross(axis, v), sin(angle)))
+				.add(scale(axis, axis.mul(v) * (1 - cos(angle))));
+			assertTrue(rotation.apply(v).sub(rotated).length() < EPSILON);
+
+			assertEquals(vec(4, 5, 6), decomposition.translation());
+
+			new Transformation(tx.a(), tx.b(), tx.c(), tx.d(), tx.e(), tx.f(), tx.g(), tx.h(), tx.i(), 4, 5, 6)
+				.decompose(values, 1);
+			double[] expected = new double[Decomposition.SIZE];
+			decomposition.copyTo(expected, 0);
+			for (int n = 0; n < Decomposition.SIZE; n++) {
+				assertEquals(expected[n], values[n + 1], 0.0);
+			}
+		}
+	}
+
+	public void testApplyAll() {
+		Transformation[] transformations = {
+			identity(),
+			translate(1, 2, 3),
+			rotateZ(0.7),
+			translate(4, 5, 6).after(rotateX(0.3)).after(new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, 0, 0, 0)),
+		};
+		Vec3d[] vectors = { vec(0, 0, 0), vec(1, 0, 0), vec(7, -3, 11) };
+		for (Transformation tx : transformations) {
+			double[] points = new double[1 + 3 * vectors.length];
+			for (int n = 0; n < vectors.length; n++) {
+				points[1 + 3 * n] = vectors[n].x();
+				points[1 + 3 * n + 1] = vectors[n].y();
+				points[1 + 3 * n + 2] = vectors[n].z();
+			}
+
+			double[] out = new double[3 * vectors.length];
+			tx.applyAll(points, 1, vectors.length, out, 0);
+			double[] directions = new double[3 * vectors.length];
+			tx.applyAllDirections(points, 1, vectors.length, directions, 0);
+
+			// Interleaved with a fourth component that must not be touched.
+			DoubleBuffer buffer = DoubleBuffer.allocate(4 * vectors.length);
+			DoubleBuffer directionBuffer = DoubleBuffer.allocate(4 * vectors.length);
+			for (int n = 0; n < vectors.length; n++) {
+				buffer.put(4 * n, points[1 + 3 * n]).put(4 * n + 1, points[2 + 3 * n])
+					.put(4 * n + 2, points[3 + 3 * n]).put(4 * n + 3, -1);
+				directionBuffer.put(4 * n, points[1 + 3 * n]).put(4 * n + 1, points[2 + 3 * n])
+					.put(4 * n + 2, points[3 + 3 * n]).put(4 * n + 3, -1);
+			}
+			tx.applyAll(buffer, 0, 4, vectors.length);
+			tx.applyAllDirections(directionBuffer, 0, 4, vectors.length);
+
+			Vec3d origin = tx.apply(vec(0, 0, 0));
+			for (int n = 0; n < vectors.length; n++) {
+				Vec3d expected = tx.apply(vectors[n]);
+				Vec3d direction = expected.sub(origin);
+				assertEqualsEps(expected.x(), out[3 * n]);
+				assertEqualsEps(expected.y(), out[3 * n + 1]);
+				assertEqualsEps(expected.z(), out[3 * n + 2]);
+				assertEqualsEps(direction.x(), directions[3 * n]);
+				assertEqualsEps(direction.y(), directions[3 * n + 1]);
+				assertEqualsEps(direction.z(), directions[3 * n + 2]);
+				assertEqualsEps(expected.x(), buffer.get(4 * n));
+				assertEqualsEps(expected.y(), buffer.get(4 * n + 1));
+				assertEqualsEps(expected.z(), buffer.get(4 * n + 2));
+				assertEqualsEps(-1, buffer.get(4 * n + 3));
+				assertEqualsEps(direction.x(), directionBuffer.get(4 * n));
+				assertEqualsEps(direction.z(), directionBuffer.get(4 * n + 2));
+				assertEqualsEps(-1, directionBuffer.get(4 * n + 3));
+			}
+
+			double[] packed = new double[3 * vectors.length];
+			System.arraycopy(points, 1, packed, 0, packed.length);
+			tx.applyAll(packed);
+			for (int n = 0; n < packed.length; n++) {
+				assertEqualsEps(out[n], packed[n]);
+			}
+		}
+	}
+
+	private static Vec3d scale(Vec3d v, double factor) {
+		return vec(factor * v.x(), factor * v.y(), factor * v.z());
+	}
+
+	private static Vec3d cross(Vec3d u, Vec3d v) {
+		return vec(u.y() * v.z() - u.z() * v.y(), u.z() * v.x() - u.x() * v.z(), u.x() * v.y() - u.y() * v.x());
+	}
+
+	private static void assertSameTx(Transformation expected, Transformation actual) {
+		for (Vec3d v : new Vec3d[] { vec(0, 0, 0), vec(1, 0, 0), vec(0, 1, 0), vec(0, 0, 1), vec(7, -3, 11) }) {
+			assertTrue(expected.apply(v).sub(actual.apply(v)).length() < EPSILON);
+		}
+	}
+
+	private static void assertInverse(Transformation tx) {
+		Transformation inverse = tx.inverse();
+		assertEquals(tx.kind(), inverse.kind());
+		for (Vec3d v : new Vec3d[] { vec(0, 0, 0), vec(1, 0, 0), vec(0, 1, 0), vec(0, 0, 1), vec(7, -3, 11) }) {
+			assertTrue(inverse.apply(tx.apply(v)).sub(v).length() < EPSILON);
+			assertTrue(tx.after(inverse).apply(v).sub(v).length() < EPSILON);
+		}
+	}
+
 	private static void assertRotation(double expectedX, double expectedY, double expectedZ, Transformation tx) {
 		assertEqualsEps(expectedX, tx.getRotationX());
 		assertEqualsEps(expectedY, tx.getRotationY());
@@ -0,0 +1,215 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link DoubleScanner}.
+ *
+ * <p>
+ * All results are compared bit by bit with {@link Double#parseDouble(String)}.
+ * </p>
+ */
+@SuppressWarnings("javadoc")
+public class TestDoubleScanner extends TestCase {
+
+	public void testSimple() {
+		assertParse("0");
+		assertParse("1");
+		assertParse("-1");
+		assertParse("1.5");
+		assertParse("1000.5");
+		assertParse("0.1");
+		assertParse("0.3");
+		assertParse("123456789");
+		assertParse("3.141592653589793");
+		assertParse("1e-7");
+		assertParse("1E7");
+		assertParse("1e+7");
+		assertParse("1.0 ");
+		assertParse("007");
+		assertParse("0.000");
+	}
+
+	public void testSignsAndDots() {
+		assertParse("+1");
+		assertParse("+0.5");
+		assertParse(".5");
+		assertParse("-.5");
+		assertParse("+.5e1");
+		assertParse("5.");
+		assertParse("-5.e-1");
+	}
+
+	public void testSignedZero() {
+		assertParse("0");
+		assertParse("-0");
+		assertParse("+0");
+		assertParse("-0.0");
+		assertParse("-0e10");
+		assertParse("0e-400");
+		assertParse("-0.000e999999");
+	}
+
+	public void testSubnormals() {
+		assertParse(Double.toString(Double.MIN_VALUE));
+		assertParse(Double.toString(-Double.MIN_VALUE));
+		assertParse(Double.toString(Double.MIN_NORMAL));
+		assertParse(Double.toString(Math.nextDown(Double.MIN_NORMAL)));
+		assertParse(Double.toString(Math.nextUp(Double.MIN_NORMAL)));
+		assertParse(Double.toString(3 * Double.MIN_VALUE));
+		assertParse("4.9e-324");
+		assertParse("4.9406564584124654e-324");
+		assertParse("2.4703282292062327e-324");
+		assertParse("2.4703282292062328e-324");
+		assertParse("2.2250738585072011e-308");
+		assertParse("2.2250738585072012e-308");
+		assertParse("1e-310");
+		assertParse("1.23456789e-315");
+	}
+
+	public void testLimits() {
+		assertParse(Double.toString(Double.MAX_VALUE));
+		assertParse(Double.toString(-Double.MAX_VALUE));
+		assertParse(Double.toString(Math.nextDown(Double.MAX_VALUE)));
+		assertParse("1.7976931348623157e308");
+		assertParse("1.7976931348623158e308");
+		assertParse("1.7976931348623159e308");
+		assertParse("1e308");
+		assertParse("1e-308");
+		assertParse("1e-323");
+		assertParse("1e-324");
+		assertParse("1e-325");
+		assertParse("3e-324");
+	}
+
+	public void testOverflow() {
+		assertParse("1e309");
+		assertParse("-1e309");
+		assertParse("1.8e308");
+		assertParse("1e400");
+		assertParse("1e99999999");
+		assertParse("-1e-99999999");
+	}
+
+	public void testLongMantissa() {
+		assertParse("1234567890123456789");
+		assertParse("12345678901234567890");
+		assertParse("123456789012345678901234567890");
+		assertParse("0.1234567890123456789");
+		assertParse("0.12345678901234567890123");
+		assertParse("9007199254740993");
+		assertParse("9007199254740993.0000000000001");
+		assertParse("9223372036854775807");
+		assertParse("9223372036854775808");
+		assertParse("18446744073709551615");
+		assertParse("1.00000000000000011102230246251565404236316680908203125");
+		assertParse("1.00000000000000011102230246251565404236316680908203124");
+		assertParse("1.00000000000000011102230246251565404236316680908203126");
+		assertParse("0.0000000000000000000000000000000000001234567890123456789e10");
+	}
+
+	public void testHalfway() {
+		// Exactly between two doubles, rounded to even.
+		assertParse("9007199254740993");
+		assertParse("9007199254740995");
+		assertParse("1.00000000000000011102230246251565404236316680908203125");
+		assertParse("1.00000000000000033306690738754696212708950042724609375");
+
+		// Halfway cases derived from neighbouring doubles.
+		Random rnd = new Random(42);
+		for (int n = 0; n < 1000; n++) {
+			double value = Double.longBitsToDouble(rnd.nextLong() & Long.MAX_VALUE);
+			if (Double.isNaN(value) || Double.isInfinite(value) || value == Double.MAX_VALUE) {
+				continue;
+			}
+			BigDecimal lower = new BigDecimal(value);
+			BigDecimal upper = new BigDecimal(Math.nextUp(value));
+			String halfway = lower.add(upper).divide(BigDecimal.valueOf(2)).toString();
+			assertParse(halfway);
+		}
+	}
+
+	public void testMalformed() {
+		assertMalformed("");
+		assertMalformed("1e");
+		assertMalformed("1e+");
+		assertMalformed(".");
+		assertMalformed("-");
+		assertMalformed("+");
+		assertMalformed("-.");
+		assertMalformed("e5");
+		assertMalformed("1.2.3");
+		assertMalformed("1x");
+		assertMalformed("--1");
+	}
+
+	public void testSpecialValues() {
+		assertParse("NaN");
+		assertParse("Infinity");
+		assertParse("-Infinity");
+		assertParse("0x1.8p1");
+	}
+
+	public void testRange() {
+		assertEquals(1.5, DoubleScanner.parseDouble("[1.5]", 1, 4));
+		assertEquals(1.5, DoubleScanner.parseDouble("[1.5]".toCharArray(), 1, 4));
+		assertEquals(-2e-3, DoubleScanner.parseDouble("x,-2e-3,y", 2, 7));
+	}
+
+	public void testRandomBits() {
+		Random rnd = new Random(4711);
+		for (int n = 0; n < 200000; n++) {
+			double value = Double.longBitsToDouble(rnd.nextLong());
+			assertParse(Double.toString(value));
+		}
+	}
+
+	public void testRandomDecimals() {
+		Random rnd = new Random(815);
+		for (int n = 0; n < 200000; n++) {
+			int digits = 1 + rnd.nextInt(25);
+			StringBuilder buffer = new StringBuilder();
+			if (rnd.nextBoolean()) {
+				buffer.append('-');
+			}
+			for (int k = 0; k < digits; k++) {
+				buffer.append((char) ('0' + rnd.nextInt(10)));
+			}
+			buffer.insert(buffer.length() - rnd.nextInt(digits), '.');
+			buffer.append('e').append(rnd.nextInt(700) - 350);
+			assertParse(buffer.toString());
+		}
+	}
+
+	private static void assertParse(String input) {
+		long expected = Double.doubleToRawLongBits(Double.parseDouble(input));
+		assertEquals(input, expected,
+			Double.doubleToRawLongBits(DoubleScanner.parseDouble(input, 0, input.length())));
+		assertEquals(input, expected,
+			Double.doubleToRawLongBits(DoubleScanner.parseDouble(input.toCharArray(), 0, input.length())));
+	}
+
+	private static void assertMalformed(String input) {
+		try {
+			DoubleScanner.parseDouble(input, 0, input.length());
+			fail("Malformed number not detected: '" + input + "'");
+		} catch (NumberFormatException ex) {
+			// Expected.
+		}
+		try {
+			DoubleScanner.parseDouble(input.toCharArray(), 0, input.length());
+			fail("Malformed number not detected: '" + input + "'");
+		} catch (NumberFormatException ex) {
+			// Expected.
+		}
+	}
+
+}
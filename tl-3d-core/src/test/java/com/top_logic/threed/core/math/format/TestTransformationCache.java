@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import com.top_logic.threed.core.math.Transformation;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link TransformationCache}.
+ */
+@SuppressWarnings("javadoc")
+public class TestTransformationCache extends TestCase {
+
+	public void testCache() {
+		TransformationCache cache = new TransformationCache(3);
+		assertEquals(4, cache.capacity());
+
+		String storage = TransformationStorage.encodeCsv(translate(1, 2, 3));
+		Transformation first = cache.get(storage, TransformationStorage::decode);
+		Transformation second = cache.get(new String(storage), TransformationStorage::decode);
+		assertEquals(translate(1, 2, 3), first);
+		assertSame(first, second);
+		assertEquals(1, cache.hits());
+		assertEquals(1, cache.misses());
+		assertEquals(0.5, cache.hitRate());
+		assertEquals(1, cache.size());
+
+		for (int n = 0; n < 100; n++) {
+			assertEquals(translate(n, 0, 0),
+				cache.get(TransformationStorage.encodeBase64(translate(n, 0, 0)), TransformationStorage::decode));
+		}
+		assertTrue(cache.size() <= cache.capacity());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.hits());
+		assertEquals(0.0, cache.hitRate());
+	}
+
+}
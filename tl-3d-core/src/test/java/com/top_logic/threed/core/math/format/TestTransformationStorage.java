@@ -0,0 +1,88 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import com.top_logic.threed.core.math.Transformation;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link TransformationStorage}.
+ */
+@SuppressWarnings("javadoc")
+public class TestTransformationStorage extends TestCase {
+
+	private static final Transformation[] VALUES = {
+		identity(),
+		translate(1, 2, 3),
+		translate(1000.5, -3, 1e-7).after(rotateX(0.3)).after(rotateZ(1.1)),
+		new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, Double.MAX_VALUE, Double.MIN_VALUE, -0.0),
+	};
+
+	public void testCsv() {
+		for (Transformation tx : VALUES) {
+			String csv = TransformationStorage.encodeCsv(tx);
+			assertFalse(TransformationStorage.isBase64(csv));
+			assertEquals(tx, TransformationStorage.decode(csv));
+		}
+	}
+
+	public void testBase64() {
+		for (Transformation tx : VALUES) {
+			String base64 = TransformationStorage.encodeBase64(tx);
+			assertEquals(TransformationStorage.BASE64_SIZE, base64.length());
+			assertTrue(TransformationStorage.isBase64(base64));
+			assertEquals(tx, TransformationStorage.decode(base64));
+		}
+	}
+
+	public void testInvalidBase64() {
+		String base64 = TransformationStorage.encodeBase64(VALUES[2]);
+		try {
+			TransformationStorage.decodeBase64(base64.substring(1));
+			fail("Missing character must be reported.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+		try {
+			TransformationStorage.decodeBase64("." + base64.substring(1));
+			fail("Invalid character must be reported.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	public void testBinary() {
+		byte[] buffer = new byte[TransformationStorage.BINARY_SIZE + 3];
+		for (Transformation tx : VALUES) {
+			TransformationStorage.toBinary(tx, buffer, 3);
+			assertEquals(tx, TransformationStorage.fromBinary(buffer, 3));
+		}
+	}
+
+	public void testLegacy() {
+		assertEquals(identity(), TransformationStorage.decode(null));
+		assertEquals(identity(), TransformationStorage.decode(""));
+		assertEquals(translate(4, 5, 6), TransformationStorage.decode("1,0,0,0,0,1,0,0,0,0,1,0,4,5,6,1"));
+		assertEquals(translate(4, 5, 6), TransformationStorage.decode("1.0,0.0,0.0,0,0.0,1.0,0.0,0,0.0,0.0,1.0,0,4.0,5.0,6.0,1"));
+
+		try {
+			TransformationStorage.decode("1,0,0,0,0,1,0,0,0,0,1,0,4,5,6");
+			fail("Missing value must be reported.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+		try {
+			TransformationStorage.decode("1,0,0,0,0,1,0,0,0,0,1,0,4,5,6,1,1");
+			fail("Additional value must be reported.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.format;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.top_logic.threed.core.math.Transformation;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link TxParser}.
+ */
+@SuppressWarnings("javadoc")
+public class TestTxParser extends TestCase {
+
+	public void testParse() throws ParseException {
+		Transformation tx = translate(1000.5, -3, 1e-7).after(rotateX(0.3)).after(rotateZ(1.1));
+		assertEquals(tx, TxParser.parseTx(tx.toString()));
+		assertEquals(translate(1, 2, 3), TxParser.parseTx("T( 1 , 2 , 3 )"));
+		assertEquals(identity(), TxParser.parseTx(""));
+	}
+
+	public void testParseRange() throws ParseException {
+		String input = "[T(1,2,3)]";
+		assertEquals(translate(1, 2, 3), TxParser.parseTx(input, 1, 9));
+		assertEquals(translate(1, 2, 3), TxParser.parseTx(input.toCharArray(), 1, 9));
+	}
+
+	public void testErrorPosition() {
+		assertErrorPosition(5, "T(1,x,3)");
+		assertErrorPosition(7, "T(1,2,3");
+
+		try {
+			TxParser.parseTx("[T(1,x,3)]", 1, 9);
+			fail("Invalid number must be reported.");
+		} catch (ParseException ex) {
+			assertEquals(5, ex.getErrorOffset());
+		}
+	}
+
+	public void testParseAll() throws IOException, ParseException {
+		List<Transformation> result = new ArrayList<>();
+		int count = TxParser.parseAll(new StringReader("T(1,2,3)\r\n\nM(1,0,0,0,1,0,0,0,1) T(4,5,6)\nT(7,8,9)"),
+			result::add);
+		assertEquals(3, count);
+		assertEquals(List.of(translate(1, 2, 3), translate(4, 5, 6), translate(7, 8, 9)), result);
+
+		try {
+			TxParser.parseAll(new StringReader("T(1,2,3)\r\n\r\nT(1,x,3)\n"), result::add);
+			fail("Invalid number must be reported.");
+		} catch (ParseException ex) {
+			assertEquals(5, ex.getErrorOffset());
+			assertTrue(ex.getMessage().startsWith("Line 3: "));
+		}
+	}
+
+	public void testLongLine() throws IOException, ParseException {
+		List<Transformation> result = new ArrayList<>();
+		TxParser.parseAll(new StringReader("T(" + "0".repeat(20000) + "1,2,3)\n"), result::add);
+		assertEquals(List.of(translate(1, 2, 3)), result);
+	}
+
+	private static void assertErrorPosition(int expected, String input) {
+		try {
+			TxParser.parseTx(input);
+			fail("Invalid input must be reported: " + input);
+		} catch (ParseException ex) {
+			assertEquals(expected, ex.getErrorOffset());
+		}
+	}
+
+}
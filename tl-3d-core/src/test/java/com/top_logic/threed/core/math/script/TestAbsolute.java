@@ -0,0 +1,147 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.script;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.util.error.TopLogicException;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link Absolute}.
+ */
+@SuppressWarnings("javadoc")
+public class TestAbsolute extends TestCase {
+
+	private static final double EPSILON = 0.00000001;
+
+	private final Map<String, String> _parent = new HashMap<>();
+
+	private final Map<String, Transformation> _tx = new HashMap<>();
+
+	private final Map<String, Integer> _parentCalls = new HashMap<>();
+
+	private Absolute _absolute;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		_absolute = new Absolute("txAbsolute", new SearchExpression[0]);
+
+		node("root", null, translate(100, 0, 0));
+		node("a", "root", translate(0, 10, 0));
+		node("b", "a", translate(0, 0, 1));
+		node("c", "a", null);
+	}
+
+	private void node(String node, String parent, Transformation tx) {
+		_parent.put(node, parent);
+		_tx.put(node, tx);
+	}
+
+	private Object absolute(Object nodes) {
+		return _absolute.absolute(nodes, node -> {
+			_parentCalls.merge((String) node, 1, Integer::sum);
+			return _parent.get(node);
+		}, _tx::get);
+	}
+
+	public void testSingleNode() {
+		assertEquals(translate(100, 10, 1), absolute("b"));
+		assertEquals(translate(100, 0, 0), absolute("root"));
+	}
+
+	public void testMissingTransformation() {
+		assertEquals(translate(100, 10, 0), absolute("c"));
+	}
+
+	public void testOrder() {
+		node("r", null, rotateZ(Math.PI / 2));
+		node("t", "r", translate(1, 0, 0));
+
+		// The transformation of the root is applied last.
+		assertTx(rotateZ(Math.PI / 2).after(translate(1, 0, 0)), (Transformation) absolute("t"));
+	}
+
+	private static void assertTx(Transformation expected, Transformation actual) {
+		double[] e = { expected.a(), expected.b(), expected.c(), expected.d(), expected.e(), expected.f(),
+			expected.g(), expected.h(), expected.i(), expected.x(), expected.y(), expected.z() };
+		double[] a = { actual.a(), actual.b(), actual.c(), actual.d(), actual.e(), actual.f(),
+			actual.g(), actual.h(), actual.i(), actual.x(), actual.y(), actual.z() };
+		for (int n = 0; n < e.length; n++) {
+			assertEquals("Component " + n + " of " + actual, e[n], a[n], EPSILON);
+		}
+	}
+
+	public void testNull() {
+		assertNull(absolute(null));
+	}
+
+	public void testList() {
+		@SuppressWarnings("unchecked")
+		List<Transformation> result = (List<Transformation>) absolute(Arrays.asList("b", "c", "root"));
+		assertEquals(Arrays.asList(translate(100, 10, 1), translate(100, 10, 0), translate(100, 0, 0)), result);
+	}
+
+	public void testCommonAncestorsComputedOnce() {
+		absolute(Arrays.asList("b", "c", "a"));
+
+		assertEquals(Integer.valueOf(1), _parentCalls.get("root"));
+		assertEquals(Integer.valueOf(1), _parentCalls.get("a"));
+		assertEquals(Integer.valueOf(1), _parentCalls.get("b"));
+		assertEquals(Integer.valueOf(1), _parentCalls.get("c"));
+	}
+
+	public void testCycle() {
+		node("x", "z", translate(1, 0, 0));
+		node("y", "x", translate(1, 0, 0));
+		node("z", "y", translate(1, 0, 0));
+
+		try {
+			absolute("x");
+			fail("Cycle not detected.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	public void testSelfCycle() {
+		node("x", "x", translate(1, 0, 0));
+
+		try {
+			absolute(Arrays.asList("root", "x"));
+			fail("Cycle not detected.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	public void testCycleAboveNode() {
+		node("x", "y", translate(1, 0, 0));
+		node("y", "x", translate(1, 0, 0));
+		node("leaf", "x", translate(1, 0, 0));
+
+		try {
+			absolute("leaf");
+			fail("Cycle not detected.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	public void testNotEvaluatedAtCompileTime() {
+		assertFalse(_absolute.canEvaluateAtCompileTime(new Object[] { "b", null, null }));
+	}
+
+}
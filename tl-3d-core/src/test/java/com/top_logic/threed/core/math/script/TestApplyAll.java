@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.script;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+import static com.top_logic.threed.core.math.Vec3d.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.Vec3d;
+import com.top_logic.util.error.TopLogicException;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link ApplyAll}.
+ */
+@SuppressWarnings("javadoc")
+public class TestApplyAll extends TestCase {
+
+	private static final double EPSILON = 0.00000001;
+
+	private final ApplyAll _applyAll = new ApplyAll("txApplyAll", new SearchExpression[0]);
+
+	private List<?> applyAll(Transformation tx, Object points) {
+		return (List<?>) _applyAll.eval(new Object[] { tx, points }, null);
+	}
+
+	public void testVectors() {
+		List<?> result = applyAll(translate(1, 2, 3), Arrays.asList(vec(0, 0, 0), vec(1, 1, 1)));
+		assertEquals(Arrays.asList(vec(1, 2, 3), vec(2, 3, 4)), result);
+	}
+
+	public void testLists() {
+		List<?> result = applyAll(translate(1, 2, 3), Arrays.asList(Arrays.asList(0, 0, 0), Arrays.asList(1.5, 1, 1)));
+		assertEquals(Arrays.asList(Arrays.asList(1.0, 2.0, 3.0), Arrays.asList(2.5, 3.0, 4.0)), result);
+	}
+
+	public void testMixed() {
+		List<?> result = applyAll(translate(1, 0, 0), Arrays.asList(vec(0, 0, 0), Arrays.asList(0, 0, 0)));
+		assertEquals(Arrays.asList(vec(1, 0, 0), Arrays.asList(1.0, 0.0, 0.0)), result);
+	}
+
+	public void testRotation() {
+		List<?> result = applyAll(rotateZ(Math.PI / 2), Arrays.asList(vec(1, 0, 0), vec(0, 1, 0)));
+		assertTrue(((Vec3d) result.get(0)).sub(vec(0, 1, 0)).length() < EPSILON);
+		assertTrue(((Vec3d) result.get(1)).sub(vec(-1, 0, 0)).length() < EPSILON);
+	}
+
+	public void testSinglePoint() {
+		assertEquals(Arrays.asList(vec(1, 2, 3)), applyAll(translate(1, 2, 3), vec(0, 0, 0)));
+	}
+
+	public void testNoTransformation() {
+		assertEquals(Arrays.asList(vec(1, 2, 3)), applyAll(null, Arrays.asList(vec(1, 2, 3))));
+	}
+
+	public void testEmpty() {
+		assertEquals(Collections.emptyList(), applyAll(translate(1, 2, 3), Collections.emptyList()));
+	}
+
+	public void testInvalidPoint() {
+		try {
+			applyAll(translate(1, 2, 3), Arrays.asList(Arrays.asList(1, 2)));
+			fail("Invalid point not detected.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+		try {
+			applyAll(translate(1, 2, 3), Arrays.asList("origin"));
+			fail("Invalid point not detected.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+}
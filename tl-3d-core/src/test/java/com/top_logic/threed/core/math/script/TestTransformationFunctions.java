@@ -0,0 +1,176 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.core.math.script;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.top_logic.model.search.expr.GenericMethod;
+import com.top_logic.model.search.expr.SearchExpression;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.util.error.TopLogicException;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for the constant folding of the transformation functions, {@link TransformationConstructor}
+ * and {@link ComposeAll}.
+ */
+@SuppressWarnings("javadoc")
+public class TestTransformationFunctions extends TestCase {
+
+	private static final SearchExpression[] NO_ARGS = {};
+
+	/**
+	 * A function given as argument, e.g. a lambda.
+	 */
+	private static final SearchExpression FUNCTION = new Identity("txIdentity", NO_ARGS);
+
+	public void testFoldConstantArguments() {
+		assertConstant(new Identity("txIdentity", NO_ARGS));
+		assertConstant(new Translation("txTranslate", NO_ARGS), 1, 2, 3);
+		assertConstant(new Rotation("txRotate", NO_ARGS), 1.5708, 0, 0.7854);
+		assertConstant(new Compose("txCompose", NO_ARGS), translate(1, 2, 3), rotateZ(1));
+		assertConstant(new Inverse("txInvert", NO_ARGS), translate(1, 2, 3));
+		assertConstant(new ComposeAll("txComposeAll", NO_ARGS), Arrays.asList(translate(1, 2, 3)));
+		assertConstant(new TransformationConstructor("txCreate", NO_ARGS), "T(1,2,3)");
+		assertConstant(new ApplyAll("txApplyAll", NO_ARGS), translate(1, 2, 3), Arrays.asList(1, 2, 3));
+	}
+
+	public void testNoFoldingOfFunctionArguments() {
+		assertNotConstant(new Translation("txTranslate", NO_ARGS), 1, FUNCTION, 3);
+		assertNotConstant(new Rotation("txRotate", NO_ARGS), FUNCTION, 0, 0);
+		assertNotConstant(new Compose("txCompose", NO_ARGS), translate(1, 2, 3), FUNCTION);
+		assertNotConstant(new Inverse("txInvert", NO_ARGS), FUNCTION);
+		assertNotConstant(new ComposeAll("txComposeAll", NO_ARGS), FUNCTION);
+		assertNotConstant(new TransformationConstructor("txCreate", NO_ARGS), FUNCTION);
+		assertNotConstant(new ApplyAll("txApplyAll", NO_ARGS), FUNCTION, Arrays.asList(1, 2, 3));
+		assertNotConstant(new Absolute("txAbsolute", NO_ARGS), "node", FUNCTION, FUNCTION);
+	}
+
+	public void testFoldedValues() {
+		assertEquals(identity(), new Identity("txIdentity", NO_ARGS).eval(args(), null));
+		assertEquals(translate(1, 2, 3), new Translation("txTranslate", NO_ARGS).eval(args(1, 2, 3), null));
+		assertTx(rotateZ(0.5), (Transformation) new Rotation("txRotate", NO_ARGS).eval(args(0, 0, 0.5), null));
+		assertEquals(translate(1, 2, 3).inverse(),
+			new Inverse("txInvert", NO_ARGS).eval(args(translate(1, 2, 3)), null));
+		assertEquals(translate(1, 2, 3).after(rotateZ(1)),
+			new Compose("txCompose", NO_ARGS).eval(args(translate(1, 2, 3), rotateZ(1)), null));
+	}
+
+	public void testCreateFromString() {
+		TransformationConstructor create = new TransformationConstructor("txCreate", NO_ARGS);
+		assertEquals(translate(1, 2, 3), create.eval(args("T(1,2,3)"), null));
+		assertEquals(translate(1, 2, 3), create.eval(args(" T(1,2,3) "), null));
+		assertNull(create.eval(args("  "), null));
+	}
+
+	public void testCreateReusesParsedLiteral() {
+		TransformationConstructor create = new TransformationConstructor("txCreate", NO_ARGS);
+		assertSame(create.eval(args("T(1,2,3)"), null), create.eval(args("T(1,2,3)"), null));
+	}
+
+	public void testCreateInvalidString() {
+		try {
+			new TransformationConstructor("txCreate", NO_ARGS).eval(args("T(1,2)"), null);
+			fail("Invalid transformation string not detected.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	public void testCreateFromTransformation() {
+		Transformation tx = rotateZ(1);
+		assertSame(tx, new TransformationConstructor("txCreate", NO_ARGS).eval(args(tx), null));
+	}
+
+	public void testCreateFromList() {
+		TransformationConstructor create = new TransformationConstructor("txCreate", NO_ARGS);
+		assertEquals(translate(1, 2, 3), create.eval(args(1, 2, 3), null));
+		assertEquals(translate(1, 2, 3), create.eval(args(Arrays.asList(1, 2, 3)), null));
+		assertEquals(translate(1, 2, 3), create.eval(args(Arrays.asList("T(1,2,3)")), null));
+		assertEquals(new Transformation(1, 0, 0, 0, 1, 0, 0, 0, 1, 4, 5, 6),
+			create.eval(args(1, 0, 0, 0, 1, 0, 0, 0, 1, 4, 5, 6), null));
+	}
+
+	public void testCreateSingleNumber() {
+		// The single argument shortcut only applies to strings and transformations.
+		assertInvalidArguments(5);
+		assertInvalidArguments((Object) null);
+		assertInvalidArguments(Arrays.asList(5));
+		assertInvalidArguments(1, 2);
+	}
+
+	private static void assertInvalidArguments(Object... arguments) {
+		try {
+			new TransformationConstructor("txCreate", NO_ARGS).eval(arguments, null);
+			fail("Invalid number of arguments not detected: " + Arrays.toString(arguments));
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	public void testComposeAll() {
+		ComposeAll composeAll = new ComposeAll("txComposeAll", NO_ARGS);
+		Transformation a = translate(1, 0, 0);
+		Transformation b = rotateZ(Math.PI / 2);
+		Transformation c = translate(0, 0, 2);
+
+		assertTx(a.after(b).after(c), (Transformation) composeAll.eval(args(Arrays.asList(a, b, c)), null));
+		assertTx(c.after(b).after(a), (Transformation) composeAll.eval(args(Arrays.asList(c, b, a)), null));
+	}
+
+	public void testComposeAllSkipsNull() {
+		ComposeAll composeAll = new ComposeAll("txComposeAll", NO_ARGS);
+		Transformation a = translate(1, 0, 0);
+		Transformation c = translate(0, 0, 2);
+
+		assertEquals(translate(1, 0, 2), composeAll.eval(args(Arrays.asList(null, a, null, c)), null));
+		assertEquals(a, composeAll.eval(args(Arrays.asList(a)), null));
+	}
+
+	public void testComposeAllEmpty() {
+		ComposeAll composeAll = new ComposeAll("txComposeAll", NO_ARGS);
+		assertEquals(identity(), composeAll.eval(args(Collections.emptyList()), null));
+		assertEquals(identity(), composeAll.eval(args(Arrays.asList((Object) null)), null));
+		assertEquals(identity(), composeAll.eval(args((Object) null), null));
+	}
+
+	public void testComposeAllInvalid() {
+		try {
+			new ComposeAll("txComposeAll", NO_ARGS)
+				.eval(args(Arrays.asList(translate(1, 0, 0), "T(1,2,3)")), null);
+			fail("Invalid transformation not detected.");
+		} catch (TopLogicException ex) {
+			// Expected.
+		}
+	}
+
+	private static void assertConstant(GenericMethod fun, Object... arguments) {
+		assertTrue(fun.getName() + " not folded.", fun.canEvaluateAtCompileTime(arguments));
+	}
+
+	private static void assertNotConstant(GenericMethod fun, Object... arguments) {
+		assertFalse(fun.getName() + " folded with function argument.", fun.canEvaluateAtCompileTime(arguments));
+	}
+
+	private static Object[] args(Object... arguments) {
+		return arguments;
+	}
+
+	private static void assertTx(Transformation expected, Transformation actual) {
+		double[] e = { expected.a(), expected.b(), expected.c(), expected.d(), expected.e(), expected.f(),
+			expected.g(), expected.h(), expected.i(), expected.x(), expected.y(), expected.z() };
+		double[] a = { actual.a(), actual.b(), actual.c(), actual.d(), actual.e(), actual.f(),
+			actual.g(), actual.h(), actual.i(), actual.x(), actual.y(), actual.z() };
+		for (int n = 0; n < e.length; n++) {
+			assertEquals("Component " + n + " of " + actual, e[n], a[n], 0.00000001);
+		}
+	}
+
+}
@@ -63,8 +63,11 @@ import com.top_logic.model.search.expr.config.dom.Expr;
 import com.top_logic.model.search.expr.query.QueryExecutor;
 import com.top_logic.model.util.TLModelUtil;
 import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.threejs.control.SceneEncoding;
 import com.top_logic.threed.threejs.control.ThreeJsControl;
+import com.top_logic.threed.threejs.control.TransformPrecision;
 import com.top_logic.threed.threejs.scene.Asset;
+import com.top_logic.threed.threejs.scene.AssetLibrary;
 import com.top_logic.threed.threejs.scene.GltfAsset;
 import com.top_logic.threed.threejs.scene.GroupNode;
 import com.top_logic.threed.threejs.scene.ImageData;
@@ -156,6 +159,26 @@ public class ThreeJsComponent extends BuilderComponent
 		/** @see com.top_logic.basic.reflect.DefaultMethodInvoker */
 		Lookup LOOKUP = MethodHandles.lookup();
 
+		/**
+		 * Configuration name of {@link #getSceneEncoding()}.
+		 */
+		String SCENE_ENCODING = "scene-encoding";
+
+		/**
+		 * Configuration name of {@link #getTranslationQuantum()}.
+		 */
+		String TRANSLATION_QUANTUM = "translation-quantum";
+
+		/**
+		 * Configuration name of {@link #getRotationQuantum()}.
+		 */
+		String ROTATION_QUANTUM = "rotation-quantum";
+
+		/**
+		 * Configuration name of {@link #getUseTransformPalette()}.
+		 */
+		String USE_TRANSFORM_PALETTE = "use-transform-palette";
+
 		@Override
 		PolymorphicConfiguration<? extends SceneBuilder> getModelBuilder();
 
@@ -176,6 +199,56 @@ public class ThreeJsComponent extends BuilderComponent
 		@Override
 		@ClassDefault(ThreeJsComponent.class)
 		Class<? extends LayoutComponent> getImplementationClass();
+
+		/**
+		 * Format in which the scene is sent to the client when the viewer is displayed.
+		 * 
+		 * <p>
+		 * The binary format is considerably smaller for large scenes and is decoded by the client
+		 * without parsing text. Subsequent changes to the scene are always sent as JSON.
+		 * </p>
+		 */
+		@Name(SCENE_ENCODING)
+		SceneEncoding getSceneEncoding();
+
+		/**
+		 * Step to which the translations of transformations are rounded before they are sent to the
+		 * client.
+		 * 
+		 * <p>
+		 * A value of <code>0</code> sends translations in full precision. For a scene modelled in
+		 * millimetres, a value of <code>0.01</code> is far below anything visible and lets equal
+		 * positions share a single entry in the transferred transformation table.
+		 * </p>
+		 */
+		@Name(TRANSLATION_QUANTUM)
+		double getTranslationQuantum();
+
+		/**
+		 * Step to which the rotation entries of transformations are rounded before they are sent to
+		 * the client.
+		 * 
+		 * <p>
+		 * A value of <code>0</code> sends rotations in full precision. The entries of a rotation
+		 * matrix are between <code>-1</code> and <code>1</code>, a value of <code>1E-6</code>
+		 * corresponds to an angle error of about 0.0001 degrees.
+		 * </p>
+		 */
+		@Name(ROTATION_QUANTUM)
+		double getRotationQuantum();
+
+		/**
+		 * Whether repeated transformations are sent to the client only once.
+		 * 
+		 * <p>
+		 * The client keeps a table of the transformations it has received, nodes refer to an entry
+		 * by its index. This saves most of the transformation data for scenes that reuse a small
+		 * set of local transformations. Otherwise, each transformation is sent with its node.
+		 * </p>
+		 */
+		@Name(USE_TRANSFORM_PALETTE)
+		@BooleanDefault(true)
+		boolean getUseTransformPalette();
 	}
 
 	/**
@@ -210,6 +283,8 @@ public class ThreeJsComponent extends BuilderComponent
 
 	private final SceneGraph _scene;
 
+	private final AssetLibrary _assets;
+
 	private final SelectionModel _selectionModel;
 
 	private final Map<Object, SceneNode> _nodeByModel = new HashMap<>();
@@ -392,6 +467,12 @@ public class ThreeJsComponent extends BuilderComponent
 
 	private QueryExecutor _coordinateSystemsFunction;
 
+	private final SceneEncoding _sceneEncoding;
+
+	private final TransformPrecision _transformPrecision;
+
+	private final boolean _useTransformPalette;
+
 	/**
 	 * Creates a {@link ThreeJsComponent}.
 	 */
@@ -401,6 +482,7 @@ public class ThreeJsComponent extends BuilderComponent
 		_selectionModel = config.getSelectionModelFactory().newSelectionModel(this);
 		_selectionModel.addSelectionListener(this);
 		_scene = SceneGraph.create();
+		_assets = new AssetLibrary(_scene);
 		SceneUtils.setCoordinateSystem(_scene, Transformation.identity());
 		connect(_scene, _selectionModel);
 		_scene.registerListener(new Listener() {
@@ -427,6 +509,9 @@ public class ThreeJsComponent extends BuilderComponent
 
 		_applyScript = QueryExecutor.compileOptional(config.getApplyScript());
 		_coordinateSystemsFunction = QueryExecutor.compileOptional(config.getCoordinateSystems());
+		_sceneEncoding = config.getSceneEncoding();
+		_transformPrecision = new TransformPrecision(config.getTranslationQuantum(), config.getRotationQuantum());
+		_useTransformPalette = config.getUseTransformPalette();
 	}
 
 	private void connect(SceneGraph scene, SelectionModel selectionModel) {
@@ -577,7 +662,8 @@ public class ThreeJsComponent extends BuilderComponent
 
 	ThreeJsControl getThreeJSControl() {
 		if (_control == null) {
-			_control = new ThreeJsControl(getScene(), _imageByID);
+			_control = new ThreeJsControl(getScene(), _imageByID, _sceneEncoding, _transformPrecision,
+				_useTransformPalette);
 			setCoordinateSystems(getSelected());
 		}
 
@@ -616,6 +702,8 @@ public class ThreeJsComponent extends BuilderComponent
 
 		SceneNode root = builder().getModel(getModel(), this);
 		root.visit(_addToIndex, null);
+		_assets.clear();
+		_assets.share(root);
 		_scene.setRoot(root);
 
 		for (Object hiddenElement : CollectionUtil.asSet(hiddenChannel().get())) {
@@ -727,13 +815,17 @@ public class ThreeJsComponent extends BuilderComponent
 			_nodeByModel.clear();
 			_parentNodes.clear();
 			newNode.visit(_addToIndex, null);
+			_assets.clear();
+			_assets.share(newNode);
 			_scene.setRoot(newNode);
 		} else {
 			List<SceneNode> contents = parent.getContents();
 			int idx = contents.indexOf(sceneNode);
 			sceneNode.visit(_removeFromIndex, null);
-			contents.set(idx, newNode);
 			newNode.visit(_addToIndex, parent);
+			_assets.share(newNode);
+			contents.set(idx, newNode);
+			_assets.release(sceneNode);
 		}
 
 	}
@@ -0,0 +1,274 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.threejs.scene.PackedTransform;
+import com.top_logic.threed.threejs.scene.SceneNode;
+
+import de.haumacher.msgbuf.io.StringW;
+import de.haumacher.msgbuf.json.JsonWriter;
+
+/**
+ * {@link JsonWriter} that encodes the written values in a compact binary format instead of JSON
+ * text.
+ *
+ * <p>
+ * The writer is passed to the scope in place of a regular {@link JsonWriter}. The scope assigns
+ * identifiers and writes the graph exactly as for JSON, only the encoding on the wire changes. The
+ * decoder in <code>DataModels.js</code> reconstructs the values that parsing the JSON text would
+ * have produced.
+ * </p>
+ *
+ * <h2>Format</h2>
+ *
+ * <p>
+ * All numbers are little-endian. Integers are written as variable length quantities (7 bits per
+ * byte, least significant group first), signed integers in zig-zag encoding.
+ * </p>
+ *
+ * <ol>
+ * <li>The 4 bytes <code>TLSG</code> and the format {@link #VERSION}.</li>
+ * <li>The string table: The number of strings followed by each string as UTF-8 byte length and
+ * bytes. Each distinct string (property names, type names, colors, URLs, ...) is stored once.</li>
+ * <li>The transformation section: The number of entries in the {@link TransformPalette} followed by
+ * padding to an 8 byte boundary and 12 doubles per entry (see {@link SceneNode#getTransform()}). The
+ * section can be viewed as <code>Float64Array</code> without copying. Entries are rounded to the
+ * {@link TransformPalette#getPrecision() precision} of the palette, but still written as full
+ * doubles. In contrast to the JSON form, a reduced precision therefore does not make entries
+ * smaller, it only merges entries that differ below the precision. The section is also used if the
+ * {@link TransformPalette} is not {@link TransformPalette#isEnabled() enabled} for later updates,
+ * so that transformations never end up in the string table.</li>
+ * <li>The value tree as sequence of tokens (see the <code>TOKEN_*</code> constants). As in the JSON
+ * form, transformations are written as index of their entry, see
+ * {@link TransformPalette#writeTransform(JsonWriter, String)}.</li>
+ * </ol>
+ */
+public class BinarySceneWriter extends JsonWriter {
+
+	/**
+	 * The content type of the binary scene format.
+	 */
+	public static final String CONTENT_TYPE = "application/octet-stream";
+
+	/**
+	 * Version of the format written.
+	 */
+	public static final int VERSION = 3;
+
+	private static final byte[] MAGIC = { 'T', 'L', 'S', 'G' };
+
+	/** The <code>null</code> value. */
+	static final int TOKEN_NULL = 0;
+
+	/** The value <code>false</code>. */
+	static final int TOKEN_FALSE = 1;
+
+	/** The value <code>true</code>. */
+	static final int TOKEN_TRUE = 2;
+
+	/** An integer, followed by its zig-zag encoded value. */
+	static final int TOKEN_INT = 3;
+
+	/** A floating point number, followed by its 8 byte value. */
+	static final int TOKEN_DOUBLE = 4;
+
+	/** A string, followed by its index in the string table. */
+	static final int TOKEN_STRING = 5;
+
+	/** Start of an array. The elements follow until {@link #TOKEN_END}. */
+	static final int TOKEN_ARRAY = 6;
+
+	/**
+	 * Start of an object. Properties follow as the string table index of the property name plus one
+	 * and the value. The object ends with a zero property name index.
+	 */
+	static final int TOKEN_OBJECT = 7;
+
+	/** End of an array. */
+	static final int TOKEN_END = 8;
+
+	private final Map<String, Integer> _stringIndex = new HashMap<>();
+
+	private final ByteArrayOutputStream _strings = new ByteArrayOutputStream();
+
+	private final ByteArrayOutputStream _tokens = new ByteArrayOutputStream();
+
+	private final TransformPalette _palette;
+
+	private final TransformLocator _locator = new TransformLocator();
+
+	/**
+	 * Creates a {@link BinarySceneWriter} with its own {@link TransformPalette}.
+	 */
+	public BinarySceneWriter() {
+		this(new TransformPalette());
+	}
+
+	/**
+	 * Creates a {@link BinarySceneWriter}.
+	 *
+	 * @param palette
+	 *        The palette to add the written transformations to. All entries of the palette are
+	 *        written to the transformation section. If the given palette is not
+	 *        {@link TransformPalette#isEnabled() enabled}, the transformations are collected in a
+	 *        palette of the same precision that is only used for this scene.
+	 */
+	public BinarySceneWriter(TransformPalette palette) {
+		// The text output of the super class is not used.
+		super(new StringW());
+		_palette = palette.isEnabled() ? palette : new TransformPalette(palette.getPrecision());
+	}
+
+	@Override
+	public JsonWriter beginArray() throws IOException {
+		_locator.beginArray();
+		_tokens.write(TOKEN_ARRAY);
+		return this;
+	}
+
+	@Override
+	public JsonWriter endArray() throws IOException {
+		_locator.end();
+		_tokens.write(TOKEN_END);
+		return this;
+	}
+
+	@Override
+	public JsonWriter beginObject() throws IOException {
+		_locator.beginObject();
+		_tokens.write(TOKEN_OBJECT);
+		return this;
+	}
+
+	@Override
+	public JsonWriter endObject() throws IOException {
+		_locator.end();
+		_tokens.write(0);
+		return this;
+	}
+
+	@Override
+	public JsonWriter name(String name) throws IOException {
+		_locator.name(name);
+		writeVarint(_tokens, stringIndex(name) + 1);
+		return this;
+	}
+
+	@Override
+	public JsonWriter nullValue() throws IOException {
+		_locator.value();
+		_tokens.write(TOKEN_NULL);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(boolean value) throws IOException {
+		_locator.value();
+		_tokens.write(value ? TOKEN_TRUE : TOKEN_FALSE);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(long value) throws IOException {
+		_locator.value(value);
+		_tokens.write(TOKEN_INT);
+		writeVarint(_tokens, (value << 1) ^ (value >> 63));
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(double value) throws IOException {
+		_locator.value();
+		_tokens.write(TOKEN_DOUBLE);
+		long bits = Double.doubleToRawLongBits(value);
+		for (int n = 0; n < 8; n++) {
+			_tokens.write((int) (bits >>> (8 * n)));
+		}
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(String value) throws IOException {
+		if (value == null) {
+			return nullValue();
+		}
+		if (_locator.value(value)) {
+			_palette.writeTransform(this, value);
+			return this;
+		}
+		_tokens.write(TOKEN_STRING);
+		writeVarint(_tokens, stringIndex(value));
+		return this;
+	}
+
+	/**
+	 * Writes the encoded values to the given stream.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(MAGIC);
+		out.write(VERSION);
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		writeVarint(header, _stringIndex.size());
+		_strings.writeTo(header);
+		List<String> transforms = _palette.getEntries();
+		writeVarint(header, transforms.size());
+		header.writeTo(out);
+
+		// Align the transformation section relative to the start of the data.
+		int position = MAGIC.length + 1 + header.size();
+		int padding = (8 - position % 8) % 8;
+		for (int n = 0; n < padding; n++) {
+			out.write(0);
+		}
+
+		ByteBuffer section = ByteBuffer.allocate(transforms.size() * 12 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		for (String transform : transforms) {
+			Transformation tx = PackedTransform.decode(transform);
+			section.putDouble(tx.a()).putDouble(tx.b()).putDouble(tx.c());
+			section.putDouble(tx.d()).putDouble(tx.e()).putDouble(tx.f());
+			section.putDouble(tx.g()).putDouble(tx.h()).putDouble(tx.i());
+			section.putDouble(tx.x()).putDouble(tx.y()).putDouble(tx.z());
+		}
+		out.write(section.array());
+
+		_tokens.writeTo(out);
+	}
+
+	private int stringIndex(String value) {
+		Integer index = _stringIndex.get(value);
+		if (index != null) {
+			return index.intValue();
+		}
+		int result = _stringIndex.size();
+		_stringIndex.put(value, Integer.valueOf(result));
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarint(_strings, bytes.length);
+		_strings.write(bytes, 0, bytes.length);
+		return result;
+	}
+
+	private static void writeVarint(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+}
@@ -34,6 +34,7 @@ import com.top_logic.layout.form.model.FormContext;
 import com.top_logic.layout.form.model.FormFactory;
 import com.top_logic.layout.form.model.SelectField;
 import com.top_logic.layout.form.model.SelectFieldUtils;
+import com.top_logic.threed.core.math.Decomposition;
 import com.top_logic.threed.core.math.Transformation;
 import com.top_logic.threed.threejs.component.CoordinateSystem;
 import com.top_logic.threed.threejs.component.CoordinateSystemProvider;
@@ -344,9 +345,10 @@ public class GizmoControl extends AbstractControl {
 		field(TRANSLATE_X).initializeField(finalTransform.x());
 		field(TRANSLATE_Y).initializeField(finalTransform.y());
 		field(TRANSLATE_Z).initializeField(finalTransform.z());
-		field(ROTATE_X).initializeField(toDegrees(finalTransform.getRotationX()));
-		field(ROTATE_Y).initializeField(toDegrees(finalTransform.getRotationY()));
-		field(ROTATE_Z).initializeField(toDegrees(finalTransform.getRotationZ()));
+		Decomposition rotation = finalTransform.decompose();
+		field(ROTATE_X).initializeField(toDegrees(rotation.rotationX()));
+		field(ROTATE_Y).initializeField(toDegrees(rotation.rotationY()));
+		field(ROTATE_Z).initializeField(toDegrees(rotation.rotationZ()));
 	}
 
 	private void internalSetModel(Transformation tx) {
@@ -0,0 +1,479 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.top_logic.threed.threejs.scene.Asset;
+import com.top_logic.threed.threejs.scene.ConnectionPoint;
+import com.top_logic.threed.threejs.scene.GroupNode;
+import com.top_logic.threed.threejs.scene.PackedTransform;
+import com.top_logic.threed.threejs.scene.PartNode;
+import com.top_logic.threed.threejs.scene.SceneGraph;
+import com.top_logic.threed.threejs.scene.SceneNode;
+import com.top_logic.threed.threejs.scene.SceneUtils;
+
+import de.haumacher.msgbuf.graph.SharedGraphNode;
+import de.haumacher.msgbuf.io.StringW;
+import de.haumacher.msgbuf.json.JsonWriter;
+
+/**
+ * {@link JsonWriter} recording a patch of an {@link ExternalScope} to write a compacted version of
+ * it.
+ *
+ * <p>
+ * The scope records each single modification. Setting a list records a removal for each old and an
+ * insertion for each new element, repeated modifications of the same property are all recorded.
+ * The compacted patch has the same effect on the client:
+ * </p>
+ *
+ * <ul>
+ * <li>Changes to scene nodes that are no longer part of the scene at the end of the patch are
+ * dropped.</li>
+ * <li>A sequence of insertions and removals in a list is replaced by setting the list, if the list
+ * is not longer than the number of operations.</li>
+ * <li>Of multiple changes to the same property, only the last one is kept.</li>
+ * </ul>
+ *
+ * <p>
+ * Changes that transfer the data of an object to the client are never dropped, since the scope
+ * refers to this object only by its ID afterwards.
+ * </p>
+ */
+final class PatchCompactor extends JsonWriter {
+
+	/**
+	 * Kind of a patch command setting a property.
+	 */
+	static final String SET = "S";
+
+	/**
+	 * Kind of a patch command inserting into a list property.
+	 */
+	static final String INSERT = "I";
+
+	/**
+	 * Kind of a patch command removing from a list property.
+	 */
+	static final String REMOVE = "R";
+
+	/**
+	 * Property of a patch command holding the ID of the changed object.
+	 */
+	static final String ID = "id";
+
+	/**
+	 * Property of a patch command holding the name of the changed property.
+	 */
+	static final String PROPERTY = "p";
+
+	/**
+	 * Containers of the value currently being recorded, innermost last.
+	 */
+	private final List<Object> _stack = new ArrayList<>();
+
+	private String _name;
+
+	private Object _patch;
+
+	/**
+	 * Creates a {@link PatchCompactor}.
+	 */
+	private PatchCompactor() {
+		super(new StringW());
+	}
+
+	/**
+	 * Writes the pending changes of the given scope in compacted form.
+	 *
+	 * @param scope
+	 *        The scope whose changes are written.
+	 * @param graph
+	 *        The scene the scope belongs to.
+	 * @param palette
+	 *        The palette to replace the transformations set by the patch with their index, see
+	 *        {@link TransformPalette#writeTransform(JsonWriter, String)}. <code>null</code> to write
+	 *        transformations in packed form.
+	 * @param out
+	 *        The output to write the patch to.
+	 */
+	static void createPatch(ExternalScope scope, SceneGraph graph, TransformPalette palette, JsonWriter out)
+			throws IOException {
+		PatchCompactor recorder = new PatchCompactor();
+		scope.createPatch(recorder);
+
+		List<Change> changes = new ArrayList<>();
+		for (Object change : (List<?>) recorder._patch) {
+			changes.add(new Change((List<?>) change));
+		}
+
+		dropDetached(scope, graph, changes);
+		foldLists(scope, changes);
+		dropOverwritten(changes);
+
+		out.beginArray();
+		for (Change change : changes) {
+			if (change.isDropped()) {
+				continue;
+			}
+			if (change.isFolded()) {
+				out.beginArray();
+				out.beginArray();
+				out.value(SET);
+				out.beginObject();
+				out.name(ID);
+				out.value(change.getId());
+				out.name(PROPERTY);
+				out.value(change.getProperty());
+				out.endObject();
+				out.endArray();
+				change.getTarget().writeFieldValue(scope, out, change.getProperty());
+				out.endArray();
+			} else if (palette != null && change.setsTransform(scope)) {
+				List<?> json = change.getJson();
+				out.beginArray();
+				replay(out, json.get(0));
+				palette.writeTransform(out, (String) json.get(1));
+				out.endArray();
+			} else {
+				replay(out, change.getJson());
+			}
+		}
+		out.endArray();
+	}
+
+	/**
+	 * Drops changes to nodes removed from the scene.
+	 *
+	 * <p>
+	 * All nodes and assets that are no longer part of the scene are forgotten by the scope, whether
+	 * they have changes or not. This releases their IDs, and they are sent with their current state,
+	 * if they are added to the scene again later on.
+	 * </p>
+	 */
+	private static void dropDetached(ExternalScope scope, SceneGraph graph, List<Change> changes) {
+		if (!changes.stream().anyMatch(Change::mayDetach)) {
+			return;
+		}
+		Set<SceneNode> attached = SceneUtils.collectAllNodes(graph, new HashSet<>());
+		for (Change change : changes) {
+			SharedGraphNode target = change.resolve(scope);
+			if (target instanceof SceneNode && !attached.contains(target) && !change.transfersData()) {
+				change.drop();
+			}
+		}
+		Set<Asset> used = new HashSet<>(graph.getAssets());
+		for (SceneNode node : attached) {
+			if (node instanceof PartNode part && part.hasAsset()) {
+				used.add(part.getAsset());
+			}
+		}
+		for (SharedGraphNode node : new ArrayList<>(scope.objects())) {
+			if ((node instanceof SceneNode && !attached.contains(node))
+				|| (node instanceof Asset && !used.contains(node))
+				|| (node instanceof ConnectionPoint point && !used.contains(point.getOwner()))) {
+				scope.forget(node);
+			}
+		}
+	}
+
+	/**
+	 * Replaces list operations with setting the resulting list.
+	 */
+	private static void foldLists(ExternalScope scope, List<Change> changes) {
+		for (List<Change> group : groupByProperty(changes).values()) {
+			int operations = 0;
+			boolean transfersData = false;
+			for (Change change : group) {
+				if (change.isListOperation()) {
+					operations++;
+				}
+				transfersData |= change.transfersData();
+			}
+			if (operations < 2 || transfersData) {
+				continue;
+			}
+
+			Change last = group.get(group.size() - 1);
+			SharedGraphNode target = last.resolve(scope);
+			if (target == null) {
+				continue;
+			}
+			Object list = target.get(last.getProperty());
+			if (!(list instanceof Collection<?>) || ((Collection<?>) list).size() > operations) {
+				continue;
+			}
+
+			for (Change change : group) {
+				if (change != last) {
+					change.drop();
+				}
+			}
+			last.fold(target);
+		}
+	}
+
+	/**
+	 * Drops values of properties that are set again later on.
+	 */
+	private static void dropOverwritten(List<Change> changes) {
+		for (List<Change> group : groupByProperty(changes).values()) {
+			if (group.stream().anyMatch(Change::isListOperation)) {
+				continue;
+			}
+			for (int n = 0, last = group.size() - 1; n < last; n++) {
+				Change change = group.get(n);
+				if (!change.transfersData()) {
+					change.drop();
+				}
+			}
+		}
+	}
+
+	/**
+	 * The changes that are not yet dropped grouped by the changed object and property.
+	 */
+	private static Map<List<Object>, List<Change>> groupByProperty(List<Change> changes) {
+		Map<List<Object>, List<Change>> result = new HashMap<>();
+		for (Change change : changes) {
+			if (change.isDropped()) {
+				continue;
+			}
+			List<Object> key = Arrays.asList(change.getId(), change.getProperty());
+			result.computeIfAbsent(key, x -> new ArrayList<>()).add(change);
+		}
+		return result;
+	}
+
+	private static void replay(JsonWriter out, Object value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+		} else if (value instanceof List<?>) {
+			out.beginArray();
+			for (Object element : (List<?>) value) {
+				replay(out, element);
+			}
+			out.endArray();
+		} else if (value instanceof Map<?, ?>) {
+			out.beginObject();
+			for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				out.name((String) entry.getKey());
+				replay(out, entry.getValue());
+			}
+			out.endObject();
+		} else if (value instanceof String) {
+			out.value((String) value);
+		} else if (value instanceof Boolean) {
+			out.value(((Boolean) value).booleanValue());
+		} else if (value instanceof Long) {
+			out.value(((Long) value).longValue());
+		} else {
+			out.value(((Double) value).doubleValue());
+		}
+	}
+
+	@Override
+	public JsonWriter beginArray() throws IOException {
+		_stack.add(add(new ArrayList<>()));
+		return this;
+	}
+
+	@Override
+	public JsonWriter endArray() throws IOException {
+		_stack.remove(_stack.size() - 1);
+		return this;
+	}
+
+	@Override
+	public JsonWriter beginObject() throws IOException {
+		_stack.add(add(new LinkedHashMap<>()));
+		return this;
+	}
+
+	@Override
+	public JsonWriter endObject() throws IOException {
+		_stack.remove(_stack.size() - 1);
+		return this;
+	}
+
+	@Override
+	public JsonWriter name(String name) throws IOException {
+		_name = name;
+		return this;
+	}
+
+	@Override
+	public JsonWriter nullValue() throws IOException {
+		add(null);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(boolean value) throws IOException {
+		add(Boolean.valueOf(value));
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(long value) throws IOException {
+		add(Long.valueOf(value));
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(double value) throws IOException {
+		add(Double.valueOf(value));
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(String value) throws IOException {
+		add(value);
+		return this;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object add(Object value) {
+		if (_stack.isEmpty()) {
+			_patch = value;
+		} else {
+			Object container = _stack.get(_stack.size() - 1);
+			if (container instanceof List<?>) {
+				((List<Object>) container).add(value);
+			} else {
+				((Map<String, Object>) container).put(_name, value);
+				_name = null;
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * A single recorded change of the form <code>[[kind, {id, p, i}], value]</code>.
+	 */
+	private static final class Change {
+
+		private final List<?> _json;
+
+		private final String _kind;
+
+		private final int _id;
+
+		private final String _property;
+
+		private boolean _dropped;
+
+		private SharedGraphNode _folded;
+
+		Change(List<?> json) {
+			_json = json;
+
+			List<?> command = (List<?>) json.get(0);
+			Map<?, ?> properties = (Map<?, ?>) command.get(1);
+			_kind = (String) command.get(0);
+			_id = ((Number) properties.get(ID)).intValue();
+			_property = (String) properties.get(PROPERTY);
+		}
+
+		List<?> getJson() {
+			return _json;
+		}
+
+		int getId() {
+			return _id;
+		}
+
+		String getProperty() {
+			return _property;
+		}
+
+		SharedGraphNode resolve(ExternalScope scope) {
+			return scope.object(_id);
+		}
+
+		/**
+		 * Whether this change sets a transformation property.
+		 *
+		 * @see PackedTransform#isTransformProperty(Object, String)
+		 */
+		boolean setsTransform(ExternalScope scope) {
+			return SET.equals(_kind) && PackedTransform.isTransformProperty(resolve(scope), _property);
+		}
+
+		boolean isListOperation() {
+			return INSERT.equals(_kind) || REMOVE.equals(_kind);
+		}
+
+		/**
+		 * Whether this change may remove nodes or assets from the scene.
+		 *
+		 * <p>
+		 * Only changes of containment properties detach objects. Removals from reference lists such
+		 * as {@link SceneGraph#getSelection()} do not.
+		 * </p>
+		 */
+		boolean mayDetach() {
+			return (REMOVE.equals(_kind) || SET.equals(_kind)) && (GroupNode.CONTENTS__PROP.equals(_property)
+				|| SceneGraph.ROOT__PROP.equals(_property) || SceneGraph.ASSETS__PROP.equals(_property));
+		}
+
+		/**
+		 * Whether the value of this change contains the data of an object, not only references.
+		 */
+		boolean transfersData() {
+			return _json.size() > 1 && containsObject(_json.get(1));
+		}
+
+		private static boolean containsObject(Object value) {
+			if (value instanceof Map<?, ?>) {
+				return true;
+			}
+			if (value instanceof List<?>) {
+				for (Object element : (List<?>) value) {
+					if (containsObject(element)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		boolean isDropped() {
+			return _dropped;
+		}
+
+		void drop() {
+			_dropped = true;
+		}
+
+		boolean isFolded() {
+			return _folded != null;
+		}
+
+		SharedGraphNode getTarget() {
+			return _folded;
+		}
+
+		/**
+		 * Replaces this change with setting the current value of its property.
+		 */
+		void fold(SharedGraphNode target) {
+			_folded = target;
+		}
+
+	}
+
+}
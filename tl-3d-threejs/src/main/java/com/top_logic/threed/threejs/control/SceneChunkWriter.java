@@ -0,0 +1,302 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.top_logic.threed.threejs.scene.Asset;
+import com.top_logic.threed.threejs.scene.GroupNode;
+import com.top_logic.threed.threejs.scene.PartNode;
+import com.top_logic.threed.threejs.scene.SceneGraph;
+import com.top_logic.threed.threejs.scene.SceneNode;
+import com.top_logic.threed.threejs.scene.SceneUtils;
+
+import de.haumacher.msgbuf.graph.SharedGraphNode;
+import de.haumacher.msgbuf.io.StringW;
+import de.haumacher.msgbuf.json.JsonWriter;
+import de.haumacher.msgbuf.server.io.WriterAdapter;
+
+/**
+ * {@link JsonWriter} that writes a {@link SceneGraph} as a sequence of self-contained subtree
+ * chunks.
+ *
+ * <p>
+ * Each node in the {@link GroupNode#getContents() contents} of a group up to the configured depth is
+ * cut out of its parent and written to a separate chunk. The chunks are written level by level
+ * directly to the output, so the client can display the upper levels of the scene before the
+ * details have been serialized. While a chunk is written, the scope reports the nodes of later
+ * chunks as {@link ExternalScope#DEFERRED_ID deferred}, this writer drops the resulting references
+ * from the lists they are written to. Node references outside of lists are never deferred.
+ * </p>
+ *
+ * <h2>Format</h2>
+ *
+ * <p>
+ * The result is a sequence of JSON values, one per line:
+ * </p>
+ *
+ * <ol>
+ * <li>An object with the definitions of all {@link Asset}s of the scene (property
+ * <code>assets</code>). Since assets may be shared between nodes in different chunks, they are sent
+ * up front.</li>
+ * <li>For each chunk an array with the ID of the {@link GroupNode} it belongs to, the chunk root and
+ * the entries added to the {@link TransformPalette} by the chunk. The first chunk is the
+ * {@link SceneGraph} with the top levels of the node tree, its parent ID is <code>0</code>. Chunks of
+ * the same group are sent in the order of its contents.</li>
+ * <li>An object with the {@link SceneGraph#getSelection() selection} of the scene (property
+ * <code>selection</code>), since it may refer to nodes of any chunk.</li>
+ * </ol>
+ */
+public class SceneChunkWriter extends JsonWriter {
+
+	/**
+	 * The content type of the chunked scene format.
+	 */
+	public static final String CONTENT_TYPE = "application/x-ndjson";
+
+	/**
+	 * Default for the maximum depth of the group contents that are cut into separate chunks.
+	 */
+	public static final int DEFAULT_CHUNK_DEPTH = 3;
+
+	private static final String ASSETS = "assets";
+
+	private static final String SELECTION = "selection";
+
+	private final JsonWriter _out;
+
+	private final TransformPalette _palette;
+
+	private final TransformLocator _locator = new TransformLocator();
+
+	/**
+	 * Creates a {@link SceneChunkWriter}.
+	 *
+	 * @param out
+	 *        The output to write a single chunk to.
+	 * @param palette
+	 *        The palette to replace node transformations with their index.
+	 */
+	private SceneChunkWriter(Writer out, TransformPalette palette) {
+		// The text output of the super class is not used.
+		super(new StringW());
+		_out = new JsonWriter(new WriterAdapter(out));
+		_palette = palette;
+	}
+
+	/**
+	 * Writes the given {@link SceneGraph} in chunks to the given output.
+	 *
+	 * <p>
+	 * The output is flushed after each level of chunks.
+	 * </p>
+	 *
+	 * @param scope
+	 *        The scope assigning IDs to the written nodes.
+	 * @param graph
+	 *        The graph to write.
+	 * @param out
+	 *        The output to write to.
+	 * @param chunkDepth
+	 *        The maximum depth of the groups whose contents are cut into separate chunks. With depth
+	 *        <code>1</code>, each child of the root node is sent in its own chunk.
+	 * @param palette
+	 *        The palette to replace node transformations with their index.
+	 */
+	static void write(ExternalScope scope, SceneGraph graph, Writer out, int chunkDepth, TransformPalette palette)
+			throws IOException {
+		writeAssets(scope, graph, out);
+
+		SceneNode root = graph.getRoot();
+		List<Chunk> level = List.of(new Chunk(0, graph, chunkDepth > 0 ? contents(root) : List.of()));
+		for (int depth = 0; !level.isEmpty(); depth++) {
+			List<Chunk> next = new ArrayList<>();
+			for (Chunk chunk : level) {
+				Set<SceneNode> cut = Collections.newSetFromMap(new IdentityHashMap<>());
+				cut.addAll(chunk._cut);
+				if (depth == 0) {
+					// References to nodes other than the root are resolved by the selection trailer.
+					scope.setDeferred(chunkDepth > 0 ? node -> node instanceof SceneNode && node != root : null);
+				} else {
+					scope.setDeferred(cut::contains);
+				}
+				try {
+					writeChunk(scope, out, chunk, palette);
+				} finally {
+					scope.setDeferred(null);
+				}
+
+				if (!cut.isEmpty()) {
+					int parentId = scope.id(depth == 0 ? root : chunk._node);
+					boolean cutNext = depth + 1 < chunkDepth;
+					for (SceneNode child : chunk._cut) {
+						next.add(new Chunk(parentId, child, cutNext ? contents(child) : List.of()));
+					}
+				}
+			}
+
+			// Let the client start with the completed level.
+			out.flush();
+			level = next;
+		}
+
+		writeSelection(scope, graph, out);
+		out.flush();
+	}
+
+	private static void writeAssets(ExternalScope scope, SceneGraph graph, Writer out) throws IOException {
+		Set<Asset> assets = new LinkedHashSet<>();
+		for (SceneNode node : SceneUtils.collectAllNodes(graph, new ArrayList<>())) {
+			if (node instanceof PartNode part && part.getAsset() != null) {
+				assets.add(part.getAsset());
+			}
+		}
+
+		JsonWriter json = new JsonWriter(new WriterAdapter(out));
+		json.beginObject();
+		json.name(ASSETS);
+		json.beginArray();
+		for (Asset asset : assets) {
+			asset.writeTo(scope, json);
+		}
+		json.endArray();
+		json.endObject();
+		out.write('\n');
+	}
+
+	private static void writeChunk(ExternalScope scope, Writer out, Chunk chunk, TransformPalette palette)
+			throws IOException {
+		out.write('[');
+		out.write(Integer.toString(chunk._parentId));
+		out.write(',');
+		scope.writeRefOrData(new SceneChunkWriter(out, palette), chunk._node);
+		out.write(',');
+		palette.writeEntries(new JsonWriter(new WriterAdapter(out)), palette.takeNewEntries());
+		out.write("]\n");
+	}
+
+	private static void writeSelection(ExternalScope scope, SceneGraph graph, Writer out) throws IOException {
+		JsonWriter json = new JsonWriter(new WriterAdapter(out));
+		json.beginObject();
+		json.name(SELECTION);
+		json.beginArray();
+		for (SceneNode node : graph.getSelection()) {
+			node.writeTo(scope, json);
+		}
+		json.endArray();
+		json.endObject();
+		out.write('\n');
+	}
+
+	private static List<SceneNode> contents(SceneNode node) {
+		return node instanceof GroupNode group ? group.getContents() : List.of();
+	}
+
+	@Override
+	public JsonWriter beginArray() throws IOException {
+		_locator.beginArray();
+		_out.beginArray();
+		return this;
+	}
+
+	@Override
+	public JsonWriter endArray() throws IOException {
+		_locator.end();
+		_out.endArray();
+		return this;
+	}
+
+	@Override
+	public JsonWriter beginObject() throws IOException {
+		_locator.beginObject();
+		_out.beginObject();
+		return this;
+	}
+
+	@Override
+	public JsonWriter endObject() throws IOException {
+		_locator.end();
+		_out.endObject();
+		return this;
+	}
+
+	@Override
+	public JsonWriter name(String name) throws IOException {
+		_locator.name(name);
+		_out.name(name);
+		return this;
+	}
+
+	@Override
+	public JsonWriter nullValue() throws IOException {
+		_locator.value();
+		_out.nullValue();
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(boolean value) throws IOException {
+		_locator.value();
+		_out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(long value) throws IOException {
+		boolean reference = _locator.inArray();
+		_locator.value(value);
+		if (reference && value == ExternalScope.DEFERRED_ID) {
+			// Reference to a node of a later chunk, the node is added to its group there.
+			return this;
+		}
+		_out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(double value) throws IOException {
+		_locator.value();
+		_out.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(String value) throws IOException {
+		if (_locator.value(value)) {
+			_palette.writeTransform(_out, value);
+		} else {
+			_out.value(value);
+		}
+		return this;
+	}
+
+	private static final class Chunk {
+
+		final int _parentId;
+
+		final SharedGraphNode _node;
+
+		/**
+		 * The nodes written to separate chunks of the next level.
+		 */
+		final List<SceneNode> _cut;
+
+		Chunk(int parentId, SharedGraphNode node, List<SceneNode> cut) {
+			_parentId = parentId;
+			_node = node;
+			_cut = cut;
+		}
+
+	}
+
+}
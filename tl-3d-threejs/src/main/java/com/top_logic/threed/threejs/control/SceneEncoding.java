@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import com.top_logic.basic.config.ExternallyNamed;
+
+/**
+ * Format in which a {@link ThreeJsControl} delivers the initial scene to the client.
+ *
+ * <p>
+ * Incremental changes to the scene are always sent as JSON patches.
+ * </p>
+ */
+public enum SceneEncoding implements ExternallyNamed {
+
+	/**
+	 * The scene is sent as JSON text.
+	 */
+	JSON("json"),
+
+	/**
+	 * The scene is sent in the compact binary format written by {@link BinarySceneWriter}.
+	 *
+	 * <p>
+	 * For large scenes, the binary format is considerably smaller than JSON and is decoded in the
+	 * client without parsing text.
+	 * </p>
+	 */
+	BINARY("binary"),
+
+	/**
+	 * The scene is sent in subtree chunks written by {@link SceneChunkWriter}.
+	 *
+	 * <p>
+	 * The client displays the upper levels of a deep scene while the remaining subtrees are still
+	 * being downloaded.
+	 * </p>
+	 */
+	STREAM("stream"),
+
+	;
+
+	private final String _externalName;
+
+	private SceneEncoding(String externalName) {
+		_externalName = externalName;
+	}
+
+	@Override
+	public String getExternalName() {
+		return _externalName;
+	}
+
+}
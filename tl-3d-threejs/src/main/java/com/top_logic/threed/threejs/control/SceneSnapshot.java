@@ -0,0 +1,117 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The serialized form of a scene as delivered to the client.
+ *
+ * <p>
+ * A snapshot is identified by a hash of its content. As long as the scene does not change, the
+ * same snapshot is delivered to repeated requests without serializing the scene again.
+ * </p>
+ */
+final class SceneSnapshot {
+
+	private final String _contentType;
+
+	private final byte[] _data;
+
+	private final String _eTag;
+
+	private byte[] _gzipped;
+
+	/**
+	 * Creates a {@link SceneSnapshot}.
+	 *
+	 * @param contentType
+	 *        The content type of the serialized scene.
+	 * @param data
+	 *        The serialized scene.
+	 */
+	SceneSnapshot(String contentType, byte[] data) {
+		_contentType = contentType;
+		_data = data;
+		_eTag = "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash(data)) + "\"";
+	}
+
+	/**
+	 * The content type of the serialized scene.
+	 */
+	String getContentType() {
+		return _contentType;
+	}
+
+	/**
+	 * The serialized scene.
+	 */
+	byte[] getData() {
+		return _data;
+	}
+
+	/**
+	 * The serialized scene in <code>gzip</code> encoding.
+	 */
+	byte[] getGzipped() {
+		if (_gzipped == null) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(_data.length / 4);
+			try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+				out.write(_data);
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			_gzipped = buffer.toByteArray();
+		}
+		return _gzipped;
+	}
+
+	/**
+	 * The entity tag identifying the content of this snapshot.
+	 *
+	 * <p>
+	 * The tag is weak, since the same tag is used for the plain and the compressed representation.
+	 * </p>
+	 */
+	String getETag() {
+		return _eTag;
+	}
+
+	/**
+	 * Whether the given value of an <code>If-None-Match</code> header matches this snapshot.
+	 */
+	boolean matches(String ifNoneMatch) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String tag : ifNoneMatch.split(",")) {
+			String value = tag.trim();
+			if (value.equals("*") || weak(value).equals(weak(_eTag))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String weak(String eTag) {
+		return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+	}
+
+	private static byte[] hash(byte[] data) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(data);
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not supported.", ex);
+		}
+	}
+
+}
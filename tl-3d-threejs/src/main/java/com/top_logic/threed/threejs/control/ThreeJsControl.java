@@ -5,13 +5,20 @@
  */
 package com.top_logic.threed.threejs.control;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
 
 import com.top_logic.base.services.simpleajax.JSFunctionCall;
 import com.top_logic.basic.col.MapBuilder;
@@ -30,11 +37,11 @@ import com.top_logic.layout.basic.ControlCommand;
 import com.top_logic.mig.html.HTMLUtil;
 import com.top_logic.model.search.expr.query.QueryExecutor;
 import com.top_logic.threed.core.math.Transformation;
-import com.top_logic.threed.core.math.TransformationUtil;
 import com.top_logic.threed.threejs.component.CoordinateSystem;
 import com.top_logic.threed.threejs.component.CoordinateSystemProvider;
 import com.top_logic.threed.threejs.scene.ConnectionPoint;
 import com.top_logic.threed.threejs.scene.ImageData;
+import com.top_logic.threed.threejs.scene.PackedTransform;
 import com.top_logic.threed.threejs.scene.SceneGraph;
 import com.top_logic.threed.threejs.scene.SceneNode;
 import com.top_logic.threed.threejs.scene.ScenePart;
@@ -50,8 +57,8 @@ import de.haumacher.msgbuf.json.JsonReader;
 import de.haumacher.msgbuf.json.JsonWriter;
 import de.haumacher.msgbuf.observer.Listener;
 import de.haumacher.msgbuf.observer.Observable;
-import de.haumacher.msgbuf.server.io.WriterAdapter;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 /**
@@ -69,6 +76,18 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 
 	private final ExternalScope _nodeScope;
 
+	private final SceneEncoding _encoding;
+
+	/**
+	 * The last serialized form of the scene, <code>null</code> if the scene has changed since.
+	 */
+	private SceneSnapshot _snapshot;
+
+	/**
+	 * The transformations known to the client.
+	 */
+	private final TransformPalette _palette;
+
 	private boolean _isWorkplaneVisible;
 
 	private boolean _isSkyboxVisible;
@@ -217,12 +236,65 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 	};
 
 	/**
-	 * Creates a {@link ThreeJsControl}.
+	 * Creates a {@link ThreeJsControl} delivering the scene as JSON.
 	 */
 	public ThreeJsControl(SceneGraph model, Map<String, ImageData> dynamicImages) {
+		this(model, dynamicImages, SceneEncoding.JSON);
+	}
+
+	/**
+	 * Creates a {@link ThreeJsControl}.
+	 *
+	 * @param model
+	 *        The scene to display.
+	 * @param dynamicImages
+	 *        The dynamically created images of the scene by their ID.
+	 * @param encoding
+	 *        The format in which the scene is delivered to the client.
+	 */
+	public ThreeJsControl(SceneGraph model, Map<String, ImageData> dynamicImages, SceneEncoding encoding) {
+		this(model, dynamicImages, encoding, TransformPrecision.EXACT);
+	}
+
+	/**
+	 * Creates a {@link ThreeJsControl}.
+	 *
+	 * @param model
+	 *        The scene to display.
+	 * @param dynamicImages
+	 *        The dynamically created images of the scene by their ID.
+	 * @param encoding
+	 *        The format in which the scene is delivered to the client.
+	 * @param precision
+	 *        The precision in which transformations are sent to the client.
+	 */
+	public ThreeJsControl(SceneGraph model, Map<String, ImageData> dynamicImages, SceneEncoding encoding,
+			TransformPrecision precision) {
+		this(model, dynamicImages, encoding, precision, true);
+	}
+
+	/**
+	 * Creates a {@link ThreeJsControl}.
+	 *
+	 * @param model
+	 *        The scene to display.
+	 * @param dynamicImages
+	 *        The dynamically created images of the scene by their ID.
+	 * @param encoding
+	 *        The format in which the scene is delivered to the client.
+	 * @param precision
+	 *        The precision in which transformations are sent to the client.
+	 * @param transformPalette
+	 *        Whether repeated transformations are sent only once through a {@link TransformPalette}.
+	 *        Otherwise, each transformation is sent with the node it belongs to.
+	 */
+	public ThreeJsControl(SceneGraph model, Map<String, ImageData> dynamicImages, SceneEncoding encoding,
+			TransformPrecision precision, boolean transformPalette) {
 		super(COMMANDS);
 		_model = model;
 		_imageByID = dynamicImages;
+		_encoding = encoding;
+		_palette = new TransformPalette(precision, transformPalette);
 		_nodeScope = new ExternalScope(2, 0);
 	}
 
@@ -367,8 +439,8 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 			_gizmoControl.setConsumer(null);
 			_gizmoControl.setModel(null);
 		} else {
-			List<Double> transform = node.getTransform();
-			if (transform.size() == 12) {
+			Transformation transform = SceneUtils.getTransform(node);
+			if (transform != null) {
 				_gizmoControl.setConsumer(null);
 				ScenePart parent = node.getParent();
 				Transformation absoluteParentTX;
@@ -377,7 +449,7 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 				} else {
 					absoluteParentTX = Transformation.identity();
 				}
-				_gizmoControl.setModel(absoluteParentTX.after(TransformationUtil.fromList(transform)));
+				_gizmoControl.setModel(absoluteParentTX.after(transform));
 				_gizmoControl
 					.setConsumer(tx -> SceneUtils.setTransform(node, absoluteParentTX.inverse().after(tx)));
 			}
@@ -430,11 +502,20 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 		if (_nodeScope.hasChanges()) {
 			Writer out = new StringW();
 			try {
-				_nodeScope.createPatch(new JsonWriter(out));
+				PatchCompactor.createPatch(_nodeScope, _model, _palette, new TransformPaletteWriter(out, _palette));
 			} catch (IOException ex) {
 				throw new UncheckedIOException(ex);
 			}
-			actions.add(new JSFunctionCall(getID(), THREEJS_JS_NS, "sceneChanged", out.toString()));
+			List<String> newTransforms = _palette.takeNewEntries();
+			if (newTransforms.isEmpty()) {
+				actions.add(new JSFunctionCall(getID(), THREEJS_JS_NS, "sceneChanged", out.toString()));
+			} else {
+				actions.add(new JSFunctionCall(getID(), THREEJS_JS_NS, "sceneChanged", out.toString(),
+					toJson(newTransforms)));
+			}
+
+			// The client is now ahead of the last snapshot.
+			_snapshot = null;
 		}
 
 	}
@@ -445,8 +526,9 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 		writeControlAttributes(context, out);
 		out.endBeginTag();
 		
-		String dataUrl =
-			getFrameScope().getURL(context, this).appendParameter("t", Long.toString(System.nanoTime())).getURL();
+		// Repeated requests are answered from the browser cache as long as the scene is unchanged, see
+		// handleContent(...).
+		String dataUrl = getFrameScope().getURL(context, this).getURL();
 		String imageUrl = getFrameScope().getURL(context, _imageData).getURL();
 
 		Map<String, Object> initialState = new MapBuilder<String, Object>()
@@ -459,6 +541,8 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 			.put("isInEditMode", _isInEditMode)
 			.put("isRotateMode", _isRotateMode)
 			.put("areObjectsTransparent", _areObjectsTransparent)
+			.put("translationQuantum", _palette.getPrecision().getTranslationQuantum())
+			.put("rotationQuantum", _palette.getPrecision().getRotationQuantum())
 			.toMap();
 
 		String initialStateJson = JSON.toString(initialState);
@@ -475,12 +559,162 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 
 	@Override
 	public void handleContent(DisplayContext context, String id, URLParser url) throws IOException {
+		HttpServletRequest request = context.asRequest();
 		HttpServletResponse response = context.asResponse();
-		response.setContentType("application/json");
-		response.setCharacterEncoding("utf-8");
 
+		if (_encoding == SceneEncoding.STREAM) {
+			streamScene(request, response);
+			return;
+		}
+
+		SceneSnapshot snapshot = snapshot();
+		response.setHeader("ETag", snapshot.getETag());
+		response.setHeader("Cache-Control", "private, no-cache");
+		response.setHeader("Vary", "Accept-Encoding");
+		if (snapshot.matches(request.getHeader("If-None-Match"))) {
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			return;
+		}
+
+		byte[] data;
+		if (acceptsGzip(request.getHeader("Accept-Encoding"))) {
+			response.setHeader("Content-Encoding", "gzip");
+			data = snapshot.getGzipped();
+		} else {
+			data = snapshot.getData();
+		}
+		response.setContentType(snapshot.getContentType());
+		response.setContentLength(data.length);
+		response.getOutputStream().write(data);
+	}
+
+	/**
+	 * Writes the scene in chunks directly to the response.
+	 *
+	 * <p>
+	 * The chunks are not cached in a {@link SceneSnapshot}, since the client shall be able to display
+	 * the upper levels of the scene before the complete scene has been serialized.
+	 * </p>
+	 */
+	private void streamScene(HttpServletRequest request, HttpServletResponse response) throws IOException {
 		_nodeScope.clear();
-		_nodeScope.writeRefOrData(new JsonWriter(new WriterAdapter(response.getWriter())), _model);
+		_palette.clear();
+		_snapshot = null;
+
+		response.setHeader("Cache-Control", "no-store");
+		response.setHeader("Vary", "Accept-Encoding");
+		response.setContentType(SceneChunkWriter.CONTENT_TYPE + ";charset=utf-8");
+
+		OutputStream stream = response.getOutputStream();
+		GZIPOutputStream gzip = null;
+		if (acceptsGzip(request.getHeader("Accept-Encoding"))) {
+			response.setHeader("Content-Encoding", "gzip");
+			// Sync flush, so that each level reaches the client as soon as it is complete.
+			gzip = new GZIPOutputStream(stream, true);
+			stream = gzip;
+		}
+		OutputStreamWriter out = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+		SceneChunkWriter.write(_nodeScope, _model, out, SceneChunkWriter.DEFAULT_CHUNK_DEPTH, _palette);
+		out.flush();
+		if (gzip != null) {
+			gzip.finish();
+		}
+	}
+
+	/**
+	 * Whether the given value of an <code>Accept-Encoding</code> header allows a <code>gzip</code>
+	 * encoded response.
+	 *
+	 * <p>
+	 * A coding with quality value <code>0</code> is not acceptable. An explicit entry for
+	 * <code>gzip</code> takes precedence over the wildcard <code>*</code>.
+	 * </p>
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		double gzipQuality = -1;
+		double anyQuality = -1;
+		for (String entry : acceptEncoding.split(",")) {
+			String[] parts = entry.split(";");
+			String coding = parts[0].trim().toLowerCase();
+			double quality = 1;
+			for (int n = 1; n < parts.length; n++) {
+				String parameter = parts[n].trim();
+				if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+					try {
+						quality = Double.parseDouble(parameter.substring(2).trim());
+					} catch (NumberFormatException ex) {
+						quality = 0;
+					}
+				}
+			}
+			if (coding.equals("gzip") || coding.equals("x-gzip")) {
+				gzipQuality = Math.max(gzipQuality, quality);
+			} else if (coding.equals("*")) {
+				anyQuality = Math.max(anyQuality, quality);
+			}
+		}
+		double quality = gzipQuality >= 0 ? gzipQuality : anyQuality;
+		return quality > 0;
+	}
+
+	/**
+	 * The serialized scene to deliver to the client.
+	 *
+	 * <p>
+	 * The last snapshot is reused, if the scene has not changed since it was created. Otherwise, the
+	 * scope is reset and the scene is serialized again.
+	 * </p>
+	 */
+	private SceneSnapshot snapshot() throws IOException {
+		if (_snapshot == null || _nodeScope.hasChanges()) {
+			_nodeScope.clear();
+			_palette.clear();
+			_snapshot = createSnapshot();
+
+			// All transformations are part of the snapshot.
+			_palette.takeNewEntries();
+		}
+		return _snapshot;
+	}
+
+	private SceneSnapshot createSnapshot() throws IOException {
+		switch (_encoding) {
+			case BINARY: {
+				BinarySceneWriter out = new BinarySceneWriter(_palette);
+				_nodeScope.writeRefOrData(out, _model);
+
+				ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+				out.writeTo(buffer);
+				return new SceneSnapshot(BinarySceneWriter.CONTENT_TYPE, buffer.toByteArray());
+			}
+			case JSON:
+			default: {
+				StringW scene = new StringW();
+				_nodeScope.writeRefOrData(new TransformPaletteWriter(scene, _palette), _model);
+
+				String json;
+				if (_palette.isEnabled()) {
+					json = "{\"palette\":" + toJson(_palette.getEntries()) + ",\"scene\":" + scene + "}";
+				} else {
+					// Transformations are contained in the scene.
+					json = scene.toString();
+				}
+				return new SceneSnapshot("application/json;charset=utf-8", json.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	private String toJson(List<String> transforms) {
+		StringW out = new StringW();
+		try {
+			_palette.writeEntries(new JsonWriter(out), transforms);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return out.toString();
 	}
 
 	/**
@@ -528,6 +762,7 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 			throw new UncheckedIOException(ex);
 		}
 		_nodeScope.dropChanges();
+		_snapshot = null;
 	}
 
 	/**
@@ -552,8 +787,19 @@ public class ThreeJsControl extends AbstractControl implements ContentHandler {
 
 class ExternalScope extends DefaultScope {
 
+	/**
+	 * ID reported for objects that are not yet known to the client, but must not be written now.
+	 *
+	 * @see #setDeferred(Predicate)
+	 */
+	static final int DEFERRED_ID = -1;
+
 	Map<SharedGraphNode, Integer> _objectIds = new HashMap<>();
 
+	Map<Integer, SharedGraphNode> _objectsById = new HashMap<>();
+
+	private Predicate<? super SharedGraphNode> _deferred;
+
 	/**
 	 * Creates a {@link ExternalScope}.
 	 */
@@ -563,6 +809,7 @@ class ExternalScope extends DefaultScope {
 
 	public void clear() {
 		_objectIds.clear();
+		_objectsById.clear();
 		index().clear();
 
 		dropChanges();
@@ -571,12 +818,80 @@ class ExternalScope extends DefaultScope {
 	@Override
 	public int id(SharedGraphNode node) {
 		Integer id = _objectIds.get(node);
-		return id == null ? 0 : id.intValue();
+		if (id != null) {
+			return id.intValue();
+		}
+		if (_deferred != null && _deferred.test(node)) {
+			return DEFERRED_ID;
+		}
+		return 0;
+	}
+
+	/**
+	 * Sets the objects whose data is written later on.
+	 *
+	 * <p>
+	 * References to such objects are written as {@link #DEFERRED_ID} instead of writing their data.
+	 * </p>
+	 *
+	 * @param deferred
+	 *        Predicate selecting the deferred objects, <code>null</code> for none.
+	 */
+	void setDeferred(Predicate<? super SharedGraphNode> deferred) {
+		_deferred = deferred;
+	}
+
+	/**
+	 * Rejects values of transformation properties that are not packed transformations.
+	 *
+	 * <p>
+	 * The transformation properties are strings in the model, but the client can only decode the
+	 * {@link PackedTransform packed form}.
+	 * </p>
+	 */
+	@Override
+	public void beforeSet(Observable obj, String property, Object value) {
+		if (PackedTransform.isTransformProperty(obj, property)) {
+			PackedTransform.checkValue((String) value);
+		}
+		super.beforeSet(obj, property, value);
 	}
 
 	@Override
 	public void initId(SharedGraphNode node, int id) {
 		_objectIds.put(node, Integer.valueOf(id));
+		_objectsById.put(Integer.valueOf(id), node);
+	}
+
+	/**
+	 * The object with the given ID, <code>null</code> if there is no such object.
+	 */
+	SharedGraphNode object(int id) {
+		return _objectsById.get(Integer.valueOf(id));
+	}
+
+	/**
+	 * Drops the ID of the given object.
+	 *
+	 * <p>
+	 * The scope stops observing the object, since the client can no longer apply changes to it.
+	 * When the object is referenced again, it is transferred with its complete data under a new ID.
+	 * </p>
+	 */
+	void forget(SharedGraphNode node) {
+		Integer id = _objectIds.remove(node);
+		if (id != null) {
+			_objectsById.remove(id);
+			index().remove(id);
+			node.unregisterListener(this);
+		}
+	}
+
+	/**
+	 * All objects that currently have an ID.
+	 */
+	Collection<SharedGraphNode> objects() {
+		return _objectsById.values();
 	}
 
 }
\ No newline at end of file
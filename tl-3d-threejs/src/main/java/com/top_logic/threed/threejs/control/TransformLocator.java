@@ -0,0 +1,171 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.top_logic.threed.threejs.scene.ConnectionPoint;
+import com.top_logic.threed.threejs.scene.GroupNode;
+import com.top_logic.threed.threejs.scene.PartNode;
+import com.top_logic.threed.threejs.scene.SceneNode;
+
+import de.haumacher.msgbuf.json.JsonWriter;
+
+/**
+ * Follows the values written to a {@link JsonWriter} to find the transformations in graph data.
+ *
+ * <p>
+ * A scope writes the data of an object as array <code>[type, id, {properties}]</code>. A string
+ * value is a transformation, if it is the value of the transformation property in the properties of
+ * an object whose type has such a property (see {@link SceneNode#getTransform()} and
+ * {@link ConnectionPoint#getTransform()}). Properties of the same name in other values are not
+ * transformations.
+ * </p>
+ *
+ * <p>
+ * The writer must report each value it writes by calling the method of the same name.
+ * Transformations in patch commands are not detected, see
+ * {@link PatchCompactor#createPatch(ExternalScope, com.top_logic.threed.threejs.scene.SceneGraph, TransformPalette, JsonWriter)}.
+ * </p>
+ */
+final class TransformLocator {
+
+	/**
+	 * Types of the objects with a transformation property.
+	 */
+	private static final Set<String> TRANSFORM_TYPES =
+		Set.of(GroupNode.GROUP_NODE__TYPE, PartNode.PART_NODE__TYPE, ConnectionPoint.CONNECTION_POINT__TYPE);
+
+	/**
+	 * The arrays and objects that are currently open, innermost last.
+	 */
+	private final List<Container> _stack = new ArrayList<>();
+
+	/**
+	 * Reports the start of an array.
+	 */
+	void beginArray() {
+		element();
+		_stack.add(new Container(true, null));
+	}
+
+	/**
+	 * Reports the start of an object.
+	 */
+	void beginObject() {
+		Container top = top();
+		String type = top != null && top._array && top._size == 2 && top._hasId ? top._type : null;
+		element();
+		_stack.add(new Container(false, type));
+	}
+
+	/**
+	 * Reports the end of an array or object.
+	 */
+	void end() {
+		_stack.remove(_stack.size() - 1);
+	}
+
+	/**
+	 * Reports the name of the property whose value is written next.
+	 */
+	void name(String name) {
+		top()._name = name;
+	}
+
+	/**
+	 * Reports an integer value.
+	 */
+	void value(long value) {
+		Container top = top();
+		if (top != null && top._array && top._size == 1 && top._type != null) {
+			top._hasId = true;
+		}
+		element();
+	}
+
+	/**
+	 * Reports a value that is neither a string nor an integer.
+	 */
+	void value() {
+		element();
+	}
+
+	/**
+	 * Reports a string value.
+	 *
+	 * @return Whether the value is a transformation.
+	 */
+	boolean value(String value) {
+		Container top = top();
+		boolean result = top != null && !top._array && SceneNode.TRANSFORM__PROP.equals(top._name)
+			&& top._type != null && TRANSFORM_TYPES.contains(top._type);
+		if (top != null && top._array && top._size == 0) {
+			top._type = value;
+		}
+		element();
+		return result;
+	}
+
+	/**
+	 * Whether the value written next is an element of an array.
+	 */
+	boolean inArray() {
+		Container top = top();
+		return top != null && top._array;
+	}
+
+	private void element() {
+		Container top = top();
+		if (top == null) {
+			return;
+		}
+		if (top._array) {
+			top._size++;
+		} else {
+			top._name = null;
+		}
+	}
+
+	private Container top() {
+		return _stack.isEmpty() ? null : _stack.get(_stack.size() - 1);
+	}
+
+	private static final class Container {
+
+		final boolean _array;
+
+		/**
+		 * For an array, the string in its first element. For an object, the type of the object whose
+		 * properties it holds.
+		 */
+		String _type;
+
+		/**
+		 * Number of elements written to an array.
+		 */
+		int _size;
+
+		/**
+		 * Whether the second element of an array is an integer.
+		 */
+		boolean _hasId;
+
+		/**
+		 * Name of the object property whose value is written next.
+		 */
+		String _name;
+
+		Container(boolean array, String type) {
+			_array = array;
+			_type = type;
+		}
+
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.threejs.scene.PackedTransform;
+import com.top_logic.threed.threejs.scene.SceneNode;
+
+import de.haumacher.msgbuf.json.JsonWriter;
+
+/**
+ * Table of the distinct transformations sent to the client.
+ *
+ * <p>
+ * Scenes typically reuse a small set of local transformations (rotations by multiples of 90°, grid
+ * steps, fixed offsets). Instead of sending the packed form of a transformation (see
+ * {@link SceneNode#getTransform()}) with each node, a transformation is sent once and nodes refer to
+ * it by its index in the palette. The client keeps the palette for the lifetime of the scene, so that
+ * later patches can refer to entries sent before.
+ * </p>
+ *
+ * <p>
+ * Entries are only ever appended. The palette is limited to {@link #MAX_SIZE} entries, further
+ * transformations are sent in the same form as an entry, see {@link #writeTransform(JsonWriter, String)}.
+ * </p>
+ *
+ * <p>
+ * Transformations are rounded to the {@link TransformPrecision} of the palette before they are
+ * entered, so that transformations differing only below the precision share a single entry.
+ * </p>
+ *
+ * <p>
+ * A palette that is not {@link #isEnabled() enabled} has no entries. All transformations are
+ * written in the form of an entry, which is their packed form in full precision.
+ * </p>
+ */
+public class TransformPalette {
+
+	/**
+	 * Maximum number of entries.
+	 */
+	public static final int MAX_SIZE = 1 << 16;
+
+	private final Map<String, Integer> _indexByValue = new HashMap<>();
+
+	private final List<String> _entries = new ArrayList<>();
+
+	private final TransformPrecision _precision;
+
+	private final boolean _enabled;
+
+	private int _delivered;
+
+	/**
+	 * Creates a {@link TransformPalette} sending transformations in full precision.
+	 */
+	public TransformPalette() {
+		this(TransformPrecision.EXACT);
+	}
+
+	/**
+	 * Creates a {@link TransformPalette}.
+	 *
+	 * @param precision
+	 *        The precision in which transformations are sent.
+	 */
+	public TransformPalette(TransformPrecision precision) {
+		this(precision, true);
+	}
+
+	/**
+	 * Creates a {@link TransformPalette}.
+	 *
+	 * @param precision
+	 *        The precision in which transformations are sent.
+	 * @param enabled
+	 *        Whether transformations are replaced by their index, see {@link #isEnabled()}.
+	 */
+	public TransformPalette(TransformPrecision precision, boolean enabled) {
+		_precision = precision;
+		_enabled = enabled;
+	}
+
+	/**
+	 * Whether transformations are entered into this palette and replaced by their index.
+	 *
+	 * <p>
+	 * Otherwise, {@link #writeTransform(JsonWriter, String)} writes each transformation in the form
+	 * of an entry, and the palette stays empty.
+	 * </p>
+	 */
+	public boolean isEnabled() {
+		return _enabled;
+	}
+
+	/**
+	 * The precision in which transformations are sent.
+	 */
+	public TransformPrecision getPrecision() {
+		return _precision;
+	}
+
+	/**
+	 * Whether the given property value can be replaced by a palette index.
+	 *
+	 * <p>
+	 * The short form of the identity is not replaced, since it is not longer than an index.
+	 * </p>
+	 */
+	public static boolean isPaletteValue(String value) {
+		if (value == null) {
+			return false;
+		}
+		int length = value.length();
+		return length == PackedTransform.FULL_SIZE || length == PackedTransform.TRANSLATION_SIZE;
+	}
+
+	/**
+	 * The index of the given packed transformation.
+	 *
+	 * <p>
+	 * A new transformation is appended to the palette.
+	 * </p>
+	 *
+	 * @return The palette index, or <code>-1</code> if the transformation is new and the palette
+	 *         is full, or if the palette is not {@link #isEnabled() enabled}.
+	 */
+	public int indexOf(String transform) {
+		if (!_enabled) {
+			return -1;
+		}
+		transform = round(transform);
+		Integer index = _indexByValue.get(transform);
+		if (index != null) {
+			return index.intValue();
+		}
+		if (_entries.size() == MAX_SIZE) {
+			return -1;
+		}
+		int result = _entries.size();
+		_indexByValue.put(transform, Integer.valueOf(result));
+		_entries.add(transform);
+		return result;
+	}
+
+	/**
+	 * The given packed transformation rounded to the {@link #getPrecision() precision} of this
+	 * palette.
+	 */
+	public String round(String transform) {
+		if (_precision.isExact()) {
+			return transform;
+		}
+		return PackedTransform.encode(_precision.round(PackedTransform.decode(transform)));
+	}
+
+	/**
+	 * Writes the value of a transformation property.
+	 *
+	 * <p>
+	 * A transformation that can be entered into the palette is replaced by its index. If the palette
+	 * is full or not {@link #isEnabled() enabled}, the transformation is written in the same form as
+	 * an entry. Other values (the short
+	 * form of the identity and the empty string) are written unchanged.
+	 * </p>
+	 *
+	 * @param out
+	 *        The output to write to.
+	 * @param transform
+	 *        The packed transformation, see {@link SceneNode#getTransform()}.
+	 */
+	public void writeTransform(JsonWriter out, String transform) throws IOException {
+		if (!isPaletteValue(transform)) {
+			out.value(transform);
+			return;
+		}
+		int index = indexOf(transform);
+		if (index >= 0) {
+			out.value(index);
+		} else {
+			writeEntry(out, transform);
+		}
+	}
+
+	/**
+	 * Writes a single entry, see {@link #writeEntries(JsonWriter, List)}.
+	 */
+	private void writeEntry(JsonWriter out, String transform) throws IOException {
+		if (_precision.isExact()) {
+			out.value(transform);
+		} else {
+			_precision.write(out, PackedTransform.decode(transform));
+		}
+	}
+
+	/**
+	 * All entries in the order of their indices.
+	 */
+	public List<String> getEntries() {
+		return Collections.unmodifiableList(_entries);
+	}
+
+	/**
+	 * The entries added since the last call.
+	 *
+	 * <p>
+	 * The returned entries are considered to be delivered to the client.
+	 * </p>
+	 */
+	public List<String> takeNewEntries() {
+		List<String> result = new ArrayList<>(_entries.subList(_delivered, _entries.size()));
+		_delivered = _entries.size();
+		return result;
+	}
+
+	/**
+	 * Removes all entries.
+	 *
+	 * <p>
+	 * Must be called when the client starts over with a new scene.
+	 * </p>
+	 */
+	public void clear() {
+		_indexByValue.clear();
+		_entries.clear();
+		_delivered = 0;
+	}
+
+	/**
+	 * Writes the given entries as JSON array.
+	 *
+	 * <p>
+	 * In full precision, each entry is written in its packed form. Otherwise, an entry is written as
+	 * array of integer multiples of the quantums, see {@link TransformPrecision#write(JsonWriter,
+	 * Transformation)}.
+	 * </p>
+	 */
+	public void writeEntries(JsonWriter out, List<String> entries) throws IOException {
+		out.beginArray();
+		for (String entry : entries) {
+			writeEntry(out, entry);
+		}
+		out.endArray();
+	}
+
+}
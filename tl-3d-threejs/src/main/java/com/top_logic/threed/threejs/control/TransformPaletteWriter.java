@@ -0,0 +1,104 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.io.IOException;
+
+import de.haumacher.msgbuf.io.Writer;
+import de.haumacher.msgbuf.json.JsonWriter;
+
+/**
+ * {@link JsonWriter} that replaces transformations with their index in a {@link TransformPalette}.
+ *
+ * <p>
+ * Transformations are recognized in graph data, see {@link TransformLocator}. Transformations set by
+ * patch commands are written by
+ * {@link PatchCompactor#createPatch(ExternalScope, com.top_logic.threed.threejs.scene.SceneGraph, TransformPalette, JsonWriter)}.
+ * </p>
+ */
+public class TransformPaletteWriter extends JsonWriter {
+
+	private final TransformPalette _palette;
+
+	private final TransformLocator _locator = new TransformLocator();
+
+	/**
+	 * Creates a {@link TransformPaletteWriter}.
+	 *
+	 * @param out
+	 *        The output to write to.
+	 * @param palette
+	 *        The palette to look up and add transformations.
+	 */
+	public TransformPaletteWriter(Writer out, TransformPalette palette) {
+		super(out);
+		_palette = palette;
+	}
+
+	@Override
+	public JsonWriter beginArray() throws IOException {
+		_locator.beginArray();
+		return super.beginArray();
+	}
+
+	@Override
+	public JsonWriter endArray() throws IOException {
+		_locator.end();
+		return super.endArray();
+	}
+
+	@Override
+	public JsonWriter beginObject() throws IOException {
+		_locator.beginObject();
+		return super.beginObject();
+	}
+
+	@Override
+	public JsonWriter endObject() throws IOException {
+		_locator.end();
+		return super.endObject();
+	}
+
+	@Override
+	public JsonWriter name(String name) throws IOException {
+		_locator.name(name);
+		return super.name(name);
+	}
+
+	@Override
+	public JsonWriter nullValue() throws IOException {
+		_locator.value();
+		return super.nullValue();
+	}
+
+	@Override
+	public JsonWriter value(boolean value) throws IOException {
+		_locator.value();
+		return super.value(value);
+	}
+
+	@Override
+	public JsonWriter value(long value) throws IOException {
+		_locator.value(value);
+		return super.value(value);
+	}
+
+	@Override
+	public JsonWriter value(double value) throws IOException {
+		_locator.value();
+		return super.value(value);
+	}
+
+	@Override
+	public JsonWriter value(String value) throws IOException {
+		if (_locator.value(value)) {
+			_palette.writeTransform(this, value);
+			return this;
+		}
+		return super.value(value);
+	}
+
+}
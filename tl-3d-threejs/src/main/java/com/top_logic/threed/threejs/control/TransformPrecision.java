@@ -0,0 +1,141 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import java.io.IOException;
+
+import com.top_logic.threed.core.math.Transformation;
+
+import de.haumacher.msgbuf.json.JsonWriter;
+
+/**
+ * Precision in which transformations are sent to the client.
+ *
+ * <p>
+ * The rotation entries and the translation of a transformation are rounded to multiples of a
+ * quantum each and sent as integer multiples of it. A viewer that displays positions in millimetres
+ * does not need the 17 significant digits of a double value. A quantum of <code>0</code> sends the
+ * respective part in full precision.
+ * </p>
+ *
+ * <p>
+ * The binary scene format transfers the transformations of the initial scene as full doubles in
+ * its transformation section, whether or not the {@link TransformPalette} is enabled, see
+ * {@link BinarySceneWriter}. There, rounding only reduces the number of distinct transformations.
+ * Updates are always sent as JSON. Without palette, each transformation of an update is written in
+ * the form of a palette entry, i.e. as packed string in full precision, or as integer multiples of
+ * the quantums otherwise.
+ * </p>
+ */
+public final class TransformPrecision {
+
+	/**
+	 * Sends all transformations in full precision.
+	 */
+	public static final TransformPrecision EXACT = new TransformPrecision(0, 0);
+
+	private final double _translationQuantum;
+
+	private final double _rotationQuantum;
+
+	/**
+	 * Creates a {@link TransformPrecision}.
+	 *
+	 * @param translationQuantum
+	 *        See {@link #getTranslationQuantum()}.
+	 * @param rotationQuantum
+	 *        See {@link #getRotationQuantum()}.
+	 */
+	public TransformPrecision(double translationQuantum, double rotationQuantum) {
+		if (!(translationQuantum >= 0) || !(rotationQuantum >= 0)) {
+			throw new IllegalArgumentException(
+				"Quantums must not be negative: " + translationQuantum + ", " + rotationQuantum);
+		}
+		_translationQuantum = translationQuantum;
+		_rotationQuantum = rotationQuantum;
+	}
+
+	/**
+	 * The quantum to which translations are rounded, <code>0</code> for full precision.
+	 */
+	public double getTranslationQuantum() {
+		return _translationQuantum;
+	}
+
+	/**
+	 * The quantum to which the entries of the rotation matrix are rounded, <code>0</code> for full
+	 * precision.
+	 */
+	public double getRotationQuantum() {
+		return _rotationQuantum;
+	}
+
+	/**
+	 * Whether transformations are sent in full precision.
+	 */
+	public boolean isExact() {
+		return _translationQuantum == 0 && _rotationQuantum == 0;
+	}
+
+	/**
+	 * The given transformation rounded to this precision.
+	 */
+	public Transformation round(Transformation tx) {
+		if (isExact()) {
+			return tx;
+		}
+		double r = _rotationQuantum;
+		double t = _translationQuantum;
+		return new Transformation(
+			round(tx.a(), r), round(tx.b(), r), round(tx.c(), r),
+			round(tx.d(), r), round(tx.e(), r), round(tx.f(), r),
+			round(tx.g(), r), round(tx.h(), r), round(tx.i(), r),
+			round(tx.x(), t), round(tx.y(), t), round(tx.z(), t));
+	}
+
+	/**
+	 * Writes the given transformation as array of 12 numbers, each a multiple of the respective
+	 * quantum.
+	 *
+	 * <p>
+	 * The client multiplies each number with the quantum to reconstruct the transformation.
+	 * </p>
+	 */
+	public void write(JsonWriter out, Transformation tx) throws IOException {
+		double r = _rotationQuantum;
+		double t = _translationQuantum;
+		out.beginArray();
+		writeMultiple(out, tx.a(), r);
+		writeMultiple(out, tx.b(), r);
+		writeMultiple(out, tx.c(), r);
+		writeMultiple(out, tx.d(), r);
+		writeMultiple(out, tx.e(), r);
+		writeMultiple(out, tx.f(), r);
+		writeMultiple(out, tx.g(), r);
+		writeMultiple(out, tx.h(), r);
+		writeMultiple(out, tx.i(), r);
+		writeMultiple(out, tx.x(), t);
+		writeMultiple(out, tx.y(), t);
+		writeMultiple(out, tx.z(), t);
+		out.endArray();
+	}
+
+	private static void writeMultiple(JsonWriter out, double value, double quantum) throws IOException {
+		if (quantum == 0) {
+			out.value(value);
+		} else {
+			out.value(Math.round(value / quantum));
+		}
+	}
+
+	private static double round(double value, double quantum) {
+		if (quantum == 0) {
+			return value;
+		}
+		return Math.round(value / quantum) * quantum;
+	}
+
+}
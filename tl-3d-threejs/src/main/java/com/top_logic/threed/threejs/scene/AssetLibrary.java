@@ -0,0 +1,187 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.scene;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.top_logic.basic.StringServices;
+
+/**
+ * Maintains the {@link SceneGraph#getAssets() asset library} of a {@link SceneGraph}.
+ *
+ * <p>
+ * Scene builders create a separate {@link Asset} for each {@link PartNode}, even if many parts
+ * display the same artifact. The library replaces each asset by an equal asset already contained in
+ * the scene, so that each distinct asset is kept in memory and transferred to the client only once.
+ * Two assets are equal, if they display the same <tt>glTF</tt> data (the same URL or the same
+ * dynamic image) and have the same connection points.
+ * </p>
+ *
+ * <p>
+ * The library counts the {@link PartNode}s referencing each asset. When the last part of an asset is
+ * {@link #release(SceneNode) released}, the asset is removed from the scene.
+ * </p>
+ */
+public class AssetLibrary {
+
+	private final SceneGraph _scene;
+
+	private final Map<Object, Shared> _assetByKey = new HashMap<>();
+
+	/**
+	 * Creates an {@link AssetLibrary}.
+	 *
+	 * @param scene
+	 *        The scene whose {@link SceneGraph#getAssets() assets} are maintained.
+	 */
+	public AssetLibrary(SceneGraph scene) {
+		_scene = scene;
+	}
+
+	/**
+	 * Removes all assets from the library.
+	 */
+	public void clear() {
+		_assetByKey.clear();
+		_scene.getAssets().clear();
+	}
+
+	/**
+	 * Replaces the assets of all {@link PartNode}s in the given subtree with the shared assets of
+	 * the library.
+	 *
+	 * <p>
+	 * Must be called before the subtree is added to the scene, so that new assets are known to the
+	 * client before they are referenced.
+	 * </p>
+	 */
+	public void share(SceneNode subtree) {
+		subtree.visit(SceneUtils.ForAllNodes.INSTANCE, node -> {
+			if (node instanceof PartNode part && part.hasAsset()) {
+				Asset shared = share(part.getAsset());
+				if (shared != part.getAsset()) {
+					part.setAsset(shared);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Releases the assets of all {@link PartNode}s in the given subtree.
+	 *
+	 * <p>
+	 * Must be called after the subtree has been removed from the scene. Assets no longer referenced
+	 * by any part are removed from the scene.
+	 * </p>
+	 */
+	public void release(SceneNode subtree) {
+		subtree.visit(SceneUtils.ForAllNodes.INSTANCE, node -> {
+			if (node instanceof PartNode part && part.hasAsset()) {
+				release(part.getAsset());
+			}
+		});
+	}
+
+	/**
+	 * The asset of the library equal to the given one.
+	 *
+	 * <p>
+	 * If there is no such asset yet, the given asset is added to the library. Each call adds a
+	 * reference to the returned asset that must be {@link #release(Asset) released}, when the asset
+	 * is no longer used.
+	 * </p>
+	 */
+	public Asset share(Asset asset) {
+		Object key = key(asset);
+		Shared existing = _assetByKey.get(key);
+		if (existing != null) {
+			existing._references++;
+			return existing._asset;
+		}
+		_assetByKey.put(key, new Shared(asset));
+		_scene.addAsset(asset);
+		return asset;
+	}
+
+	/**
+	 * Drops a reference to the given asset obtained from {@link #share(Asset)}.
+	 *
+	 * <p>
+	 * When the last reference is dropped, the asset is removed from the library and the scene.
+	 * </p>
+	 */
+	public void release(Asset asset) {
+		Object key = key(asset);
+		Shared existing = _assetByKey.get(key);
+		if (existing == null || existing._asset != asset) {
+			// Not managed by this library.
+			return;
+		}
+		if (--existing._references == 0) {
+			_assetByKey.remove(key);
+			_scene.removeAsset(asset);
+		}
+	}
+
+	private static Object key(Asset asset) {
+		List<Object> points = new ArrayList<>();
+		points.add(key(asset.getLayoutPoint()));
+		for (ConnectionPoint point : asset.getSnappingPoints()) {
+			points.add(key(point));
+		}
+
+		return asset.visit(new Asset.Visitor<Object, Void, RuntimeException>() {
+			@Override
+			public Object visit(GltfAsset self, Void arg) {
+				return Arrays.asList(GltfAsset.GLTF_ASSET__TYPE, self.getUrl(), key(self.getDynamicImage()), points);
+			}
+
+			@Override
+			public Object visit(Cube self, Void arg) {
+				return Arrays.asList(Cube.CUBE__TYPE, self.getWidth(), self.getHeight(), self.getDepth(), points);
+			}
+		}, null);
+	}
+
+	private static Object key(ConnectionPoint point) {
+		if (point == null) {
+			return null;
+		}
+		return Arrays.asList(point.getTransform(), List.copyOf(point.getClassifiers()));
+	}
+
+	private static Object key(ImageData image) {
+		if (image == null) {
+			return null;
+		}
+		String id = image.getImageID();
+		if (!StringServices.isEmpty(id)) {
+			return id;
+		}
+		// The image ID is derived from the user data, see ThreeJsComponent.
+		return image.getUserData();
+	}
+
+	private static final class Shared {
+
+		final Asset _asset;
+
+		/**
+		 * The number of {@link PartNode}s referencing {@link #_asset}.
+		 */
+		int _references = 1;
+
+		Shared(Asset asset) {
+			_asset = asset;
+		}
+
+	}
+
+}
@@ -26,22 +26,7 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 
 	private com.top_logic.threed.threejs.scene.Asset _owner = null;
 
-	private final java.util.List<Double> _transform = new de.haumacher.msgbuf.util.ReferenceList<Double>() {
-		@Override
-		protected void beforeAdd(int index, Double element) {
-			_listener.beforeAdd(ConnectionPoint.this, TRANSFORM__PROP, index, element);
-		}
-
-		@Override
-		protected void afterRemove(int index, Double element) {
-			_listener.afterRemove(ConnectionPoint.this, TRANSFORM__PROP, index, element);
-		}
-
-		@Override
-		protected void afterChanged() {
-			_listener.afterChanged(ConnectionPoint.this, TRANSFORM__PROP);
-		}
-	};
+	private String _transform = "";
 
 	private final java.util.List<String> _classifiers = new de.haumacher.msgbuf.util.ReferenceList<String>() {
 		@Override
@@ -103,43 +88,36 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 
 	/**
 	 * Transformation where the connection point in its {@link SceneNode} lies.
+	 *
+	 * <p>
+	 * The value is opaque. Use
+	 * {@link SceneUtils#setTransform(ConnectionPoint, com.top_logic.threed.core.math.Transformation)}
+	 * and {@link SceneUtils#getTransform(ConnectionPoint)} to access it. It holds the transformation
+	 * in {@link PackedTransform packed form}, the empty string stands for no transformation.
+	 * </p>
+	 *
+	 * <p>
+	 * A scene displayed by a {@link com.top_logic.threed.threejs.control.ThreeJsControl} rejects
+	 * other values with an {@link IllegalArgumentException}.
+	 * </p>
 	 */
-	public final java.util.List<Double> getTransform() {
+	public final String getTransform() {
 		return _transform;
 	}
 
 	/**
 	 * @see #getTransform()
 	 */
-	public com.top_logic.threed.threejs.scene.ConnectionPoint setTransform(java.util.List<? extends Double> value) {
+	public com.top_logic.threed.threejs.scene.ConnectionPoint setTransform(String value) {
 		internalSetTransform(value);
 		return this;
 	}
 
 	/** Internal setter for {@link #getTransform()} without chain call utility. */
-	protected final void internalSetTransform(java.util.List<? extends Double> value) {
-		_transform.clear();
-		_transform.addAll(value);
-	}
-
-	/**
-	 * Adds a value to the {@link #getTransform()} list.
-	 */
-	public com.top_logic.threed.threejs.scene.ConnectionPoint addTransform(double value) {
-		internalAddTransform(value);
-		return this;
-	}
-
-	/** Implementation of {@link #addTransform(double)} without chain call utility. */
-	protected final void internalAddTransform(double value) {
-		_transform.add(value);
-	}
-
-	/**
-	 * Removes a value from the {@link #getTransform()} list.
-	 */
-	public final void removeTransform(double value) {
-		_transform.remove(value);
+	protected final void internalSetTransform(String value) {
+		_listener.beforeSet(this, TRANSFORM__PROP, value);
+		_transform = value;
+		_listener.afterChanged(this, TRANSFORM__PROP);
 	}
 
 	/**
@@ -221,7 +199,7 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 	@Override
 	public void set(String field, Object value) {
 		switch (field) {
-			case TRANSFORM__PROP: internalSetTransform(de.haumacher.msgbuf.util.Conversions.asList(Double.class, value)); break;
+			case TRANSFORM__PROP: internalSetTransform((String) value); break;
 			case CLASSIFIERS__PROP: internalSetClassifiers(de.haumacher.msgbuf.util.Conversions.asList(String.class, value)); break;
 		}
 	}
@@ -245,11 +223,7 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 	protected void writeFields(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonWriter out) throws java.io.IOException {
 		super.writeFields(scope, out);
 		out.name(TRANSFORM__PROP);
-		out.beginArray();
-		for (double x : getTransform()) {
-			out.value(x);
-		}
-		out.endArray();
+		out.value(getTransform());
 		out.name(CLASSIFIERS__PROP);
 		out.beginArray();
 		for (String x : getClassifiers()) {
@@ -270,11 +244,7 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 				break;
 			}
 			case TRANSFORM__PROP: {
-				out.beginArray();
-				for (double x : getTransform()) {
-					out.value(x);
-				}
-				out.endArray();
+				out.value(getTransform());
 				break;
 			}
 			case CLASSIFIERS__PROP: {
@@ -292,16 +262,7 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 	@Override
 	public void readField(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonReader in, String field) throws java.io.IOException {
 		switch (field) {
-			case TRANSFORM__PROP: {
-				java.util.List<Double> newValue = new java.util.ArrayList<>();
-				in.beginArray();
-				while (in.hasNext()) {
-					newValue.add(in.nextDouble());
-				}
-				in.endArray();
-				setTransform(newValue);
-			}
-			break;
+			case TRANSFORM__PROP: setTransform(de.haumacher.msgbuf.json.JsonUtil.nextStringOptional(in)); break;
 			case CLASSIFIERS__PROP: {
 				java.util.List<String> newValue = new java.util.ArrayList<>();
 				in.beginArray();
@@ -319,10 +280,6 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 	@Override
 	public void writeElement(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonWriter out, String field, Object element) throws java.io.IOException {
 		switch (field) {
-			case TRANSFORM__PROP: {
-				out.value(((double) element));
-				break;
-			}
 			case CLASSIFIERS__PROP: {
 				out.value(((String) element));
 				break;
@@ -334,9 +291,6 @@ public class ConnectionPoint extends de.haumacher.msgbuf.graph.AbstractSharedGra
 	@Override
 	public Object readElement(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonReader in, String field) throws java.io.IOException {
 		switch (field) {
-			case TRANSFORM__PROP: {
-				return in.nextDouble();
-			}
 			case CLASSIFIERS__PROP: {
 				return de.haumacher.msgbuf.json.JsonUtil.nextStringOptional(in);
 			}
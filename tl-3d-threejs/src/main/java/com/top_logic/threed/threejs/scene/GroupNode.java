@@ -112,17 +112,11 @@ public class GroupNode extends SceneNode {
 	}
 
 	@Override
-	public com.top_logic.threed.threejs.scene.GroupNode setTransform(java.util.List<? extends Double> value) {
+	public com.top_logic.threed.threejs.scene.GroupNode setTransform(String value) {
 		internalSetTransform(value);
 		return this;
 	}
 
-	@Override
-	public com.top_logic.threed.threejs.scene.GroupNode addTransform(double value) {
-		internalAddTransform(value);
-		return this;
-	}
-
 	@Override
 	public com.top_logic.threed.threejs.scene.GroupNode setHidden(boolean value) {
 		internalSetHidden(value);
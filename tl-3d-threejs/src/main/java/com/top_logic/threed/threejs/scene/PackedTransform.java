@@ -0,0 +1,302 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.scene;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.top_logic.threed.core.math.TransformBuffer;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.TransformationUtil;
+
+/**
+ * Packed form of a {@link Transformation} in the scene model and on the wire to the client.
+ *
+ * <p>
+ * The packed form is the value of {@link SceneNode#getTransform()} and
+ * {@link ConnectionPoint#getTransform()}. It is decoded by <code>decodeTX()</code> in
+ * <code>ThreeJsUtils.js</code>. There are three forms:
+ * </p>
+ *
+ * <dl>
+ * <dt>Identity</dt>
+ * <dd>The string {@value #IDENTITY}.</dd>
+ *
+ * <dt>Translation</dt>
+ * <dd>{@value #TRANSLATION} followed by the 3 translation values as little-endian IEEE 754 doubles
+ * in Base64 encoding, {@value #TRANSLATION_SIZE} characters in total.</dd>
+ *
+ * <dt>Full</dt>
+ * <dd>The 12 values in the order of {@link TransformationUtil#toList(Transformation)} as
+ * little-endian IEEE 754 doubles in Base64 encoding, {@value #FULL_SIZE} characters in total.</dd>
+ * </dl>
+ */
+public final class PackedTransform {
+
+	/**
+	 * The packed form of the identity.
+	 */
+	public static final String IDENTITY = "I";
+
+	/**
+	 * Prefix of the packed form of a translation.
+	 */
+	public static final String TRANSLATION = "T";
+
+	/**
+	 * Number of characters of the packed form of a translation.
+	 */
+	public static final int TRANSLATION_SIZE = 1 + 3 * Double.BYTES / 3 * 4;
+
+	/**
+	 * Number of characters of the full packed form.
+	 */
+	public static final int FULL_SIZE = 12 * Double.BYTES / 3 * 4;
+
+	private PackedTransform() {
+		// Static utility.
+	}
+
+	/**
+	 * Creates the packed form of the given {@link Transformation}.
+	 */
+	public static String encode(Transformation transformation) {
+		switch (transformation.kind()) {
+			case IDENTITY:
+				return IDENTITY;
+			case TRANSLATION: {
+				ByteBuffer bytes = allocate(3);
+				bytes.asDoubleBuffer().put(transformation.x()).put(transformation.y()).put(transformation.z());
+				return TRANSLATION + Base64.getEncoder().encodeToString(bytes.array());
+			}
+			default: {
+				ByteBuffer bytes = allocate(12);
+				bytes.asDoubleBuffer()
+					.put(transformation.a()).put(transformation.b()).put(transformation.c())
+					.put(transformation.d()).put(transformation.e()).put(transformation.f())
+					.put(transformation.g()).put(transformation.h()).put(transformation.i())
+					.put(transformation.x()).put(transformation.y()).put(transformation.z());
+				return Base64.getEncoder().encodeToString(bytes.array());
+			}
+		}
+	}
+
+	/**
+	 * Decodes the packed form.
+	 *
+	 * @throws IllegalArgumentException
+	 *         If the given value is not a packed transformation.
+	 *
+	 * @see #encode(Transformation)
+	 */
+	public static Transformation decode(String value) {
+		if (value.equals(IDENTITY)) {
+			return Transformation.identity();
+		}
+		DoubleBuffer values = values(value);
+		if (values.remaining() == 3) {
+			return Transformation.translate(values.get(), values.get(), values.get());
+		}
+		return new Transformation(
+			values.get(), values.get(), values.get(),
+			values.get(), values.get(), values.get(),
+			values.get(), values.get(), values.get(),
+			values.get(), values.get(), values.get());
+	}
+
+	/**
+	 * Decodes the packed form directly into the given buffer.
+	 *
+	 * <p>
+	 * In contrast to {@link #decode(String)}, no {@link Transformation} is created. This is meant
+	 * for bulk operations that visit each value only once.
+	 * </p>
+	 *
+	 * @throws IllegalArgumentException
+	 *         If the given value is not a packed transformation.
+	 *
+	 * @see #encode(Transformation)
+	 */
+	public static void decode(String value, TransformBuffer out, int index) {
+		if (value.equals(IDENTITY)) {
+			out.setIdentity(index);
+			return;
+		}
+		DoubleBuffer values = values(value);
+		if (values.remaining() == 3) {
+			out.set(index,
+				1, 0, 0,
+				0, 1, 0,
+				0, 0, 1,
+				values.get(), values.get(), values.get());
+		} else {
+			out.set(index,
+				values.get(), values.get(), values.get(),
+				values.get(), values.get(), values.get(),
+				values.get(), values.get(), values.get(),
+				values.get(), values.get(), values.get());
+		}
+	}
+
+	/**
+	 * Decodes the packed form into the given array without allocating.
+	 *
+	 * <p>
+	 * The 12 values are written in the order of {@link TransformationUtil#toList(Transformation)}.
+	 * The Base64 characters are decoded in place, so that this method can be used for each step of
+	 * a hierarchy walk.
+	 * </p>
+	 *
+	 * @param value
+	 *        The packed transformation.
+	 * @param out
+	 *        The array to write the values to.
+	 * @param offset
+	 *        The index of the first value in the given array.
+	 *
+	 * @throws IllegalArgumentException
+	 *         If the given value is not a packed transformation.
+	 *
+	 * @see #encode(Transformation)
+	 */
+	public static void decode(String value, double[] out, int offset) {
+		if (value.equals(IDENTITY)) {
+			setIdentity(out, offset);
+		} else if (value.length() == TRANSLATION_SIZE && value.startsWith(TRANSLATION)) {
+			setIdentity(out, offset);
+			decodeDoubles(value, 1, out, offset + 9, 3);
+		} else if (value.length() == FULL_SIZE) {
+			decodeDoubles(value, 0, out, offset, 12);
+		} else {
+			throw new IllegalArgumentException("Not a packed transformation: " + value);
+		}
+	}
+
+	private static void setIdentity(double[] out, int offset) {
+		Arrays.fill(out, offset, offset + 12, 0.0);
+		out[offset] = 1;
+		out[offset + 4] = 1;
+		out[offset + 8] = 1;
+	}
+
+	/**
+	 * Decodes little-endian doubles from the Base64 characters starting at the given position.
+	 */
+	private static void decodeDoubles(String value, int start, double[] out, int offset, int count) {
+		int bits = 0;
+		int bitCount = 0;
+		long current = 0;
+		int bytes = 0;
+		int index = offset;
+		for (int n = start, length = value.length(); n < length; n++) {
+			bits = (bits << 6) | sextet(value, n);
+			bitCount += 6;
+			if (bitCount >= 8) {
+				bitCount -= 8;
+				current |= (long) ((bits >>> bitCount) & 0xFF) << (8 * bytes);
+				if (++bytes == Double.BYTES) {
+					out[index++] = Double.longBitsToDouble(current);
+					current = 0;
+					bytes = 0;
+				}
+			}
+		}
+		assert index == offset + count;
+	}
+
+	private static int sextet(String value, int index) {
+		char ch = value.charAt(index);
+		if (ch >= 'A' && ch <= 'Z') {
+			return ch - 'A';
+		} else if (ch >= 'a' && ch <= 'z') {
+			return ch - 'a' + 26;
+		} else if (ch >= '0' && ch <= '9') {
+			return ch - '0' + 52;
+		} else if (ch == '+') {
+			return 62;
+		} else if (ch == '/') {
+			return 63;
+		}
+		throw new IllegalArgumentException("Not a packed transformation: " + value);
+	}
+
+	/**
+	 * Whether the given value is a packed transformation.
+	 */
+	public static boolean isPacked(String value) {
+		if (value.equals(IDENTITY)) {
+			return true;
+		}
+		int start;
+		if (value.length() == TRANSLATION_SIZE && value.startsWith(TRANSLATION)) {
+			start = 1;
+		} else if (value.length() == FULL_SIZE) {
+			start = 0;
+		} else {
+			return false;
+		}
+		for (int n = start, length = value.length(); n < length; n++) {
+			char ch = value.charAt(n);
+			boolean base64 = (ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9')
+				|| ch == '+' || ch == '/';
+			if (!base64) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Whether the given property of the given object holds a packed transformation.
+	 *
+	 * @see SceneNode#getTransform()
+	 * @see ConnectionPoint#getTransform()
+	 */
+	public static boolean isTransformProperty(Object obj, String property) {
+		return (obj instanceof SceneNode && SceneNode.TRANSFORM__PROP.equals(property))
+			|| (obj instanceof ConnectionPoint && ConnectionPoint.TRANSFORM__PROP.equals(property));
+	}
+
+	/**
+	 * Checks that the given value is a valid value of a transformation property.
+	 *
+	 * @param value
+	 *        The packed transformation, or the empty string for no transformation.
+	 * @throws IllegalArgumentException
+	 *         If the given value is neither empty nor a packed transformation.
+	 *
+	 * @see SceneNode#getTransform()
+	 * @see ConnectionPoint#getTransform()
+	 */
+	public static void checkValue(String value) {
+		if (value == null || !(value.isEmpty() || isPacked(value))) {
+			throw new IllegalArgumentException("Not a packed transformation: " + value);
+		}
+	}
+
+	/**
+	 * The doubles of the translation or full form.
+	 */
+	private static DoubleBuffer values(String value) {
+		byte[] bytes;
+		if (value.length() == TRANSLATION_SIZE && value.startsWith(TRANSLATION)) {
+			bytes = Base64.getDecoder().decode(value.substring(1));
+		} else if (value.length() == FULL_SIZE) {
+			bytes = Base64.getDecoder().decode(value);
+		} else {
+			throw new IllegalArgumentException("Not a packed transformation: " + value);
+		}
+		return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+	}
+
+	private static ByteBuffer allocate(int doubles) {
+		return ByteBuffer.allocate(doubles * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+}
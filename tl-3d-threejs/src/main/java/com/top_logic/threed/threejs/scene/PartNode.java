@@ -36,6 +36,11 @@ public class PartNode extends SceneNode {
 
 	/**
 	 * The {@link Asset} to display.
+	 *
+	 * <p>
+	 * The asset is shared between all nodes displaying the same artifact and is owned by the
+	 * {@link SceneGraph#getAssets() asset library} of the scene.
+	 * </p>
 	 */
 	public final com.top_logic.threed.threejs.scene.Asset getAsset() {
 		return _asset;
@@ -76,17 +81,11 @@ public class PartNode extends SceneNode {
 	}
 
 	@Override
-	public com.top_logic.threed.threejs.scene.PartNode setTransform(java.util.List<? extends Double> value) {
+	public com.top_logic.threed.threejs.scene.PartNode setTransform(String value) {
 		internalSetTransform(value);
 		return this;
 	}
 
-	@Override
-	public com.top_logic.threed.threejs.scene.PartNode addTransform(double value) {
-		internalAddTransform(value);
-		return this;
-	}
-
 	@Override
 	public com.top_logic.threed.threejs.scene.PartNode setHidden(boolean value) {
 		internalSetHidden(value);
@@ -15,6 +15,9 @@ public class SceneGraph extends ScenePart {
 	/** Identifier for the {@link com.top_logic.threed.threejs.scene.SceneGraph} type in JSON format. */
 	public static final String SCENE_GRAPH__TYPE = "SceneGraph";
 
+	/** @see #getAssets() */
+	public static final String ASSETS__PROP = "assets";
+
 	/** @see #getRoot() */
 	public static final String ROOT__PROP = "root";
 
@@ -33,6 +36,23 @@ public class SceneGraph extends ScenePart {
 	/** @see #getNumberOfFloors() */
 	public static final String NUMBER_OF_FLOORS__PROP = "numberOfFloors";
 
+	private final java.util.List<com.top_logic.threed.threejs.scene.Asset> _assets = new de.haumacher.msgbuf.util.ReferenceList<com.top_logic.threed.threejs.scene.Asset>() {
+		@Override
+		protected void beforeAdd(int index, com.top_logic.threed.threejs.scene.Asset element) {
+			_listener.beforeAdd(SceneGraph.this, ASSETS__PROP, index, element);
+		}
+
+		@Override
+		protected void afterRemove(int index, com.top_logic.threed.threejs.scene.Asset element) {
+			_listener.afterRemove(SceneGraph.this, ASSETS__PROP, index, element);
+		}
+
+		@Override
+		protected void afterChanged() {
+			_listener.afterChanged(SceneGraph.this, ASSETS__PROP);
+		}
+	};
+
 	private com.top_logic.threed.threejs.scene.SceneNode _root = null;
 
 	private final java.util.List<com.top_logic.threed.threejs.scene.SceneNode> _selection = new de.haumacher.msgbuf.util.ReferenceList<com.top_logic.threed.threejs.scene.SceneNode>() {
@@ -89,6 +109,53 @@ public class SceneGraph extends ScenePart {
 		return TypeKind.SCENE_GRAPH;
 	}
 
+	/**
+	 * Library of the {@link Asset}s displayed in this scene.
+	 *
+	 * <p>
+	 * Each asset is transferred once and referenced by all {@link PartNode}s displaying it. The
+	 * library is serialized before the node tree.
+	 * </p>
+	 */
+	public final java.util.List<com.top_logic.threed.threejs.scene.Asset> getAssets() {
+		return _assets;
+	}
+
+	/**
+	 * @see #getAssets()
+	 */
+	public com.top_logic.threed.threejs.scene.SceneGraph setAssets(java.util.List<? extends com.top_logic.threed.threejs.scene.Asset> value) {
+		internalSetAssets(value);
+		return this;
+	}
+
+	/** Internal setter for {@link #getAssets()} without chain call utility. */
+	protected final void internalSetAssets(java.util.List<? extends com.top_logic.threed.threejs.scene.Asset> value) {
+		if (value == null) throw new IllegalArgumentException("Property 'assets' cannot be null.");
+		_assets.clear();
+		_assets.addAll(value);
+	}
+
+	/**
+	 * Adds a value to the {@link #getAssets()} list.
+	 */
+	public com.top_logic.threed.threejs.scene.SceneGraph addAsset(com.top_logic.threed.threejs.scene.Asset value) {
+		internalAddAsset(value);
+		return this;
+	}
+
+	/** Implementation of {@link #addAsset(com.top_logic.threed.threejs.scene.Asset)} without chain call utility. */
+	protected final void internalAddAsset(com.top_logic.threed.threejs.scene.Asset value) {
+		_assets.add(value);
+	}
+
+	/**
+	 * Removes a value from the {@link #getAssets()} list.
+	 */
+	public final void removeAsset(com.top_logic.threed.threejs.scene.Asset value) {
+		_assets.remove(value);
+	}
+
 	/**
 	 * The top-level {@link SceneNode} of the scene.
 	 */
@@ -288,6 +355,7 @@ public class SceneGraph extends ScenePart {
 
 	private static java.util.List<String> PROPERTIES = java.util.Collections.unmodifiableList(
 		java.util.Arrays.asList(
+			ASSETS__PROP, 
 			ROOT__PROP, 
 			SELECTION__PROP, 
 			COORDINATE_SYSTEM__PROP, 
@@ -312,6 +380,7 @@ public class SceneGraph extends ScenePart {
 	@Override
 	public Object get(String field) {
 		switch (field) {
+			case ASSETS__PROP: return getAssets();
 			case ROOT__PROP: return getRoot();
 			case SELECTION__PROP: return getSelection();
 			case COORDINATE_SYSTEM__PROP: return getCoordinateSystem();
@@ -325,6 +394,7 @@ public class SceneGraph extends ScenePart {
 	@Override
 	public void set(String field, Object value) {
 		switch (field) {
+			case ASSETS__PROP: internalSetAssets(de.haumacher.msgbuf.util.Conversions.asList(com.top_logic.threed.threejs.scene.Asset.class, value)); break;
 			case ROOT__PROP: internalSetRoot((com.top_logic.threed.threejs.scene.SceneNode) value); break;
 			case SELECTION__PROP: internalSetSelection(de.haumacher.msgbuf.util.Conversions.asList(com.top_logic.threed.threejs.scene.SceneNode.class, value)); break;
 			case COORDINATE_SYSTEM__PROP: internalSetCoordinateSystem(de.haumacher.msgbuf.util.Conversions.asList(Double.class, value)); break;
@@ -353,6 +423,12 @@ public class SceneGraph extends ScenePart {
 	@Override
 	protected void writeFields(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonWriter out) throws java.io.IOException {
 		super.writeFields(scope, out);
+		out.name(ASSETS__PROP);
+		out.beginArray();
+		for (com.top_logic.threed.threejs.scene.Asset x : getAssets()) {
+			x.writeTo(scope, out);
+		}
+		out.endArray();
 		if (hasRoot()) {
 			out.name(ROOT__PROP);
 			getRoot().writeTo(scope, out);
@@ -380,6 +456,14 @@ public class SceneGraph extends ScenePart {
 	@Override
 	public void writeFieldValue(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonWriter out, String field) throws java.io.IOException {
 		switch (field) {
+			case ASSETS__PROP: {
+				out.beginArray();
+				for (com.top_logic.threed.threejs.scene.Asset x : getAssets()) {
+					x.writeTo(scope, out);
+				}
+				out.endArray();
+				break;
+			}
 			case ROOT__PROP: {
 				if (hasRoot()) {
 					getRoot().writeTo(scope, out);
@@ -423,6 +507,16 @@ public class SceneGraph extends ScenePart {
 	@Override
 	public void readField(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonReader in, String field) throws java.io.IOException {
 		switch (field) {
+			case ASSETS__PROP: {
+				java.util.List<com.top_logic.threed.threejs.scene.Asset> newValue = new java.util.ArrayList<>();
+				in.beginArray();
+				while (in.hasNext()) {
+					newValue.add(com.top_logic.threed.threejs.scene.Asset.readAsset(scope, in));
+				}
+				in.endArray();
+				setAssets(newValue);
+			}
+			break;
 			case ROOT__PROP: setRoot(com.top_logic.threed.threejs.scene.SceneNode.readSceneNode(scope, in)); break;
 			case SELECTION__PROP: {
 				java.util.List<com.top_logic.threed.threejs.scene.SceneNode> newValue = new java.util.ArrayList<>();
@@ -454,6 +548,10 @@ public class SceneGraph extends ScenePart {
 	@Override
 	public void writeElement(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonWriter out, String field, Object element) throws java.io.IOException {
 		switch (field) {
+			case ASSETS__PROP: {
+				((com.top_logic.threed.threejs.scene.Asset) element).writeTo(scope, out);
+				break;
+			}
 			case SELECTION__PROP: {
 				((com.top_logic.threed.threejs.scene.SceneNode) element).writeTo(scope, out);
 				break;
@@ -469,6 +567,9 @@ public class SceneGraph extends ScenePart {
 	@Override
 	public Object readElement(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonReader in, String field) throws java.io.IOException {
 		switch (field) {
+			case ASSETS__PROP: {
+				return com.top_logic.threed.threejs.scene.Asset.readAsset(scope, in);
+			}
 			case SELECTION__PROP: {
 				return com.top_logic.threed.threejs.scene.SceneNode.readSceneNode(scope, in);
 			}
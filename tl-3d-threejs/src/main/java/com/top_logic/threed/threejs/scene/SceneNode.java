@@ -35,22 +35,7 @@ public abstract class SceneNode extends ScenePart {
 
 	private boolean _selectable = false;
 
-	private final java.util.List<Double> _transform = new de.haumacher.msgbuf.util.ReferenceList<Double>() {
-		@Override
-		protected void beforeAdd(int index, Double element) {
-			_listener.beforeAdd(SceneNode.this, TRANSFORM__PROP, index, element);
-		}
-
-		@Override
-		protected void afterRemove(int index, Double element) {
-			_listener.afterRemove(SceneNode.this, TRANSFORM__PROP, index, element);
-		}
-
-		@Override
-		protected void afterChanged() {
-			_listener.afterChanged(SceneNode.this, TRANSFORM__PROP);
-		}
-	};
+	private String _transform = "";
 
 	private boolean _hidden = false;
 
@@ -117,43 +102,37 @@ public abstract class SceneNode extends ScenePart {
 
 	/**
 	 * Transformation where this scene node lies.
+	 *
+	 * <p>
+	 * The value is opaque. Use
+	 * {@link SceneUtils#setTransform(SceneNode, com.top_logic.threed.core.math.Transformation)} and
+	 * {@link SceneUtils#getTransform(SceneNode)} to access it. It holds the transformation in
+	 * {@link PackedTransform packed form}, the empty string stands for no transformation. The value
+	 * is always replaced as a whole, so that a change is reported as a single event.
+	 * </p>
+	 *
+	 * <p>
+	 * A scene displayed by a {@link com.top_logic.threed.threejs.control.ThreeJsControl} rejects
+	 * other values with an {@link IllegalArgumentException}.
+	 * </p>
 	 */
-	public final java.util.List<Double> getTransform() {
+	public final String getTransform() {
 		return _transform;
 	}
 
 	/**
 	 * @see #getTransform()
 	 */
-	public com.top_logic.threed.threejs.scene.SceneNode setTransform(java.util.List<? extends Double> value) {
+	public com.top_logic.threed.threejs.scene.SceneNode setTransform(String value) {
 		internalSetTransform(value);
 		return this;
 	}
 
 	/** Internal setter for {@link #getTransform()} without chain call utility. */
-	protected final void internalSetTransform(java.util.List<? extends Double> value) {
-		_transform.clear();
-		_transform.addAll(value);
-	}
-
-	/**
-	 * Adds a value to the {@link #getTransform()} list.
-	 */
-	public com.top_logic.threed.threejs.scene.SceneNode addTransform(double value) {
-		internalAddTransform(value);
-		return this;
-	}
-
-	/** Implementation of {@link #addTransform(double)} without chain call utility. */
-	protected final void internalAddTransform(double value) {
-		_transform.add(value);
-	}
-
-	/**
-	 * Removes a value from the {@link #getTransform()} list.
-	 */
-	public final void removeTransform(double value) {
-		_transform.remove(value);
+	protected final void internalSetTransform(String value) {
+		_listener.beforeSet(this, TRANSFORM__PROP, value);
+		_transform = value;
+		_listener.afterChanged(this, TRANSFORM__PROP);
 	}
 
 	/**
@@ -239,7 +218,7 @@ public abstract class SceneNode extends ScenePart {
 		switch (field) {
 			case USER_DATA__PROP: internalSetUserData((java.lang.Object) value); break;
 			case SELECTABLE__PROP: internalSetSelectable((boolean) value); break;
-			case TRANSFORM__PROP: internalSetTransform(de.haumacher.msgbuf.util.Conversions.asList(Double.class, value)); break;
+			case TRANSFORM__PROP: internalSetTransform((String) value); break;
 			case HIDDEN__PROP: internalSetHidden((boolean) value); break;
 			case COLOR__PROP: internalSetColor((String) value); break;
 			default: super.set(field, value); break;
@@ -273,11 +252,7 @@ public abstract class SceneNode extends ScenePart {
 		out.name(SELECTABLE__PROP);
 		out.value(isSelectable());
 		out.name(TRANSFORM__PROP);
-		out.beginArray();
-		for (double x : getTransform()) {
-			out.value(x);
-		}
-		out.endArray();
+		out.value(getTransform());
 		out.name(HIDDEN__PROP);
 		out.value(isHidden());
 		out.name(COLOR__PROP);
@@ -299,11 +274,7 @@ public abstract class SceneNode extends ScenePart {
 				break;
 			}
 			case TRANSFORM__PROP: {
-				out.beginArray();
-				for (double x : getTransform()) {
-					out.value(x);
-				}
-				out.endArray();
+				out.value(getTransform());
 				break;
 			}
 			case HIDDEN__PROP: {
@@ -322,43 +293,13 @@ public abstract class SceneNode extends ScenePart {
 	public void readField(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonReader in, String field) throws java.io.IOException {
 		switch (field) {
 			case SELECTABLE__PROP: setSelectable(in.nextBoolean()); break;
-			case TRANSFORM__PROP: {
-				java.util.List<Double> newValue = new java.util.ArrayList<>();
-				in.beginArray();
-				while (in.hasNext()) {
-					newValue.add(in.nextDouble());
-				}
-				in.endArray();
-				setTransform(newValue);
-			}
-			break;
+			case TRANSFORM__PROP: setTransform(de.haumacher.msgbuf.json.JsonUtil.nextStringOptional(in)); break;
 			case HIDDEN__PROP: setHidden(in.nextBoolean()); break;
 			case COLOR__PROP: setColor(de.haumacher.msgbuf.json.JsonUtil.nextStringOptional(in)); break;
 			default: super.readField(scope, in, field);
 		}
 	}
 
-	@Override
-	public void writeElement(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonWriter out, String field, Object element) throws java.io.IOException {
-		switch (field) {
-			case TRANSFORM__PROP: {
-				out.value(((double) element));
-				break;
-			}
-			default: super.writeElement(scope, out, field, element);
-		}
-	}
-
-	@Override
-	public Object readElement(de.haumacher.msgbuf.graph.Scope scope, de.haumacher.msgbuf.json.JsonReader in, String field) throws java.io.IOException {
-		switch (field) {
-			case TRANSFORM__PROP: {
-				return in.nextDouble();
-			}
-			default: return super.readElement(scope, in, field);
-		}
-	}
-
 	/** Accepts the given visitor. */
 	public abstract <R,A,E extends Throwable> R visit(Visitor<R,A,E> v, A arg) throws E;
 
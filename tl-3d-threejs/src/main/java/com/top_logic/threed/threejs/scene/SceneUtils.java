@@ -6,6 +6,8 @@
 package com.top_logic.threed.threejs.scene;
 
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -13,8 +15,11 @@ import java.util.function.Consumer;
 
 import com.top_logic.basic.StringServices;
 import com.top_logic.layout.form.format.ColorFormat;
+import com.top_logic.threed.core.math.MutableTransformation;
+import com.top_logic.threed.core.math.TransformBuffer;
 import com.top_logic.threed.core.math.Transformation;
 import com.top_logic.threed.core.math.TransformationUtil;
+import com.top_logic.threed.core.math.format.TransformationCache;
 
 /**
  * Service class to work with scene objects.
@@ -23,6 +28,13 @@ import com.top_logic.threed.core.math.TransformationUtil;
  */
 public class SceneUtils {
 
+	/**
+	 * Maximum number of decoded node transformations kept in memory.
+	 */
+	private static final int TRANSFORM_CACHE_SIZE = 4096;
+
+	private static final TransformationCache TRANSFORM_CACHE = new TransformationCache(TRANSFORM_CACHE_SIZE);
+
 	/**
 	 * {@link SceneNode} visitor that applies a given consumer to each node in the subtree with the
 	 * visited node as root node.
@@ -60,17 +72,79 @@ public class SceneUtils {
 	/**
 	 * Sets the given {@link Transformation} to the given node.
 	 *
+	 * <p>
+	 * The transformation is stored in its packed form, see {@link SceneNode#getTransform()}. Setting
+	 * a value equal to the current one does not produce a change.
+	 * </p>
+	 *
 	 * @param node
 	 *        {@link SceneNode} to set transformation to.
 	 * @param tx
 	 *        The {@link Transformation} to set. May be <code>null</code>.
 	 */
 	public static void setTransform(SceneNode node, Transformation tx) {
+		String value = encodeTransform(tx);
+		if (!value.equals(node.getTransform())) {
+			node.setTransform(value);
+		}
+	}
+
+	/**
+	 * Sets the given {@link Transformation} to the given connection point.
+	 *
+	 * @param point
+	 *        {@link ConnectionPoint} to set transformation to.
+	 * @param tx
+	 *        The {@link Transformation} to set. May be <code>null</code>.
+	 *
+	 * @see #setTransform(SceneNode, Transformation)
+	 */
+	public static void setTransform(ConnectionPoint point, Transformation tx) {
+		String value = encodeTransform(tx);
+		if (!value.equals(point.getTransform())) {
+			point.setTransform(value);
+		}
+	}
+
+	/**
+	 * The {@link PackedTransform packed form} of the given {@link Transformation} as stored in
+	 * {@link SceneNode#getTransform()} and {@link ConnectionPoint#getTransform()}.
+	 *
+	 * @param tx
+	 *        The {@link Transformation} to encode. May be <code>null</code>.
+	 * @return The encoded value, the empty string for <code>null</code>.
+	 */
+	public static String encodeTransform(Transformation tx) {
 		if (tx == null) {
-			node.setTransform(Collections.emptyList());
-		} else {
-			node.setTransform(TransformationUtil.toList(tx));
+			return "";
 		}
+		return PackedTransform.encode(tx);
+	}
+
+	/**
+	 * Decodes a value created by {@link #encodeTransform(Transformation)}.
+	 *
+	 * <p>
+	 * Decoded values of the full encoding are cached and {@link Transformation#canonical(Transformation)
+	 * canonical}, so that nodes with the same transformation share a single instance. The short forms
+	 * of the identity and of translations are cheaper to decode than to look up and do not occupy the
+	 * cache.
+	 * </p>
+	 *
+	 * @return The decoded {@link Transformation}, <code>null</code> for the empty string.
+	 */
+	public static Transformation decodeTransform(String value) {
+		if (value == null || value.isEmpty()) {
+			return null;
+		}
+		if (value.length() < PackedTransform.FULL_SIZE) {
+			return PackedTransform.decode(value);
+		}
+		return TRANSFORM_CACHE.get(value, SceneUtils::decodeCanonical);
+	}
+
+	private static Transformation decodeCanonical(String value) {
+		return Transformation.canonical(PackedTransform.decode(value));
 	}
 
 	/**
@@ -78,18 +152,21 @@ public class SceneUtils {
 	 *
 	 * @param node
 	 *        The {@link SceneNode} to get {@link Transformation} for.
+	 * @return The transformation of the node, <code>null</code> if the node has none.
 	 */
 	public static Transformation getTransform(SceneNode node) {
-		List<Double> transform = node.getTransform();
-		switch (transform.size()) {
-			case 0:
-				return null;
-			case 12:
-				return TransformationUtil.fromList(transform);
-			default:
-				throw new IllegalStateException(
-					"SceneNode " + node + " must have a transform list with 12 entries: " + node.getTransform());
-		}
+		return decodeTransform(node.getTransform());
+	}
+
+	/**
+	 * Determines the {@link Transformation} of the given connection point.
+	 *
+	 * @param point
+	 *        The {@link ConnectionPoint} to get {@link Transformation} for.
+	 * @return The transformation of the connection point, <code>null</code> if it has none.
+	 */
+	public static Transformation getTransform(ConnectionPoint point) {
+		return decodeTransform(point.getTransform());
 	}
 
 	/**
@@ -99,23 +176,100 @@ public class SceneUtils {
 	 *        The part to get {@link Transformation} for.
 	 */
 	public static Transformation getAbsoluteTransformation(ScenePart part) {
-		Transformation tx = Transformation.identity();
+		return getAbsoluteTransformation(part, new MutableTransformation()).toTransformation();
+	}
 
+	/**
+	 * Determines the absolute transformation for the given {@link ScenePart} without creating
+	 * intermediate {@link Transformation}s.
+	 *
+	 * <p>
+	 * The node transformations are decoded into a single scratch buffer, the cache of
+	 * {@link #decodeTransform(String)} is not used.
+	 * </p>
+	 *
+	 * @param part
+	 *        The part to get the absolute transformation for.
+	 * @param out
+	 *        The accumulator to store the result in. Its former value is discarded.
+	 * @return The given accumulator.
+	 */
+	public static MutableTransformation getAbsoluteTransformation(ScenePart part, MutableTransformation out) {
+		out.setIdentity();
+
+		double[] values = new double[12];
 		ScenePart current = part;
 		while (current != null) {
-			Transformation localTx;
 			if (current instanceof SceneNode node) {
-				localTx = getTransform(node);
-			} else {
-				localTx = null;
-			}
-			if (localTx != null) {
-				tx = localTx.after(tx);
+				String transform = node.getTransform();
+				if (transform != null && !transform.isEmpty() && !transform.equals(PackedTransform.IDENTITY)) {
+					PackedTransform.decode(transform, values, 0);
+					out.before(values, 0);
+				}
 			}
 			current = current.getParent();
 		}
 
-		return tx;
+		return out;
+	}
+
+	/**
+	 * Computes the absolute transformations of all nodes in the given graph in a single pass.
+	 *
+	 * <p>
+	 * The coordinate system of the graph is not included, the result corresponds to
+	 * {@link #getAbsoluteTransformation(ScenePart)} for each node.
+	 * </p>
+	 *
+	 * <p>
+	 * Since each node is visited only once, the transformations are decoded directly into the
+	 * result without using the cache of {@link #decodeTransform(String)}.
+	 * </p>
+	 *
+	 * @param graph
+	 *        The graph to compute transformations for.
+	 * @param nodesOut
+	 *        List to which all nodes of the graph are added in breadth-first order. The absolute
+	 *        transformation of the node at position <code>n</code> in this list is stored at index
+	 *        <code>n</code> in the result.
+	 * @return Buffer with the absolute transformations of all nodes.
+	 */
+	public static TransformBuffer getAbsoluteTransformations(SceneGraph graph, List<? super SceneNode> nodesOut) {
+		List<SceneNode> nodes = new ArrayList<>();
+		SceneNode root = graph.getRoot();
+		if (root != null) {
+			nodes.add(root);
+		}
+
+		int[] parents = new int[Math.max(16, nodes.size())];
+		Arrays.fill(parents, 0, nodes.size(), TransformBuffer.NO_PARENT);
+		for (int n = 0; n < nodes.size(); n++) {
+			if (nodes.get(n) instanceof GroupNode group) {
+				List<SceneNode> contents = group.getContents();
+				int required = nodes.size() + contents.size();
+				if (required > parents.length) {
+					parents = Arrays.copyOf(parents, Math.max(required, 2 * parents.length));
+				}
+				for (SceneNode child : contents) {
+					parents[nodes.size()] = n;
+					nodes.add(child);
+				}
+			}
+		}
+
+		TransformBuffer result = new TransformBuffer(nodes.size());
+		for (int n = 0, size = nodes.size(); n < size; n++) {
+			String transform = nodes.get(n).getTransform();
+			if (transform == null || transform.isEmpty()) {
+				result.setIdentity(n);
+			} else {
+				PackedTransform.decode(transform, result, n);
+			}
+		}
+		result.composeWithParents(parents);
+
+		nodesOut.addAll(nodes);
+		return result;
 	}
 
 	/**
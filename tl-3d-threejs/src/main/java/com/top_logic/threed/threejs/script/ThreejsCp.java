@@ -17,9 +17,10 @@ import com.top_logic.model.search.expr.config.dom.Expr;
 import com.top_logic.model.search.expr.config.operations.AbstractSimpleMethodBuilder;
 import com.top_logic.model.search.expr.config.operations.ArgumentDescriptor;
 import com.top_logic.threed.core.math.Transformation;
-import com.top_logic.threed.core.math.TransformationUtil;
 import com.top_logic.threed.core.math.script.TransformationConstructor;
+import com.top_logic.threed.core.math.script.TransformationLiteralCache;
 import com.top_logic.threed.threejs.scene.ConnectionPoint;
+import com.top_logic.threed.threejs.scene.SceneUtils;
 import com.top_logic.util.error.TopLogicException;
 
 /**
@@ -33,6 +34,8 @@ public class ThreejsCp extends GenericMethod {
 	 */
 	public static final String EMPTY_CLASSIFIER = "__empty__";
 
+	private final TransformationLiteralCache _txLiterals = new TransformationLiteralCache();
+
 	/**
 	 * Creates a {@link ThreejsGltf} method.
 	 */
@@ -52,7 +55,7 @@ public class ThreejsCp extends GenericMethod {
 
 	@Override
 	protected Object eval(Object[] arguments, EvalContext definitions) {
-		Transformation tx = TransformationConstructor.asTx(getArguments()[0], arguments[0]);
+		Transformation tx = TransformationConstructor.asTx(getArguments()[0], arguments[0], _txLiterals);
 		return newConnectionPoint(tx, getArguments()[1], arguments[1]);
 	}
 
@@ -62,7 +65,7 @@ public class ThreejsCp extends GenericMethod {
 	public static ConnectionPoint newConnectionPoint(Transformation tx, SearchExpression classifiersExpr,
 			Object classifiers) {
 		ConnectionPoint cp = ConnectionPoint.create();
-		cp.setTransform(TransformationUtil.toList(tx));
+		SceneUtils.setTransform(cp, tx);
 		List<?> classifiersList = asList(classifiers);
 		if (classifiersList.isEmpty()) {
 			cp.addClassifier(EMPTY_CLASSIFIER);
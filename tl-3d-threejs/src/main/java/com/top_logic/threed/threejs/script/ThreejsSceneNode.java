@@ -14,9 +14,10 @@ import com.top_logic.model.search.expr.EvalContext;
 import com.top_logic.model.search.expr.GenericMethod;
 import com.top_logic.model.search.expr.SearchExpression;
 import com.top_logic.threed.core.math.Transformation;
-import com.top_logic.threed.core.math.TransformationUtil;
 import com.top_logic.threed.core.math.script.TransformationConstructor;
+import com.top_logic.threed.core.math.script.TransformationLiteralCache;
 import com.top_logic.threed.threejs.scene.SceneNode;
+import com.top_logic.threed.threejs.scene.SceneUtils;
 import com.top_logic.util.error.TopLogicException;
 
 /**
@@ -24,6 +25,8 @@ import com.top_logic.util.error.TopLogicException;
  */
 public abstract class ThreejsSceneNode<T extends SceneNode> extends GenericMethod {
 
+	private final TransformationLiteralCache _txLiterals = new TransformationLiteralCache();
+
 	/**
 	 * Creates a {@link ThreejsSceneNode}.
 	 */
@@ -48,9 +51,7 @@ public abstract class ThreejsSceneNode<T extends SceneNode> extends GenericMetho
 		T node = allocate();
 
 		Transformation transform = asTransformation(getArguments()[0], arguments[0]);
-		if (transform != null) {
-			node.setTransform(TransformationUtil.toList(transform));
-		}
+		SceneUtils.setTransform(node, transform);
 
 		Object userData = arguments[1];
 		node.setUserData(userData);
@@ -106,7 +107,7 @@ public abstract class ThreejsSceneNode<T extends SceneNode> extends GenericMetho
 		if (value == null) {
 			tx = null;
 		} else {
-			tx = TransformationConstructor.asTx(expr, value);
+			tx = TransformationConstructor.asTx(expr, value, _txLiterals);
 		}
 		return tx;
 	}
@@ -28,6 +28,8 @@ import {
 import { 
   toMatrix, 
   toTX, 
+  decodeTX, 
+  encodeTX, 
   transform, 
   applyColorToObject,
 } from './ThreeJsUtils.js';
@@ -36,10 +38,19 @@ import { InsertElement, RemoveElement, SetProperty } from './Commands.js';
 import { GLTFLoader } from "GLTFLoader";
 
 export class Scope {
-  constructor() {
+  /**
+   * @param {number} translationQuantum - Step of quantized translations, 0 for full precision.
+   * @param {number} rotationQuantum - Step of quantized rotation entries, 0 for full precision.
+   */
+  constructor(translationQuantum = 0, rotationQuantum = 0) {
     this.objects = {};
     // cache for gltfs by url
     this.gltfs = {};
+    // transformations referenced by index, see TransformPalette on the server
+    this.palette = [];
+    // see TransformPrecision on the server
+    this.translationQuantum = translationQuantum;
+    this.rotationQuantum = rotationQuantum;
   }
 
   get assets() {
@@ -54,6 +65,126 @@ export class Scope {
     return json.flatMap((value) => this.loadJson(value));
   }
 
+  /**
+   * Replaces the palette with the given transformations.
+   */
+  loadPalette(entries) {
+    this.palette = entries.map((entry) => this.decodeEntry(entry));
+  }
+
+  /**
+   * Appends the given transformations to the palette.
+   */
+  extendPalette(entries) {
+    entries.forEach((entry) => this.palette.push(this.decodeEntry(entry)));
+  }
+
+  /**
+   * Decodes a palette entry, either a transformation in packed form or an array of 12 multiples of
+   * the rotation and translation quantum.
+   */
+  decodeEntry(entry) {
+    if (typeof entry === 'string') {
+      return decodeTX(entry);
+    }
+    const r = this.rotationQuantum || 1;
+    const t = this.translationQuantum || 1;
+    return entry.map((value, n) => value * (n < 9 ? r : t));
+  }
+
+  /**
+   * Resolves a transformation value, either the index of a palette entry or a transformation in the
+   * form of a palette entry (sent when the palette is full).
+   */
+  transform(value) {
+    if (typeof value === 'number') {
+      return this.palette[value];
+    }
+    return this.decodeEntry(value);
+  }
+
+  /**
+   * Loads a graph sent as JSON, either with the palette of its transformations or, if the server
+   * does not use a palette, as plain graph data.
+   */
+  loadScene(json) {
+    if (json instanceof Array) {
+      this.palette = [];
+      return this.loadJson(json);
+    }
+    this.loadPalette(json.palette);
+    return this.loadJson(json.scene);
+  }
+
+  /**
+   * Loads a graph sent in the binary scene format (see BinarySceneWriter on the server).
+   */
+  loadBinary(buffer) {
+    const json = decodeBinary(buffer, this.palette = []);
+    return this.loadJson(json);
+  }
+
+  /**
+   * Loads a graph sent as stream of subtree chunks (see SceneChunkWriter on the server).
+   *
+   * The upper levels of the scene are displayed as soon as they have arrived, the subtrees of
+   * later chunks are added to the scene while the download proceeds.
+   */
+  async loadStream(response, ctrl) {
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    let line = 0;
+    let graph = null;
+    let selection = null;
+
+    this.palette = [];
+    const handleLine = (text) => {
+      if (text.length == 0) {
+        return;
+      }
+      const json = JSON.parse(text);
+      if (line++ == 0) {
+        // Assets are shared between chunks.
+        this.loadAll(json.assets);
+      } else if (json instanceof Array) {
+        // [parent ID, chunk root, new palette entries], see SceneChunkWriter on the server.
+        this.extendPalette(json[2]);
+        if (graph == null) {
+          graph = this.loadJson(json[1]);
+          graph.buildGraph(ctrl);
+        } else {
+          this.objects[json[0]].appendContent(this.loadJson(json[1]));
+        }
+      } else {
+        // The selection may refer to nodes of all chunks.
+        selection = json.selection;
+      }
+    };
+
+    while (true) {
+      const { done, value } = await reader.read();
+      if (done) {
+        break;
+      }
+      buffer += value;
+      let end;
+      while ((end = buffer.indexOf('\n')) >= 0) {
+        handleLine(buffer.substring(0, end));
+        buffer = buffer.substring(end + 1);
+      }
+      if (graph != null) {
+        ctrl.render();
+      }
+    }
+    handleLine(buffer);
+
+    if (graph != null && selection != null) {
+      graph.setProperty(this, 'selection', selection);
+      ctrl.applySelection(graph.selection);
+    }
+    return graph;
+  }
+
   loadJson(json) {
     if (json == null) {
       return null;
@@ -157,6 +288,99 @@ export class Scope {
   }
 }
 
+const TOKEN_NULL = 0;
+const TOKEN_FALSE = 1;
+const TOKEN_TRUE = 2;
+const TOKEN_INT = 3;
+const TOKEN_DOUBLE = 4;
+const TOKEN_STRING = 5;
+const TOKEN_ARRAY = 6;
+const TOKEN_OBJECT = 7;
+const TOKEN_END = 8;
+
+/**
+ * Decodes the binary scene format into the same values that parsing its JSON form would produce.
+ * The transformations of the palette are decoded to arrays of 12 numbers and appended to the given
+ * palette array.
+ */
+export function decodeBinary(buffer, palette) {
+  const view = new DataView(buffer);
+  const bytes = new Uint8Array(buffer);
+  let pos = 0;
+
+  const varint = () => {
+    let result = 0;
+    let factor = 1;
+    let b;
+    do {
+      b = bytes[pos++];
+      result += (b & 0x7F) * factor;
+      factor *= 128;
+    } while (b & 0x80);
+    return result;
+  };
+
+  const magic = String.fromCharCode(bytes[0], bytes[1], bytes[2], bytes[3]);
+  if (magic !== 'TLSG' || bytes[4] !== 3) {
+    throw new Error("Not a binary scene: " + magic + " version " + bytes[4]);
+  }
+  pos = 5;
+
+  const utf8 = new TextDecoder();
+  const strings = new Array(varint());
+  for (let n = 0; n < strings.length; n++) {
+    const length = varint();
+    strings[n] = utf8.decode(bytes.subarray(pos, pos + length));
+    pos += length;
+  }
+
+  const transformCount = varint();
+  pos = (pos + 7) & ~7;
+  const transforms = new Float64Array(buffer, pos, 12 * transformCount);
+  pos += transforms.byteLength;
+  for (let offset = 0; offset < transforms.length; offset += 12) {
+    palette.push(Array.from(transforms.subarray(offset, offset + 12)));
+  }
+
+  const value = () => {
+    const token = bytes[pos++];
+    switch (token) {
+      case TOKEN_NULL: return null;
+      case TOKEN_FALSE: return false;
+      case TOKEN_TRUE: return true;
+      case TOKEN_INT: {
+        const zigzag = varint();
+        return zigzag % 2 == 0 ? zigzag / 2 : -(zigzag + 1) / 2;
+      }
+      case TOKEN_DOUBLE: {
+        const result = view.getFloat64(pos, true);
+        pos += 8;
+        return result;
+      }
+      case TOKEN_STRING: return strings[varint()];
+      case TOKEN_ARRAY: {
+        const result = [];
+        while (bytes[pos] !== TOKEN_END) {
+          result.push(value());
+        }
+        pos++;
+        return result;
+      }
+      case TOKEN_OBJECT: {
+        const result = {};
+        let name;
+        while ((name = varint()) !== 0) {
+          result[strings[name - 1]] = value();
+        }
+        return result;
+      }
+      default:
+        throw new Error("Invalid token " + token + " at position " + (pos - 1));
+    }
+  };
+  return value();
+}
+
 export class SharedObject {
   constructor(id) {
     this.id = id;
@@ -166,7 +390,7 @@ export class SharedObject {
     const currentTransformation = toMatrix(this.transform);
     const newTransformation = currentTransformation.multiply(diffMatrix);
     this.transform = toTX(newTransformation);
-    return SetProperty.prototype.create(this.id, 'transform', this.transform);
+    return SetProperty.prototype.create(this.id, 'transform', encodeTX(this.transform));
   }
   
   setProperty(scope, property, value) {
@@ -178,6 +402,13 @@ export class SharedObject {
         break;
     }
   }
+
+  /**
+   * Releases the resources of this object, when it is no longer part of the scene.
+   */
+  dispose() {
+    // Nothing to release by default.
+  }
 }
 
 export class SceneGraph extends SharedObject {
@@ -198,6 +429,8 @@ export class SceneGraph extends SharedObject {
   }
 
   loadJson(scope, json) {
+    // Assets are referenced from the nodes.
+    this.setProperty(scope, 'assets', json.assets);
     this.setProperty(scope, 'root', json.root);
     this.setProperty(scope, 'selection', json.selection);
     this.setProperty(scope, 'coordinateSystem', json.coordinateSystem);
@@ -235,11 +468,18 @@ export class SceneGraph extends SharedObject {
 
   setProperty(scope, property, value) {
     switch (property) {
+      case 'assets': 
+        this.assets = scope.loadAll(value || []);
+        break; 
       case 'root': {
+        const root = scope.loadJson(value);
         if (this.root != null) {
           this.root.parent = null;
+          if (this.root !== root) {
+            this.root.dispose();
+          }
         }
-        this.root = scope.loadJson(value); 
+        this.root = root;
         if (this.root != null) {
           this.root.parent = this;
         }
@@ -268,6 +508,9 @@ export class SceneGraph extends SharedObject {
   
   insertElementAt(scope, property, idx, value) {
     switch (property) {
+      case 'assets': 
+        this.assets.splice(idx, 0, scope.loadJson(value)); 
+        break; 
       case 'selection': 
         const sharedObject = scope.loadJson(value);
         this.selection.splice(idx, 0, sharedObject); 
@@ -280,6 +523,9 @@ export class SceneGraph extends SharedObject {
   
   removeElementAt(scope, property, idx) {
     switch (property) {
+      case 'assets': 
+        this.assets.splice(idx, 1);
+        break; 
       case 'selection': 
         this.selection.splice(idx, 1);
         break; 
@@ -376,7 +622,7 @@ export class ConnectionPoint extends SharedObject {
   
   setProperty(scope, property, value) {
     switch (property) {
-      case 'transform': this.transform = value; break;
+      case 'transform': this.transform = scope.transform(value); break;
       case 'classifiers': this.classifiers = value; break;
       default:
         super.setProperty(scope, property, value);
@@ -386,14 +632,12 @@ export class ConnectionPoint extends SharedObject {
   
   insertElementAt(scope, property, idx, value) {
     switch (property) {
-      case 'transform': this.transform.splice(idx, 0, value); break;
       case 'classifiers': this.classifiers.splice(idx, 0, value); break;
     }
   }
   
   removeElementAt(scope, property, idx) {
     switch (property) {
-      case 'transform': this.transform.splice(idx, 1); break;
       case 'classifiers': this.classifiers.splice(idx, 1); break;
     }
   }
@@ -416,6 +660,7 @@ export class GroupNode extends SharedObject {
     const context = {
       color: this.color || parentContext?.color
     };
+    this.context = context;
 
     transform(group, this.transform);
     this.contents.forEach((c) => c.build(group, context));
@@ -449,14 +694,16 @@ export class GroupNode extends SharedObject {
   setProperty(scope, property, value) {
     switch (property) {
       case 'contents': {
+        const contents = scope.loadAll(value);
         if (this.contents) {
-        this.contents.forEach((c) => c.parent = null);
+          this.contents.forEach((c) => c.parent = null);
+          this.contents.filter((c) => !contents.includes(c)).forEach((c) => c.dispose());
         }
-        this.contents = scope.loadAll(value);
-      this.contents.forEach((c) => c.parent = this);
+        this.contents = contents;
+        this.contents.forEach((c) => c.parent = this);
         break;
       } 
-      case 'transform': this.transform = value; break;
+      case 'transform': this.transform = scope.transform(value); break;
       case 'color': 
         this.color = value; 
         if (this.node && value) {
@@ -476,6 +723,17 @@ export class GroupNode extends SharedObject {
    }
   }
 
+  /**
+   * Adds a node that arrived after this group has been built.
+   */
+  appendContent(child) {
+    child.parent = this;
+    this.contents.push(child);
+    if (this.node) {
+      child.build(this.node, this.context);
+    }
+  }
+
   insertElementAt(scope, property, idx, value) {
     switch (property) {
       case 'contents': {
@@ -484,20 +742,24 @@ export class GroupNode extends SharedObject {
         this.contents.splice(idx, 0, newContent);
         break;
       } 
-      case 'transform': this.transform.splice(idx, 0, value); break;
     }
   }
 
   removeElementAt(scope, property, idx) {
     switch (property) {
       case 'contents': {
-        this.contents[idx].parent = null;
+        const removed = this.contents[idx];
+        removed.parent = null;
+        removed.dispose();
         this.contents.splice(idx, 1);
         break;
       } 
-      case 'transform': this.transform.splice(idx, 1); break;
     }
   }
+
+  dispose() {
+    this.contents?.forEach((c) => c.dispose());
+  }
 }
 
 export class PartNode extends SharedObject {
@@ -506,6 +768,9 @@ export class PartNode extends SharedObject {
   }
 
   build(parentGroup, parentContext) {
+    // Drop the view of a previous build.
+    this.dispose();
+
     if (this.hidden) {
       return;
     }
@@ -515,8 +780,8 @@ export class PartNode extends SharedObject {
 
     transform(group, this.transform);
 
-    const node = this.asset.build(group);
-    group.add(node);
+    // The asset is shared with other parts, each part displays its own view of it.
+    this.view = this.asset.build(group);
 
     const color = this.color || parentContext?.color;
     if (color) {
@@ -527,6 +792,7 @@ export class PartNode extends SharedObject {
     group.userData = {
       ...group.userData,
       nodeRef: this,
+      asset: this.view,
       color: this.color || null
     };
     
@@ -546,8 +812,15 @@ export class PartNode extends SharedObject {
 
   setProperty(scope, property, value) {
     switch (property) {
-      case 'asset': this.asset = scope.loadJson(value); break; 
-      case 'transform': this.transform = value; break;
+      case 'asset': {
+        const asset = scope.loadJson(value);
+        if (asset !== this.asset) {
+          this.dispose();
+        }
+        this.asset = asset;
+        break;
+      } 
+      case 'transform': this.transform = scope.transform(value); break;
       case 'color': 
         this.color = value; 
         // Update 3D object color
@@ -570,16 +843,9 @@ export class PartNode extends SharedObject {
     }
   }
 
-  insertElementAt(scope, property, idx, value) {
-    switch (property) {
-      case 'transform': this.transform.splice(idx, 0, value); break;
-    }
-  }
-  
-  removeElementAt(scope, property, idx) {
-    switch (property) {
-      case 'transform': this.transform.splice(idx, 1); break;
-    }
+  dispose() {
+    this.asset?.release(this.view);
+    this.view = null;
   }
 }
 
@@ -588,7 +854,33 @@ export class GltfAsset extends SharedObject {
     super(id);
   }
 
+  /**
+   * Creates a view of this asset for a single part in the given group.
+   *
+   * The view inherits all properties of this asset but has its own connection points and its own
+   * 3D objects. The glTF data is loaded once for all views.
+   */
   build(parentGroup) {
+    const view = Object.create(this);
+    view.layoutPoint = this.layoutPoint && Object.create(this.layoutPoint);
+    view.snappingPoints = this.snappingPoints?.map((point) => Object.create(point));
+    view.buildView(parentGroup);
+
+    (this.views ??= new Set()).add(view);
+    if (this.gltf) {
+      view.showGLTF(this.gltf, this.ctrl);
+    }
+    return view;
+  }
+
+  /**
+   * Drops a view created by build(), when its part is built again or leaves the scene.
+   */
+  release(view) {
+    this.views?.delete(view);
+  }
+
+  buildView(parentGroup) {
     this.group = new Group();
     parentGroup.add(this.group);
 
@@ -619,11 +911,16 @@ export class GltfAsset extends SharedObject {
     }
   
     this.gltf = newGLTF;
+    this.ctrl = ctrl;
+
+    this.views?.forEach((view) => view.showGLTF(newGLTF, ctrl));
+  }
 
-    // Ensure group is initialized before trying to use it
-    if (!this.group) {
+  showGLTF(gltf, ctrl) {
+    if (this.shownGLTF === gltf) {
       return;
     }
+    this.shownGLTF = gltf;
 
     this.group.remove(this.placeholder);
 
@@ -635,20 +932,20 @@ export class GltfAsset extends SharedObject {
       this.group.add(lod);
       
       // create high detail model (original)
-      const highDetailModel = this.createDetailLevel(this.gltf.scene, LOD_HIGH);
+      const highDetailModel = this.createDetailLevel(gltf.scene, LOD_HIGH);
       lod.addLevel(highDetailModel, 0);  // visible from distance 0 to medium distance
       
       // create medium detail model (simplified)
-      const mediumDetailModel = this.createDetailLevel(this.gltf.scene, LOD_MEDIUM);
+      const mediumDetailModel = this.createDetailLevel(gltf.scene, LOD_MEDIUM);
       lod.addLevel(mediumDetailModel, LOD_MEDIUM_DISTANCE);  // visible from medium to low distance
       
       // create low detail model (very simplified)
-      const lowDetailModel = this.createDetailLevel(this.gltf.scene, LOD_LOW);
+      const lowDetailModel = this.createDetailLevel(gltf.scene, LOD_LOW);
       lod.addLevel(lowDetailModel, LOD_LOW_DISTANCE);  // visible from low distance and beyond
       
     } else {
       // standard non-LOD rendering
-      const model = this.gltf.scene.clone();
+      const model = gltf.scene.clone();
       model.traverse((obj) => {
         if (obj.isMesh && obj.material) {
           obj.userData.originalMaterial = obj.material;
@@ -61,6 +61,8 @@ import {
  * @property {boolean} isInEditMode - State of the edit mode.
  * @property {boolean} isRotateMode - State of the rotate mode.
  * @property {boolean} areObjectsTransparent - State of selection mode: opaque/transparent.
+ * @property {number} translationQuantum - Step of quantized translations, 0 for full precision.
+ * @property {number} rotationQuantum - Step of quantized rotation entries, 0 for full precision.
  */
 class ThreeJsControl {
   /**
@@ -74,7 +76,7 @@ class ThreeJsControl {
     this.contextPath = initialState.contextPath;
     this.dataUrl = initialState.dataUrl;
     this.imageUrl = initialState.imageUrl;
-    this.scope = new Scope();
+    this.scope = new Scope(initialState.translationQuantum, initialState.rotationQuantum);
     
     this.lastLODLevel = -1;
     this.useLOD = true;
@@ -1418,10 +1420,18 @@ getScreenSpaceDistance(pos1, pos2) {
 
   async loadScene() {
     const dataResponse = await fetch(this.dataUrl);
-    const dataJson = await dataResponse.json();
-
-    this.sceneGraph = this.scope.loadJson(dataJson);
-    this.sceneGraph.buildGraph(this);
+    const contentType = dataResponse.headers.get('Content-Type') || '';
+    if (contentType.startsWith('application/x-ndjson')) {
+      // The graph is built while the chunks arrive.
+      this.sceneGraph = await this.scope.loadStream(dataResponse, this);
+    } else {
+      if (contentType.startsWith('application/json')) {
+        this.sceneGraph = this.scope.loadScene(await dataResponse.json());
+      } else {
+        this.sceneGraph = this.scope.loadBinary(await dataResponse.arrayBuffer());
+      }
+      this.sceneGraph.buildGraph(this);
+    }
     
     // Create floors after sceneGraph is loaded with numberOfFloors
     if (this.skyboxManager.isEnabled()) {
@@ -1609,9 +1619,13 @@ window.services.threejs = {
     control.attach();
   },
 
-  sceneChanged: function (container, changes) {
+  sceneChanged: function (container, changes, transforms) {
     const control = ThreeJsControl.control(container);
     if (control != null) {
+      if (transforms) {
+        // New palette entries referenced by the changes.
+        control.scope.extendPalette(JSON.parse(transforms));
+      }
       control.applySceneChanges(changes);
     }
   },
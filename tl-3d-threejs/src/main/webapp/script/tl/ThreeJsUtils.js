@@ -148,6 +148,63 @@ export function toTX(matrix4) {
   return [ el[0], el[4], el[8], el[1], el[5], el[9], el[2],  el[6],  el[10],  el[12],  el[13],  el[14] ];
 }
 
+const TX_TRANSLATION_SIZE = 33;
+
+/**
+ * Decodes a transformation sent by the server as Base64 string of 12 little-endian doubles.
+ * The empty string stands for no transformation and results in an empty array. A transformation
+ * that is already decoded (from the binary scene format) is returned as is.
+ *
+ * The identity is sent as "I", a pure translation as "T" followed by the Base64 string of its
+ * 3 translation values (33 characters in total). The full form may start with "T" as well, so the
+ * forms must be distinguished by their length.
+ */
+export function decodeTX(value) {
+  if (!value) {
+    return [];
+  }
+  if (typeof value !== 'string') {
+    return value;
+  }
+  if (value === 'I') {
+    return [1, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0];
+  }
+  if (value.length === TX_TRANSLATION_SIZE) {
+    const translation = decodeDoubles(value.substring(1), 3);
+    return [1, 0, 0, 0, 1, 0, 0, 0, 1, translation[0], translation[1], translation[2]];
+  }
+  return decodeDoubles(value, 12);
+}
+
+function decodeDoubles(base64, count) {
+  const bytes = Uint8Array.from(atob(base64), (c) => c.charCodeAt(0));
+  const view = new DataView(bytes.buffer);
+  const result = new Array(count);
+  for (let n = 0; n < count; n++) {
+    result[n] = view.getFloat64(8 * n, true);
+  }
+  return result;
+}
+
+/**
+ * Encodes a transformation array in the format read by decodeTX().
+ */
+export function encodeTX(tx) {
+  if (tx == null || tx.length == 0) {
+    return "";
+  }
+  const view = new DataView(new ArrayBuffer(8 * 12));
+  for (let n = 0; n < 12; n++) {
+    view.setFloat64(8 * n, tx[n], true);
+  }
+  const bytes = new Uint8Array(view.buffer);
+  let binary = "";
+  for (let n = 0; n < bytes.length; n++) {
+    binary += String.fromCharCode(bytes[n]);
+  }
+  return btoa(binary);
+}
+
 export function transform(group, tx) {
   if (tx != null && tx.length > 0) {
     if (tx.length == 3) {
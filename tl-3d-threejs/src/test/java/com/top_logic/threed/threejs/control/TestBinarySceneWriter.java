@@ -0,0 +1,229 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.threejs.scene.GltfAsset;
+import com.top_logic.threed.threejs.scene.GroupNode;
+import com.top_logic.threed.threejs.scene.PackedTransform;
+import com.top_logic.threed.threejs.scene.PartNode;
+import com.top_logic.threed.threejs.scene.SceneGraph;
+import com.top_logic.threed.threejs.scene.SceneUtils;
+
+import de.haumacher.msgbuf.io.StringW;
+import de.haumacher.msgbuf.json.JsonWriter;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link BinarySceneWriter}.
+ *
+ * <p>
+ * The binary form of a scene is decoded back to JSON and compared with the JSON form written by
+ * {@link TransformPaletteWriter}.
+ * </p>
+ */
+public class TestBinarySceneWriter extends TestCase {
+
+	public void testRoundTrip() throws IOException {
+		assertRoundTrip(createScene());
+	}
+
+	public void testRoundTripReducedPrecision() throws IOException {
+		assertRoundTrip(createScene(), new TransformPrecision(0.01, 1e-6));
+	}
+
+	public void testEmptyScene() throws IOException {
+		assertRoundTrip(SceneGraph.create());
+	}
+
+	public void testTransformSection() throws IOException {
+		TransformPalette palette = new TransformPalette();
+		BinarySceneWriter writer = new BinarySceneWriter(palette);
+		new ExternalScope(2, 0).writeRefOrData(writer, createScene());
+		Decoded decoded = decode(writer);
+
+		List<String> entries = palette.getEntries();
+		assertEquals(entries.size(), decoded._transforms.size());
+		for (int n = 0; n < entries.size(); n++) {
+			assertEquals(PackedTransform.decode(entries.get(n)), decoded._transforms.get(n));
+		}
+		// The identity is not entered into the palette, the other transformations are distinct.
+		assertEquals(5, entries.size());
+		assertTrue(decoded._transforms.contains(translate(100, 0, 0)));
+	}
+
+	public void testDisabledPalette() throws IOException {
+		TransformPalette palette = new TransformPalette(new TransformPrecision(0.01, 1e-6), false);
+		BinarySceneWriter writer = new BinarySceneWriter(palette);
+		new ExternalScope(2, 0).writeRefOrData(writer, createScene());
+		Decoded decoded = decode(writer);
+
+		// Transformations are still sent in the transformation section.
+		assertEquals(5, decoded._transforms.size());
+		for (String string : decoded._strings) {
+			assertFalse(string, TransformPalette.isPaletteValue(string));
+		}
+		assertTrue(palette.getEntries().isEmpty());
+	}
+
+	private static SceneGraph createScene() {
+		GltfAsset asset = GltfAsset.create().setUrl("/models/W\u00fcrfel.glb");
+
+		GroupNode root = GroupNode.create();
+		List<PartNode> parts = new ArrayList<>();
+		for (int n = 0; n < 6; n++) {
+			PartNode part = PartNode.create().setAsset(asset).setColor(n % 2 == 0 ? "#ff0000" : "");
+			// Repeated transformations share a palette entry.
+			SceneUtils.setTransform(part, translate(100 * (n % 3), 0, 0).after(rotateZ(Math.PI / 2)));
+			parts.add(part);
+		}
+		SceneUtils.setTransform(parts.get(0), identity());
+		SceneUtils.setTransform(parts.get(1), translate(100, 0, 0));
+		root.setContents(parts);
+
+		GroupNode inner = GroupNode.create();
+		SceneUtils.setTransform(inner, translate(-0.5, 1e-9, 1234567.125).after(rotateX(0.3)));
+		inner.addContent(PartNode.create().setAsset(asset).setHidden(true));
+		root.addContent(inner);
+
+		SceneGraph graph = SceneGraph.create().setRoot(root).addAsset(asset);
+		graph.addSelection(parts.get(2));
+		graph.setCoordinateSystem(List.of(1.0, -0.0, 0.5, Double.MAX_VALUE));
+		graph.setRotateStepSize(-15);
+		return graph;
+	}
+
+	private static void assertRoundTrip(SceneGraph graph) throws IOException {
+		assertRoundTrip(graph, TransformPrecision.EXACT);
+	}
+
+	private static void assertRoundTrip(SceneGraph graph, TransformPrecision precision) throws IOException {
+		StringW json = new StringW();
+		TransformPalette jsonPalette = new TransformPalette(precision);
+		new ExternalScope(2, 0).writeRefOrData(new TransformPaletteWriter(json, jsonPalette), graph);
+
+		TransformPalette binaryPalette = new TransformPalette(precision);
+		BinarySceneWriter binary = new BinarySceneWriter(binaryPalette);
+		new ExternalScope(2, 0).writeRefOrData(binary, graph);
+
+		assertEquals(json.toString(), decode(binary)._json);
+		assertEquals(jsonPalette.getEntries(), binaryPalette.getEntries());
+	}
+
+	/**
+	 * Decodes the output of the given writer the way <code>DataModels.js</code> does.
+	 */
+	private static Decoded decode(BinarySceneWriter writer) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		writer.writeTo(buffer);
+		ByteBuffer in = ByteBuffer.wrap(buffer.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+
+		byte[] magic = new byte[4];
+		in.get(magic);
+		assertEquals("TLSG", new String(magic, StandardCharsets.US_ASCII));
+		assertEquals(BinarySceneWriter.VERSION, in.get());
+
+		Decoded result = new Decoded();
+		int stringCount = (int) varint(in);
+		for (int n = 0; n < stringCount; n++) {
+			byte[] bytes = new byte[(int) varint(in)];
+			in.get(bytes);
+			result._strings.add(new String(bytes, StandardCharsets.UTF_8));
+		}
+
+		int transformCount = (int) varint(in);
+		in.position((in.position() + 7) & ~7);
+		for (int n = 0; n < transformCount; n++) {
+			result._transforms.add(new Transformation(
+				in.getDouble(), in.getDouble(), in.getDouble(),
+				in.getDouble(), in.getDouble(), in.getDouble(),
+				in.getDouble(), in.getDouble(), in.getDouble(),
+				in.getDouble(), in.getDouble(), in.getDouble()));
+		}
+
+		StringW json = new StringW();
+		readValue(in, in.get(), result._strings, new JsonWriter(json));
+		assertFalse("Unexpected trailing data.", in.hasRemaining());
+		result._json = json.toString();
+		return result;
+	}
+
+	private static void readValue(ByteBuffer in, int token, List<String> strings, JsonWriter out)
+			throws IOException {
+		switch (token) {
+			case BinarySceneWriter.TOKEN_NULL:
+				out.nullValue();
+				break;
+			case BinarySceneWriter.TOKEN_FALSE:
+				out.value(false);
+				break;
+			case BinarySceneWriter.TOKEN_TRUE:
+				out.value(true);
+				break;
+			case BinarySceneWriter.TOKEN_INT: {
+				long zigzag = varint(in);
+				out.value((zigzag >>> 1) ^ -(zigzag & 1));
+				break;
+			}
+			case BinarySceneWriter.TOKEN_DOUBLE:
+				out.value(in.getDouble());
+				break;
+			case BinarySceneWriter.TOKEN_STRING:
+				out.value(strings.get((int) varint(in)));
+				break;
+			case BinarySceneWriter.TOKEN_ARRAY:
+				out.beginArray();
+				for (int next = in.get(); next != BinarySceneWriter.TOKEN_END; next = in.get()) {
+					readValue(in, next, strings, out);
+				}
+				out.endArray();
+				break;
+			case BinarySceneWriter.TOKEN_OBJECT:
+				out.beginObject();
+				for (int name = (int) varint(in); name != 0; name = (int) varint(in)) {
+					out.name(strings.get(name - 1));
+					readValue(in, in.get(), strings, out);
+				}
+				out.endObject();
+				break;
+			default:
+				fail("Unknown token: " + token);
+		}
+	}
+
+	private static long varint(ByteBuffer in) {
+		long result = 0;
+		for (int shift = 0;; shift += 7) {
+			int b = in.get() & 0xFF;
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+	}
+
+	private static final class Decoded {
+
+		final List<String> _strings = new ArrayList<>();
+
+		final List<Transformation> _transforms = new ArrayList<>();
+
+		String _json;
+
+	}
+
+}
@@ -0,0 +1,339 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.top_logic.threed.threejs.scene.GroupNode;
+import com.top_logic.threed.threejs.scene.PartNode;
+import com.top_logic.threed.threejs.scene.SceneGraph;
+import com.top_logic.threed.threejs.scene.SceneNode;
+import com.top_logic.threed.threejs.scene.SceneUtils;
+
+import de.haumacher.msgbuf.graph.DefaultScope;
+import de.haumacher.msgbuf.io.StringR;
+import de.haumacher.msgbuf.io.StringW;
+import de.haumacher.msgbuf.json.JsonReader;
+import de.haumacher.msgbuf.json.JsonWriter;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link PatchCompactor}.
+ *
+ * <p>
+ * Each test modifies a scene that has been transferred to a client replica, applies the compacted
+ * patch to the replica, and checks that the replica matches the modified scene. Nodes of the scene
+ * and of the replica are identified by their scope IDs.
+ * </p>
+ */
+public class TestPatchCompactor extends TestCase {
+
+	private ExternalScope _scope;
+
+	private SceneGraph _graph;
+
+	private GroupNode _root;
+
+	private DefaultScope _clientScope;
+
+	private SceneGraph _client;
+
+	private int _nodeCount;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		_root = group();
+		_graph = SceneGraph.create().setRoot(_root);
+		_scope = new ExternalScope(2, 0);
+	}
+
+	public void testFoldClearAndAdd() throws IOException {
+		PartNode a = part();
+		PartNode b = part();
+		PartNode c = part();
+		_root.setContents(List.of(a, b, c));
+		transfer();
+
+		_root.setContents(List.of());
+		_root.addContent(c);
+		_root.addContent(a);
+
+		// Besides the contents of the root, the parents of the moved nodes are set.
+		int rootId = _scope.id(_root);
+		List<Command> rootPatch = patch().stream().filter(command -> command._id == rootId).toList();
+		assertEquals(1, rootPatch.size());
+		assertEquals("S", rootPatch.get(0)._kind);
+		assertReplicaMatches();
+	}
+
+	public void testLastSetWins() throws IOException {
+		PartNode a = part();
+		_root.addContent(a);
+		transfer();
+
+		SceneUtils.setTransform(a, translate(1, 0, 0));
+		SceneUtils.setTransform(a, translate(2, 0, 0));
+		SceneUtils.setTransform(a, translate(3, 0, 0).after(rotateZ(0.5)));
+
+		List<Command> patch = patch();
+		assertEquals(1, patch.size());
+		assertEquals("S", patch.get(0)._kind);
+		assertReplicaMatches();
+	}
+
+	public void testTransformPalette() throws IOException {
+		PartNode a = part();
+		_root.addContent(a);
+		transfer();
+
+		String tx = SceneUtils.encodeTransform(translate(1, 2, 3).after(rotateZ(0.5)));
+		SceneUtils.setTransform(a, translate(1, 2, 3).after(rotateZ(0.5)));
+		a.setColor(tx);
+
+		StringW buffer = new StringW();
+		TransformPalette palette = new TransformPalette();
+		PatchCompactor.createPatch(_scope, _graph, palette, new JsonWriter(buffer));
+
+		// Only the transformation is replaced with its index.
+		int id = _scope.id(a);
+		assertEquals("[[[\"S\",{\"id\":" + id + ",\"p\":\"transform\"}],0],"
+			+ "[[\"S\",{\"id\":" + id + ",\"p\":\"color\"}],\"" + tx + "\"]]", buffer.toString());
+		assertEquals(List.of(tx), palette.getEntries());
+	}
+
+	public void testRejectInvalidTransform() throws IOException {
+		PartNode a = part();
+		_root.addContent(a);
+		transfer();
+
+		String before = a.getTransform();
+		try {
+			a.setTransform("a1");
+			fail("Invalid transformation must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+		assertEquals(before, a.getTransform());
+		assertEquals(List.of(), patch());
+	}
+
+	public void testDropChangesOfDetachedNodes() throws IOException {
+		PartNode a = part();
+		PartNode b = part();
+		PartNode c = part();
+		PartNode unchanged = part();
+		GroupNode inner = group();
+		inner.setContents(List.of(b, unchanged));
+		_root.setContents(List.of(a, inner, c));
+		transfer();
+		int innerId = _scope.id(inner);
+		int bId = _scope.id(b);
+		int unchangedId = _scope.id(unchanged);
+
+		// Move a into the group, modify its contents and drop the group afterwards.
+		_root.removeContent(a);
+		inner.addContent(a);
+		inner.removeContent(b);
+		SceneUtils.setTransform(b, translate(0, 1, 0));
+		_root.removeContent(inner);
+
+		List<Command> patch = patch();
+		for (Command command : patch) {
+			assertTrue("Change to detached node: " + command, command._id != innerId && command._id != bId);
+		}
+		assertReplicaMatches();
+
+		// All detached nodes are released, including those without changes.
+		assertEquals(0, _scope.id(inner));
+		assertEquals(0, _scope.id(b));
+		assertEquals(0, _scope.id(unchanged));
+		assertNull(_scope.object(unchangedId));
+
+		// A re-attached node is sent with its current state, later changes refer to its new ID.
+		_root.addContent(inner);
+		patch();
+		assertReplicaMatches();
+		assertTrue(_scope.id(inner) > 0);
+
+		SceneUtils.setTransform(inner, translate(0, 0, 1));
+		inner.removeContent(unchanged);
+		patch();
+		assertReplicaMatches();
+	}
+
+	public void testSelectionDoesNotScanForDetachedNodes() throws IOException {
+		PartNode a = part();
+		PartNode b = part();
+		_root.setContents(List.of(a, b));
+		transfer();
+
+		// Detach b without a pending change, so that it is only released by a scan of the scene.
+		_root.removeContent(b);
+		_scope.dropChanges();
+
+		_graph.addSelection(a);
+		patch();
+		_graph.removeSelection(a);
+		patch();
+
+		// Changing the selection does not detach nodes, the scene is not scanned.
+		assertTrue(_scope.id(b) > 0);
+
+		// A removal from a containment property scans the scene.
+		_root.removeContent(a);
+		patch();
+		assertEquals(0, _scope.id(b));
+	}
+
+	public void testListIndicesAfterFolding() throws IOException {
+		GroupNode left = group();
+		GroupNode right = group();
+		List<SceneNode> parts = new ArrayList<>();
+		for (int n = 0; n < 6; n++) {
+			parts.add(part());
+		}
+		left.setContents(parts.subList(0, 3));
+		right.setContents(parts.subList(3, 6));
+		_root.setContents(List.of(left, right));
+		transfer();
+
+		// Few operations on a long list are kept as single operations.
+		right.removeContent(parts.get(4));
+
+		// Many operations on the same list are folded.
+		left.removeContent(parts.get(0));
+		left.removeContent(parts.get(2));
+		left.addContent(parts.get(2));
+		left.addContent(parts.get(0));
+
+		// Operations following a folded list in the patch must still apply to the right positions.
+		right.addContent(parts.get(4));
+
+		List<Command> patch = patch();
+		int leftId = _scope.id(left);
+		int rightId = _scope.id(right);
+		assertEquals(1, patch.stream().filter(command -> command._id == leftId).count());
+		assertEquals(2, patch.stream().filter(command -> command._id == rightId).count());
+		assertReplicaMatches();
+	}
+
+	private void transfer() throws IOException {
+		StringW buffer = new StringW();
+		_scope.writeRefOrData(new JsonWriter(buffer), _graph);
+		_scope.dropChanges();
+
+		_clientScope = new DefaultScope(2, 1);
+		_client = SceneGraph.readSceneGraph(_clientScope, new JsonReader(new StringR(buffer.toString())));
+	}
+
+	private List<Command> patch() throws IOException {
+		StringW buffer = new StringW();
+		PatchCompactor.createPatch(_scope, _graph, null, new JsonWriter(buffer));
+		_scope.dropChanges();
+
+		String patch = buffer.toString();
+		_clientScope.applyChanges(new JsonReader(new StringR(patch)));
+		_clientScope.dropChanges();
+		return commands(patch);
+	}
+
+	private void assertReplicaMatches() {
+		assertEquals(describe(_scope, _graph.getRoot()), describe(_clientScope, _client.getRoot()));
+	}
+
+	/**
+	 * The node tree below the given node with the scope ID and transformation of each node.
+	 */
+	private static String describe(DefaultScope scope, SceneNode node) {
+		StringBuilder result = new StringBuilder();
+		describe(result, scope, node);
+		return result.toString();
+	}
+
+	private static void describe(StringBuilder out, DefaultScope scope, SceneNode node) {
+		out.append(scope.id(node));
+		out.append(':');
+		out.append(SceneUtils.getTransform(node));
+		if (node instanceof GroupNode) {
+			out.append('(');
+			for (SceneNode content : ((GroupNode) node).getContents()) {
+				describe(out, scope, content);
+				out.append(' ');
+			}
+			out.append(')');
+		}
+	}
+
+	private static List<Command> commands(String patch) throws IOException {
+		List<Command> result = new ArrayList<>();
+		JsonReader in = new JsonReader(new StringR(patch));
+		in.beginArray();
+		while (in.hasNext()) {
+			in.beginArray();
+			in.beginArray();
+			String kind = in.nextString();
+			int id = 0;
+			in.beginObject();
+			while (in.hasNext()) {
+				if (in.nextName().equals("id")) {
+					id = in.nextInt();
+				} else {
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			in.endArray();
+			while (in.hasNext()) {
+				in.skipValue();
+			}
+			in.endArray();
+			result.add(new Command(kind, id));
+		}
+		in.endArray();
+		return result;
+	}
+
+	private GroupNode group() {
+		return place(GroupNode.create());
+	}
+
+	private PartNode part() {
+		return place(PartNode.create());
+	}
+
+	/**
+	 * Gives each node a different transformation.
+	 */
+	private <T extends SceneNode> T place(T node) {
+		SceneUtils.setTransform(node, translate(_nodeCount++, 0, 0));
+		return node;
+	}
+
+	private static final class Command {
+
+		final String _kind;
+
+		final int _id;
+
+		Command(String kind, int id) {
+			_kind = kind;
+			_id = id;
+		}
+
+		@Override
+		public String toString() {
+			return _kind + "@" + _id;
+		}
+
+	}
+
+}
@@ -0,0 +1,378 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.top_logic.threed.threejs.scene.GltfAsset;
+import com.top_logic.threed.threejs.scene.GroupNode;
+import com.top_logic.threed.threejs.scene.PartNode;
+import com.top_logic.threed.threejs.scene.SceneGraph;
+import com.top_logic.threed.threejs.scene.SceneNode;
+import com.top_logic.threed.threejs.scene.SceneUtils;
+
+import de.haumacher.msgbuf.io.StringR;
+import de.haumacher.msgbuf.json.JsonReader;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link SceneChunkWriter}.
+ *
+ * <p>
+ * The chunks are reassembled the way the client does, and the result is compared with the scene
+ * written in a single chunk. Nodes are identified by their scope IDs.
+ * </p>
+ */
+public class TestSceneChunkWriter extends TestCase {
+
+	private static final String GROUP_NODE = "GroupNode";
+
+	private static final String PART_NODE = "PartNode";
+
+	private static final String SCENE_GRAPH = "SceneGraph";
+
+	private SceneGraph _graph;
+
+	/**
+	 * Names of the nodes of the scene used to describe the reassembled scene.
+	 */
+	private final Map<SceneNode, String> _names = new IdentityHashMap<>();
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		GltfAsset asset = GltfAsset.create().setUrl("/models/part.glb");
+
+		GroupNode inner = group("inner", part("p3", asset));
+		GroupNode first = group("first", part("p1", asset), part("p2", asset), inner);
+		GroupNode root = group("root", first, part("p4", asset), group("empty"));
+
+		_graph = SceneGraph.create().setRoot(root).addAsset(asset);
+		_graph.addSelection(inner.getContents().get(0));
+		_graph.addSelection(first);
+	}
+
+	public void testChunkCount() throws IOException {
+		assertEquals(1, write(0)._chunks.size());
+		assertEquals(1 + 3, write(1)._chunks.size());
+		assertEquals(1 + 3 + 3, write(2)._chunks.size());
+		assertEquals(1 + 3 + 3 + 1, write(3)._chunks.size());
+		assertEquals(1 + 3 + 3 + 1, write(4)._chunks.size());
+	}
+
+	public void testReassemble() throws IOException {
+		Scene expected = write(0);
+		assertEquals("root(first(p1 p2 inner(p3)) p4 empty())", expected.describe());
+		assertEquals(List.of("p3", "first"), expected.selection());
+
+		for (int depth = 1; depth <= SceneChunkWriter.DEFAULT_CHUNK_DEPTH; depth++) {
+			Scene scene = write(depth);
+			assertEquals("Depth " + depth, expected.describe(), scene.describe());
+			assertEquals("Depth " + depth, expected.selection(), scene.selection());
+			assertEquals("Depth " + depth, 1, scene._assets.size());
+		}
+	}
+
+	public void testParentsBeforeChildren() throws IOException {
+		Scene scene = write(SceneChunkWriter.DEFAULT_CHUNK_DEPTH);
+		List<Object> defined = new ArrayList<>();
+		for (List<?> chunk : scene._chunks) {
+			Object parent = chunk.get(0);
+			if (defined.isEmpty()) {
+				assertEquals(0.0, parent);
+			} else {
+				assertTrue("Parent not yet sent: " + parent, defined.contains(parent));
+			}
+			collectIds(chunk.get(1), defined);
+		}
+	}
+
+	public void testPaletteEntries() throws IOException {
+		TransformPalette palette = new TransformPalette();
+		Scene scene = write(SceneChunkWriter.DEFAULT_CHUNK_DEPTH, palette);
+
+		List<Object> entries = new ArrayList<>();
+		for (List<?> chunk : scene._chunks) {
+			entries.addAll((List<?>) chunk.get(2));
+
+			// All transformations of a chunk refer to entries sent up to this chunk.
+			List<Object> indices = new ArrayList<>();
+			collectTransforms(chunk.get(1), indices);
+			for (Object index : indices) {
+				assertTrue("Entry not yet sent: " + index, ((Number) index).intValue() < entries.size());
+			}
+		}
+		assertEquals(palette.getEntries(), entries);
+		assertEquals(List.of(), palette.takeNewEntries());
+	}
+
+	public void testNegativeProperties() throws IOException {
+		// The value of a deferred reference is a valid value of an int property.
+		_graph.setRotateStepSize(ExternalScope.DEFERRED_ID);
+		_graph.setTranslateStepSize(ExternalScope.DEFERRED_ID);
+		_graph.setNumberOfFloors(ExternalScope.DEFERRED_ID);
+
+		Scene expected = write(0);
+		for (int depth = 1; depth <= SceneChunkWriter.DEFAULT_CHUNK_DEPTH; depth++) {
+			Scene scene = write(depth);
+			assertEquals("Depth " + depth, expected.describe(), scene.describe());
+
+			List<?> graph = (List<?>) scene._chunks.get(0).get(1);
+			Map<?, ?> properties = (Map<?, ?>) graph.get(2);
+			assertEquals(-1.0, properties.get(SceneGraph.ROTATE_STEP_SIZE__PROP));
+			assertEquals(-1.0, properties.get(SceneGraph.TRANSLATE_STEP_SIZE__PROP));
+			assertEquals(-1.0, properties.get(SceneGraph.NUMBER_OF_FLOORS__PROP));
+		}
+	}
+
+	private Scene write(int depth) throws IOException {
+		return write(depth, new TransformPalette());
+	}
+
+	private Scene write(int depth, TransformPalette palette) throws IOException {
+		StringWriter buffer = new StringWriter();
+		ExternalScope scope = new ExternalScope(2, 0);
+		SceneChunkWriter.write(scope, _graph, buffer, depth, palette);
+
+		String[] lines = buffer.toString().split("\n");
+		Scene result = new Scene(scope);
+		result._assets = (List<?>) ((Map<?, ?>) parse(lines[0])).get("assets");
+		for (int n = 1; n < lines.length - 1; n++) {
+			result._chunks.add((List<?>) parse(lines[n]));
+		}
+		result._selection = (List<?>) ((Map<?, ?>) parse(lines[lines.length - 1])).get("selection");
+		return result;
+	}
+
+	private static void collectIds(Object value, List<Object> out) {
+		if (value instanceof List<?> list) {
+			if (isObject(list)) {
+				out.add(list.get(1));
+				collectIds(list.get(2), out);
+			} else {
+				for (Object element : list) {
+					collectIds(element, out);
+				}
+			}
+		} else if (value instanceof Map<?, ?> map) {
+			for (Object element : map.values()) {
+				collectIds(element, out);
+			}
+		}
+	}
+
+	private static void collectTransforms(Object value, List<Object> out) {
+		if (value instanceof List<?> list) {
+			for (Object element : list) {
+				collectTransforms(element, out);
+			}
+		} else if (value instanceof Map<?, ?> map) {
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				if (SceneNode.TRANSFORM__PROP.equals(entry.getKey()) && entry.getValue() instanceof Number) {
+					out.add(entry.getValue());
+				} else {
+					collectTransforms(entry.getValue(), out);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Whether the given value is the data of a shared object of the form
+	 * <code>[type, id, {properties}]</code>.
+	 */
+	private static boolean isObject(List<?> value) {
+		return value.size() == 3 && value.get(0) instanceof String && value.get(1) instanceof Number
+			&& value.get(2) instanceof Map<?, ?>;
+	}
+
+	private static Object parse(String line) throws IOException {
+		return parse(new JsonReader(new StringR(line)));
+	}
+
+	private static Object parse(JsonReader in) throws IOException {
+		switch (in.peek()) {
+			case BEGIN_ARRAY: {
+				List<Object> result = new ArrayList<>();
+				in.beginArray();
+				while (in.hasNext()) {
+					result.add(parse(in));
+				}
+				in.endArray();
+				return result;
+			}
+			case BEGIN_OBJECT: {
+				Map<String, Object> result = new LinkedHashMap<>();
+				in.beginObject();
+				while (in.hasNext()) {
+					result.put(in.nextName(), parse(in));
+				}
+				in.endObject();
+				return result;
+			}
+			case STRING:
+				return in.nextString();
+			case NUMBER:
+				return Double.valueOf(in.nextDouble());
+			case BOOLEAN:
+				return Boolean.valueOf(in.nextBoolean());
+			case NULL:
+				in.nextNull();
+				return null;
+			default:
+				throw new IOException("Unexpected token: " + in.peek());
+		}
+	}
+
+	private GroupNode group(String name, SceneNode... contents) {
+		GroupNode result = GroupNode.create();
+		_names.put(result, name);
+		SceneUtils.setTransform(result, translate(contents.length, 0, 0));
+		for (SceneNode content : contents) {
+			result.addContent(content);
+		}
+		return result;
+	}
+
+	private PartNode part(String name, GltfAsset asset) {
+		PartNode result = PartNode.create().setAsset(asset);
+		_names.put(result, name);
+		SceneUtils.setTransform(result, translate(0, name.charAt(1) - '0', 0).after(rotateZ(0.5)));
+		return result;
+	}
+
+	/**
+	 * A scene as received by the client.
+	 */
+	private final class Scene {
+
+		/**
+		 * The scope that assigned the IDs of the written nodes.
+		 */
+		final ExternalScope _scope;
+
+		List<?> _assets;
+
+		final List<List<?>> _chunks = new ArrayList<>();
+
+		List<?> _selection;
+
+		Scene(ExternalScope scope) {
+			_scope = scope;
+		}
+
+		/**
+		 * The node tree with the chunks inserted into their groups, described by the node names.
+		 */
+		String describe() {
+			Map<Object, List<?>> objects = new HashMap<>();
+			Map<Object, List<Object>> contents = new HashMap<>();
+			for (List<?> chunk : _chunks) {
+				index(chunk.get(1), objects, contents);
+			}
+			for (List<?> chunk : _chunks.subList(1, _chunks.size())) {
+				contents.get(chunk.get(0)).add(((List<?>) chunk.get(1)).get(1));
+			}
+
+			List<?> graph = (List<?>) _chunks.get(0).get(1);
+			assertEquals(SCENE_GRAPH, graph.get(0));
+			Object root = ((List<?>) ((Map<?, ?>) graph.get(2)).get(SceneGraph.ROOT__PROP)).get(1);
+			StringBuilder result = new StringBuilder();
+			describe(result, root, objects, contents);
+			return result.toString();
+		}
+
+		/**
+		 * The names of the selected nodes.
+		 */
+		List<String> selection() {
+			Map<Object, List<?>> objects = new HashMap<>();
+			for (List<?> chunk : _chunks) {
+				index(chunk.get(1), objects, new HashMap<>());
+			}
+			List<String> result = new ArrayList<>();
+			for (Object id : _selection) {
+				assertNotNull("Selected node not sent: " + id, objects.get(id));
+				result.add(name(id));
+			}
+			return result;
+		}
+
+		private void describe(StringBuilder out, Object id, Map<Object, List<?>> objects,
+				Map<Object, List<Object>> contents) {
+			List<?> node = objects.get(id);
+			out.append(name(id));
+			if (GROUP_NODE.equals(node.get(0))) {
+				out.append('(');
+				boolean first = true;
+				for (Object child : contents.get(id)) {
+					if (!first) {
+						out.append(' ');
+					}
+					describe(out, child, objects, contents);
+					first = false;
+				}
+				out.append(')');
+			}
+		}
+
+		/**
+		 * The name of the node with the given scope ID.
+		 */
+		private String name(Object id) {
+			return _names.get(_scope.object(((Number) id).intValue()));
+		}
+
+		/**
+		 * Indexes all node data in the given value, the IDs are unique across all chunks.
+		 */
+		private static void index(Object value, Map<Object, List<?>> objects, Map<Object, List<Object>> contents) {
+			if (value instanceof List<?> list) {
+				if (isObject(list)) {
+					Object type = list.get(0);
+					if (GROUP_NODE.equals(type) || PART_NODE.equals(type)) {
+						assertNull("Node sent twice: " + list.get(1), objects.put(list.get(1), list));
+					}
+					Map<?, ?> properties = (Map<?, ?>) list.get(2);
+					if (GROUP_NODE.equals(type)) {
+						List<Object> children = new ArrayList<>();
+						Object groupContents = properties.get(GroupNode.CONTENTS__PROP);
+						if (groupContents != null) {
+							for (Object child : (List<?>) groupContents) {
+								children.add(child instanceof List<?> data ? data.get(1) : child);
+							}
+						}
+						contents.put(list.get(1), children);
+					}
+					index(properties, objects, contents);
+				} else {
+					for (Object element : list) {
+						if (element instanceof Number number) {
+							assertTrue("Deferred reference written.", number.intValue() != ExternalScope.DEFERRED_ID);
+						}
+						index(element, objects, contents);
+					}
+				}
+			} else if (value instanceof Map<?, ?> map) {
+				for (Object element : map.values()) {
+					index(element, objects, contents);
+				}
+			}
+		}
+
+	}
+
+}
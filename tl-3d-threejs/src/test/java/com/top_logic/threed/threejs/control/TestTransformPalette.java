@@ -0,0 +1,219 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.top_logic.threed.threejs.scene.ConnectionPoint;
+import com.top_logic.threed.threejs.scene.GltfAsset;
+import com.top_logic.threed.threejs.scene.GroupNode;
+import com.top_logic.threed.threejs.scene.PartNode;
+import com.top_logic.threed.threejs.scene.SceneNode;
+import com.top_logic.threed.threejs.scene.SceneUtils;
+
+import de.haumacher.msgbuf.io.StringW;
+import de.haumacher.msgbuf.json.JsonWriter;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link TransformPalette} and {@link TransformPaletteWriter}.
+ */
+public class TestTransformPalette extends TestCase {
+
+	private static final String A = SceneUtils.encodeTransform(translate(1, 2, 3));
+
+	private static final String B = SceneUtils.encodeTransform(rotateZ(0.5));
+
+	private static final String C = SceneUtils.encodeTransform(translate(4, 5, 6).after(rotateX(0.3)));
+
+	public void testIndexStability() {
+		TransformPalette palette = new TransformPalette();
+		assertEquals(0, palette.indexOf(A));
+		assertEquals(1, palette.indexOf(B));
+		assertEquals(0, palette.indexOf(A));
+		assertEquals(2, palette.indexOf(C));
+		assertEquals(1, palette.indexOf(B));
+		assertEquals(List.of(A, B, C), palette.getEntries());
+
+		palette.clear();
+		assertEquals(List.of(), palette.getEntries());
+		assertEquals(0, palette.indexOf(C));
+	}
+
+	public void testTakeNewEntries() {
+		TransformPalette palette = new TransformPalette();
+		assertEquals(List.of(), palette.takeNewEntries());
+
+		palette.indexOf(A);
+		palette.indexOf(B);
+		assertEquals(List.of(A, B), palette.takeNewEntries());
+		assertEquals(List.of(), palette.takeNewEntries());
+
+		// Known entries are not delivered again.
+		palette.indexOf(B);
+		palette.indexOf(C);
+		palette.indexOf(A);
+		assertEquals(List.of(C), palette.takeNewEntries());
+		assertEquals(List.of(A, B, C), palette.getEntries());
+
+		palette.clear();
+		palette.indexOf(C);
+		assertEquals(List.of(C), palette.takeNewEntries());
+	}
+
+	public void testPaletteValue() {
+		assertTrue(TransformPalette.isPaletteValue(A));
+		assertTrue(TransformPalette.isPaletteValue(B));
+		assertFalse(TransformPalette.isPaletteValue(SceneUtils.encodeTransform(identity())));
+		assertFalse(TransformPalette.isPaletteValue(""));
+		assertFalse(TransformPalette.isPaletteValue(null));
+	}
+
+	public void testReducedPrecision() {
+		TransformPalette palette = new TransformPalette(new TransformPrecision(0.01, 1e-6));
+		assertEquals(0, palette.indexOf(SceneUtils.encodeTransform(translate(1.001, 2, 3))));
+		assertEquals(0, palette.indexOf(SceneUtils.encodeTransform(translate(0.999, 2, 3))));
+		assertEquals(1, palette.indexOf(SceneUtils.encodeTransform(translate(1.01, 2, 3))));
+		assertEquals(palette.round(A), palette.getEntries().get(0));
+	}
+
+	public void testFull() {
+		TransformPalette palette = new TransformPalette();
+		for (int n = 0; n < TransformPalette.MAX_SIZE; n++) {
+			assertEquals(n, palette.indexOf(SceneUtils.encodeTransform(translate(n + 1, 0, 0))));
+		}
+		assertEquals(-1, palette.indexOf(A));
+		assertEquals(TransformPalette.MAX_SIZE, palette.getEntries().size());
+
+		// Known entries are still found.
+		assertEquals(7, palette.indexOf(SceneUtils.encodeTransform(translate(8, 0, 0))));
+	}
+
+	public void testWriteTransform() throws IOException {
+		TransformPalette palette = new TransformPalette();
+		for (int n = 0; n < TransformPalette.MAX_SIZE - 1; n++) {
+			palette.indexOf(SceneUtils.encodeTransform(translate(n + 1, 0, 0)));
+		}
+		String identity = SceneUtils.encodeTransform(identity());
+
+		StringW buffer = new StringW();
+		JsonWriter out = new JsonWriter(buffer);
+		out.beginArray();
+		palette.writeTransform(out, A);
+		palette.writeTransform(out, identity);
+		palette.writeTransform(out, "");
+		// The palette is full.
+		palette.writeTransform(out, B);
+		palette.writeTransform(out, A);
+		out.endArray();
+
+		StringW expected = new StringW();
+		new JsonWriter(expected)
+			.beginArray()
+			.value(TransformPalette.MAX_SIZE - 1)
+			.value(identity)
+			.value("")
+			.value(B)
+			.value(TransformPalette.MAX_SIZE - 1)
+			.endArray();
+		assertEquals(expected.toString(), buffer.toString());
+	}
+
+	public void testDisabled() throws IOException {
+		TransformPalette palette = new TransformPalette(TransformPrecision.EXACT, false);
+		assertFalse(palette.isEnabled());
+		assertEquals(-1, palette.indexOf(A));
+
+		StringW buffer = new StringW();
+		JsonWriter out = new TransformPaletteWriter(buffer, palette);
+		out.beginArray().value(PartNode.PART_NODE__TYPE).value(1);
+		out.beginObject();
+		out.name(SceneNode.TRANSFORM__PROP).value(A);
+		out.endObject();
+		out.endArray();
+
+		// The transformation is written unchanged.
+		StringW expected = new StringW();
+		new JsonWriter(expected)
+			.beginArray().value(PartNode.PART_NODE__TYPE).value(1).beginObject()
+			.name(SceneNode.TRANSFORM__PROP).value(A)
+			.endObject().endArray();
+		assertEquals(expected.toString(), buffer.toString());
+		assertEquals(List.of(), palette.getEntries());
+		assertEquals(List.of(), palette.takeNewEntries());
+	}
+
+	public void testWriter() throws IOException {
+		TransformPalette palette = new TransformPalette();
+		StringW buffer = new StringW();
+		JsonWriter out = new TransformPaletteWriter(buffer, palette);
+		String identity = SceneUtils.encodeTransform(identity());
+
+		out.beginArray();
+
+		// Graph data of objects with transformation.
+		out.beginArray().value(PartNode.PART_NODE__TYPE).value(1);
+		out.beginObject();
+		out.name(SceneNode.TRANSFORM__PROP).value(A);
+		out.name(SceneNode.COLOR__PROP).value(B);
+		out.endObject();
+		out.endArray();
+
+		out.beginArray().value(ConnectionPoint.CONNECTION_POINT__TYPE).value(2);
+		out.beginObject();
+		out.name(ConnectionPoint.TRANSFORM__PROP).value(C);
+		out.endObject();
+		out.endArray();
+
+		out.beginArray().value(GroupNode.GROUP_NODE__TYPE).value(3);
+		out.beginObject();
+		out.name(SceneNode.TRANSFORM__PROP).value(identity);
+		out.name(GroupNode.CONTENTS__PROP).beginArray().value(1).endArray();
+		out.endObject();
+		out.endArray();
+
+		// Properties of the same name in other values.
+		out.beginArray().value(GltfAsset.GLTF_ASSET__TYPE).value(4);
+		out.beginObject();
+		out.name(SceneNode.TRANSFORM__PROP).value(B);
+		out.endObject();
+		out.endArray();
+
+		out.beginObject();
+		out.name(SceneNode.TRANSFORM__PROP).value(B);
+		out.endObject();
+
+		out.value(C);
+		out.endArray();
+
+		StringW expected = new StringW();
+		new JsonWriter(expected)
+			.beginArray()
+			.beginArray().value(PartNode.PART_NODE__TYPE).value(1).beginObject()
+			.name(SceneNode.TRANSFORM__PROP).value(0).name(SceneNode.COLOR__PROP).value(B)
+			.endObject().endArray()
+			.beginArray().value(ConnectionPoint.CONNECTION_POINT__TYPE).value(2).beginObject()
+			.name(ConnectionPoint.TRANSFORM__PROP).value(1)
+			.endObject().endArray()
+			.beginArray().value(GroupNode.GROUP_NODE__TYPE).value(3).beginObject()
+			.name(SceneNode.TRANSFORM__PROP).value(identity)
+			.name(GroupNode.CONTENTS__PROP).beginArray().value(1).endArray()
+			.endObject().endArray()
+			.beginArray().value(GltfAsset.GLTF_ASSET__TYPE).value(4).beginObject()
+			.name(SceneNode.TRANSFORM__PROP).value(B)
+			.endObject().endArray()
+			.beginObject().name(SceneNode.TRANSFORM__PROP).value(B).endObject()
+			.value(C)
+			.endArray();
+		assertEquals(expected.toString(), buffer.toString());
+		assertEquals(List.of(A, C), palette.getEntries());
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.control;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import java.io.IOException;
+
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.threejs.scene.SceneUtils;
+
+import de.haumacher.msgbuf.io.StringW;
+import de.haumacher.msgbuf.json.JsonWriter;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link TransformPrecision}.
+ */
+public class TestTransformPrecision extends TestCase {
+
+	private static final Transformation TX = translate(1234.5678, -0.004, 0.006).after(rotateZ(0.3));
+
+	public void testExact() {
+		assertTrue(TransformPrecision.EXACT.isExact());
+		assertSame(TX, TransformPrecision.EXACT.round(TX));
+		assertEquals(write(TransformPrecision.EXACT, TX), write(TX.a(), TX.b(), TX.c(), TX.d(), TX.e(), TX.f(),
+			TX.g(), TX.h(), TX.i(), TX.x(), TX.y(), TX.z()));
+	}
+
+	public void testTranslation() {
+		TransformPrecision precision = new TransformPrecision(0.01, 0);
+		assertFalse(precision.isExact());
+
+		Transformation rounded = precision.round(TX);
+		assertEquals(TX.a(), rounded.a());
+		assertEquals(TX.e(), rounded.e());
+		assertEquals(123457 * 0.01, rounded.x());
+		assertEquals(0.0, rounded.y());
+		assertEquals(0.01, rounded.z());
+
+		assertEquals(write(TX.a(), TX.b(), TX.c(), TX.d(), TX.e(), TX.f(), TX.g(), TX.h(), TX.i(), 123457, 0, 1),
+			write(precision, TX));
+	}
+
+	public void testRotation() {
+		TransformPrecision precision = new TransformPrecision(0, 1e-3);
+
+		Transformation rounded = precision.round(TX);
+		assertEquals(955 * 1e-3, rounded.a());
+		assertEquals(-296 * 1e-3, rounded.b());
+		assertEquals(0.0, rounded.c());
+		assertEquals(1000 * 1e-3, rounded.i());
+		assertEquals(TX.x(), rounded.x());
+		assertEquals(TX.y(), rounded.y());
+
+		assertEquals(write(955, -296, 0, 296, 955, 0, 0, 0, 1000, TX.x(), TX.y(), TX.z()), write(precision, TX));
+	}
+
+	public void testBoth() {
+		TransformPrecision precision = new TransformPrecision(1, 0.1);
+
+		assertEquals(new Transformation(10 * 0.1, -3 * 0.1, 0, 3 * 0.1, 10 * 0.1, 0, 0, 0, 10 * 0.1, 1235, 0, 0),
+			precision.round(TX));
+		assertEquals(write(10, -3, 0, 3, 10, 0, 0, 0, 10, 1235, 0, 0), write(precision, TX));
+
+		// Values below the precision are merged.
+		assertEquals(precision.round(TX), precision.round(translate(1234.9, 0.2, -0.4).after(rotateZ(0.31))));
+		assertFalse(precision.round(TX).equals(precision.round(translate(1235.6, 0, 0).after(rotateZ(0.3)))));
+	}
+
+	public void testInvalid() {
+		try {
+			new TransformPrecision(-1, 0);
+			fail("Negative quantum must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+		try {
+			new TransformPrecision(0, Double.NaN);
+			fail("Invalid quantum must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	public void testFullPalette() throws IOException {
+		TransformPrecision precision = new TransformPrecision(0.01, 1e-6);
+		TransformPalette palette = new TransformPalette(precision);
+		for (int n = 0; n < TransformPalette.MAX_SIZE; n++) {
+			palette.indexOf(SceneUtils.encodeTransform(translate(n + 1, 0, 0)));
+		}
+
+		// A transformation that does not fit into the palette is sent in the reduced precision anyway.
+		StringW buffer = new StringW();
+		palette.writeTransform(new JsonWriter(buffer), SceneUtils.encodeTransform(TX));
+		assertEquals(write(precision, TX), buffer.toString());
+	}
+
+	private static String write(TransformPrecision precision, Transformation tx) {
+		StringW buffer = new StringW();
+		try {
+			precision.write(new JsonWriter(buffer), tx);
+		} catch (IOException ex) {
+			throw new AssertionError(ex);
+		}
+		return buffer.toString();
+	}
+
+	private static String write(Number... values) {
+		StringW buffer = new StringW();
+		try {
+			JsonWriter out = new JsonWriter(buffer);
+			out.beginArray();
+			for (Number value : values) {
+				if (value instanceof Integer) {
+					out.value(value.longValue());
+				} else {
+					out.value(value.doubleValue());
+				}
+			}
+			out.endArray();
+		} catch (IOException ex) {
+			throw new AssertionError(ex);
+		}
+		return buffer.toString();
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * SPDX-FileCopyrightText: 2026 (c) Business Operation Systems GmbH <info@top-logic.com>
+ * 
+ * SPDX-License-Identifier: AGPL-3.0-only OR LicenseRef-BOS-TopLogic-1.0
+ */
+package com.top_logic.threed.threejs.scene;
+
+import static com.top_logic.threed.core.math.Transformation.*;
+
+import com.top_logic.threed.core.math.TransformBuffer;
+import com.top_logic.threed.core.math.Transformation;
+import com.top_logic.threed.core.math.TransformationUtil;
+import com.top_logic.threed.core.math.format.TransformationStorage;
+
+import junit.framework.TestCase;
+
+/**
+ * Test case for {@link PackedTransform}.
+ */
+public class TestPackedTransform extends TestCase {
+
+	private static final Transformation[] VALUES = {
+		identity(),
+		translate(1, 2, 3),
+		translate(1000.5, -3, 1e-7).after(rotateX(0.3)).after(rotateZ(1.1)),
+		new Transformation(2, 0.5, 0, 0, 3, 0, 1, 0, 1, Double.MAX_VALUE, Double.MIN_VALUE, -0.0),
+	};
+
+	public void testShortForms() {
+		assertEquals(PackedTransform.IDENTITY, PackedTransform.encode(identity()));
+		assertEquals(PackedTransform.IDENTITY, PackedTransform.encode(translate(0, 0, 0)));
+		assertSame(identity(), PackedTransform.decode(PackedTransform.IDENTITY));
+
+		String translation = PackedTransform.encode(translate(1000.5, -3, 1e-7));
+		assertEquals(PackedTransform.TRANSLATION_SIZE, translation.length());
+		assertTrue(translation.startsWith(PackedTransform.TRANSLATION));
+		assertEquals(translate(1000.5, -3, 1e-7), PackedTransform.decode(translation));
+	}
+
+	public void testRoundTrip() {
+		TransformBuffer buffer = new TransformBuffer(VALUES.length);
+		for (int n = 0; n < VALUES.length; n++) {
+			Transformation tx = VALUES[n];
+			String packed = PackedTransform.encode(tx);
+			assertTrue(PackedTransform.isPacked(packed));
+			assertEquals(tx, PackedTransform.decode(packed));
+
+			PackedTransform.decode(packed, buffer, n);
+			assertEquals(tx, buffer.get(n));
+		}
+	}
+
+	public void testDecodeToArray() {
+		double[] values = new double[13];
+		for (Transformation tx : VALUES) {
+			PackedTransform.decode(PackedTransform.encode(tx), values, 1);
+			for (int n = 0; n < 12; n++) {
+				assertEquals(TransformationUtil.toList(tx).get(n).doubleValue(), values[n + 1]);
+			}
+		}
+
+		try {
+			PackedTransform.decode("T" + PackedTransform.encode(VALUES[1]).substring(1).replace('A', ','), values, 0);
+			fail("Invalid value must be reported.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	public void testFullForm() {
+		// The full form has the same layout as the Base64 storage encoding.
+		Transformation tx = VALUES[2];
+		assertEquals(PackedTransform.FULL_SIZE, PackedTransform.encode(tx).length());
+		assertEquals(TransformationStorage.encodeBase64(tx), PackedTransform.encode(tx));
+	}
+
+	public void testFullFormStartingWithTranslationPrefix() {
+		// Rotation by 108 degrees around the Z axis. The first Base64 character of the full form
+		// depends on the lowest byte of a() and is the translation prefix for this value, so the
+		// forms must be told apart by their length.
+		double cosa = -0.30901699437494734;
+		double sina = 0.9510565162951536;
+		Transformation tx = new Transformation(
+			cosa, -sina, 0,
+			sina, cosa, 0,
+			0, 0, 1,
+			0, 0, 0);
+		String packed = PackedTransform.encode(tx);
+		assertTrue(packed.startsWith(PackedTransform.TRANSLATION));
+		assertEquals(PackedTransform.FULL_SIZE, packed.length());
+		assertTrue(PackedTransform.isPacked(packed));
+		assertEquals(tx, PackedTransform.decode(packed));
+
+		TransformBuffer buffer = new TransformBuffer(1);
+		PackedTransform.decode(packed, buffer, 0);
+		assertEquals(tx, buffer.get(0));
+	}
+
+	public void testInvalid() {
+		assertFalse(PackedTransform.isPacked(""));
+		assertFalse(PackedTransform.isPacked("1,0,0"));
+		assertFalse(PackedTransform.isPacked("a1"));
+		assertFalse(PackedTransform.isPacked("X" + PackedTransform.encode(translate(1, 2, 3)).substring(1)));
+		assertFalse(PackedTransform.isPacked(PackedTransform.encode(VALUES[2]).replace('A', ',')));
+
+		try {
+			PackedTransform.decode("a1");
+			fail("Invalid value must be reported.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+	public void testCheckValue() {
+		PackedTransform.checkValue("");
+		PackedTransform.checkValue(PackedTransform.IDENTITY);
+		PackedTransform.checkValue(PackedTransform.encode(VALUES[1]));
+		PackedTransform.checkValue(PackedTransform.encode(VALUES[2]));
+
+		try {
+			PackedTransform.checkValue("a1");
+			fail("Invalid value must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+		try {
+			PackedTransform.checkValue(null);
+			fail("Missing value must be rejected.");
+		} catch (IllegalArgumentException ex) {
+			// Expected.
+		}
+	}
+
+}